@@ -39,4 +39,21 @@ public class OptimizerProperties {
   public static final String OPTIMIZER_MEMORY_STORAGE_SIZE = "memory-storage-size";
   public static final String MAX_INPUT_FILE_SIZE_PER_THREAD = "max-input-file-size-per-thread";
   public static final Long MAX_INPUT_FILE_SIZE_PER_THREAD_DEFAULT = 512 * 1024 * 1024L; // 512MB
+
+  // Resource group autoscale properties
+  public static final String AUTOSCALE_ENABLED = "autoscale.enabled";
+  public static final boolean AUTOSCALE_ENABLED_DEFAULT = false;
+  public static final String AUTOSCALE_MIN_PARALLELISM = "autoscale.min-parallelism";
+  public static final int AUTOSCALE_MIN_PARALLELISM_DEFAULT = 0;
+  public static final String AUTOSCALE_MAX_PARALLELISM = "autoscale.max-parallelism";
+  public static final int AUTOSCALE_MAX_PARALLELISM_DEFAULT = 8;
+  public static final String AUTOSCALE_PARALLELISM_PER_OPTIMIZER =
+      "autoscale.parallelism-per-optimizer";
+  public static final int AUTOSCALE_PARALLELISM_PER_OPTIMIZER_DEFAULT = 1;
+  public static final String AUTOSCALE_SCALE_OUT_COOLDOWN = "autoscale.scale-out.cooldown";
+  public static final long AUTOSCALE_SCALE_OUT_COOLDOWN_DEFAULT = 300000L; // 5min
+  public static final String AUTOSCALE_SCALE_IN_COOLDOWN = "autoscale.scale-in.cooldown";
+  public static final long AUTOSCALE_SCALE_IN_COOLDOWN_DEFAULT = 1800000L; // 30min
+  public static final String AUTOSCALE_REGISTER_TIMEOUT = "autoscale.register-timeout";
+  public static final long AUTOSCALE_REGISTER_TIMEOUT_DEFAULT = 600000L; // 10min
 }
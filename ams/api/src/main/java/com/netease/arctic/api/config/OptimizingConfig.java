@@ -80,6 +80,18 @@ public class OptimizingConfig {
   // self-optimizing.full.rewrite-all-files
   private boolean fullRewriteAllFiles;
 
+  // self-optimizing.partial-commit.enabled
+  private boolean partialCommitEnabled;
+
+  // self-optimizing.clustering.mode
+  private String clusteringMode;
+
+  // self-optimizing.clustering.columns
+  private String clusteringColumns;
+
+  // self-optimizing.clustering.overlap-ratio
+  private double clusteringOverlapRatio;
+
   // base.file-index.hash-bucket
   private int baseHashBucket;
 
@@ -246,6 +258,42 @@ public class OptimizingConfig {
     return this;
   }
 
+  public boolean isPartialCommitEnabled() {
+    return partialCommitEnabled;
+  }
+
+  public OptimizingConfig setPartialCommitEnabled(boolean partialCommitEnabled) {
+    this.partialCommitEnabled = partialCommitEnabled;
+    return this;
+  }
+
+  public String getClusteringMode() {
+    return clusteringMode;
+  }
+
+  public OptimizingConfig setClusteringMode(String clusteringMode) {
+    this.clusteringMode = clusteringMode;
+    return this;
+  }
+
+  public String getClusteringColumns() {
+    return clusteringColumns;
+  }
+
+  public OptimizingConfig setClusteringColumns(String clusteringColumns) {
+    this.clusteringColumns = clusteringColumns;
+    return this;
+  }
+
+  public double getClusteringOverlapRatio() {
+    return clusteringOverlapRatio;
+  }
+
+  public OptimizingConfig setClusteringOverlapRatio(double clusteringOverlapRatio) {
+    this.clusteringOverlapRatio = clusteringOverlapRatio;
+    return this;
+  }
+
   public int getBaseHashBucket() {
     return baseHashBucket;
   }
@@ -297,10 +345,14 @@ public class OptimizingConfig {
         && Double.compare(that.majorDuplicateRatio, majorDuplicateRatio) == 0
         && fullTriggerInterval == that.fullTriggerInterval
         && fullRewriteAllFiles == that.fullRewriteAllFiles
+        && partialCommitEnabled == that.partialCommitEnabled
+        && Double.compare(that.clusteringOverlapRatio, clusteringOverlapRatio) == 0
         && baseHashBucket == that.baseHashBucket
         && baseRefreshInterval == that.baseRefreshInterval
         && hiveRefreshInterval == that.hiveRefreshInterval
-        && Objects.equal(optimizerGroup, that.optimizerGroup);
+        && Objects.equal(optimizerGroup, that.optimizerGroup)
+        && Objects.equal(clusteringMode, that.clusteringMode)
+        && Objects.equal(clusteringColumns, that.clusteringColumns);
   }
 
   @Override
@@ -322,6 +374,10 @@ public class OptimizingConfig {
         majorDuplicateRatio,
         fullTriggerInterval,
         fullRewriteAllFiles,
+        partialCommitEnabled,
+        clusteringMode,
+        clusteringColumns,
+        clusteringOverlapRatio,
         baseHashBucket,
         baseRefreshInterval,
         hiveRefreshInterval);
@@ -345,6 +401,10 @@ public class OptimizingConfig {
         .add("majorDuplicateRatio", majorDuplicateRatio)
         .add("fullTriggerInterval", fullTriggerInterval)
         .add("fullRewriteAllFiles", fullRewriteAllFiles)
+        .add("partialCommitEnabled", partialCommitEnabled)
+        .add("clusteringMode", clusteringMode)
+        .add("clusteringColumns", clusteringColumns)
+        .add("clusteringOverlapRatio", clusteringOverlapRatio)
         .add("baseHashBucket", baseHashBucket)
         .add("baseRefreshInterval", baseRefreshInterval)
         .add("hiveRefreshInterval", hiveRefreshInterval)
@@ -428,6 +488,26 @@ public class OptimizingConfig {
                 properties,
                 TableProperties.SELF_OPTIMIZING_FULL_REWRITE_ALL_FILES,
                 TableProperties.SELF_OPTIMIZING_FULL_REWRITE_ALL_FILES_DEFAULT))
+        .setPartialCommitEnabled(
+            PropertyUtil.propertyAsBoolean(
+                properties,
+                TableProperties.SELF_OPTIMIZING_PARTIAL_COMMIT_ENABLED,
+                TableProperties.SELF_OPTIMIZING_PARTIAL_COMMIT_ENABLED_DEFAULT))
+        .setClusteringMode(
+            PropertyUtil.propertyAsString(
+                properties,
+                TableProperties.SELF_OPTIMIZING_CLUSTERING_MODE,
+                TableProperties.SELF_OPTIMIZING_CLUSTERING_MODE_DEFAULT))
+        .setClusteringColumns(
+            PropertyUtil.propertyAsString(
+                properties,
+                TableProperties.SELF_OPTIMIZING_CLUSTERING_COLUMNS,
+                TableProperties.SELF_OPTIMIZING_CLUSTERING_COLUMNS_DEFAULT))
+        .setClusteringOverlapRatio(
+            CompatiblePropertyUtil.propertyAsDouble(
+                properties,
+                TableProperties.SELF_OPTIMIZING_CLUSTERING_OVERLAP_RATIO,
+                TableProperties.SELF_OPTIMIZING_CLUSTERING_OVERLAP_RATIO_DEFAULT))
         .setBaseHashBucket(
             CompatiblePropertyUtil.propertyAsInt(
                 properties,
@@ -34,6 +34,7 @@ public class TableConfiguration {
   private boolean cleanOrphanEnabled;
   private long orphanExistingMinutes;
   private boolean deleteDanglingDeleteFilesEnabled;
+  private boolean columnStatisticsEnabled;
   private OptimizingConfig optimizingConfig;
   private DataExpirationConfig expiringDataConfig;
   private TagConfiguration tagConfiguration;
@@ -104,6 +105,15 @@ public class TableConfiguration {
     return this;
   }
 
+  public boolean isColumnStatisticsEnabled() {
+    return columnStatisticsEnabled;
+  }
+
+  public TableConfiguration setColumnStatisticsEnabled(boolean columnStatisticsEnabled) {
+    this.columnStatisticsEnabled = columnStatisticsEnabled;
+    return this;
+  }
+
   public DataExpirationConfig getExpiringDataConfig() {
     return Optional.ofNullable(expiringDataConfig).orElse(new DataExpirationConfig());
   }
@@ -137,6 +147,7 @@ public class TableConfiguration {
         && cleanOrphanEnabled == that.cleanOrphanEnabled
         && orphanExistingMinutes == that.orphanExistingMinutes
         && deleteDanglingDeleteFilesEnabled == that.deleteDanglingDeleteFilesEnabled
+        && columnStatisticsEnabled == that.columnStatisticsEnabled
         && Objects.equal(optimizingConfig, that.optimizingConfig)
         && Objects.equal(expiringDataConfig, that.expiringDataConfig)
         && Objects.equal(tagConfiguration, that.tagConfiguration);
@@ -151,6 +162,7 @@ public class TableConfiguration {
         cleanOrphanEnabled,
         orphanExistingMinutes,
         deleteDanglingDeleteFilesEnabled,
+        columnStatisticsEnabled,
         optimizingConfig,
         expiringDataConfig,
         tagConfiguration);
@@ -194,6 +206,11 @@ public class TableConfiguration {
                     properties,
                     TableProperties.ENABLE_DANGLING_DELETE_FILES_CLEAN,
                     TableProperties.ENABLE_DANGLING_DELETE_FILES_CLEAN_DEFAULT))
+        .setColumnStatisticsEnabled(
+            CompatiblePropertyUtil.propertyAsBoolean(
+                properties,
+                TableProperties.ENABLE_COLUMN_STATISTICS,
+                TableProperties.ENABLE_COLUMN_STATISTICS_DEFAULT))
         .setOptimizingConfig(OptimizingConfig.parse(properties))
         .setExpiringDataConfig(DataExpirationConfig.parse(properties))
         .setTagConfiguration(TagConfiguration.parse(properties));
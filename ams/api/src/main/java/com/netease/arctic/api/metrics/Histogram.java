@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.api.metrics;
+
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram metric records the distribution of values in fixed buckets. Recording a value only
+ * takes a binary search and two striped additions, so it is cheap enough for the hot paths.
+ *
+ * <p>The buckets are defined by their inclusive upper bounds, values larger than the last bound
+ * fall into an overflow bucket.
+ */
+public class Histogram implements Metric {
+  private final long[] bucketBounds;
+  private final LongAdder[] bucketCounts;
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+
+  /**
+   * Create a histogram with the given bucket bounds.
+   *
+   * @param bucketBounds inclusive upper bounds of the buckets in ascending order
+   */
+  public Histogram(long... bucketBounds) {
+    Preconditions.checkArgument(bucketBounds.length > 0, "Bucket bounds must not be empty");
+    for (int i = 1; i < bucketBounds.length; i++) {
+      Preconditions.checkArgument(
+          bucketBounds[i - 1] < bucketBounds[i],
+          "Bucket bounds must be in strictly ascending order");
+    }
+    this.bucketBounds = Arrays.copyOf(bucketBounds, bucketBounds.length);
+    this.bucketCounts = new LongAdder[bucketBounds.length + 1];
+    for (int i = 0; i < bucketCounts.length; i++) {
+      bucketCounts[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Generate exponential bucket bounds, like the HDR histogram, the relative error of every bucket
+   * is bounded by the factor.
+   *
+   * @param start the upper bound of the first bucket
+   * @param factor the factor between two adjacent bounds, must be larger than 1
+   * @param count the number of bounds
+   * @return the bucket bounds
+   */
+  public static long[] exponentialBounds(long start, double factor, int count) {
+    Preconditions.checkArgument(start > 0, "Start must be positive");
+    Preconditions.checkArgument(factor > 1, "Factor must be larger than 1");
+    long[] bounds = new long[count];
+    double bound = start;
+    for (int i = 0; i < count; i++) {
+      bounds[i] = i == 0 ? start : Math.max(bounds[i - 1] + 1, Math.round(bound));
+      bound *= factor;
+    }
+    return bounds;
+  }
+
+  /**
+   * Record a value.
+   *
+   * @param value the value to record
+   */
+  public void update(long value) {
+    int index = Arrays.binarySearch(bucketBounds, value);
+    if (index < 0) {
+      index = -index - 1;
+    }
+    bucketCounts[index].increment();
+    count.increment();
+    sum.add(value);
+  }
+
+  /** @return the number of recorded values */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /** @return the sum of recorded values */
+  public long getSum() {
+    return sum.sum();
+  }
+
+  /** @return the inclusive upper bounds of the buckets, not including the overflow bucket */
+  public long[] getBucketBounds() {
+    return Arrays.copyOf(bucketBounds, bucketBounds.length);
+  }
+
+  /**
+   * Returns the number of values in each bucket, the last one is the overflow bucket. The counts
+   * are not cumulative.
+   *
+   * @return the bucket counts, whose length is one more than the bucket bounds
+   */
+  public long[] getBucketCounts() {
+    long[] counts = new long[bucketCounts.length];
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = bucketCounts[i].sum();
+    }
+    return counts;
+  }
+}
@@ -118,6 +118,14 @@ public class MetricDefine {
     return new Builder(name, MetricType.Gauge);
   }
 
+  public static Builder defineHistogram(String name) {
+    return new Builder(name, MetricType.Histogram);
+  }
+
+  public static Builder defineTimer(String name) {
+    return new Builder(name, MetricType.Timer);
+  }
+
   public static class Builder {
     private final String name;
     private List<String> tags;
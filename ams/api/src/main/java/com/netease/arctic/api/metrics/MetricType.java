@@ -21,7 +21,9 @@ package com.netease.arctic.api.metrics;
 /** Metric type defines. */
 public enum MetricType {
   Counter,
-  Gauge;
+  Gauge,
+  Histogram,
+  Timer;
   // More metric type is not defined.
 
   public boolean isType(Metric metric) {
@@ -30,6 +32,10 @@ public enum MetricType {
         return metric instanceof Counter;
       case Gauge:
         return metric instanceof Gauge;
+      case Histogram:
+        return metric instanceof Histogram && !(metric instanceof Timer);
+      case Timer:
+        return metric instanceof Timer;
     }
     return false;
   }
@@ -39,6 +45,10 @@ public enum MetricType {
       return Counter;
     } else if (metric instanceof Gauge) {
       return Gauge;
+    } else if (metric instanceof Timer) {
+      return Timer;
+    } else if (metric instanceof Histogram) {
+      return Histogram;
     }
     throw new IllegalStateException("Unknown type of metric: " + metric.getClass().getName());
   }
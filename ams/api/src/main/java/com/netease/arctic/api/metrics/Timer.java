@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.api.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/** A histogram of durations in milliseconds. */
+public class Timer extends Histogram {
+
+  /** Default bucket bounds from 1 ms to about 17 minutes. */
+  public static final long[] DEFAULT_BUCKET_BOUNDS = exponentialBounds(1, 2, 21);
+
+  public Timer() {
+    this(DEFAULT_BUCKET_BOUNDS);
+  }
+
+  public Timer(long... bucketBounds) {
+    super(bucketBounds);
+  }
+
+  /**
+   * Record a duration.
+   *
+   * @param duration the duration
+   * @param unit the time unit of the duration
+   */
+  public void update(long duration, TimeUnit unit) {
+    update(unit.toMillis(duration));
+  }
+
+  /**
+   * Start timing, the duration is recorded when the returned context is closed.
+   *
+   * @return the timing context
+   */
+  public Context time() {
+    return new Context(this);
+  }
+
+  /** A timing context to be used in a try-with-resources block. */
+  public static class Context implements AutoCloseable {
+    private final Timer timer;
+    private final long startNanos;
+
+    private Context(Timer timer) {
+      this.timer = timer;
+      this.startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void close() {
+      timer.update(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+}
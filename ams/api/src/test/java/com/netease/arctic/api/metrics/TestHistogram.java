@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.api.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class TestHistogram {
+
+  @Test
+  void testUpdate() {
+    Histogram histogram = new Histogram(10, 100, 1000);
+    histogram.update(1);
+    histogram.update(10);
+    histogram.update(11);
+    histogram.update(1000);
+    histogram.update(5000);
+
+    assertEquals(5, histogram.getCount());
+    assertEquals(6022, histogram.getSum());
+    assertArrayEquals(new long[] {2, 1, 1, 1}, histogram.getBucketCounts());
+  }
+
+  @Test
+  void testExponentialBounds() {
+    assertArrayEquals(new long[] {1, 2, 4, 8}, Histogram.exponentialBounds(1, 2, 4));
+    // bounds are always strictly ascending even if the factor is small
+    assertArrayEquals(new long[] {1, 2, 3, 4}, Histogram.exponentialBounds(1, 1.1, 4));
+    assertThrows(IllegalArgumentException.class, () -> new Histogram(10, 10));
+  }
+
+  @Test
+  void testTimer() {
+    Timer timer = new Timer(10, 100);
+    timer.update(2, TimeUnit.SECONDS);
+    try (Timer.Context ignored = timer.time()) {
+      // do nothing
+    }
+
+    assertEquals(2, timer.getCount());
+    assertArrayEquals(new long[] {1, 0, 1}, timer.getBucketCounts());
+    assertEquals(MetricType.Timer, MetricType.ofType(timer));
+    assertEquals(MetricType.Histogram, MetricType.ofType(new Histogram(1)));
+  }
+}
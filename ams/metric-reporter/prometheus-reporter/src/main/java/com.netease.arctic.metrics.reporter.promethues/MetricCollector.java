@@ -20,6 +20,7 @@ package com.netease.arctic.metrics.reporter.promethues;
 
 import com.netease.arctic.api.metrics.Counter;
 import com.netease.arctic.api.metrics.Gauge;
+import com.netease.arctic.api.metrics.Histogram;
 import com.netease.arctic.api.metrics.Metric;
 import com.netease.arctic.api.metrics.MetricDefine;
 import com.netease.arctic.api.metrics.MetricKey;
@@ -86,6 +87,10 @@ public class MetricCollector extends Collector {
     List<MetricFamilySamples.Sample> samples = Lists.newArrayList();
     for (MetricKey key : keys) {
       Metric metric = registeredMetrics.get(key);
+      if (metric instanceof Histogram) {
+        samples.addAll(createHistogramSamples(define, key.valueOfTags(), (Histogram) metric));
+        continue;
+      }
 
       MetricFamilySamples.Sample sample =
           new MetricFamilySamples.Sample(
@@ -97,12 +102,43 @@ public class MetricCollector extends Collector {
         PREFIX + define.getName(), covertType(define.getType()), define.getDescription(), samples);
   }
 
+  private List<MetricFamilySamples.Sample> createHistogramSamples(
+      MetricDefine define, List<String> tagValues, Histogram histogram) {
+    String name = PREFIX + define.getName();
+    List<String> bucketTags = Lists.newArrayList(define.getTags());
+    bucketTags.add("le");
+
+    List<MetricFamilySamples.Sample> samples = Lists.newArrayList();
+    long[] bounds = histogram.getBucketBounds();
+    long[] counts = histogram.getBucketCounts();
+    long cumulativeCount = 0;
+    for (int i = 0; i < counts.length; i++) {
+      cumulativeCount += counts[i];
+      List<String> bucketTagValues = Lists.newArrayList(tagValues);
+      bucketTagValues.add(i < bounds.length ? String.valueOf(bounds[i]) : "+Inf");
+      samples.add(
+          new MetricFamilySamples.Sample(
+              name + "_bucket", bucketTags, bucketTagValues, cumulativeCount));
+    }
+    // take the count from the buckets, so that it always equals to the +Inf bucket
+    samples.add(
+        new MetricFamilySamples.Sample(
+            name + "_count", define.getTags(), tagValues, cumulativeCount));
+    samples.add(
+        new MetricFamilySamples.Sample(
+            name + "_sum", define.getTags(), tagValues, histogram.getSum()));
+    return samples;
+  }
+
   private Type covertType(MetricType metricType) {
     switch (metricType) {
       case Counter:
         return Type.COUNTER;
       case Gauge:
         return Type.GAUGE;
+      case Histogram:
+      case Timer:
+        return Type.HISTOGRAM;
       default:
         throw new IllegalStateException("unknown type:" + metricType);
     }
@@ -21,6 +21,7 @@ package com.netease.arctic.optimizer.common;
 import com.netease.arctic.ErrorCodes;
 import com.netease.arctic.api.ArcticException;
 import com.netease.arctic.api.OptimizingService;
+import com.netease.arctic.client.ArcticThriftUrl;
 import com.netease.arctic.client.OptimizingClientPools;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.thrift.TApplicationException;
@@ -29,8 +30,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
 
 public class AbstractOptimizerOperator implements Serializable {
   private static final Logger LOG = LoggerFactory.getLogger(AbstractOptimizerOperator.class);
@@ -39,7 +43,9 @@ public class AbstractOptimizerOperator implements Serializable {
   private static long callAmsInterval = TimeUnit.SECONDS.toMillis(5);
 
   private final OptimizerConfig config;
-  private final AtomicReference<String> token = new AtomicReference<>();
+  // The tokens by the urls of the AMS nodes, if the AMS nodes share the tables there is a token for
+  // each node, otherwise there is only the token of the configured url
+  private final Map<String, String> tokens = new ConcurrentHashMap<>();
   private boolean stopped = false;
 
   public AbstractOptimizerOperator(OptimizerConfig config) {
@@ -48,13 +54,21 @@ public class AbstractOptimizerOperator implements Serializable {
   }
 
   protected <T> T callAms(AmsCallOperation<T> operation) throws TException {
+    return callAms(config.getAmsUrl(), operation);
+  }
+
+  /**
+   * Call the AMS at the url. A node found from the AMS cluster is called only once when it got an
+   * error to retry, since the node may have left.
+   */
+  protected <T> T callAms(String amsUrl, AmsCallOperation<T> operation) throws TException {
     while (isStarted()) {
       try {
-        return operation.call(OptimizingClientPools.getClient(config.getAmsUrl()));
+        return operation.call(OptimizingClientPools.getClient(amsUrl));
       } catch (Throwable t) {
         if (shouldReturnNull(t)) {
           return null;
-        } else if (shouldRetryLater(t)) {
+        } else if (shouldRetryLater(t) && isConfiguredAms(amsUrl)) {
           LOG.error("Call ams got an error and will try again later", t);
           waitAShortTime();
         } else {
@@ -88,11 +102,36 @@ public class AbstractOptimizerOperator implements Serializable {
 
   protected <T> T callAuthenticatedAms(AmsAuthenticatedCallOperation<T> operation)
       throws TException {
+    return callAuthenticatedAms(config.getAmsUrl(), operation);
+  }
+
+  /**
+   * Call the AMS at the url with the token of it. A node found from the AMS cluster is waited for
+   * and called again as long as it is listed in the cluster, the tasks polled from it can only be
+   * acked and completed to it.
+   */
+  protected <T> T callAuthenticatedAms(String amsUrl, AmsAuthenticatedCallOperation<T> operation)
+      throws TException {
+    return callAuthenticatedAms(amsUrl, operation, true);
+  }
+
+  /**
+   * Call the AMS at the url with the token of it. A node found from the AMS cluster is called only
+   * once when it has no token or got an error to retry, so that the other nodes can be called.
+   */
+  protected <T> T tryAuthenticatedAms(String amsUrl, AmsAuthenticatedCallOperation<T> operation)
+      throws TException {
+    return callAuthenticatedAms(amsUrl, operation, false);
+  }
+
+  private <T> T callAuthenticatedAms(
+      String amsUrl, AmsAuthenticatedCallOperation<T> operation, boolean waitForListedAms)
+      throws TException {
     while (isStarted()) {
-      if (tokenIsReady()) {
-        String token = getToken();
+      if (tokenIsReady(amsUrl)) {
+        String token = getToken(amsUrl);
         try {
-          return operation.call(OptimizingClientPools.getClient(config.getAmsUrl()), token);
+          return operation.call(OptimizingClientPools.getClient(amsUrl), token);
         } catch (Throwable t) {
           if (t instanceof ArcticException
               && ErrorCodes.PLUGIN_RETRY_AUTH_ERROR_CODE
@@ -101,19 +140,21 @@ public class AbstractOptimizerOperator implements Serializable {
             LOG.error(
                 "Got a authorization error while calling ams, reset token and wait for a new one",
                 t);
-            resetToken(token);
+            resetToken(amsUrl, token);
           } else if (shouldReturnNull(t)) {
             return null;
-          } else if (shouldRetryLater(t)) {
+          } else if (shouldRetryLater(t) && shouldWaitFor(amsUrl, waitForListedAms)) {
             LOG.error("Call ams got an error and will try again later", t);
             waitAShortTime();
           } else {
             throw t;
           }
         }
-      } else {
+      } else if (shouldWaitFor(amsUrl, waitForListedAms)) {
         LOG.debug("Optimizer wait for token is ready");
         waitAShortTime();
+      } else {
+        throw new IllegalStateException("Optimizer has no token of AMS " + amsUrl);
       }
     }
     throw new IllegalStateException("Operator is stopped");
@@ -128,19 +169,55 @@ public class AbstractOptimizerOperator implements Serializable {
   }
 
   protected String getToken() {
-    return token.get();
+    return getToken(config.getAmsUrl());
+  }
+
+  protected String getToken(String amsUrl) {
+    return tokens.get(amsUrl);
   }
 
   protected boolean tokenIsReady() {
-    return token.get() != null;
+    return tokenIsReady(config.getAmsUrl());
+  }
+
+  protected boolean tokenIsReady(String amsUrl) {
+    return tokens.containsKey(amsUrl);
   }
 
   protected void resetToken(String oldToken) {
-    token.compareAndSet(oldToken, null);
+    resetToken(config.getAmsUrl(), oldToken);
+  }
+
+  protected void resetToken(String amsUrl, String oldToken) {
+    tokens.remove(amsUrl, oldToken);
   }
 
   public void setToken(String newToken) {
-    token.set(newToken);
+    setToken(config.getAmsUrl(), newToken);
+  }
+
+  /** Set the token of the AMS at the url, remove the token if it is null. */
+  public void setToken(String amsUrl, String newToken) {
+    if (newToken == null) {
+      tokens.remove(amsUrl);
+    } else {
+      tokens.put(amsUrl, newToken);
+    }
+  }
+
+  /** Get the urls of the AMS nodes which have tokens. */
+  protected Set<String> getTokenAmsUrls() {
+    return tokens.keySet();
+  }
+
+  private boolean isConfiguredAms(String amsUrl) {
+    return Objects.equals(config.getAmsUrl(), amsUrl);
+  }
+
+  private boolean shouldWaitFor(String amsUrl, boolean waitForListedAms) {
+    return isConfiguredAms(amsUrl)
+        || (waitForListedAms
+            && ArcticThriftUrl.listOptimizingServiceUrls(config.getAmsUrl()).contains(amsUrl));
   }
 
   public boolean isStarted() {
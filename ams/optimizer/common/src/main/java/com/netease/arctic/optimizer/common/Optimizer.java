@@ -81,8 +81,9 @@ public class Optimizer {
   class SetTokenToExecutors implements OptimizerToucher.TokenChangeListener {
 
     @Override
-    public void tokenChange(String newToken) {
-      Arrays.stream(executors).forEach(optimizerExecutor -> optimizerExecutor.setToken(newToken));
+    public void tokenChange(String amsUrl, String newToken) {
+      Arrays.stream(executors)
+          .forEach(optimizerExecutor -> optimizerExecutor.setToken(amsUrl, newToken));
     }
   }
 }
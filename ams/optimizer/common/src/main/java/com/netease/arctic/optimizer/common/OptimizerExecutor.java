@@ -32,12 +32,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 public class OptimizerExecutor extends AbstractOptimizerOperator {
 
   private static final Logger LOG = LoggerFactory.getLogger(OptimizerExecutor.class);
 
   private final int threadId;
+  // The url of the AMS which the executing task is polled from
+  private String taskAmsUrl;
+  private int nextAmsIndex;
 
   public OptimizerExecutor(OptimizerConfig config, int threadId) {
     super(config);
@@ -65,13 +70,13 @@ public class OptimizerExecutor extends AbstractOptimizerOperator {
   private OptimizingTask pollTask() {
     OptimizingTask task = null;
     while (isStarted()) {
-      try {
-        task = callAuthenticatedAms((client, token) -> client.pollTask(token, threadId));
-      } catch (TException exception) {
-        LOG.error("Optimizer executor[{}] polled task failed", threadId, exception);
-      }
+      task = pollTaskFromAnyAms();
       if (task != null) {
-        LOG.info("Optimizer executor[{}] polled task[{}] from ams", threadId, task.getTaskId());
+        LOG.info(
+            "Optimizer executor[{}] polled task[{}] from ams {}",
+            threadId,
+            task.getTaskId(),
+            taskAmsUrl);
         break;
       } else {
         waitAShortTime();
@@ -80,9 +85,37 @@ public class OptimizerExecutor extends AbstractOptimizerOperator {
     return task;
   }
 
+  /**
+   * Poll a task from the AMS nodes in turns, starting from a different node each time, so that the
+   * tables of all nodes are optimized when the AMS nodes share the tables.
+   */
+  private OptimizingTask pollTaskFromAnyAms() {
+    List<String> amsUrls = new ArrayList<>(getTokenAmsUrls());
+    if (amsUrls.isEmpty()) {
+      LOG.debug("Optimizer executor[{}] wait for token is ready", threadId);
+      return null;
+    }
+    int startIndex = Math.floorMod(nextAmsIndex++, amsUrls.size());
+    for (int i = 0; i < amsUrls.size() && isStarted(); i++) {
+      String amsUrl = amsUrls.get((startIndex + i) % amsUrls.size());
+      try {
+        OptimizingTask task =
+            tryAuthenticatedAms(amsUrl, (client, token) -> client.pollTask(token, threadId));
+        if (task != null) {
+          taskAmsUrl = amsUrl;
+          return task;
+        }
+      } catch (TException | IllegalStateException exception) {
+        LOG.error("Optimizer executor[{}] polled task from {} failed", threadId, amsUrl, exception);
+      }
+    }
+    return null;
+  }
+
   private boolean ackTask(OptimizingTask task) {
     try {
       callAuthenticatedAms(
+          taskAmsUrl,
           (client, token) -> {
             client.ackTask(token, threadId, task.getTaskId());
             return null;
@@ -106,6 +139,7 @@ public class OptimizerExecutor extends AbstractOptimizerOperator {
   protected void completeTask(OptimizingTaskResult optimizingTaskResult) {
     try {
       callAuthenticatedAms(
+          taskAmsUrl,
           (client, token) -> {
             client.completeTask(token, optimizingTaskResult);
             return null;
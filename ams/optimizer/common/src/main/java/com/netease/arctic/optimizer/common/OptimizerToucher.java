@@ -22,12 +22,16 @@ import com.netease.arctic.ErrorCodes;
 import com.netease.arctic.api.ArcticException;
 import com.netease.arctic.api.OptimizerProperties;
 import com.netease.arctic.api.OptimizerRegisterInfo;
+import com.netease.arctic.client.ArcticThriftUrl;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class OptimizerToucher extends AbstractOptimizerOperator {
   private static final Logger LOG = LoggerFactory.getLogger(OptimizerToucher.class);
@@ -56,8 +60,12 @@ public class OptimizerToucher extends AbstractOptimizerOperator {
     LOG.info("Starting optimizer toucher with configuration:{}", getConfig());
     while (isStarted()) {
       try {
-        if (checkToken()) {
-          touch();
+        List<String> amsUrls = ArcticThriftUrl.listOptimizingServiceUrls(getConfig().getAmsUrl());
+        removeLeftAms(amsUrls);
+        for (String amsUrl : amsUrls) {
+          if (checkToken(amsUrl)) {
+            touch(amsUrl);
+          }
         }
         waitAShortTime(getConfig().getHeartBeat());
       } catch (Throwable t) {
@@ -67,11 +75,28 @@ public class OptimizerToucher extends AbstractOptimizerOperator {
     LOG.info("Optimizer toucher stopped");
   }
 
-  private boolean checkToken() {
-    if (!tokenIsReady()) {
+  /**
+   * Remove the tokens of the AMS nodes which have left the cluster, the tables of them have been
+   * taken over by the remaining nodes.
+   */
+  private void removeLeftAms(List<String> amsUrls) {
+    Set<String> leftUrls = new HashSet<>(getTokenAmsUrls());
+    amsUrls.forEach(leftUrls::remove);
+    for (String amsUrl : leftUrls) {
+      LOG.info("AMS {} has left, remove the token of it", amsUrl);
+      setToken(amsUrl, null);
+      if (tokenChangeListener != null) {
+        tokenChangeListener.tokenChange(amsUrl, null);
+      }
+    }
+  }
+
+  private boolean checkToken(String amsUrl) {
+    if (!tokenIsReady(amsUrl)) {
       try {
         String token =
             callAms(
+                amsUrl,
                 client -> {
                   withRegisterProperty(
                       OptimizerProperties.OPTIMIZER_HEART_BEAT_INTERVAL,
@@ -85,14 +110,14 @@ public class OptimizerToucher extends AbstractOptimizerOperator {
                   registerInfo.setStartTime(startTime);
                   return client.authenticate(registerInfo);
                 });
-        setToken(token);
+        setToken(amsUrl, token);
         if (tokenChangeListener != null) {
-          tokenChangeListener.tokenChange(token);
+          tokenChangeListener.tokenChange(amsUrl, token);
         }
-        LOG.info("Registered optimizer to ams with token:{}", token);
+        LOG.info("Registered optimizer to ams {} with token:{}", amsUrl, token);
         return true;
       } catch (TException e) {
-        LOG.error("Register optimizer to ams failed", e);
+        LOG.error("Register optimizer to ams {} failed", amsUrl, e);
         if (e instanceof ArcticException
             && ErrorCodes.FORBIDDEN_ERROR_CODE == ((ArcticException) e).getErrorCode()) {
           System.exit(1); // Don't need to try again
@@ -103,26 +128,34 @@ public class OptimizerToucher extends AbstractOptimizerOperator {
     return true;
   }
 
-  private void touch() {
+  private void touch(String amsUrl) {
+    String token = getToken(amsUrl);
     try {
       callAms(
+          amsUrl,
           client -> {
-            client.touch(getToken());
+            client.touch(token);
             return null;
           });
-      LOG.debug("Optimizer[{}] touch ams", getToken());
+      LOG.debug("Optimizer[{}] touch ams {}", token, amsUrl);
     } catch (TException e) {
       if (e instanceof ArcticException
           && ErrorCodes.PLUGIN_RETRY_AUTH_ERROR_CODE == ((ArcticException) e).getErrorCode()) {
-        setToken(null);
-        LOG.error("Got authorization error from ams, try to register later", e);
+        resetToken(amsUrl, token);
+        LOG.error("Got authorization error from ams {}, try to register later", amsUrl, e);
       } else {
-        LOG.error("Touch ams failed", e);
+        LOG.error("Touch ams {} failed", amsUrl, e);
       }
     }
   }
 
   public interface TokenChangeListener {
-    void tokenChange(String newToken);
+    /**
+     * Called when the optimizer registered to an AMS, or when the AMS has left the cluster.
+     *
+     * @param amsUrl the url of the AMS
+     * @param newToken the new token, or null if the AMS has left
+     */
+    void tokenChange(String amsUrl, String newToken);
   }
 }
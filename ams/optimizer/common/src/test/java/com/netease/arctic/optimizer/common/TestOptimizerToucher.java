@@ -81,7 +81,7 @@ public class TestOptimizerToucher extends OptimizerTestBase {
     private transient CountDownLatch latch = new CountDownLatch(1);
 
     @Override
-    public void tokenChange(String newToken) {
+    public void tokenChange(String amsUrl, String newToken) {
       tokenList.add(newToken);
       latch.countDown();
     }
@@ -22,12 +22,13 @@ import static org.apache.flink.configuration.HighAvailabilityOptions.HA_CLUSTER_
 import static org.apache.flink.configuration.TaskManagerOptions.TASK_MANAGER_RESOURCE_ID;
 
 import com.netease.arctic.optimizer.common.OptimizerExecutor;
+import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.streaming.api.operators.AbstractStreamOperator;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 
 public class FlinkExecutor extends AbstractStreamOperator<Void>
-    implements OneInputStreamOperator<String, Void> {
+    implements OneInputStreamOperator<Tuple2<String, String>, Void> {
 
   private final OptimizerExecutor[] allExecutors;
   private FlinkOptimizerExecutor executor;
@@ -70,7 +71,8 @@ public class FlinkExecutor extends AbstractStreamOperator<Void>
   }
 
   @Override
-  public void processElement(StreamRecord<String> element) {
-    executor.setToken(element.getValue());
+  public void processElement(StreamRecord<Tuple2<String, String>> element) {
+    String token = element.getValue().f1;
+    executor.setToken(element.getValue().f0, token.isEmpty() ? null : token);
   }
 }
@@ -20,12 +20,13 @@ package com.netease.arctic.optimizer.flink;
 
 import com.netease.arctic.api.resource.Resource;
 import com.netease.arctic.optimizer.common.OptimizerToucher;
+import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.runtime.execution.Environment;
 import org.apache.flink.streaming.api.functions.source.RichParallelSourceFunction;
 import org.apache.flink.streaming.api.operators.StreamingRuntimeContext;
 import org.apache.iceberg.common.DynFields;
 
-public class FlinkToucher extends RichParallelSourceFunction<String> {
+public class FlinkToucher extends RichParallelSourceFunction<Tuple2<String, String>> {
 
   private static final DynFields.UnboundField<Environment> FLINK_TASK_RUNTIME_FIELDS =
       DynFields.builder().hiddenImpl(StreamingRuntimeContext.class, "taskEnvironment").build();
@@ -37,10 +38,13 @@ public class FlinkToucher extends RichParallelSourceFunction<String> {
   }
 
   @Override
-  public void run(SourceContext<String> sourceContext) {
+  public void run(SourceContext<Tuple2<String, String>> sourceContext) {
     String jobId = FLINK_TASK_RUNTIME_FIELDS.bind(getRuntimeContext()).get().getJobID().toString();
     toucher
-        .withTokenChangeListener(sourceContext::collect)
+        .withTokenChangeListener(
+            // Tuple fields could not be null, an empty token means the AMS has left
+            (amsUrl, newToken) ->
+                sourceContext.collect(Tuple2.of(amsUrl, newToken == null ? "" : newToken)))
         .withRegisterProperty(Resource.PROPERTY_JOB_ID, jobId)
         .start();
   }
@@ -65,6 +65,14 @@ public class ArcticManagementConf {
           .defaultValue(3 * 60 * 1000L)
           .withDescription("Interval to refresh the external catalog.");
 
+  public static final ConfigOption<Long> REFRESH_EXTERNAL_CATALOGS_FULL_SYNC_INTERVAL =
+      ConfigOptions.key("refresh-external-catalogs.full-sync-interval")
+          .longType()
+          .defaultValue(60 * 60 * 1000L)
+          .withDescription(
+              "Interval to list all the databases and tables of the external catalog, only the "
+                  + "changed databases are listed between two full syncs.");
+
   public static final ConfigOption<Integer> REFRESH_EXTERNAL_CATALOGS_THREAD_COUNT =
       ConfigOptions.key("refresh-external-catalogs.thread-count")
           .intType()
@@ -102,6 +110,23 @@ public class ArcticManagementConf {
           .defaultValue(10)
           .withDescription("The number of threads used for orphan files cleaning.");
 
+  public static final ConfigOption<Long> CLEAN_ORPHAN_FILES_MANIFESTS_CACHE_MAX_SIZE =
+      ConfigOptions.key("clean-orphan-files.manifests-cache.max-size")
+          .longType()
+          .defaultValue(1000L)
+          .withDescription(
+              "The maximum number of the tables whose reachable manifests are kept across the runs"
+                  + " of orphan files cleaning.");
+
+  public static final ConfigOption<Duration>
+      CLEAN_ORPHAN_FILES_MANIFESTS_CACHE_EXPIRE_AFTER_ACCESS =
+          ConfigOptions.key("clean-orphan-files.manifests-cache.expire-after-access")
+              .durationType()
+              .defaultValue(Duration.ofDays(1))
+              .withDescription(
+                  "The kept reachable manifests of a table expire after they have not been"
+                      + " accessed for a while.");
+
   public static final ConfigOption<Boolean> CLEAN_DANGLING_DELETE_FILES_ENABLED =
       ConfigOptions.key("clean-dangling-delete-files.enabled")
           .booleanType()
@@ -126,6 +151,15 @@ public class ArcticManagementConf {
           .defaultValue(10)
           .withDescription("The number of threads used for synchronizing Hive tables.");
 
+  public static final ConfigOption<Integer> TABLE_EXECUTORS_MAX_THREAD_COUNT =
+      ConfigOptions.key("table-executors.max-thread-count")
+          .intType()
+          .defaultValue(32)
+          .withDescription(
+              "The max number of threads shared by all the table executors, e.g.: expiring "
+                  + "snapshots, cleaning orphan files. The thread count of each executor limits "
+                  + "its concurrency on these threads.");
+
   public static final ConfigOption<Integer> REFRESH_TABLES_THREAD_COUNT =
       ConfigOptions.key("refresh-tables.thread-count")
           .intType()
@@ -150,12 +184,90 @@ public class ArcticManagementConf {
           .defaultValue(60000L)
           .withDescription("Interval for creating tags.");
 
+  public static final ConfigOption<Boolean> UPDATE_COLUMN_STATISTICS_ENABLED =
+      ConfigOptions.key("update-column-statistics.enabled")
+          .booleanType()
+          .defaultValue(true)
+          .withDescription("Enable updating the NDV statistics of table columns.");
+
+  public static final ConfigOption<Integer> UPDATE_COLUMN_STATISTICS_THREAD_COUNT =
+      ConfigOptions.key("update-column-statistics.thread-count")
+          .intType()
+          .defaultValue(2)
+          .withDescription("The number of threads used for updating column statistics.");
+
+  public static final ConfigOption<Long> UPDATE_COLUMN_STATISTICS_INTERVAL =
+      ConfigOptions.key("update-column-statistics.interval")
+          .longType()
+          .defaultValue(3600000L)
+          .withDescription("Interval for updating column statistics.");
+
   public static final ConfigOption<Long> REFRESH_TABLES_INTERVAL =
       ConfigOptions.key("refresh-tables.interval")
           .longType()
           .defaultValue(60000L)
           .withDescription("Interval for refreshing table metadata.");
 
+  public static final ConfigOption<Long> REFRESH_TABLES_NOTIFIED_INTERVAL =
+      ConfigOptions.key("refresh-tables.notified-interval")
+          .longType()
+          .defaultValue(600000L)
+          .withDescription(
+              "Interval for refreshing the metadata of the tables whose changes are notified to AMS"
+                  + " by commits or reports, in case of the changes not notified.");
+
+  public static final ConfigOption<Boolean> TABLE_CACHE_ENABLED =
+      ConfigOptions.key("table-cache.enabled")
+          .booleanType()
+          .defaultValue(true)
+          .withDescription(
+              "Enable caching the loaded tables, the cached table is refreshed by its metadata"
+                  + " location instead of being loaded again.");
+
+  public static final ConfigOption<Long> TABLE_CACHE_MAX_SIZE =
+      ConfigOptions.key("table-cache.max-size")
+          .longType()
+          .defaultValue(10000L)
+          .withDescription("The maximum number of the cached tables.");
+
+  public static final ConfigOption<Duration> TABLE_CACHE_EXPIRE_AFTER_ACCESS =
+      ConfigOptions.key("table-cache.expire-after-access")
+          .durationType()
+          .defaultValue(Duration.ofMinutes(10))
+          .withDescription("The cached table expires after it has not been accessed for a while.");
+
+  public static final ConfigOption<Long> TABLE_METADATA_CACHE_MAX_MEMORY_SIZE =
+      ConfigOptions.key("table-metadata-cache.max-memory-size")
+          .longType()
+          .defaultValue(256L * 1024 * 1024)
+          .withDescription(
+              "The maximum estimated memory size in bytes of the parsed metadata of internal"
+                  + " tables cached by AMS.");
+
+  public static final ConfigOption<Duration> TABLE_METADATA_CACHE_EXPIRE_AFTER_ACCESS =
+      ConfigOptions.key("table-metadata-cache.expire-after-access")
+          .durationType()
+          .defaultValue(Duration.ofMinutes(10))
+          .withDescription(
+              "The cached metadata of internal tables expires after it has not been accessed for"
+                  + " a while.");
+
+  public static final ConfigOption<Long> PARTITION_STATISTICS_CACHE_MAX_SIZE =
+      ConfigOptions.key("partition-statistics-cache.max-size")
+          .longType()
+          .defaultValue(1000L)
+          .withDescription(
+              "The maximum number of the tables whose partition statistics are cached for the"
+                  + " dashboard.");
+
+  public static final ConfigOption<Duration> PARTITION_STATISTICS_CACHE_EXPIRE_AFTER_ACCESS =
+      ConfigOptions.key("partition-statistics-cache.expire-after-access")
+          .durationType()
+          .defaultValue(Duration.ofHours(1))
+          .withDescription(
+              "The cached partition statistics of a table expire after they have not been"
+                  + " accessed for a while.");
+
   public static final ConfigOption<Long> BLOCKER_TIMEOUT =
       ConfigOptions.key("blocker.timeout")
           .longType()
@@ -180,6 +292,14 @@ public class ArcticManagementConf {
           .defaultValue("")
           .withDescription("The Zookeeper address used for high availability.");
 
+  public static final ConfigOption<Boolean> HA_TABLE_SHARDING_ENABLED =
+      ConfigOptions.key("ha.table-sharding.enabled")
+          .booleanType()
+          .defaultValue(false)
+          .withDescription(
+              "Whether all the AMS nodes of the cluster are active and share the tables, "
+                  + "instead of a single leader managing all the tables.");
+
   public static final ConfigOption<Integer> TABLE_SERVICE_THRIFT_BIND_PORT =
       ConfigOptions.key("thrift-server.table-service.bind-port")
           .intType()
@@ -228,6 +348,14 @@ public class ArcticManagementConf {
           .defaultValue(10)
           .withDescription("The number of threads that self-optimizing uses to submit results.");
 
+  public static final ConfigOption<Integer> OPTIMIZING_RECOVERY_THREAD_COUNT =
+      ConfigOptions.key("self-optimizing.recovery-thread-count")
+          .intType()
+          .defaultValue(10)
+          .withDescription(
+              "The number of threads that self-optimizing uses to build the table runtimes and "
+                  + "recover the optimizing processes when AMS starts or takes over.");
+
   public static final ConfigOption<Integer> OPTIMIZING_RUNTIME_DATA_KEEP_DAYS =
       ConfigOptions.key("self-optimizing.runtime-data-keep-days")
           .intType()
@@ -314,6 +442,13 @@ public class ArcticManagementConf {
           .defaultValue(3000L)
           .withDescription("Optimizer polling task timeout.");
 
+  public static final ConfigOption<Long> OPTIMIZER_AUTOSCALE_INTERVAL =
+      ConfigOptions.key("optimizer.autoscale-interval")
+          .longType()
+          .defaultValue(60000L)
+          .withDescription(
+              "Interval for autoscaling the optimizers of the groups with autoscale enabled.");
+
   /** config key prefix of terminal */
   public static final String TERMINAL_PREFIX = "terminal.";
 
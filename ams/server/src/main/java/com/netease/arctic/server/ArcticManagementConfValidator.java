@@ -68,6 +68,26 @@ public class ArcticManagementConfValidator {
 
     validateThreadCount(configurations, ArcticManagementConf.REFRESH_TABLES_THREAD_COUNT);
     validateThreadCount(configurations, ArcticManagementConf.OPTIMIZING_COMMIT_THREAD_COUNT);
+    validateThreadCount(configurations, ArcticManagementConf.OPTIMIZING_RECOVERY_THREAD_COUNT);
+
+    long autoscaleInterval =
+        configurations.getLong(ArcticManagementConf.OPTIMIZER_AUTOSCALE_INTERVAL);
+    if (autoscaleInterval <= 0) {
+      throw new IllegalArgumentException(
+          String.format(
+              "%s must > 0, actual value = %d",
+              ArcticManagementConf.OPTIMIZER_AUTOSCALE_INTERVAL.key(), autoscaleInterval));
+    }
+
+    long metadataCacheSize =
+        configurations.getLong(ArcticManagementConf.TABLE_METADATA_CACHE_MAX_MEMORY_SIZE);
+    if (metadataCacheSize < 0) {
+      throw new IllegalArgumentException(
+          String.format(
+              "%s must >= 0, actual value = %d",
+              ArcticManagementConf.TABLE_METADATA_CACHE_MAX_MEMORY_SIZE.key(),
+              metadataCacheSize));
+    }
 
     if (configurations.getBoolean(ArcticManagementConf.EXPIRE_SNAPSHOTS_ENABLED)) {
       validateThreadCount(configurations, ArcticManagementConf.EXPIRE_SNAPSHOTS_THREAD_COUNT);
@@ -79,6 +99,10 @@ public class ArcticManagementConfValidator {
     if (configurations.getBoolean(ArcticManagementConf.SYNC_HIVE_TABLES_ENABLED)) {
       validateThreadCount(configurations, ArcticManagementConf.SYNC_HIVE_TABLES_THREAD_COUNT);
     }
+    if (configurations.getBoolean(ArcticManagementConf.UPDATE_COLUMN_STATISTICS_ENABLED)) {
+      validateThreadCount(
+          configurations, ArcticManagementConf.UPDATE_COLUMN_STATISTICS_THREAD_COUNT);
+    }
   }
 
   private static void validateThreadCount(
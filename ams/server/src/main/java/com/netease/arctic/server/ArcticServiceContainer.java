@@ -24,6 +24,7 @@ import com.netease.arctic.api.OptimizerProperties;
 import com.netease.arctic.api.OptimizingService;
 import com.netease.arctic.api.config.ConfigHelpers;
 import com.netease.arctic.api.config.Configurations;
+import com.netease.arctic.api.metrics.MetricKey;
 import com.netease.arctic.server.dashboard.DashboardServer;
 import com.netease.arctic.server.dashboard.response.ErrorResponse;
 import com.netease.arctic.server.dashboard.utils.AmsUtil;
@@ -31,6 +32,8 @@ import com.netease.arctic.server.dashboard.utils.CommonUtil;
 import com.netease.arctic.server.exception.ArcticRuntimeException;
 import com.netease.arctic.server.manager.EventsManager;
 import com.netease.arctic.server.manager.MetricManager;
+import com.netease.arctic.server.metrics.MetricRegistry;
+import com.netease.arctic.server.metrics.ServerMetrics;
 import com.netease.arctic.server.persistence.SqlSessionFactoryProvider;
 import com.netease.arctic.server.resource.ContainerMetadata;
 import com.netease.arctic.server.resource.OptimizerManager;
@@ -39,6 +42,7 @@ import com.netease.arctic.server.table.DefaultTableService;
 import com.netease.arctic.server.table.RuntimeHandlerChain;
 import com.netease.arctic.server.table.TableService;
 import com.netease.arctic.server.table.executor.AsyncTableExecutors;
+import com.netease.arctic.server.table.internal.InternalTableMetadataCache;
 import com.netease.arctic.server.terminal.TerminalManager;
 import com.netease.arctic.server.utils.ThriftServiceProxy;
 import com.netease.arctic.utils.JacksonUtil;
@@ -89,6 +93,7 @@ public class ArcticServiceContainer {
   private DefaultTableService tableService;
   private DefaultOptimizingService optimizingService;
   private TerminalManager terminalManager;
+  private List<MetricKey> serverMetricKeys;
   private Configurations serviceConfig;
   private TServer tableManagementServer;
   private TServer optimizingServiceServer;
@@ -104,6 +109,7 @@ public class ArcticServiceContainer {
       ArcticServiceContainer service = new ArcticServiceContainer();
       while (true) {
         try {
+          service.prepareService();
           service.waitLeaderShip();
           service.startService();
           service.waitFollowerShip();
@@ -127,11 +133,31 @@ public class ArcticServiceContainer {
     haContainer.waitFollowerShip();
   }
 
+  /**
+   * Build the catalogs while waiting for the leadership, so that the node could serve soon after it
+   * takes over. The failure is ignored since the catalogs are built again when the service starts.
+   */
+  public void prepareService() {
+    tableService = new DefaultTableService(serviceConfig);
+    tableService.setTableOwnership(haContainer.getTableOwnership());
+    try {
+      tableService.prepare();
+      LOG.info("AMS table service have been prepared");
+    } catch (Exception e) {
+      LOG.warn("Failed to prepare AMS table service, it will be initialized after taking over", e);
+    }
+  }
+
   public void startService() throws Exception {
     EventsManager.getInstance();
-    MetricManager.getInstance();
+    if (serverMetricKeys == null) {
+      serverMetricKeys = ServerMetrics.register(MetricManager.getInstance().getGlobalRegistry());
+    }
 
-    tableService = new DefaultTableService(serviceConfig);
+    if (tableService == null) {
+      tableService = new DefaultTableService(serviceConfig);
+      tableService.setTableOwnership(haContainer.getTableOwnership());
+    }
     optimizingService = new DefaultOptimizingService(serviceConfig, tableService);
 
     LOG.info("Setting up AMS table executors...");
@@ -147,6 +173,7 @@ public class ArcticServiceContainer {
     addHandlerChain(AsyncTableExecutors.getInstance().getHiveCommitSyncExecutor());
     addHandlerChain(AsyncTableExecutors.getInstance().getTableRefreshingExecutor());
     addHandlerChain(AsyncTableExecutors.getInstance().getTagsAutoCreatingExecutor());
+    addHandlerChain(AsyncTableExecutors.getInstance().getColumnStatisticsUpdatingExecutor());
     tableService.initialize();
     LOG.info("AMS table service have been initialized");
     terminalManager = new TerminalManager(serviceConfig, tableService);
@@ -183,6 +210,11 @@ public class ArcticServiceContainer {
       terminalManager = null;
     }
     optimizingService = null;
+    if (serverMetricKeys != null) {
+      MetricRegistry registry = MetricManager.getInstance().getGlobalRegistry();
+      serverMetricKeys.forEach(registry::unregister);
+      serverMetricKeys = null;
+    }
 
     EventsManager.dispose();
     MetricManager.dispose();
@@ -404,6 +436,7 @@ public class ArcticServiceContainer {
       serviceConfig = Configurations.fromObjectMap(expandedConfigurationMap);
       ArcticManagementConfValidator.validateConfig(serviceConfig);
       SqlSessionFactoryProvider.getInstance().init(serviceConfig);
+      InternalTableMetadataCache.setup(serviceConfig);
     }
 
     private Map<String, Object> initEnvConfig() {
@@ -29,6 +29,7 @@ import com.netease.arctic.api.OptimizingTaskResult;
 import com.netease.arctic.api.ServerTableIdentifier;
 import com.netease.arctic.api.config.Configurations;
 import com.netease.arctic.api.config.TableConfiguration;
+import com.netease.arctic.api.metrics.Timer;
 import com.netease.arctic.api.resource.Resource;
 import com.netease.arctic.api.resource.ResourceGroup;
 import com.netease.arctic.properties.CatalogMetaProperties;
@@ -36,12 +37,14 @@ import com.netease.arctic.server.exception.ForbiddenException;
 import com.netease.arctic.server.exception.ObjectNotExistsException;
 import com.netease.arctic.server.exception.PluginRetryAuthException;
 import com.netease.arctic.server.exception.TaskNotFoundException;
+import com.netease.arctic.server.metrics.ServerMetrics;
 import com.netease.arctic.server.optimizing.OptimizingQueue;
 import com.netease.arctic.server.optimizing.OptimizingStatus;
 import com.netease.arctic.server.optimizing.TaskRuntime;
 import com.netease.arctic.server.persistence.StatedPersistentBase;
 import com.netease.arctic.server.persistence.mapper.OptimizerMapper;
 import com.netease.arctic.server.persistence.mapper.ResourceMapper;
+import com.netease.arctic.server.resource.OptimizerAutoscaler;
 import com.netease.arctic.server.resource.OptimizerInstance;
 import com.netease.arctic.server.resource.OptimizerManager;
 import com.netease.arctic.server.resource.OptimizerThread;
@@ -53,8 +56,10 @@ import com.netease.arctic.server.table.TableRuntimeMeta;
 import com.netease.arctic.server.table.TableService;
 import com.netease.arctic.table.TableProperties;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.iceberg.relocated.com.google.common.collect.ImmutableList;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
@@ -70,9 +75,11 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.DelayQueue;
 import java.util.concurrent.Delayed;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Predicate;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -94,13 +101,20 @@ public class DefaultOptimizingService extends StatedPersistentBase
   private final long taskAckTimeout;
   private final int maxPlanningParallelism;
   private final long pollingTimeout;
+  private final int recoveryThreadCount;
+  // The optimizers register to all the nodes sharing the tables, and poll tasks from them
+  private final boolean tableSharding;
+  private final long autoscaleInterval;
   private final Map<String, OptimizingQueue> optimizingQueueByGroup = new ConcurrentHashMap<>();
   private final Map<String, OptimizingQueue> optimizingQueueByToken = new ConcurrentHashMap<>();
   private final Map<String, OptimizerInstance> authOptimizers = new ConcurrentHashMap<>();
+  // the tasks held by each optimizer, to recover them when the optimizer expires
+  private final Map<String, Set<TaskRuntime>> tasksByToken = new ConcurrentHashMap<>();
   private final OptimizerKeeper optimizerKeeper = new OptimizerKeeper();
   private final TableService tableService;
   private final RuntimeHandlerChain tableHandlerChain;
   private final Executor planExecutor;
+  private ScheduledExecutorService autoscaleExecutor;
 
   public DefaultOptimizingService(Configurations serviceConfig, DefaultTableService tableService) {
     this.optimizerTouchTimeout = serviceConfig.getLong(ArcticManagementConf.OPTIMIZER_HB_TIMEOUT);
@@ -108,6 +122,13 @@ public class DefaultOptimizingService extends StatedPersistentBase
     this.maxPlanningParallelism =
         serviceConfig.getInteger(ArcticManagementConf.OPTIMIZER_MAX_PLANNING_PARALLELISM);
     this.pollingTimeout = serviceConfig.getLong(ArcticManagementConf.OPTIMIZER_POLLING_TIMEOUT);
+    this.recoveryThreadCount =
+        serviceConfig.getInteger(ArcticManagementConf.OPTIMIZING_RECOVERY_THREAD_COUNT);
+    this.tableSharding =
+        serviceConfig.getBoolean(ArcticManagementConf.HA_ENABLE)
+            && serviceConfig.getBoolean(ArcticManagementConf.HA_TABLE_SHARDING_ENABLED);
+    this.autoscaleInterval =
+        serviceConfig.getLong(ArcticManagementConf.OPTIMIZER_AUTOSCALE_INTERVAL);
     this.tableService = tableService;
     this.tableHandlerChain = new TableRuntimeHandlerImpl();
     this.planExecutor =
@@ -125,25 +146,50 @@ public class DefaultOptimizingService extends StatedPersistentBase
   private void loadOptimizingQueues(List<TableRuntimeMeta> tableRuntimeMetaList) {
     List<ResourceGroup> optimizerGroups =
         getAs(ResourceMapper.class, ResourceMapper::selectResourceGroups);
-    List<OptimizerInstance> optimizers = getAs(OptimizerMapper.class, OptimizerMapper::selectAll);
+    // The optimizers persisted by the other nodes are not known, they would register again
+    List<OptimizerInstance> optimizers =
+        tableSharding
+            ? new ArrayList<>()
+            : getAs(OptimizerMapper.class, OptimizerMapper::selectAll);
     Map<String, List<TableRuntimeMeta>> groupToTableRuntimes =
         tableRuntimeMetaList.stream()
             .collect(Collectors.groupingBy(TableRuntimeMeta::getOptimizerGroup));
-    optimizerGroups.forEach(
-        group -> {
-          String groupName = group.getName();
-          List<TableRuntimeMeta> tableRuntimeMetas = groupToTableRuntimes.remove(groupName);
-          OptimizingQueue optimizingQueue =
-              new OptimizingQueue(
-                  tableService,
-                  group,
-                  this,
-                  planExecutor,
-                  Optional.ofNullable(tableRuntimeMetas).orElseGet(ArrayList::new),
-                  maxPlanningParallelism);
-          optimizingQueueByGroup.put(groupName, optimizingQueue);
-        });
-    optimizers.forEach(optimizer -> registerOptimizer(optimizer, false));
+    // Recover the optimizing processes of the tables in parallel to serve the optimizers soon
+    ExecutorService recoveryExecutor =
+        Executors.newFixedThreadPool(
+            recoveryThreadCount,
+            new ThreadFactoryBuilder()
+                .setNameFormat("optimizing-recovery-thread-%d")
+                .setDaemon(true)
+                .build());
+    try {
+      optimizerGroups.forEach(
+          group -> {
+            String groupName = group.getName();
+            List<TableRuntimeMeta> tableRuntimeMetas = groupToTableRuntimes.remove(groupName);
+            OptimizingQueue optimizingQueue =
+                new OptimizingQueue(
+                    tableService,
+                    group,
+                    this,
+                    planExecutor,
+                    Optional.ofNullable(tableRuntimeMetas).orElseGet(ArrayList::new),
+                    maxPlanningParallelism,
+                    recoveryExecutor);
+            optimizingQueueByGroup.put(groupName, optimizingQueue);
+          });
+    } finally {
+      recoveryExecutor.shutdown();
+    }
+    // The leases are kept in memory, give the loaded optimizers a full timeout to touch again
+    optimizers.forEach(optimizer -> registerOptimizer(optimizer.touch(), false));
+    optimizingQueueByGroup
+        .values()
+        .forEach(
+            queue ->
+                queue
+                    .collectTasks(task -> StringUtils.isNotBlank(task.getToken()))
+                    .forEach(task -> holdTask(task.getToken(), task, queue)));
     groupToTableRuntimes
         .keySet()
         .forEach(groupName -> LOG.warn("Unloaded task runtime in group " + groupName));
@@ -158,6 +204,7 @@ public class DefaultOptimizingService extends StatedPersistentBase
     optimizingQueue.addOptimizer(optimizer);
     authOptimizers.put(optimizer.getToken(), optimizer);
     optimizingQueueByToken.put(optimizer.getToken(), optimizingQueue);
+    tasksByToken.put(optimizer.getToken(), ConcurrentHashMap.newKeySet());
     optimizerKeeper.keepInTouch(optimizer);
   }
 
@@ -166,6 +213,45 @@ public class DefaultOptimizingService extends StatedPersistentBase
     OptimizingQueue optimizingQueue = optimizingQueueByToken.remove(token);
     OptimizerInstance optimizer = authOptimizers.remove(token);
     optimizingQueue.removeOptimizer(optimizer);
+    Optional.ofNullable(tasksByToken.remove(token))
+        .ifPresent(
+            tasks ->
+                tasks.stream()
+                    .filter(
+                        task ->
+                            token.equals(task.getToken())
+                                && task.getStatus() != TaskRuntime.Status.SUCCESS)
+                    .forEach(task -> retrySuspendingTask(task, optimizingQueue)));
+  }
+
+  /** Index the task by the optimizer holding it, or retry it if the optimizer is gone. */
+  private void holdTask(String token, TaskRuntime task, OptimizingQueue queue) {
+    // Added atomically with unregistering, the task is either retried here or by unregistering
+    Set<TaskRuntime> tasks =
+        tasksByToken.computeIfPresent(
+            token,
+            (ignored, heldTasks) -> {
+              heldTasks.add(task);
+              return heldTasks;
+            });
+    if (tasks == null
+        && token.equals(task.getToken())
+        && task.getStatus() != TaskRuntime.Status.SUCCESS) {
+      retrySuspendingTask(task, queue);
+    }
+  }
+
+  private void retrySuspendingTask(TaskRuntime task, OptimizingQueue queue) {
+    if (queue.getTask(task.getTaskId()) != task) {
+      // The process has been closed or assigned to another node
+      return;
+    }
+    LOG.info(
+        "Task {} is suspending, since it's optimizer is expired, put it to retry queue, optimizer {}",
+        task.getTaskId(),
+        task.getResourceDesc());
+    // optimizing task of suspending optimizer would not be counted for retrying
+    queue.retryTask(task);
   }
 
   @Override
@@ -175,11 +261,19 @@ public class DefaultOptimizingService extends StatedPersistentBase
     return getQueueByGroup(optimizerGroup).collectTasks();
   }
 
+  /** The tasks indexed for the optimizer, null if the optimizer is not registered. */
+  @VisibleForTesting
+  Set<TaskRuntime> getHeldTasks(String token) {
+    return tasksByToken.get(token);
+  }
+
   @Override
   public void touch(String authToken) {
-    OptimizerInstance optimizer = getAuthenticatedOptimizer(authToken).touch();
-    LOG.debug("Optimizer {} touch time: {}", optimizer.getToken(), optimizer.getTouchTime());
-    doAs(OptimizerMapper.class, mapper -> mapper.updateTouchTime(optimizer.getToken()));
+    try (Timer.Context ignored = ServerMetrics.TOUCH_TIMER.time()) {
+      // Only the lease in memory is renewed, the touch time is persisted by the keeper
+      OptimizerInstance optimizer = getAuthenticatedOptimizer(authToken).touch();
+      LOG.debug("Optimizer {} touch time: {}", optimizer.getToken(), optimizer.getTouchTime());
+    }
   }
 
   private OptimizerInstance getAuthenticatedOptimizer(String authToken) {
@@ -190,11 +284,19 @@ public class DefaultOptimizingService extends StatedPersistentBase
 
   @Override
   public OptimizingTask pollTask(String authToken, int threadId) {
-    LOG.debug("Optimizer {} (threadId {}) try polling task", authToken, threadId);
-    OptimizingQueue queue = getQueueByToken(authToken);
-    return Optional.ofNullable(queue.pollTask(pollingTimeout))
-        .map(task -> extractOptimizingTask(task, authToken, threadId, queue))
-        .orElse(null);
+    // the long polling wait is excluded from the duration, which only times the scheduling work
+    long startTime = System.nanoTime();
+    AtomicLong waitNanos = new AtomicLong();
+    try {
+      LOG.debug("Optimizer {} (threadId {}) try polling task", authToken, threadId);
+      OptimizingQueue queue = getQueueByToken(authToken);
+      return Optional.ofNullable(queue.pollTask(pollingTimeout, waitNanos::addAndGet))
+          .map(task -> extractOptimizingTask(task, authToken, threadId, queue))
+          .orElse(null);
+    } finally {
+      ServerMetrics.POLL_TASK_TIMER.update(
+          System.nanoTime() - startTime - waitNanos.get(), TimeUnit.NANOSECONDS);
+    }
   }
 
   private OptimizingTask extractOptimizingTask(
@@ -202,6 +304,7 @@ public class DefaultOptimizingService extends StatedPersistentBase
     try {
       OptimizerThread optimizerThread = getAuthenticatedOptimizer(authToken).getThread(threadId);
       task.schedule(optimizerThread);
+      holdTask(authToken, task, queue);
       LOG.info("OptimizerThread {} polled task {}", optimizerThread, task.getTaskId());
       return task.getOptimizingTask();
     } catch (Throwable throwable) {
@@ -213,50 +316,61 @@ public class DefaultOptimizingService extends StatedPersistentBase
 
   @Override
   public void ackTask(String authToken, int threadId, OptimizingTaskId taskId) {
-    LOG.info("Ack task {} by optimizer {} (threadId {})", taskId, authToken, threadId);
-    OptimizingQueue queue = getQueueByToken(authToken);
-    Optional.ofNullable(queue.getTask(taskId))
-        .orElseThrow(() -> new TaskNotFoundException(taskId))
-        .ack(getAuthenticatedOptimizer(authToken).getThread(threadId));
+    try (Timer.Context ignored = ServerMetrics.ACK_TASK_TIMER.time()) {
+      LOG.info("Ack task {} by optimizer {} (threadId {})", taskId, authToken, threadId);
+      OptimizingQueue queue = getQueueByToken(authToken);
+      Optional.ofNullable(queue.getTask(taskId))
+          .orElseThrow(() -> new TaskNotFoundException(taskId))
+          .ack(getAuthenticatedOptimizer(authToken).getThread(threadId));
+    }
   }
 
   @Override
   public void completeTask(String authToken, OptimizingTaskResult taskResult) {
-    LOG.info(
-        "Optimizer {} (threadId {}) complete task {}",
-        authToken,
-        taskResult.getThreadId(),
-        taskResult.getTaskId());
-    OptimizingQueue queue = getQueueByToken(authToken);
-    OptimizerThread thread =
-        getAuthenticatedOptimizer(authToken).getThread(taskResult.getThreadId());
-    Optional.ofNullable(queue.getTask(taskResult.getTaskId()))
-        .orElseThrow(() -> new TaskNotFoundException(taskResult.getTaskId()))
-        .complete(thread, taskResult);
+    try (Timer.Context ignored = ServerMetrics.COMPLETE_TASK_TIMER.time()) {
+      LOG.info(
+          "Optimizer {} (threadId {}) complete task {}",
+          authToken,
+          taskResult.getThreadId(),
+          taskResult.getTaskId());
+      OptimizingQueue queue = getQueueByToken(authToken);
+      // The optimizer has been busy until now, even if the task is shorter than a scaling interval
+      OptimizerThread thread =
+          getAuthenticatedOptimizer(authToken)
+              .busy(System.currentTimeMillis())
+              .getThread(taskResult.getThreadId());
+      TaskRuntime task =
+          Optional.ofNullable(queue.getTask(taskResult.getTaskId()))
+              .orElseThrow(() -> new TaskNotFoundException(taskResult.getTaskId()));
+      task.complete(thread, taskResult);
+      Optional.ofNullable(tasksByToken.get(authToken)).ifPresent(tasks -> tasks.remove(task));
+    }
   }
 
   @Override
   public String authenticate(OptimizerRegisterInfo registerInfo) {
-    LOG.info("Register optimizer {}.", registerInfo);
-    Optional.ofNullable(
-            registerInfo.getProperties().get(OptimizerProperties.OPTIMIZER_HEART_BEAT_INTERVAL))
-        .ifPresent(
-            interval -> {
-              if (Long.parseLong(interval) >= optimizerTouchTimeout) {
-                throw new ForbiddenException(
-                    String.format(
-                        "The %s:%s configuration should be less than AMS's %s:%s",
-                        OptimizerProperties.OPTIMIZER_HEART_BEAT_INTERVAL,
-                        interval,
-                        ArcticManagementConf.OPTIMIZER_HB_TIMEOUT.key(),
-                        optimizerTouchTimeout));
-              }
-            });
-
-    OptimizingQueue queue = getQueueByGroup(registerInfo.getGroupName());
-    OptimizerInstance optimizer = new OptimizerInstance(registerInfo, queue.getContainerName());
-    registerOptimizer(optimizer, true);
-    return optimizer.getToken();
+    try (Timer.Context ignored = ServerMetrics.AUTHENTICATE_TIMER.time()) {
+      LOG.info("Register optimizer {}.", registerInfo);
+      Optional.ofNullable(
+              registerInfo.getProperties().get(OptimizerProperties.OPTIMIZER_HEART_BEAT_INTERVAL))
+          .ifPresent(
+              interval -> {
+                if (Long.parseLong(interval) >= optimizerTouchTimeout) {
+                  throw new ForbiddenException(
+                      String.format(
+                          "The %s:%s configuration should be less than AMS's %s:%s",
+                          OptimizerProperties.OPTIMIZER_HEART_BEAT_INTERVAL,
+                          interval,
+                          ArcticManagementConf.OPTIMIZER_HB_TIMEOUT.key(),
+                          optimizerTouchTimeout));
+                }
+              });
+
+      OptimizingQueue queue = getQueueByGroup(registerInfo.getGroupName());
+      OptimizerInstance optimizer = new OptimizerInstance(registerInfo, queue.getContainerName());
+      registerOptimizer(optimizer, true);
+      return optimizer.getToken();
+    }
   }
 
   /**
@@ -271,7 +385,22 @@ public class DefaultOptimizingService extends StatedPersistentBase
 
   private Optional<OptimizingQueue> getOptionalQueueByGroup(String optimizerGroup) {
     Preconditions.checkArgument(optimizerGroup != null, "optimizerGroup can not be null");
-    return Optional.ofNullable(optimizingQueueByGroup.get(optimizerGroup));
+    OptimizingQueue queue = optimizingQueueByGroup.get(optimizerGroup);
+    if (queue == null && tableSharding) {
+      // The group may be created by the other node
+      queue = optimizingQueueByGroup.computeIfAbsent(optimizerGroup, this::loadOptimizingQueue);
+    }
+    return Optional.ofNullable(queue);
+  }
+
+  private OptimizingQueue loadOptimizingQueue(String groupName) {
+    ResourceGroup group =
+        getAs(ResourceMapper.class, mapper -> mapper.selectResourceGroup(groupName));
+    if (group == null) {
+      return null;
+    }
+    return new OptimizingQueue(
+        tableService, group, this, planExecutor, new ArrayList<>(), maxPlanningParallelism);
   }
 
   private OptimizingQueue getQueueByToken(String token) {
@@ -382,10 +511,14 @@ public class DefaultOptimizingService extends StatedPersistentBase
   @Override
   public void dispose() {
     optimizerKeeper.dispose();
+    if (autoscaleExecutor != null) {
+      autoscaleExecutor.shutdownNow();
+    }
     tableHandlerChain.dispose();
     optimizingQueueByGroup.clear();
     optimizingQueueByToken.clear();
     authOptimizers.clear();
+    tasksByToken.clear();
   }
 
   public boolean canDeleteResourceGroup(String name) {
@@ -423,6 +556,30 @@ public class DefaultOptimizingService extends StatedPersistentBase
         .sum();
   }
 
+  private void startAutoscaler() {
+    if (tableSharding) {
+      // Each node only knows the tasks of its own tables, autoscaling by them would be partial
+      LOG.info("Optimizer autoscaler is disabled when the tables are sharded across the nodes");
+      return;
+    }
+    OptimizerAutoscaler autoscaler =
+        new OptimizerAutoscaler(
+            this,
+            group ->
+                Optional.ofNullable(optimizingQueueByGroup.get(group))
+                    .map(OptimizingQueue::getMetrics)
+                    .orElse(null));
+    autoscaleExecutor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("optimizer-autoscaler-thread-%d")
+                .setDaemon(true)
+                .build());
+    autoscaleExecutor.scheduleWithFixedDelay(
+        autoscaler, autoscaleInterval, autoscaleInterval, TimeUnit.MILLISECONDS);
+    LOG.info("Optimizer autoscaler has been started.");
+  }
+
   private class TableRuntimeHandlerImpl extends RuntimeHandlerChain {
 
     @Override
@@ -455,12 +612,25 @@ public class DefaultOptimizingService extends StatedPersistentBase
           .ifPresent(queue -> queue.releaseTable(tableRuntime));
     }
 
+    @Override
+    public void handleTableAssigned(TableRuntimeMeta tableRuntimeMeta) {
+      getOptionalQueueByGroup(tableRuntimeMeta.getOptimizerGroup())
+          .ifPresent(queue -> queue.assignTable(tableRuntimeMeta));
+    }
+
+    @Override
+    public void handleTableUnassigned(TableRuntime tableRuntime) {
+      getOptionalQueueByGroup(tableRuntime.getOptimizerGroup())
+          .ifPresent(queue -> queue.unassignTable(tableRuntime));
+    }
+
     @Override
     protected void initHandler(List<TableRuntimeMeta> tableRuntimeMetaList) {
       LOG.info("OptimizerManagementService begin initializing");
       loadOptimizingQueues(tableRuntimeMetaList);
       optimizerKeeper.start();
       LOG.info("SuspendingDetector for Optimizer has been started.");
+      startAutoscaler();
       LOG.info("OptimizerManagementService initializing has completed");
     }
 
@@ -514,6 +684,7 @@ public class DefaultOptimizingService extends StatedPersistentBase
     private volatile boolean stopped = false;
     private final Thread thread = new Thread(this, "optimizer-keeper-thread");
     private final DelayQueue<OptimizerKeepingTask> suspendingQueue = new DelayQueue<>();
+    private long lastPurgeTime = 0;
 
     public OptimizerKeeper() {
       thread.setDaemon(true);
@@ -537,21 +708,25 @@ public class DefaultOptimizingService extends StatedPersistentBase
     public void run() {
       while (!stopped) {
         try {
-          OptimizerKeepingTask keepingTask = suspendingQueue.take();
-          String token = keepingTask.getToken();
-          boolean isExpired = !keepingTask.tryKeeping();
-          Optional.ofNullable(keepingTask.getQueue())
-              .ifPresent(
-                  queue ->
-                      queue
-                          .collectTasks(buildSuspendingPredication(authOptimizers.keySet()))
-                          .forEach(task -> retryTask(task, queue)));
-          if (isExpired) {
-            LOG.info("Optimizer {} has been expired, unregister it", keepingTask.getOptimizer());
-            unregisterOptimizer(token);
-          } else {
-            LOG.debug("Optimizer {} is being touched, keep it", keepingTask.getOptimizer());
-            keepInTouch(keepingTask.getOptimizer());
+          // Wake up in time to purge the expired optimizers even if no optimizer is registered
+          List<OptimizerKeepingTask> keepingTasks = Lists.newArrayList();
+          Optional.ofNullable(suspendingQueue.poll(optimizerTouchTimeout, TimeUnit.MILLISECONDS))
+              .ifPresent(keepingTasks::add);
+          suspendingQueue.drainTo(keepingTasks);
+          List<OptimizerInstance> keptOptimizers = Lists.newArrayList();
+          for (OptimizerKeepingTask keepingTask : keepingTasks) {
+            try {
+              if (keep(keepingTask)) {
+                keptOptimizers.add(keepingTask.getOptimizer());
+              }
+            } catch (Throwable t) {
+              LOG.error("Failed to keep optimizer {}", keepingTask.getOptimizer(), t);
+              keepInTouch(keepingTask.getOptimizer());
+            }
+          }
+          persistTouchTime(keptOptimizers);
+          if (tableSharding) {
+            purgeExpiredOptimizers();
           }
         } catch (InterruptedException ignored) {
         } catch (Throwable t) {
@@ -560,22 +735,78 @@ public class DefaultOptimizingService extends StatedPersistentBase
       }
     }
 
-    private void retryTask(TaskRuntime task, OptimizingQueue queue) {
-      LOG.info(
-          "Task {} is suspending, since it's optimizer is expired, put it to retry queue, optimizer {}",
-          task.getTaskId(),
-          task.getResourceDesc());
-      // optimizing task of suspending optimizer would not be counted for retrying
-      queue.retryTask(task);
+    private boolean keep(OptimizerKeepingTask keepingTask) {
+      String token = keepingTask.getToken();
+      if (!keepingTask.tryKeeping()) {
+        if (authOptimizers.get(token) == keepingTask.getOptimizer()) {
+          LOG.info("Optimizer {} has been expired, unregister it", keepingTask.getOptimizer());
+          unregisterOptimizer(token);
+        }
+        return false;
+      }
+      LOG.debug("Optimizer {} is being touched, keep it", keepingTask.getOptimizer());
+      Optional.ofNullable(keepingTask.getQueue())
+          .ifPresent(queue -> retryUnackedTasks(token, queue));
+      keepInTouch(keepingTask.getOptimizer());
+      return true;
+    }
+
+    /** Retry the tasks not acked in time, and drop the tasks no longer held by the optimizer. */
+    private void retryUnackedTasks(String token, OptimizingQueue queue) {
+      Set<TaskRuntime> tasks = tasksByToken.get(token);
+      if (tasks == null) {
+        return;
+      }
+      long now = System.currentTimeMillis();
+      tasks.removeIf(
+          task -> {
+            if (!token.equals(task.getToken())
+                || task.getStatus() == TaskRuntime.Status.SUCCESS
+                || task.getStatus() == TaskRuntime.Status.CANCELED) {
+              return true;
+            }
+            if (task.getStatus() == TaskRuntime.Status.SCHEDULED
+                && task.getStartTime() + taskAckTimeout < now) {
+              retrySuspendingTask(task, queue);
+              return true;
+            }
+            return false;
+          });
     }
 
-    private Predicate<TaskRuntime> buildSuspendingPredication(Set<String> activeTokens) {
-      return task ->
-          StringUtils.isNotBlank(task.getToken())
-                  && !activeTokens.contains(task.getToken())
-                  && task.getStatus() != TaskRuntime.Status.SUCCESS
-              || task.getStatus() == TaskRuntime.Status.SCHEDULED
-                  && task.getStartTime() + taskAckTimeout < System.currentTimeMillis();
+    /**
+     * The optimizers persisted by the other nodes are never loaded in sharded mode, delete their
+     * rows once no node touches them. The touch time of a live optimizer is persisted about once
+     * a heartbeat timeout, so a row not touched for twice the timeout is left by a stopped node.
+     */
+    private void purgeExpiredOptimizers() {
+      long now = System.currentTimeMillis();
+      if (now - lastPurgeTime < optimizerTouchTimeout) {
+        return;
+      }
+      lastPurgeTime = now;
+      doAs(
+          OptimizerMapper.class,
+          mapper -> mapper.deleteExpiredOptimizers(now - 2 * optimizerTouchTimeout));
+    }
+
+    /** Persist the touch time of the optimizers in one transaction, for displaying only. */
+    private void persistTouchTime(List<OptimizerInstance> optimizers) {
+      if (optimizers.isEmpty()) {
+        return;
+      }
+      doAsTransaction(
+          optimizers.stream()
+              .map(
+                  optimizer ->
+                      (Runnable)
+                          () ->
+                              doAs(
+                                  OptimizerMapper.class,
+                                  mapper ->
+                                      mapper.updateTouchTime(
+                                          optimizer.getToken(), optimizer.getTouchTime())))
+              .toArray(Runnable[]::new));
     }
   }
 }
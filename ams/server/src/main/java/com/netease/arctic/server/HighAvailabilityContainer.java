@@ -21,11 +21,13 @@ package com.netease.arctic.server;
 import com.netease.arctic.api.config.Configurations;
 import com.netease.arctic.client.AmsServerInfo;
 import com.netease.arctic.properties.AmsHAProperties;
+import com.netease.arctic.server.table.TableOwnership;
 import com.netease.arctic.utils.JacksonUtil;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.CuratorFrameworkFactory;
 import org.apache.curator.framework.recipes.leader.LeaderLatch;
 import org.apache.curator.framework.recipes.leader.LeaderLatchListener;
+import org.apache.curator.framework.state.ConnectionState;
 import org.apache.curator.retry.ExponentialBackoffRetry;
 import org.apache.zookeeper.CreateMode;
 import org.apache.zookeeper.KeeperException;
@@ -40,13 +42,18 @@ public class HighAvailabilityContainer implements LeaderLatchListener {
 
   public static final Logger LOG = LoggerFactory.getLogger(HighAvailabilityContainer.class);
 
+  private static final int ZK_SESSION_TIMEOUT_MS = 5000;
+
   private final LeaderLatch leaderLatch;
   private final CuratorFramework zkClient;
   private final String tableServiceMasterPath;
   private final String optimizingServiceMasterPath;
   private final AmsServerInfo tableServiceServerInfo;
   private final AmsServerInfo optimizingServiceServerInfo;
+  // Not null if all the nodes are active and share the tables
+  private final ShardedTableOwnership tableOwnership;
   private transient CountDownLatch followerLath;
+  private volatile CountDownLatch sessionLostLatch;
 
   public HighAvailabilityContainer(Configurations serviceConfig) throws Exception {
     if (serviceConfig.getBoolean(ArcticManagementConf.HA_ENABLE)) {
@@ -58,11 +65,28 @@ public class HighAvailabilityContainer implements LeaderLatchListener {
       this.zkClient =
           CuratorFrameworkFactory.builder()
               .connectString(zkServerAddress)
-              .sessionTimeoutMs(5000)
+              .sessionTimeoutMs(ZK_SESSION_TIMEOUT_MS)
               .connectionTimeoutMs(5000)
               .retryPolicy(retryPolicy)
               .build();
       zkClient.start();
+      zkClient
+          .getConnectionStateListenable()
+          .addListener(
+              (client, state) -> {
+                CountDownLatch latch = sessionLostLatch;
+                if (latch == null) {
+                  return;
+                }
+                // The session may have expired while suspended, stop owning the tables at once
+                if (state == ConnectionState.SUSPENDED) {
+                  tableOwnership.suspend();
+                } else if (state == ConnectionState.RECONNECTED && latch.getCount() > 0) {
+                  tableOwnership.resume();
+                } else if (state == ConnectionState.LOST) {
+                  latch.countDown();
+                }
+              });
       createPathIfNeeded(tableServiceMasterPath);
       createPathIfNeeded(optimizingServiceMasterPath);
       String leaderPath = AmsHAProperties.getLeaderPath(haClusterName);
@@ -78,6 +102,15 @@ public class HighAvailabilityContainer implements LeaderLatchListener {
           buildServerInfo(
               serviceConfig.getString(ArcticManagementConf.SERVER_EXPOSE_HOST),
               serviceConfig.getInteger(ArcticManagementConf.OPTIMIZING_SERVICE_THRIFT_BIND_PORT));
+      this.tableOwnership =
+          serviceConfig.getBoolean(ArcticManagementConf.HA_TABLE_SHARDING_ENABLED)
+              ? new ShardedTableOwnership(
+                  zkClient,
+                  AmsHAProperties.getOptimizingServiceNodesPath(haClusterName),
+                  optimizingServiceServerInfo,
+                  leaderLatch::hasLeadership,
+                  ZK_SESSION_TIMEOUT_MS)
+              : null;
     } else {
       leaderLatch = null;
       zkClient = null;
@@ -85,33 +118,51 @@ public class HighAvailabilityContainer implements LeaderLatchListener {
       optimizingServiceMasterPath = null;
       tableServiceServerInfo = null;
       optimizingServiceServerInfo = null;
+      tableOwnership = null;
       // block follower latch forever when ha is disabled
       followerLath = new CountDownLatch(1);
     }
   }
 
   public void waitLeaderShip() throws Exception {
+    if (tableOwnership != null) {
+      // All the nodes are active, the leader only publishes itself as the master
+      sessionLostLatch = new CountDownLatch(1);
+      tableOwnership.start();
+      return;
+    }
     LOG.info("Waiting to become the leader of AMS");
     if (leaderLatch != null) {
       leaderLatch.await();
       if (leaderLatch.hasLeadership()) {
-        zkClient
-            .setData()
-            .forPath(
-                tableServiceMasterPath,
-                JacksonUtil.toJSONString(tableServiceServerInfo).getBytes(StandardCharsets.UTF_8));
-        zkClient
-            .setData()
-            .forPath(
-                optimizingServiceMasterPath,
-                JacksonUtil.toJSONString(optimizingServiceServerInfo)
-                    .getBytes(StandardCharsets.UTF_8));
+        publishMaster();
       }
     }
     LOG.info("Became the leader of AMS");
   }
 
+  private void publishMaster() throws Exception {
+    zkClient
+        .setData()
+        .forPath(
+            tableServiceMasterPath,
+            JacksonUtil.toJSONString(tableServiceServerInfo).getBytes(StandardCharsets.UTF_8));
+    zkClient
+        .setData()
+        .forPath(
+            optimizingServiceMasterPath,
+            JacksonUtil.toJSONString(optimizingServiceServerInfo)
+                .getBytes(StandardCharsets.UTF_8));
+  }
+
   public void waitFollowerShip() throws Exception {
+    if (tableOwnership != null) {
+      // Stop serving once the session expired, the other nodes have taken over the tables
+      sessionLostLatch.await();
+      LOG.info("Lost the session of zookeeper, leave the AMS cluster");
+      tableOwnership.stop();
+      return;
+    }
     LOG.info("Waiting to become the follower of AMS");
     if (followerLath != null) {
       followerLath.await();
@@ -119,7 +170,15 @@ public class HighAvailabilityContainer implements LeaderLatchListener {
     LOG.info("Became the follower of AMS");
   }
 
+  /** Get the tables owned by this node, all the tables if the tables are not sharded. */
+  public TableOwnership getTableOwnership() {
+    return tableOwnership != null ? tableOwnership : TableOwnership.ALL;
+  }
+
   public void close() {
+    if (tableOwnership != null) {
+      tableOwnership.stop();
+    }
     if (leaderLatch != null) {
       try {
         this.zkClient.close();
@@ -137,6 +196,13 @@ public class HighAvailabilityContainer implements LeaderLatchListener {
         tableServiceServerInfo.toString(),
         optimizingServiceServerInfo.toString());
     followerLath = new CountDownLatch(1);
+    if (tableOwnership != null) {
+      try {
+        publishMaster();
+      } catch (Exception e) {
+        LOG.error("Failed to publish the master of AMS", e);
+      }
+    }
   }
 
   @Override
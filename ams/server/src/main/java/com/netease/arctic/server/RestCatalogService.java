@@ -39,6 +39,7 @@ import com.netease.arctic.server.exception.ObjectNotExistsException;
 import com.netease.arctic.server.manager.EventsManager;
 import com.netease.arctic.server.persistence.PersistentBase;
 import com.netease.arctic.server.table.TableService;
+import com.netease.arctic.server.table.executor.AsyncTableExecutors;
 import com.netease.arctic.server.table.internal.InternalTableCreator;
 import com.netease.arctic.server.table.internal.InternalTableHandler;
 import com.netease.arctic.utils.ArcticCatalogUtil;
@@ -56,10 +57,12 @@ import org.apache.iceberg.exceptions.AlreadyExistsException;
 import org.apache.iceberg.exceptions.CommitFailedException;
 import org.apache.iceberg.exceptions.NoSuchNamespaceException;
 import org.apache.iceberg.exceptions.NoSuchTableException;
+import org.apache.iceberg.metrics.CommitReport;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.apache.iceberg.relocated.com.google.common.hash.Hashing;
 import org.apache.iceberg.rest.RESTResponse;
 import org.apache.iceberg.rest.RESTSerializers;
 import org.apache.iceberg.rest.requests.CreateNamespaceRequest;
@@ -77,6 +80,7 @@ import org.apache.iceberg.rest.responses.LoadTableResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -99,6 +103,10 @@ public class RestCatalogService extends PersistentBase {
 
   private static final String ICEBERG_CATALOG_PREFIX_KEY = "prefix";
 
+  private static final String HEADER_ETAG = "ETag";
+
+  private static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+
   private static final Set<String> catalogPropertiesNotReturned = Collections.emptySet();
 
   private static final Set<String> catalogPropertiesOverwrite =
@@ -298,7 +306,12 @@ public class RestCatalogService extends PersistentBase {
         });
   }
 
-  /** GET PREFIX/v1/catalogs/{catalog}/namespaces/{namespace}/tables/{table} */
+  /**
+   * GET PREFIX/v1/catalogs/{catalog}/namespaces/{namespace}/tables/{table}
+   *
+   * <p>The response carries an ETag of the metadata file location, a request with a matched
+   * If-None-Match header is answered with 304 without serializing and sending the metadata again.
+   */
   public void loadTable(Context ctx) {
     handleTable(
         ctx,
@@ -308,10 +321,24 @@ public class RestCatalogService extends PersistentBase {
           if (tableMetadata == null) {
             throw new NoSuchTableException("failed to load table from metadata file.");
           }
+          if (tableMetadata.metadataFileLocation() != null) {
+            String etag = etag(tableMetadata.metadataFileLocation());
+            ctx.header(HEADER_ETAG, etag);
+            if (etag.equals(ctx.header(HEADER_IF_NONE_MATCH))) {
+              ctx.status(HttpCode.NOT_MODIFIED);
+              return null;
+            }
+          }
           return LoadTableResponse.builder().withTableMetadata(tableMetadata).build();
         });
   }
 
+  private static String etag(String metadataLocation) {
+    return "\""
+        + Hashing.sha256().hashString(metadataLocation, StandardCharsets.UTF_8).toString()
+        + "\"";
+  }
+
   /** POST PREFIX/v1/catalogs/{catalog}/namespaces/{namespace}/tables/{table} */
   public void commitTable(Context ctx) {
     handleTable(
@@ -376,6 +403,9 @@ public class RestCatalogService extends PersistentBase {
                   false,
                   metricsRequest.report());
           EventsManager.getInstance().emit(event);
+          if (metricsRequest.report() instanceof CommitReport) {
+            AsyncTableExecutors.getInstance().notifyTableChanged(identifier);
+          }
           return null;
         });
   }
@@ -397,7 +427,8 @@ public class RestCatalogService extends PersistentBase {
     RESTResponse r = handler.apply(internalCatalog);
     if (r != null) {
       jsonResponse(ctx, r);
-    } else {
+    } else if (ctx.status() == HttpCode.OK.getStatus()) {
+      // keep the status set by the handler, e.g.: 304 for a not modified table
       ctx.status(HttpCode.NO_CONTENT);
     }
   }
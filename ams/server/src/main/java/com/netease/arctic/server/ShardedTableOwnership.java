@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server;
+
+import com.netease.arctic.client.AmsServerInfo;
+import com.netease.arctic.server.table.TableOwnership;
+import com.netease.arctic.utils.JacksonUtil;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.CuratorCache;
+import org.apache.curator.framework.recipes.cache.CuratorCacheListener;
+import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
+import org.apache.iceberg.relocated.com.google.common.hash.HashFunction;
+import org.apache.iceberg.relocated.com.google.common.hash.Hashing;
+import org.apache.iceberg.relocated.com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.KeeperException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * The ownership of tables sharded across all the live AMS nodes of a cluster.
+ *
+ * <p>Each node registers an ephemeral node with the address of its optimizing service under the
+ * nodes path, where the optimizers find all the nodes, and watches the registered nodes. A table is
+ * owned by the node with the highest rendezvous hash of the node and the table, so only the tables
+ * of the joined or left node move when the nodes change.
+ *
+ * <p>A node gives up its tables at once when the nodes change or its connection to ZooKeeper is
+ * suspended, but takes over the tables of other nodes only after the nodes have not changed for the
+ * release timeout, so that the previous owners have released them.
+ */
+public class ShardedTableOwnership implements TableOwnership {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ShardedTableOwnership.class);
+
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  private final CuratorFramework zkClient;
+  private final String nodesPath;
+  private final AmsServerInfo serverInfo;
+  private final String nodeId;
+  private final BooleanSupplier coordinator;
+  private final long releaseTimeout;
+  private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+  private final ScheduledExecutorService releaseExecutor =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("table-ownership-release-thread-%d")
+              .setDaemon(true)
+              .build());
+  private volatile List<String> nodes = Collections.emptyList();
+  // The nodes not changed for the release timeout, whose owners have released the other tables
+  private volatile List<String> releasedNodes = Collections.emptyList();
+  private volatile boolean suspended = false;
+  private ScheduledFuture<?> releaseFuture;
+  private CuratorCache nodesCache;
+  private String registeredPath;
+
+  public ShardedTableOwnership(
+      CuratorFramework zkClient,
+      String nodesPath,
+      AmsServerInfo serverInfo,
+      BooleanSupplier coordinator,
+      long releaseTimeout) {
+    this.zkClient = zkClient;
+    this.nodesPath = nodesPath;
+    this.serverInfo = serverInfo;
+    this.nodeId = nodeId(serverInfo);
+    this.coordinator = coordinator;
+    this.releaseTimeout = releaseTimeout;
+  }
+
+  /** Register this node and wait until the registered nodes are loaded. */
+  public synchronized void start() throws Exception {
+    if (registeredPath != null) {
+      // Not stopped after the last session lost
+      stop();
+    }
+    suspended = false;
+    registeredPath =
+        zkClient
+            .create()
+            .creatingParentsIfNeeded()
+            .withMode(CreateMode.EPHEMERAL_SEQUENTIAL)
+            .forPath(
+                nodesPath + "/node-",
+                JacksonUtil.toJSONString(serverInfo).getBytes(StandardCharsets.UTF_8));
+    CountDownLatch initialized = new CountDownLatch(1);
+    nodesCache = CuratorCache.build(zkClient, nodesPath);
+    nodesCache
+        .listenable()
+        .addListener(
+            CuratorCacheListener.builder()
+                .forAll((type, oldData, data) -> refreshNodes())
+                .forInitialized(
+                    () -> {
+                      refreshNodes();
+                      initialized.countDown();
+                    })
+                .build());
+    nodesCache.start();
+    initialized.await();
+    LOG.info("AMS node {} joined the cluster with nodes {}", nodeId, nodes);
+  }
+
+  /** Unregister this node and remove all the listeners. */
+  public synchronized void stop() {
+    listeners.clear();
+    if (nodesCache != null) {
+      nodesCache.close();
+      nodesCache = null;
+    }
+    if (registeredPath != null) {
+      try {
+        zkClient.delete().forPath(registeredPath);
+      } catch (KeeperException.NoNodeException e) {
+        // The ephemeral node has been removed with the expired session
+      } catch (Exception e) {
+        LOG.warn("Failed to unregister AMS node {}", nodeId, e);
+      }
+      registeredPath = null;
+    }
+    synchronized (listeners) {
+      if (releaseFuture != null) {
+        releaseFuture.cancel(false);
+        releaseFuture = null;
+      }
+      nodes = Collections.emptyList();
+      releasedNodes = Collections.emptyList();
+    }
+    LOG.info("AMS node {} left the cluster", nodeId);
+  }
+
+  /** Give up all the tables while the connection to ZooKeeper is suspended. */
+  public void suspend() {
+    LOG.info("AMS node {} is suspended from ZooKeeper, give up all the tables", nodeId);
+    suspended = true;
+    listeners.forEach(Runnable::run);
+  }
+
+  /** Own the tables again once reconnected to ZooKeeper with the same session. */
+  public void resume() {
+    LOG.info("AMS node {} is reconnected to ZooKeeper", nodeId);
+    suspended = false;
+    listeners.forEach(Runnable::run);
+  }
+
+  private void refreshNodes() {
+    CuratorCache cache = nodesCache;
+    if (cache == null) {
+      return;
+    }
+    List<String> liveNodes =
+        cache.stream()
+            .filter(data -> !nodesPath.equals(data.getPath()))
+            .map(ShardedTableOwnership::parseNodeId)
+            .filter(Objects::nonNull)
+            .distinct()
+            .sorted()
+            .collect(Collectors.toList());
+    synchronized (listeners) {
+      if (liveNodes.equals(nodes)) {
+        return;
+      }
+      LOG.info("The live AMS nodes changed from {} to {}", nodes, liveNodes);
+      nodes = liveNodes;
+      if (releaseFuture != null) {
+        releaseFuture.cancel(false);
+      }
+      releaseFuture =
+          releaseExecutor.schedule(
+              () -> releaseNodes(liveNodes), releaseTimeout, TimeUnit.MILLISECONDS);
+    }
+    listeners.forEach(Runnable::run);
+  }
+
+  /** Take over the tables of other nodes, once the nodes have not changed for the timeout. */
+  private void releaseNodes(List<String> liveNodes) {
+    synchronized (listeners) {
+      if (!liveNodes.equals(nodes)) {
+        return;
+      }
+      releasedNodes = liveNodes;
+    }
+    LOG.info("The tables have been released to the AMS nodes {}", liveNodes);
+    listeners.forEach(Runnable::run);
+  }
+
+  @Override
+  public boolean isSharded() {
+    return true;
+  }
+
+  @Override
+  public boolean owns(long tableId) {
+    if (suspended || !nodeId.equals(ownerOf(tableId, nodes))) {
+      return false;
+    }
+    // Wait for the previous owner to release the table
+    return nodeId.equals(ownerOf(tableId, releasedNodes)) || nodes.equals(releasedNodes);
+  }
+
+  @Override
+  public boolean isCoordinator() {
+    return coordinator.getAsBoolean();
+  }
+
+  @Override
+  public void addListener(Runnable listener) {
+    listeners.add(listener);
+  }
+
+  public List<String> getNodes() {
+    return nodes;
+  }
+
+  /** Get the owner of the table, which has the highest rendezvous hash of the node and table. */
+  @VisibleForTesting
+  static String ownerOf(long tableId, Collection<String> nodes) {
+    String owner = null;
+    long maxWeight = Long.MIN_VALUE;
+    for (String node : nodes) {
+      long weight =
+          HASH_FUNCTION
+              .newHasher()
+              .putString(node, StandardCharsets.UTF_8)
+              .putLong(tableId)
+              .hash()
+              .asLong();
+      if (owner == null || weight > maxWeight) {
+        owner = node;
+        maxWeight = weight;
+      }
+    }
+    return owner;
+  }
+
+  private static String parseNodeId(ChildData data) {
+    try {
+      return nodeId(
+          JacksonUtil.parseObject(
+              new String(data.getData(), StandardCharsets.UTF_8), AmsServerInfo.class));
+    } catch (RuntimeException e) {
+      LOG.warn("Ignore the invalid AMS node {}", data.getPath(), e);
+      return null;
+    }
+  }
+
+  private static String nodeId(AmsServerInfo serverInfo) {
+    return serverInfo.getHost() + ":" + serverInfo.getThriftBindPort();
+  }
+}
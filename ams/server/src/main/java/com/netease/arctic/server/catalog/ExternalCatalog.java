@@ -29,20 +29,42 @@ import com.netease.arctic.properties.CatalogMetaProperties;
 import com.netease.arctic.server.persistence.mapper.TableMetaMapper;
 import com.netease.arctic.table.TableMetaStore;
 import com.netease.arctic.utils.ArcticCatalogUtil;
+import org.apache.amoro.hive.CachedHiveClientPool;
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
+import org.apache.hadoop.hive.metastore.api.NotificationEventResponse;
+import org.apache.hadoop.hive.metastore.api.Table;
+import org.apache.hadoop.hive.metastore.messaging.AlterTableMessage;
+import org.apache.hadoop.hive.metastore.messaging.MessageFactory;
+import org.apache.iceberg.BaseMetastoreTableOperations;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.apache.iceberg.util.Pair;
+import org.apache.thrift.TException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 public class ExternalCatalog extends ServerCatalog {
+  private static final Logger LOG = LoggerFactory.getLogger(ExternalCatalog.class);
+
+  private static final int NOTIFICATION_EVENTS_BATCH_SIZE = 1000;
+  private static final String ALTER_TABLE_EVENT = "ALTER_TABLE";
+  private static final Set<String> TABLE_LIST_CHANGED_EVENTS =
+      Sets.newHashSet(
+          "CREATE_TABLE", "DROP_TABLE", ALTER_TABLE_EVENT, "CREATE_DATABASE", "DROP_DATABASE");
 
   UnifiedCatalog unifiedCatalog;
   TableMetaStore tableMetaStore;
   private Pattern tableFilterPattern;
   private Pattern databaseFilterPattern;
+  private volatile CachedHiveClientPool hiveClientPool;
 
   protected ExternalCatalog(CatalogMeta metadata) {
     super(metadata);
@@ -78,6 +100,7 @@ public class ExternalCatalog extends ServerCatalog {
     super.updateMetadata(metadata);
     this.tableMetaStore = ArcticCatalogUtil.buildMetaStore(metadata);
     this.unifiedCatalog.refresh();
+    this.hiveClientPool = null;
     updateDatabaseFilter(metadata);
     updateTableFilter(metadata);
   }
@@ -137,6 +160,124 @@ public class ExternalCatalog extends ServerCatalog {
     return doAs(() -> unifiedCatalog.loadTable(database, tableName));
   }
 
+  /**
+   * Read the metadata location of an iceberg table from the table parameters of the metastore, the
+   * location of the other tables is unknown.
+   */
+  @Override
+  public String metadataLocation(String database, String tableName) {
+    CachedHiveClientPool clientPool = hiveClientPool();
+    if (clientPool == null) {
+      return null;
+    }
+    try {
+      Table table = clientPool.run(client -> client.getTable(database, tableName));
+      return table.getParameters() == null
+          ? null
+          : table.getParameters().get(BaseMetastoreTableOperations.METADATA_LOCATION_PROP);
+    } catch (TException | InterruptedException e) {
+      LOG.warn(
+          "Failed to get the metadata location of table {}.{}.{}: {}",
+          name(),
+          database,
+          tableName,
+          e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Get the id of the latest notification event of the metastore, the events after it could be
+   * used to find the databases whose tables have changed.
+   *
+   * @return the event id, or null if the catalog does not provide notification events
+   */
+  public Long currentNotificationEventId() {
+    CachedHiveClientPool clientPool = hiveClientPool();
+    if (clientPool == null) {
+      return null;
+    }
+    try {
+      return clientPool.run(client -> client.getCurrentNotificationEventId().getEventId());
+    } catch (Exception e) {
+      LOG.warn(
+          "Notification events of catalog {} are not available, explore it by listing tables: {}",
+          name(),
+          e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Get the databases in which tables may have been created, dropped or renamed after the event.
+   *
+   * @param lastEventId the id of the last event that has been handled
+   * @return the id of the last event read and the changed databases
+   */
+  public Pair<Long, Set<String>> changedDatabasesSince(long lastEventId) {
+    CachedHiveClientPool clientPool = hiveClientPool();
+    Preconditions.checkState(clientPool != null, "Catalog %s has no notification events", name());
+    Set<String> databases = Sets.newHashSet();
+    long eventId = lastEventId;
+    try {
+      while (true) {
+        long fromEventId = eventId;
+        NotificationEventResponse response =
+            clientPool.run(
+                client -> client.getNextNotification(fromEventId, NOTIFICATION_EVENTS_BATCH_SIZE));
+        List<NotificationEvent> events = response.getEvents();
+        if (events == null || events.isEmpty()) {
+          break;
+        }
+        for (NotificationEvent event : events) {
+          eventId = Math.max(eventId, event.getEventId());
+          if (event.getDbName() != null
+              && TABLE_LIST_CHANGED_EVENTS.contains(event.getEventType())) {
+            databases.add(event.getDbName());
+          }
+          if (ALTER_TABLE_EVENT.equals(event.getEventType())) {
+            // a table may be renamed to another database
+            databases.addAll(alteredDatabases(event));
+          }
+        }
+        if (events.size() < NOTIFICATION_EVENTS_BATCH_SIZE) {
+          break;
+        }
+      }
+    } catch (TException | InterruptedException e) {
+      throw new RuntimeException("Failed to read notification events of catalog " + name(), e);
+    }
+    return Pair.of(eventId, databases);
+  }
+
+  /** Get the databases of the table before and after an alter table event. */
+  private static Set<String> alteredDatabases(NotificationEvent event) {
+    try {
+      AlterTableMessage message =
+          MessageFactory.getInstance().getDeserializer().getAlterTableMessage(event.getMessage());
+      return Sets.newHashSet(
+          message.getTableObjBefore().getDbName(), message.getTableObjAfter().getDbName());
+    } catch (Exception e) {
+      throw new IllegalStateException(
+          "Failed to read the alter table event " + event.getEventId(), e);
+    }
+  }
+
+  private CachedHiveClientPool hiveClientPool() {
+    if (!CatalogMetaProperties.CATALOG_TYPE_HIVE.equals(getMetadata().getCatalogType())) {
+      return null;
+    }
+    if (hiveClientPool == null) {
+      synchronized (this) {
+        if (hiveClientPool == null) {
+          hiveClientPool =
+              new CachedHiveClientPool(tableMetaStore, getMetadata().getCatalogProperties());
+        }
+      }
+    }
+    return hiveClientPool;
+  }
+
   private void updateDatabaseFilter(CatalogMeta metadata) {
     String databaseFilter =
         metadata.getCatalogProperties().get(CatalogMetaProperties.KEY_DATABASE_FILTER);
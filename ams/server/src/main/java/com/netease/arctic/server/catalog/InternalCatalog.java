@@ -18,6 +18,9 @@
 
 package com.netease.arctic.server.catalog;
 
+import static com.netease.arctic.server.table.internal.InternalTableConstants.CHANGE_STORE_PREFIX;
+import static com.netease.arctic.server.table.internal.InternalTableConstants.PROPERTIES_METADATA_LOCATION;
+
 import com.netease.arctic.TableFormat;
 import com.netease.arctic.TableIDWithFormat;
 import com.netease.arctic.api.CatalogMeta;
@@ -35,6 +38,7 @@ import com.netease.arctic.server.table.internal.InternalTableHandler;
 import org.apache.iceberg.rest.requests.CreateTableRequest;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -210,6 +214,24 @@ public abstract class InternalCatalog extends ServerCatalog {
                         .toString()));
   }
 
+  @Override
+  public String metadataLocation(String database, String tableName) {
+    TableMetadata tableMetadata =
+        getAs(
+            TableMetaMapper.class,
+            mapper -> mapper.selectTableMetaByName(name(), database, tableName));
+    if (tableMetadata == null || tableMetadata.getProperties() == null) {
+      return null;
+    }
+    Map<String, String> properties = tableMetadata.getProperties();
+    String base = properties.get(PROPERTIES_METADATA_LOCATION);
+    if (base == null) {
+      return null;
+    }
+    String change = properties.get(CHANGE_STORE_PREFIX + PROPERTIES_METADATA_LOCATION);
+    return change == null ? base : change + "," + base;
+  }
+
   private String getDatabaseDesc(String database) {
     return name() + '.' + database;
   }
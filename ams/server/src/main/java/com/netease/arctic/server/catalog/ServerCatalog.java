@@ -60,6 +60,17 @@ public abstract class ServerCatalog extends PersistentBase {
 
   public abstract AmoroTable<?> loadTable(String database, String tableName);
 
+  /**
+   * Get the current metadata location of a table without loading the table, which is used to
+   * check whether a loaded table is still up to date.
+   *
+   * @return the metadata location, the locations of both the change and the base store joined by
+   *     a comma for a keyed table, or null if the catalog could not tell it cheaply
+   */
+  public String metadataLocation(String database, String tableName) {
+    return null;
+  }
+
   public void dispose() {
     doAsTransaction(
         () ->
@@ -31,7 +31,9 @@ import com.netease.arctic.server.dashboard.model.ServerTableMeta;
 import com.netease.arctic.server.dashboard.model.TagOrBranchInfo;
 import org.apache.iceberg.util.Pair;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /** API for obtaining metadata information of various formats. */
 public interface FormatTableDescriptor {
@@ -59,6 +61,27 @@ public interface FormatTableDescriptor {
   List<PartitionFileBaseInfo> getTableFiles(
       AmoroTable<?> amoroTable, String partition, Integer specId);
 
+  /**
+   * Get the paged file information of the {@link AmoroTable} and total size, the files are sorted
+   * in the order before paging.
+   */
+  default Pair<List<PartitionFileBaseInfo>, Integer> getTableFiles(
+      AmoroTable<?> amoroTable,
+      String partition,
+      Integer specId,
+      Comparator<PartitionFileBaseInfo> order,
+      int limit,
+      int offset) {
+    List<PartitionFileBaseInfo> files = getTableFiles(amoroTable, partition, specId);
+    List<PartitionFileBaseInfo> page =
+        files.stream()
+            .sorted(order)
+            .skip(offset)
+            .limit(limit)
+            .collect(Collectors.toList());
+    return Pair.of(page, files.size());
+  }
+
   /** Get the paged optimizing process information of the {@link AmoroTable} and total size. */
   Pair<List<OptimizingProcessInfo>, Integer> getOptimizingProcessesInfo(
       AmoroTable<?> amoroTable, int limit, int offset);
@@ -82,6 +82,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -93,9 +94,12 @@ public class MixedAndIcebergTableDescriptor extends PersistentBase
   private static final Logger LOG = LoggerFactory.getLogger(MixedAndIcebergTableDescriptor.class);
 
   private final ExecutorService executorService;
+  private final PartitionStatisticsCache partitionStatisticsCache;
 
-  public MixedAndIcebergTableDescriptor(ExecutorService executorService) {
+  public MixedAndIcebergTableDescriptor(
+      ExecutorService executorService, PartitionStatisticsCache partitionStatisticsCache) {
     this.executorService = executorService;
+    this.partitionStatisticsCache = partitionStatisticsCache;
   }
 
   @Override
@@ -396,46 +400,76 @@ public class MixedAndIcebergTableDescriptor extends PersistentBase
     if (arcticTable.spec().isUnpartitioned()) {
       return new ArrayList<>();
     }
-    Map<String, PartitionBaseInfo> partitionBaseInfoHashMap = new HashMap<>();
+    if (arcticTable.isUnkeyedTable()) {
+      return new ArrayList<>(partitionStatistics(arcticTable.asUnkeyedTable(), false).values());
+    }
+
+    Map<String, PartitionBaseInfo> partitions =
+        partitionStatistics(arcticTable.asKeyedTable().baseTable(), false);
+    partitionStatistics(arcticTable.asKeyedTable().changeTable(), true)
+        .forEach(
+            (partition, changeInfo) ->
+                partitions.merge(
+                    partition,
+                    changeInfo,
+                    (baseInfo, info) -> {
+                      baseInfo.setFileCount(baseInfo.getFileCount() + info.getFileCount());
+                      baseInfo.setFileSize(baseInfo.getFileSize() + info.getFileSize());
+                      baseInfo.setLastCommitTime(
+                          Math.max(baseInfo.getLastCommitTime(), info.getLastCommitTime()));
+                      return baseInfo;
+                    }));
+    return new ArrayList<>(partitions.values());
+  }
 
-    CloseableIterable<PartitionFileBaseInfo> tableFiles =
-        getTableFilesInternal(amoroTable, null, null);
+  private Map<String, PartitionBaseInfo> partitionStatistics(Table table, boolean isChangeTable) {
+    return partitionStatisticsCache.get(table, t -> collectFileInfo(t, isChangeTable, null, null));
+  }
+
+  @Override
+  public List<PartitionFileBaseInfo> getTableFiles(
+      AmoroTable<?> amoroTable, String partition, Integer specId) {
+    CloseableIterable<PartitionFileBaseInfo> tableFilesIterable =
+        getTableFilesInternal(amoroTable, partition, specId);
     try {
-      for (PartitionFileBaseInfo fileInfo : tableFiles) {
-        if (!partitionBaseInfoHashMap.containsKey(fileInfo.getPartition())) {
-          PartitionBaseInfo partitionBaseInfo = new PartitionBaseInfo();
-          partitionBaseInfo.setPartition(fileInfo.getPartition());
-          partitionBaseInfo.setSpecId(fileInfo.getSpecId());
-          partitionBaseInfoHashMap.put(fileInfo.getPartition(), partitionBaseInfo);
-        }
-        PartitionBaseInfo partitionInfo = partitionBaseInfoHashMap.get(fileInfo.getPartition());
-        partitionInfo.setFileCount(partitionInfo.getFileCount() + 1);
-        partitionInfo.setFileSize(partitionInfo.getFileSize() + fileInfo.getFileSize());
-        partitionInfo.setLastCommitTime(
-            partitionInfo.getLastCommitTime() > fileInfo.getCommitTime()
-                ? partitionInfo.getLastCommitTime()
-                : fileInfo.getCommitTime());
-      }
+      List<PartitionFileBaseInfo> result = new ArrayList<>();
+      Iterables.addAll(result, tableFilesIterable);
+      return result;
     } finally {
       try {
-        tableFiles.close();
+        tableFilesIterable.close();
       } catch (IOException e) {
         LOG.warn("Failed to close the manifest reader.", e);
       }
     }
-
-    return new ArrayList<>(partitionBaseInfoHashMap.values());
   }
 
   @Override
-  public List<PartitionFileBaseInfo> getTableFiles(
-      AmoroTable<?> amoroTable, String partition, Integer specId) {
+  public Pair<List<PartitionFileBaseInfo>, Integer> getTableFiles(
+      AmoroTable<?> amoroTable,
+      String partition,
+      Integer specId,
+      Comparator<PartitionFileBaseInfo> order,
+      int limit,
+      int offset) {
+    // Only keep the first files of the requested page in the order instead of all the files, the
+    // head of the queue is the last of the kept files
+    int keep = offset + limit;
+    PriorityQueue<PartitionFileBaseInfo> firstFiles =
+        new PriorityQueue<>(Math.max(1, keep), order.reversed());
+    int total = 0;
     CloseableIterable<PartitionFileBaseInfo> tableFilesIterable =
         getTableFilesInternal(amoroTable, partition, specId);
     try {
-      List<PartitionFileBaseInfo> result = new ArrayList<>();
-      Iterables.addAll(result, tableFilesIterable);
-      return result;
+      for (PartitionFileBaseInfo file : tableFilesIterable) {
+        total++;
+        if (firstFiles.size() < keep) {
+          firstFiles.add(file);
+        } else if (keep > 0 && order.compare(file, firstFiles.peek()) < 0) {
+          firstFiles.poll();
+          firstFiles.add(file);
+        }
+      }
     } finally {
       try {
         tableFilesIterable.close();
@@ -443,6 +477,10 @@ public class MixedAndIcebergTableDescriptor extends PersistentBase
         LOG.warn("Failed to close the manifest reader.", e);
       }
     }
+
+    List<PartitionFileBaseInfo> page =
+        firstFiles.stream().sorted(order).skip(offset).collect(Collectors.toList());
+    return Pair.of(page, total);
   }
 
   @Override
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.dashboard;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.netease.arctic.server.dashboard.model.PartitionBaseInfo;
+import com.netease.arctic.server.dashboard.model.PartitionFileBaseInfo;
+import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Partition statistics of iceberg tables, kept per table for the latest snapshot seen by the
+ * dashboard.
+ *
+ * <p>The statistics of a table are computed by a full file scan only at the first time. When the
+ * table moves forward, they are updated from the files added and removed by the new snapshots,
+ * which only reads the manifests written by these snapshots. A full scan happens again if the
+ * cached snapshot is no longer an ancestor of the current snapshot, e.g.: after a rollback, or
+ * there are too many new snapshots.
+ */
+public class PartitionStatisticsCache {
+  private static final Logger LOG = LoggerFactory.getLogger(PartitionStatisticsCache.class);
+
+  private static final int MAX_INCREMENTAL_SNAPSHOTS = 100;
+
+  private final Cache<String, TableStatistics> statistics;
+
+  public PartitionStatisticsCache(long maxSize, Duration expireAfterAccess) {
+    this.statistics =
+        Caffeine.newBuilder().maximumSize(maxSize).expireAfterAccess(expireAfterAccess).build();
+  }
+
+  /**
+   * Get the partition statistics of the current snapshot of the table.
+   *
+   * @param table the iceberg table, the base store or change store of mixed tables
+   * @param fullScan scan all the live files of the table, used if the statistics could not be
+   *     updated incrementally
+   * @return partition statistics keyed by the partition path
+   */
+  public Map<String, PartitionBaseInfo> get(
+      Table table, Function<Table, CloseableIterable<PartitionFileBaseInfo>> fullScan) {
+    Snapshot current = table.currentSnapshot();
+    if (current == null) {
+      return new HashMap<>();
+    }
+    String key = table.location();
+    TableStatistics cached = statistics.getIfPresent(key);
+    TableStatistics latest = null;
+    if (cached != null) {
+      latest = cached.snapshotId == current.snapshotId() ? cached : update(table, cached, current);
+    }
+    if (latest == null) {
+      latest = scan(current.snapshotId(), fullScan.apply(table));
+    }
+    if (latest != cached) {
+      statistics.put(key, latest);
+    }
+    return latest.toPartitionInfos();
+  }
+
+  private TableStatistics update(Table table, TableStatistics cached, Snapshot current) {
+    List<Snapshot> newSnapshots = Lists.newArrayList();
+    Snapshot snapshot = current;
+    while (snapshot != null && snapshot.snapshotId() != cached.snapshotId) {
+      if (newSnapshots.size() >= MAX_INCREMENTAL_SNAPSHOTS) {
+        return null;
+      }
+      newSnapshots.add(snapshot);
+      snapshot = snapshot.parentId() == null ? null : table.snapshot(snapshot.parentId());
+    }
+    if (snapshot == null) {
+      LOG.debug(
+          "Snapshot {} of {} is not an ancestor of current snapshot {}, rescan the files",
+          cached.snapshotId,
+          table.name(),
+          current.snapshotId());
+      return null;
+    }
+
+    TableStatistics updated = cached.copy(current.snapshotId());
+    Map<Integer, PartitionSpec> specs = table.specs();
+    for (Snapshot newSnapshot : Lists.reverse(newSnapshots)) {
+      long commitTime = newSnapshot.timestampMillis();
+      newSnapshot.addedDataFiles(table.io()).forEach(f -> updated.add(specs, f, commitTime));
+      newSnapshot.addedDeleteFiles(table.io()).forEach(f -> updated.add(specs, f, commitTime));
+      newSnapshot.removedDataFiles(table.io()).forEach(f -> updated.remove(specs, f));
+      newSnapshot.removedDeleteFiles(table.io()).forEach(f -> updated.remove(specs, f));
+    }
+    return updated;
+  }
+
+  private TableStatistics scan(long snapshotId, CloseableIterable<PartitionFileBaseInfo> files) {
+    TableStatistics scanned = new TableStatistics(snapshotId, new HashMap<>());
+    try (CloseableIterable<PartitionFileBaseInfo> closeable = files) {
+      for (PartitionFileBaseInfo file : closeable) {
+        scanned.add(
+            file.getPartition(), file.getSpecId(), file.getFileSize(), file.getCommitTime());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to close the manifest reader", e);
+    }
+    return scanned;
+  }
+
+  public void invalidate(Table table) {
+    statistics.invalidate(table.location());
+  }
+
+  private static class TableStatistics {
+    private final long snapshotId;
+    private final Map<String, PartitionStatistics> partitions;
+
+    private TableStatistics(long snapshotId, Map<String, PartitionStatistics> partitions) {
+      this.snapshotId = snapshotId;
+      this.partitions = partitions;
+    }
+
+    private TableStatistics copy(long newSnapshotId) {
+      Map<String, PartitionStatistics> copied = new HashMap<>(partitions.size());
+      partitions.forEach((partition, stat) -> copied.put(partition, stat.copy()));
+      return new TableStatistics(newSnapshotId, copied);
+    }
+
+    private void add(Map<Integer, PartitionSpec> specs, ContentFile<?> file, long commitTime) {
+      String partition = specs.get(file.specId()).partitionToPath(file.partition());
+      add(partition, file.specId(), file.fileSizeInBytes(), commitTime);
+    }
+
+    private void add(String partition, int specId, long fileSize, long commitTime) {
+      PartitionStatistics stat =
+          partitions.computeIfAbsent(partition, p -> new PartitionStatistics(specId));
+      stat.fileCount++;
+      stat.fileSize += fileSize;
+      stat.lastCommitTime = Math.max(stat.lastCommitTime, commitTime);
+    }
+
+    private void remove(Map<Integer, PartitionSpec> specs, ContentFile<?> file) {
+      String partition = specs.get(file.specId()).partitionToPath(file.partition());
+      PartitionStatistics stat = partitions.get(partition);
+      if (stat == null) {
+        return;
+      }
+      stat.fileCount--;
+      stat.fileSize -= file.fileSizeInBytes();
+      if (stat.fileCount <= 0) {
+        partitions.remove(partition);
+      }
+    }
+
+    private Map<String, PartitionBaseInfo> toPartitionInfos() {
+      Map<String, PartitionBaseInfo> infos = new HashMap<>(partitions.size());
+      partitions.forEach(
+          (partition, stat) ->
+              infos.put(
+                  partition,
+                  new PartitionBaseInfo(
+                      partition,
+                      stat.specId,
+                      stat.fileCount,
+                      stat.fileSize,
+                      stat.lastCommitTime)));
+      return infos;
+    }
+  }
+
+  private static class PartitionStatistics {
+    private final int specId;
+    private long fileCount;
+    private long fileSize;
+    private long lastCommitTime;
+
+    private PartitionStatistics(int specId) {
+      this.specId = specId;
+    }
+
+    private PartitionStatistics copy() {
+      PartitionStatistics copied = new PartitionStatistics(specId);
+      copied.fileCount = fileCount;
+      copied.fileSize = fileSize;
+      copied.lastCommitTime = lastCommitTime;
+      return copied;
+    }
+  }
+}
@@ -20,8 +20,10 @@ package com.netease.arctic.server.dashboard;
 
 import com.netease.arctic.AmoroTable;
 import com.netease.arctic.TableFormat;
+import com.netease.arctic.api.ServerTableIdentifier;
 import com.netease.arctic.api.TableIdentifier;
 import com.netease.arctic.api.config.Configurations;
+import com.netease.arctic.server.ArcticManagementConf;
 import com.netease.arctic.server.catalog.ServerCatalog;
 import com.netease.arctic.server.dashboard.model.AmoroSnapshotsOfTable;
 import com.netease.arctic.server.dashboard.model.DDLInfo;
@@ -37,6 +39,7 @@ import com.netease.arctic.server.table.TableService;
 import org.apache.iceberg.util.Pair;
 import org.apache.iceberg.util.ThreadPools;
 
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -56,7 +59,12 @@ public class ServerTableDescriptor extends PersistentBase {
 
     FormatTableDescriptor[] formatTableDescriptors =
         new FormatTableDescriptor[] {
-          new MixedAndIcebergTableDescriptor(executorService),
+          new MixedAndIcebergTableDescriptor(
+              executorService,
+              new PartitionStatisticsCache(
+                  serviceConfig.getLong(ArcticManagementConf.PARTITION_STATISTICS_CACHE_MAX_SIZE),
+                  serviceConfig.get(
+                      ArcticManagementConf.PARTITION_STATISTICS_CACHE_EXPIRE_AFTER_ACCESS))),
           new PaimonTableDescriptor(executorService)
         };
     for (FormatTableDescriptor formatTableDescriptor : formatTableDescriptors) {
@@ -105,6 +113,18 @@ public class ServerTableDescriptor extends PersistentBase {
     return formatTableDescriptor.getTableFiles(amoroTable, partition, specId);
   }
 
+  public Pair<List<PartitionFileBaseInfo>, Integer> getTableFile(
+      TableIdentifier tableIdentifier,
+      String partition,
+      Integer specId,
+      Comparator<PartitionFileBaseInfo> order,
+      int limit,
+      int offset) {
+    AmoroTable<?> amoroTable = loadTable(tableIdentifier);
+    FormatTableDescriptor formatTableDescriptor = formatDescriptorMap.get(amoroTable.format());
+    return formatTableDescriptor.getTableFiles(amoroTable, partition, specId, order, limit, offset);
+  }
+
   public List<TagOrBranchInfo> getTableTags(TableIdentifier tableIdentifier) {
     AmoroTable<?> amoroTable = loadTable(tableIdentifier);
     FormatTableDescriptor formatTableDescriptor = formatDescriptorMap.get(amoroTable.format());
@@ -132,6 +152,11 @@ public class ServerTableDescriptor extends PersistentBase {
   }
 
   private AmoroTable<?> loadTable(TableIdentifier identifier) {
+    // Load the managed tables through the table service to share its cached tables
+    ServerTableIdentifier serverTableIdentifier = tableService.getServerTableIdentifier(identifier);
+    if (serverTableIdentifier != null) {
+      return tableService.loadTable(serverTableIdentifier);
+    }
     ServerCatalog catalog = tableService.getServerCatalog(identifier.getCatalog());
     return catalog.loadTable(identifier.getDatabase(), identifier.getTableName());
   }
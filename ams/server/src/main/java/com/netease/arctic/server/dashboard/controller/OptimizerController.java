@@ -18,7 +18,6 @@
 
 package com.netease.arctic.server.dashboard.controller;
 
-import com.netease.arctic.api.ServerTableIdentifier;
 import com.netease.arctic.api.resource.Resource;
 import com.netease.arctic.api.resource.ResourceGroup;
 import com.netease.arctic.api.resource.ResourceType;
@@ -64,13 +63,9 @@ public class OptimizerController {
     Integer pageSize = ctx.queryParamAsClass("pageSize", Integer.class).getOrDefault(20);
     int offset = (page - 1) * pageSize;
 
+    // The tables of all the AMS nodes if the tables are sharded across the nodes
     List<TableRuntime> tableRuntimes = new ArrayList<>();
-    List<ServerTableIdentifier> tables = tableService.listManagedTables();
-    for (ServerTableIdentifier identifier : tables) {
-      TableRuntime tableRuntime = tableService.getRuntime(identifier);
-      if (tableRuntime == null) {
-        continue;
-      }
+    for (TableRuntime tableRuntime : tableService.listTableRuntimes()) {
       if (ALL_GROUP.equals(optimizerGroup)
           || tableRuntime.getOptimizerGroup().equals(optimizerGroup)) {
         tableRuntimes.add(tableRuntime);
@@ -69,6 +69,7 @@ import org.apache.hadoop.hive.metastore.api.Table;
 import org.apache.iceberg.SnapshotRef;
 import org.apache.iceberg.relocated.com.google.common.base.Function;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableMap;
 import org.apache.iceberg.relocated.com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.iceberg.util.Pair;
 import org.slf4j.Logger;
@@ -92,6 +93,18 @@ import java.util.stream.Collectors;
 public class TableController {
   private static final Logger LOG = LoggerFactory.getLogger(TableController.class);
   private static final long UPGRADE_INFO_EXPIRE_INTERVAL = 60 * 60 * 1000;
+  private static final Map<String, Comparator<PartitionBaseInfo>> PARTITION_COMPARATORS =
+      ImmutableMap.of(
+          "partition", Comparator.comparing(PartitionBaseInfo::getPartition),
+          "fileCount", Comparator.comparingLong(PartitionBaseInfo::getFileCount),
+          "fileSize", Comparator.comparingLong(PartitionBaseInfo::getFileSize),
+          "lastCommitTime", Comparator.comparingLong(PartitionBaseInfo::getLastCommitTime));
+
+  private static final Map<String, Comparator<PartitionFileBaseInfo>> FILE_COMPARATORS =
+      ImmutableMap.of(
+          "commitTime", Comparator.comparing(PartitionFileBaseInfo::getCommitTime),
+          "fileSize", Comparator.comparingLong(PartitionFileBaseInfo::getFileSize),
+          "path", Comparator.comparing(PartitionFileBaseInfo::getPath));
 
   private final TableService tableService;
   private final ServerTableDescriptor tableDescriptor;
@@ -401,6 +414,16 @@ public class TableController {
     String filter = ctx.queryParamAsClass("filter", String.class).getOrDefault("");
     Integer page = ctx.queryParamAsClass("page", Integer.class).getOrDefault(1);
     Integer pageSize = ctx.queryParamAsClass("pageSize", Integer.class).getOrDefault(20);
+    String sort = ctx.queryParamAsClass("sort", String.class).getOrDefault("partition");
+    String order = ctx.queryParamAsClass("order", String.class).getOrDefault("desc");
+    Comparator<PartitionBaseInfo> comparator = PARTITION_COMPARATORS.get(sort);
+    Preconditions.checkArgument(comparator != null, "unsupported sort field %s", sort);
+    Preconditions.checkArgument(
+        "asc".equalsIgnoreCase(order) || "desc".equalsIgnoreCase(order),
+        "order must be asc or desc");
+    if ("desc".equalsIgnoreCase(order)) {
+      comparator = comparator.reversed();
+    }
 
     List<PartitionBaseInfo> partitionBaseInfos =
         tableDescriptor.getTablePartition(
@@ -408,7 +431,7 @@ public class TableController {
     partitionBaseInfos =
         partitionBaseInfos.stream()
             .filter(e -> e.getPartition().contains(filter))
-            .sorted(Comparator.comparing(PartitionBaseInfo::getPartition).reversed())
+            .sorted(comparator)
             .collect(Collectors.toList());
     int offset = (page - 1) * pageSize;
     PageResult<PartitionBaseInfo> amsPageResult =
@@ -430,13 +453,33 @@ public class TableController {
     Integer specId = ctx.queryParamAsClass("specId", Integer.class).getOrDefault(0);
     Integer page = ctx.queryParamAsClass("page", Integer.class).getOrDefault(1);
     Integer pageSize = ctx.queryParamAsClass("pageSize", Integer.class).getOrDefault(20);
+    String sort = ctx.queryParamAsClass("sort", String.class).getOrDefault("commitTime");
+    String order = ctx.queryParamAsClass("order", String.class).getOrDefault("desc");
+    Comparator<PartitionFileBaseInfo> comparator = FILE_COMPARATORS.get(sort);
+    Preconditions.checkArgument(comparator != null, "unsupported sort field %s", sort);
+    Preconditions.checkArgument(
+        "asc".equalsIgnoreCase(order) || "desc".equalsIgnoreCase(order),
+        "order must be asc or desc");
+    // break the ties by the path, so the pages are stable
+    comparator = comparator.thenComparing(PartitionFileBaseInfo::getPath);
+    if ("desc".equalsIgnoreCase(order)) {
+      comparator = comparator.reversed();
+    }
 
-    List<PartitionFileBaseInfo> partitionFileBaseInfos =
-        tableDescriptor.getTableFile(
-            TableIdentifier.of(catalog, db, table).buildTableIdentifier(), partition, specId);
     int offset = (page - 1) * pageSize;
+    Preconditions.checkArgument(offset >= 0, "offset[%s] must >= 0", offset);
+    Preconditions.checkArgument(pageSize >= 0, "limit[%s] must >= 0", pageSize);
+
+    Pair<List<PartitionFileBaseInfo>, Integer> partitionFileBaseInfos =
+        tableDescriptor.getTableFile(
+            TableIdentifier.of(catalog, db, table).buildTableIdentifier(),
+            partition,
+            specId,
+            comparator,
+            pageSize,
+            offset);
     PageResult<PartitionFileBaseInfo> amsPageResult =
-        PageResult.of(partitionFileBaseInfos, offset, pageSize);
+        PageResult.of(partitionFileBaseInfos.first(), partitionFileBaseInfos.second());
     ctx.json(OkResponse.of(amsPageResult));
   }
 
@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.metrics;
+
+import static com.netease.arctic.api.metrics.MetricDefine.defineCounter;
+import static com.netease.arctic.api.metrics.MetricDefine.defineGauge;
+import static com.netease.arctic.api.metrics.MetricDefine.defineHistogram;
+import static com.netease.arctic.api.metrics.MetricDefine.defineTimer;
+
+import com.netease.arctic.api.metrics.Counter;
+import com.netease.arctic.api.metrics.Gauge;
+import com.netease.arctic.api.metrics.Histogram;
+import com.netease.arctic.api.metrics.MetricDefine;
+import com.netease.arctic.api.metrics.MetricKey;
+import com.netease.arctic.api.metrics.Timer;
+import com.netease.arctic.optimizing.TaskExecutionProfile;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableMap;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Latency metrics of the AMS hot paths and the table executors, they are shared by all tables and
+ * optimizer groups.
+ */
+public class ServerMetrics {
+
+  static final String METHOD_TAG = "method";
+  static final String STAGE_TAG = "stage";
+  static final String EXECUTOR_TAG = "executor";
+
+  public static final MetricDefine OPTIMIZING_PLAN_DURATION =
+      defineTimer("optimizing_plan_duration_mills")
+          .withDescription("Duration of planning optimizing tasks for a table")
+          .build();
+
+  public static final MetricDefine OPTIMIZING_COMMIT_DURATION =
+      defineTimer("optimizing_commit_duration_mills")
+          .withDescription("Duration of committing an optimizing process")
+          .build();
+
+  public static final MetricDefine TABLE_LOAD_DURATION =
+      defineTimer("table_load_duration_mills")
+          .withDescription("Duration of loading or refreshing a table")
+          .build();
+
+  public static final MetricDefine PERSISTENCE_SESSION_DURATION =
+      defineTimer("persistence_session_duration_mills")
+          .withDescription(
+              "Duration of a database operation, nested operations are counted separately")
+          .build();
+
+  public static final MetricDefine OPTIMIZING_SERVICE_RPC_DURATION =
+      defineTimer("optimizing_service_rpc_duration_mills")
+          .withDescription("Duration of the optimizing service rpc called by optimizers")
+          .withTags(METHOD_TAG)
+          .build();
+
+  public static final MetricDefine OPTIMIZING_TASK_STAGE_DURATION =
+      defineTimer("optimizing_task_stage_duration_mills")
+          .withDescription("Duration of the stages of optimizing tasks reported by optimizers")
+          .withTags(STAGE_TAG)
+          .build();
+
+  public static final MetricDefine OPTIMIZING_TASK_PEAK_MEMORY =
+      defineHistogram("optimizing_task_peak_memory_bytes")
+          .withDescription("Peak heap memory used by the optimizer while executing a task")
+          .build();
+
+  public static final MetricDefine OPTIMIZING_TASK_DELETE_MAP_SPILL =
+      defineHistogram("optimizing_task_delete_map_spill_bytes")
+          .withDescription("Bytes of the equality delete map spilled to disk by a task")
+          .build();
+
+  public static final MetricDefine TABLE_EXECUTOR_QUEUE_WAIT_DURATION =
+      defineTimer("table_executor_queue_wait_duration_mills")
+          .withDescription("Duration of a due table task waiting for a worker of the executor")
+          .withTags(EXECUTOR_TAG)
+          .build();
+
+  public static final MetricDefine TABLE_EXECUTOR_RUN_DURATION =
+      defineTimer("table_executor_run_duration_mills")
+          .withDescription("Duration of running a table task of the executor")
+          .withTags(EXECUTOR_TAG)
+          .build();
+
+  public static final MetricDefine TABLE_EXECUTOR_DEADLINE_EXCEEDED =
+      defineCounter("table_executor_deadline_exceeded_count")
+          .withDescription("Number of table tasks running longer than the deadline of the executor")
+          .withTags(EXECUTOR_TAG)
+          .build();
+
+  public static final MetricDefine TABLE_EXECUTOR_QUEUED_TASKS =
+      defineGauge("table_executor_queued_tasks")
+          .withDescription("Number of due table tasks waiting for a worker of the executor")
+          .withTags(EXECUTOR_TAG)
+          .build();
+
+  public static final Timer OPTIMIZING_PLAN_TIMER = new Timer();
+  public static final Timer OPTIMIZING_COMMIT_TIMER = new Timer();
+  public static final Timer TABLE_LOAD_TIMER = new Timer();
+  public static final Timer PERSISTENCE_SESSION_TIMER = new Timer();
+
+  public static final Timer POLL_TASK_TIMER = new Timer();
+  public static final Timer ACK_TASK_TIMER = new Timer();
+  public static final Timer COMPLETE_TASK_TIMER = new Timer();
+  public static final Timer TOUCH_TIMER = new Timer();
+  public static final Timer AUTHENTICATE_TIMER = new Timer();
+
+  private static final Timer TASK_READ_TIMER = new Timer();
+  private static final Timer TASK_FILTER_TIMER = new Timer();
+  private static final Timer TASK_WRITE_TIMER = new Timer();
+  private static final Timer TASK_CLOSE_TIMER = new Timer();
+  private static final Timer TASK_DELETE_MAP_BUILD_TIMER = new Timer();
+  // from 1 MB to 64 GB
+  private static final Histogram TASK_PEAK_MEMORY_HISTOGRAM =
+      new Histogram(Histogram.exponentialBounds(1L << 20, 2, 17));
+  private static final Histogram TASK_DELETE_MAP_SPILL_HISTOGRAM =
+      new Histogram(Histogram.exponentialBounds(1L << 20, 2, 17));
+
+  private static final Map<String, Timer> TASK_STAGE_TIMERS =
+      ImmutableMap.of(
+          "read", TASK_READ_TIMER,
+          "filter", TASK_FILTER_TIMER,
+          "write", TASK_WRITE_TIMER,
+          "close", TASK_CLOSE_TIMER,
+          "delete_map_build", TASK_DELETE_MAP_BUILD_TIMER);
+
+  private static final Map<String, Timer> RPC_TIMERS =
+      ImmutableMap.of(
+          "pollTask", POLL_TASK_TIMER,
+          "ackTask", ACK_TASK_TIMER,
+          "completeTask", COMPLETE_TASK_TIMER,
+          "touch", TOUCH_TIMER,
+          "authenticate", AUTHENTICATE_TIMER);
+
+  private ServerMetrics() {}
+
+  /**
+   * Register the metrics to the registry, should be called once per registry.
+   *
+   * @param registry metric registry
+   * @return the keys of the registered metrics, to unregister them once the service is disposed
+   */
+  public static List<MetricKey> register(MetricRegistry registry) {
+    List<MetricKey> keys = Lists.newArrayList();
+    keys.add(registry.register(OPTIMIZING_PLAN_DURATION, ImmutableMap.of(), OPTIMIZING_PLAN_TIMER));
+    keys.add(
+        registry.register(OPTIMIZING_COMMIT_DURATION, ImmutableMap.of(), OPTIMIZING_COMMIT_TIMER));
+    keys.add(registry.register(TABLE_LOAD_DURATION, ImmutableMap.of(), TABLE_LOAD_TIMER));
+    keys.add(
+        registry.register(
+            PERSISTENCE_SESSION_DURATION, ImmutableMap.of(), PERSISTENCE_SESSION_TIMER));
+    RPC_TIMERS.forEach(
+        (method, timer) ->
+            keys.add(
+                registry.register(
+                    OPTIMIZING_SERVICE_RPC_DURATION, ImmutableMap.of(METHOD_TAG, method), timer)));
+    TASK_STAGE_TIMERS.forEach(
+        (stage, timer) ->
+            keys.add(
+                registry.register(
+                    OPTIMIZING_TASK_STAGE_DURATION, ImmutableMap.of(STAGE_TAG, stage), timer)));
+    keys.add(
+        registry.register(
+            OPTIMIZING_TASK_PEAK_MEMORY, ImmutableMap.of(), TASK_PEAK_MEMORY_HISTOGRAM));
+    keys.add(
+        registry.register(
+            OPTIMIZING_TASK_DELETE_MAP_SPILL, ImmutableMap.of(), TASK_DELETE_MAP_SPILL_HISTOGRAM));
+    return keys;
+  }
+
+  /**
+   * Register the metrics of a table executor.
+   *
+   * @return the keys of the registered metrics, to unregister them once the executor is disposed
+   */
+  public static List<MetricKey> registerTableExecutor(
+      MetricRegistry registry,
+      String executor,
+      Timer queueWaitTimer,
+      Timer runTimer,
+      Counter deadlineExceeded,
+      Gauge<Integer> queuedTasks) {
+    Map<String, String> tags = ImmutableMap.of(EXECUTOR_TAG, executor);
+    return Lists.newArrayList(
+        registry.register(TABLE_EXECUTOR_QUEUE_WAIT_DURATION, tags, queueWaitTimer),
+        registry.register(TABLE_EXECUTOR_RUN_DURATION, tags, runTimer),
+        registry.register(TABLE_EXECUTOR_DEADLINE_EXCEEDED, tags, deadlineExceeded),
+        registry.register(TABLE_EXECUTOR_QUEUED_TASKS, tags, queuedTasks));
+  }
+
+  /**
+   * Record the execution profile of a completed task.
+   *
+   * @param profile the profile entries reported by the optimizer, see {@link TaskExecutionProfile}
+   */
+  public static void updateTaskProfile(Map<String, String> profile) {
+    if (profile.isEmpty()) {
+      // reported by an optimizer of the old version
+      return;
+    }
+    TASK_READ_TIMER.update(sumOfPhases(profile, TaskExecutionProfile.READ_MILLS));
+    TASK_FILTER_TIMER.update(sumOfPhases(profile, TaskExecutionProfile.FILTER_MILLS));
+    TASK_WRITE_TIMER.update(sumOfPhases(profile, TaskExecutionProfile.WRITE_MILLS));
+    TASK_CLOSE_TIMER.update(sumOfPhases(profile, TaskExecutionProfile.CLOSE_MILLS));
+    if (profile.containsKey(TaskExecutionProfile.DELETE_MAP_BUILD_MILLS)) {
+      TASK_DELETE_MAP_BUILD_TIMER.update(
+          valueOf(profile, TaskExecutionProfile.DELETE_MAP_BUILD_MILLS));
+      TASK_DELETE_MAP_SPILL_HISTOGRAM.update(
+          valueOf(profile, TaskExecutionProfile.DELETE_MAP_SPILL_BYTES));
+    }
+    TASK_PEAK_MEMORY_HISTOGRAM.update(valueOf(profile, TaskExecutionProfile.PEAK_MEMORY_BYTES));
+  }
+
+  private static long sumOfPhases(Map<String, String> profile, String metric) {
+    String rewriteKey = TaskExecutionProfile.phaseKey(TaskExecutionProfile.PHASE_REWRITE, metric);
+    String eqToPosKey = TaskExecutionProfile.phaseKey(TaskExecutionProfile.PHASE_EQ_TO_POS, metric);
+    return valueOf(profile, rewriteKey) + valueOf(profile, eqToPosKey);
+  }
+
+  private static long valueOf(Map<String, String> profile, String key) {
+    String value = profile.get(key);
+    return value == null ? 0 : Long.parseLong(value);
+  }
+}
@@ -22,6 +22,7 @@ import static com.netease.arctic.server.dashboard.utils.AmsUtil.byteToXB;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.netease.arctic.optimizing.RewriteFilesInput;
+import com.netease.arctic.optimizing.TaskExecutionProfile;
 import com.netease.arctic.server.dashboard.model.FilesStatistics;
 import com.netease.arctic.server.dashboard.utils.FilesStatisticsBuilder;
 import org.apache.iceberg.ContentFile;
@@ -85,6 +86,9 @@ public class MetricsSummary {
   private int newDeleteFileCnt = 0;
   private long newDeleteRecordCnt = 0;
 
+  /** Execution profile reported by the optimizer, only available for a single task. */
+  private Map<String, String> executionProfile = new LinkedHashMap<>();
+
   public MetricsSummary() {}
 
   protected MetricsSummary(RewriteFilesInput input) {
@@ -177,6 +181,14 @@ public class MetricsSummary {
     putIfPositive(summary, OUTPUT_DELETE_FILES, newDeleteFileCnt);
     putIfPositive(summary, OUTPUT_DELETE_SIZE, newDeleteSize, humanReadable);
     putIfPositive(summary, OUTPUT_DELETE_RECORDS, newDeleteRecordCnt);
+    executionProfile.forEach(
+        (key, value) -> {
+          if (humanReadable && key.endsWith("-bytes")) {
+            put(summary, key, Long.parseLong(value), true);
+          } else {
+            summary.put(key, value);
+          }
+        });
     return summary;
   }
 
@@ -335,6 +347,32 @@ public class MetricsSummary {
     return posDeleteRecordCnt;
   }
 
+  public Map<String, String> getExecutionProfile() {
+    return executionProfile;
+  }
+
+  public void setExecutionProfile(Map<String, String> executionProfile) {
+    this.executionProfile = executionProfile == null ? new LinkedHashMap<>() : executionProfile;
+  }
+
+  /**
+   * Pick the execution profile from the summary of a task result.
+   *
+   * @param taskSummary summary of the task result, may be null
+   */
+  protected void setExecutionProfileFromTaskSummary(Map<String, String> taskSummary) {
+    Map<String, String> profile = new LinkedHashMap<>();
+    if (taskSummary != null) {
+      taskSummary.forEach(
+          (key, value) -> {
+            if (key.startsWith(TaskExecutionProfile.PREFIX)) {
+              profile.put(key, value);
+            }
+          });
+    }
+    this.executionProfile = profile;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
@@ -360,6 +398,7 @@ public class MetricsSummary {
         .add("newDeleteSize", newDeleteSize)
         .add("newDeleteFileCnt", newDeleteFileCnt)
         .add("newDeleteRecordCnt", newDeleteRecordCnt)
+        .add("executionProfile", executionProfile)
         .toString();
   }
 }
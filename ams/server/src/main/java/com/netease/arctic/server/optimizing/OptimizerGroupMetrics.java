@@ -36,6 +36,7 @@ import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 
 /** Metrics manager for an optimizer group. */
@@ -90,11 +91,19 @@ public class OptimizerGroupMetrics {
           .withTags(GROUP_TAG)
           .build();
 
+  public static final MetricDefine OPTIMIZER_GROUP_IDLE_TIME =
+      defineGauge("optimizer_group_idle_time")
+          .withDescription(
+              "Milliseconds since the optimizer group has no pending or executing tasks and tables")
+          .withTags(GROUP_TAG)
+          .build();
+
   private final String groupName;
   private final MetricRegistry registry;
   private final OptimizingQueue optimizingQueue;
   private final List<MetricKey> registeredMetricKeys = Lists.newArrayList();
   private final Map<String, OptimizerInstance> optimizerInstances = new ConcurrentHashMap<>();
+  private volatile long lastBusyTime = System.currentTimeMillis();
 
   public OptimizerGroupMetrics(
       String groupName, MetricRegistry registry, OptimizingQueue optimizingQueue) {
@@ -109,38 +118,13 @@ public class OptimizerGroupMetrics {
   }
 
   public void register() {
+    registerMetric(registry, OPTIMIZER_GROUP_PENDING_TASKS, (Gauge<Integer>) this::getPendingTasks);
     registerMetric(
-        registry,
-        OPTIMIZER_GROUP_PENDING_TASKS,
-        (Gauge<Integer>)
-            () ->
-                optimizingQueue
-                    .collectTasks(
-                        task ->
-                            task.getStatus().equals(PLANNED) || task.getStatus().equals(SCHEDULED))
-                    .size());
-    registerMetric(
-        registry,
-        OPTIMIZER_GROUP_EXECUTING_TASKS,
-        (Gauge<Integer>)
-            () -> optimizingQueue.collectTasks(task -> task.getStatus().equals(ACKED)).size());
-
+        registry, OPTIMIZER_GROUP_EXECUTING_TASKS, (Gauge<Integer>) this::getExecutingTasks);
     registerMetric(
-        registry,
-        OPTIMIZER_GROUP_PLANING_TABLES,
-        (Gauge<Long>)
-            () ->
-                optimizingQueue.getSchedulingPolicy().getTableRuntimeMap().values().stream()
-                    .filter(t -> t.getOptimizingStatus().equals(PLANNING))
-                    .count());
+        registry, OPTIMIZER_GROUP_PLANING_TABLES, (Gauge<Long>) () -> countTables(PLANNING));
     registerMetric(
-        registry,
-        OPTIMIZER_GROUP_PENDING_TABLES,
-        (Gauge<Long>)
-            () ->
-                optimizingQueue.getSchedulingPolicy().getTableRuntimeMap().values().stream()
-                    .filter(t -> t.getOptimizingStatus().equals(PENDING))
-                    .count());
+        registry, OPTIMIZER_GROUP_PENDING_TABLES, (Gauge<Long>) () -> countTables(PENDING));
     registerMetric(
         registry,
         OPTIMIZER_GROUP_EXECUTING_TABLES,
@@ -149,6 +133,7 @@ public class OptimizerGroupMetrics {
                 optimizingQueue.getSchedulingPolicy().getTableRuntimeMap().values().stream()
                     .filter(t -> t.getOptimizingStatus().isProcessing())
                     .count());
+    registerMetric(registry, OPTIMIZER_GROUP_IDLE_TIME, (Gauge<Long>) this::getIdleTime);
 
     registerMetric(
         registry, OPTIMIZER_GROUP_OPTIMIZER_INSTANCES, (Gauge<Integer>) optimizerInstances::size);
@@ -171,6 +156,57 @@ public class OptimizerGroupMetrics {
                     .sum());
   }
 
+  public int getPendingTasks() {
+    return optimizingQueue.collectTasksByStatus(PLANNED, SCHEDULED).size();
+  }
+
+  public int getExecutingTasks() {
+    return optimizingQueue.collectTasksByStatus(ACKED).size();
+  }
+
+  /** The estimated cost of the pending tasks, which is the total size of their input files. */
+  public long getPendingTaskBytes() {
+    return optimizingQueue.collectTasksByStatus(PLANNED, SCHEDULED).stream()
+        .map(TaskRuntime::getMetricsSummary)
+        .filter(Objects::nonNull)
+        .mapToLong(
+            summary ->
+                summary.getRewriteDataSize()
+                    + summary.getRewritePosDataSize()
+                    + summary.getEqualityDeleteSize()
+                    + summary.getPositionalDeleteSize())
+        .sum();
+  }
+
+  /** Whether there are tables waiting for an optimizer to plan them. */
+  public boolean hasPendingTables() {
+    return countTables(PENDING) + countTables(PLANNING) > 0;
+  }
+
+  /**
+   * Get the time since the group was busy for the last time, the group is busy if it has pending
+   * or executing tasks, or pending or planning tables.
+   */
+  public long getIdleTime() {
+    long now = System.currentTimeMillis();
+    if (getPendingTasks() > 0 || getExecutingTasks() > 0 || hasPendingTables()) {
+      lastBusyTime = now;
+    }
+    return now - lastBusyTime;
+  }
+
+  /** Whether the optimizer holds scheduled or executing tasks. */
+  public boolean isOptimizerBusy(OptimizerInstance optimizer) {
+    return optimizingQueue.collectTasksByStatus(SCHEDULED, ACKED).stream()
+        .anyMatch(task -> optimizer.getToken().equals(task.getToken()));
+  }
+
+  private long countTables(OptimizingStatus status) {
+    return optimizingQueue.getSchedulingPolicy().getTableRuntimeMap().values().stream()
+        .filter(t -> t.getOptimizingStatus().equals(status))
+        .count();
+  }
+
   public void unregister() {
     registeredMetricKeys.forEach(registry::unregister);
     registeredMetricKeys.clear();
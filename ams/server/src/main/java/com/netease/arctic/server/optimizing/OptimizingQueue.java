@@ -22,11 +22,14 @@ import com.netease.arctic.AmoroTable;
 import com.netease.arctic.api.OptimizerProperties;
 import com.netease.arctic.api.OptimizingTaskId;
 import com.netease.arctic.api.ServerTableIdentifier;
+import com.netease.arctic.api.metrics.Timer;
 import com.netease.arctic.api.resource.ResourceGroup;
+import com.netease.arctic.op.SnapshotSummary;
 import com.netease.arctic.optimizing.RewriteFilesInput;
 import com.netease.arctic.server.ArcticServiceConstants;
 import com.netease.arctic.server.exception.OptimizingClosedException;
 import com.netease.arctic.server.manager.MetricManager;
+import com.netease.arctic.server.metrics.ServerMetrics;
 import com.netease.arctic.server.optimizing.plan.OptimizingPlanner;
 import com.netease.arctic.server.optimizing.plan.TaskDescriptor;
 import com.netease.arctic.server.persistence.PersistentBase;
@@ -43,15 +46,22 @@ import com.netease.arctic.utils.CompatiblePropertyUtil;
 import com.netease.arctic.utils.ExceptionUtil;
 import com.netease.arctic.utils.TablePropertyUtil;
 import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Snapshot;
 import org.apache.iceberg.StructLike;
 import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.apache.iceberg.util.SnapshotUtil;
 import org.apache.iceberg.util.StructLikeMap;
+import org.apache.iceberg.util.Tasks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -61,12 +71,15 @@ import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedTransferQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -76,6 +89,10 @@ public class OptimizingQueue extends PersistentBase {
 
   private final QuotaProvider quotaProvider;
   private final Queue<TableOptimizingProcess> tableQueue = new LinkedTransferQueue<>();
+  // Index the processes in the table queue by id, and their tasks by status
+  private final Map<Long, TableOptimizingProcess> processById = new ConcurrentHashMap<>();
+  private final Map<TaskRuntime.Status, Set<TaskRuntime>> tasksByStatus =
+      new EnumMap<>(TaskRuntime.Status.class);
   private final Queue<TaskRuntime> retryTaskQueue = new LinkedTransferQueue<>();
   private final SchedulingPolicy scheduler;
   private final TableManager tableManager;
@@ -95,6 +112,29 @@ public class OptimizingQueue extends PersistentBase {
       Executor planExecutor,
       List<TableRuntimeMeta> tableRuntimeMetaList,
       int maxPlanningParallelism) {
+    this(
+        tableManager,
+        optimizerGroup,
+        quotaProvider,
+        planExecutor,
+        tableRuntimeMetaList,
+        maxPlanningParallelism,
+        null);
+  }
+
+  /**
+   * Create the queue and recover the optimizing processes of the tables by the recovery executor,
+   * or in the caller thread if it is null. Only the task runtimes are loaded during the recovery,
+   * the task inputs of a process are loaded when its tasks are polled for the first time.
+   */
+  public OptimizingQueue(
+      TableManager tableManager,
+      ResourceGroup optimizerGroup,
+      QuotaProvider quotaProvider,
+      Executor planExecutor,
+      List<TableRuntimeMeta> tableRuntimeMetaList,
+      int maxPlanningParallelism,
+      ExecutorService recoveryExecutor) {
     Preconditions.checkNotNull(optimizerGroup, "Optimizer group can not be null");
     this.planExecutor = planExecutor;
     this.optimizerGroup = optimizerGroup;
@@ -102,18 +142,27 @@ public class OptimizingQueue extends PersistentBase {
     this.scheduler = new SchedulingPolicy(optimizerGroup);
     this.tableManager = tableManager;
     this.maxPlanningParallelism = maxPlanningParallelism;
+    for (TaskRuntime.Status status : TaskRuntime.Status.values()) {
+      tasksByStatus.put(status, ConcurrentHashMap.newKeySet());
+    }
     this.metrics =
         new OptimizerGroupMetrics(
             optimizerGroup.getName(), MetricManager.getInstance().getGlobalRegistry(), this);
     this.metrics.register();
-    tableRuntimeMetaList.forEach(this::initTableRuntime);
+    Tasks.foreach(tableRuntimeMetaList)
+        .executeWith(recoveryExecutor)
+        .stopOnFailure()
+        .throwFailureWhenFinished()
+        .run(this::initTableRuntime);
   }
 
   private void initTableRuntime(TableRuntimeMeta tableRuntimeMeta) {
     TableRuntime tableRuntime = tableRuntimeMeta.getTableRuntime();
+    TableOptimizingProcess recoveredProcess = null;
     if (tableRuntime.getOptimizingStatus().isProcessing()
         && tableRuntimeMeta.getOptimizingProcessId() != 0) {
-      tableRuntime.recover(new TableOptimizingProcess(tableRuntimeMeta));
+      // The process recovers the table runtime itself unless it is closed
+      recoveredProcess = new TableOptimizingProcess(tableRuntimeMeta);
     }
 
     if (tableRuntime.isOptimizingEnabled()) {
@@ -121,8 +170,10 @@ public class OptimizingQueue extends PersistentBase {
           System.currentTimeMillis() - ArcticServiceConstants.QUOTA_LOOK_BACK_TIME);
       if (!tableRuntime.getOptimizingStatus().isProcessing()) {
         scheduler.addTable(tableRuntime);
-      } else if (tableRuntime.getOptimizingStatus() != OptimizingStatus.COMMITTING) {
-        tableQueue.offer(new TableOptimizingProcess(tableRuntimeMeta));
+      } else if (tableRuntime.getOptimizingStatus() != OptimizingStatus.COMMITTING
+          && recoveredProcess != null
+          && !recoveredProcess.isClosed()) {
+        offerProcess(recoveredProcess);
       }
     } else {
       OptimizingProcess process = tableRuntime.getOptimizingProcess();
@@ -156,20 +207,77 @@ public class OptimizingQueue extends PersistentBase {
         tableRuntime.getTableIdentifier());
   }
 
+  /** Bind the table taken over from another node, and recover its optimizing process if any. */
+  public void assignTable(TableRuntimeMeta tableRuntimeMeta) {
+    LOG.info(
+        "Assign table {} to queue {}",
+        tableRuntimeMeta.getTableRuntime().getTableIdentifier(),
+        optimizerGroup.getName());
+    initTableRuntime(tableRuntimeMeta);
+  }
+
+  /**
+   * Release the table assigned to another node, its optimizing process is removed from the queue
+   * without being closed, so that the new owner could recover it.
+   */
+  public void unassignTable(TableRuntime tableRuntime) {
+    releaseTable(tableRuntime);
+    processById.values().stream()
+        .filter(
+            process ->
+                process.tableRuntime.getTableIdentifier().equals(tableRuntime.getTableIdentifier()))
+        .findAny()
+        .ifPresent(
+            process -> {
+              clearProcess(process);
+              retryTaskQueue.removeIf(
+                  task -> task.getTaskId().getProcessId() == process.getProcessId());
+            });
+  }
+
   public boolean containsTable(ServerTableIdentifier identifier) {
     return scheduler.getTableRuntime(identifier) != null;
   }
 
+  private void offerProcess(TableOptimizingProcess process) {
+    synchronized (tasksByStatus) {
+      processById.put(process.getProcessId(), process);
+      process.getTaskMap().values().forEach(task -> tasksByStatus.get(task.getStatus()).add(task));
+    }
+    tableQueue.offer(process);
+  }
+
   private void clearProcess(TableOptimizingProcess optimizingProcess) {
-    tableQueue.removeIf(process -> process.getProcessId() == optimizingProcess.getProcessId());
+    synchronized (tasksByStatus) {
+      TableOptimizingProcess process = processById.remove(optimizingProcess.getProcessId());
+      if (process != null) {
+        tableQueue.remove(process);
+        // The status may be changing, remove the tasks from all the statuses
+        process
+            .getTaskMap()
+            .values()
+            .forEach(task -> tasksByStatus.values().forEach(tasks -> tasks.remove(task)));
+      }
+    }
     retryTaskQueue.removeIf(
         taskRuntime -> taskRuntime.getTaskId().getProcessId() == optimizingProcess.getProcessId());
   }
 
   public TaskRuntime pollTask(long maxWaitTime) {
+    return pollTask(maxWaitTime, waitNanos -> {});
+  }
+
+  /**
+   * Poll a task, waiting for the planning of tables if there is no task ready.
+   *
+   * @param maxWaitTime the max time to wait in milliseconds
+   * @param waitListener notified of the nanoseconds spent waiting for the planning each time
+   * @return the polled task, or null if no task is ready before the deadline
+   */
+  public TaskRuntime pollTask(long maxWaitTime, LongConsumer waitListener) {
     long deadline = calculateDeadline(maxWaitTime);
     TaskRuntime task = fetchTask();
-    while (task == null && waitTask(deadline)) {
+    while (task == null && waitTask(deadline, waitListener)) {
       task = fetchTask();
     }
     return task;
@@ -180,13 +288,20 @@ public class OptimizingQueue extends PersistentBase {
     return deadline <= 0 ? Long.MAX_VALUE : deadline;
   }
 
-  private boolean waitTask(long waitDeadline) {
+  private boolean waitTask(long waitDeadline, LongConsumer waitListener) {
     scheduleLock.lock();
     try {
       long currentTime = System.currentTimeMillis();
       scheduleTableIfNecessary(currentTime);
-      return waitDeadline > currentTime
-          && planningCompleted.await(waitDeadline - currentTime, TimeUnit.MILLISECONDS);
+      if (waitDeadline <= currentTime) {
+        return false;
+      }
+      long waitStart = System.nanoTime();
+      try {
+        return planningCompleted.await(waitDeadline - currentTime, TimeUnit.MILLISECONDS);
+      } finally {
+        waitListener.accept(System.nanoTime() - waitStart);
+      }
     } catch (InterruptedException e) {
       LOG.error("Schedule table interrupted", e);
       return false;
@@ -231,7 +346,7 @@ public class OptimizingQueue extends PersistentBase {
                 tableRuntime.setLastPlanTime(currentTime);
                 planningTables.remove(tableRuntime.getTableIdentifier());
                 if (process != null) {
-                  tableQueue.offer(process);
+                  offerProcess(process);
                   LOG.info(
                       "Completed planning on table {} with {} tasks with a total cost of {} ms, skipping tables {}",
                       tableRuntime.getTableIdentifier(),
@@ -274,10 +389,18 @@ public class OptimizingQueue extends PersistentBase {
     }
   }
 
+  private void taskStatusChanged(
+      TableOptimizingProcess process, TaskRuntime task, TaskRuntime.Status originalStatus) {
+    synchronized (tasksByStatus) {
+      if (processById.get(process.getProcessId()) == process) {
+        tasksByStatus.get(originalStatus).remove(task);
+        tasksByStatus.get(task.getStatus()).add(task);
+      }
+    }
+  }
+
   public TaskRuntime getTask(OptimizingTaskId taskId) {
-    return tableQueue.stream()
-        .filter(p -> p.getProcessId() == taskId.getProcessId())
-        .findFirst()
+    return Optional.ofNullable(processById.get(taskId.getProcessId()))
         .map(p -> p.getTaskMap().get(taskId))
         .orElse(null);
   }
@@ -295,6 +418,13 @@ public class OptimizingQueue extends PersistentBase {
         .collect(Collectors.toList());
   }
 
+  /** Collect the tasks of the statuses, in time proportional to the number of them. */
+  public List<TaskRuntime> collectTasksByStatus(TaskRuntime.Status... statuses) {
+    return Arrays.stream(statuses)
+        .flatMap(status -> tasksByStatus.get(status).stream())
+        .collect(Collectors.toList());
+  }
+
   public void retryTask(TaskRuntime taskRuntime) {
     taskRuntime.reset();
     retryTaskQueue.offer(taskRuntime);
@@ -316,6 +446,10 @@ public class OptimizingQueue extends PersistentBase {
     this.metrics.removeOptimizer(optimizerInstance);
   }
 
+  public OptimizerGroupMetrics getMetrics() {
+    return metrics;
+  }
+
   public void dispose() {
     this.metrics.unregister();
   }
@@ -353,8 +487,24 @@ public class OptimizingQueue extends PersistentBase {
     private Map<String, Long> fromSequence = Maps.newHashMap();
     private Map<String, Long> toSequence = Maps.newHashMap();
     private boolean hasCommitted = false;
+    // The task inputs of a recovered process are loaded on demand
+    private volatile boolean inputsLoaded = true;
+    // The partitions committed ahead of the process, loaded from the table on the first commit
+    private Set<String> committedPartitions;
+    // The partitions being committed ahead of the process outside the lock
+    private final Set<String> committingPartitions = Sets.newHashSet();
+    private final Condition partitionCommitted = lock.newCondition();
 
     public TaskRuntime poll() {
+      if (!inputsLoaded && !isClosed()) {
+        try {
+          loadTaskInputs();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+          LOG.warn("Load task inputs failed, close the optimizing process : {}", processId, e);
+          close();
+          return null;
+        }
+      }
       lock.lock();
       try {
         return taskQueue.poll();
@@ -389,6 +539,7 @@ public class OptimizingQueue extends PersistentBase {
       if (tableRuntimeMeta.getToSequence() != null) {
         toSequence = tableRuntimeMeta.getToSequence();
       }
+      inputsLoaded = false;
       loadTaskRuntimes(this);
       if (this.status != OptimizingProcess.Status.CLOSED) {
         tableRuntimeMeta.getTableRuntime().recover(this);
@@ -447,6 +598,11 @@ public class OptimizingQueue extends PersistentBase {
               && tableRuntime.getOptimizingStatus() != OptimizingStatus.COMMITTING) {
             tableRuntime.beginCommitting();
             clearProcess(this);
+          } else if (tableRuntime.getOptimizingConfig().isPartialCommitEnabled()
+              && partitionTasksPrepared(taskRuntime.getPartition())) {
+            // Commit the partition asynchronously to not block the optimizer completing the task
+            String partition = taskRuntime.getPartition();
+            planExecutor.execute(() -> commitPartition(partition));
           }
         } else if (taskRuntime.getStatus() == TaskRuntime.Status.FAILED) {
           if (taskRuntime.getRetry() < tableRuntime.getMaxExecuteRetryCount()) {
@@ -479,6 +635,27 @@ public class OptimizingQueue extends PersistentBase {
       return status == OptimizingProcess.Status.CLOSED;
     }
 
+    @Override
+    public void loadTaskInputs() {
+      lock.lock();
+      try {
+        if (!inputsLoaded) {
+          Map<Integer, RewriteFilesInput> inputs = TaskFilesPersistence.loadTaskInputs(processId);
+          taskMap
+              .values()
+              .forEach(task -> task.setInput(inputs.get(task.getTaskId().getTaskId())));
+          inputsLoaded = true;
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public void statusChanged(TaskRuntime taskRuntime, TaskRuntime.Status originalStatus) {
+      taskStatusChanged(this, taskRuntime, originalStatus);
+    }
+
     @Override
     public long getPlanTime() {
       return planTime;
@@ -552,7 +729,16 @@ public class OptimizingQueue extends PersistentBase {
         }
         try {
           hasCommitted = true;
-          buildCommit().commit();
+          // The partitions being committed are included in the process commit otherwise
+          while (!committingPartitions.isEmpty()) {
+            partitionCommitted.awaitUninterruptibly();
+          }
+          UnKeyedTableCommit commit = buildCommit();
+          if (commit != null) {
+            try (Timer.Context ignored = ServerMetrics.OPTIMIZING_COMMIT_TIMER.time()) {
+              commit.commit();
+            }
+          }
           status = Status.SUCCESS;
           endTime = System.currentTimeMillis();
           persistProcessCompleted(true);
@@ -575,11 +761,133 @@ public class OptimizingQueue extends PersistentBase {
       return new MetricsSummary(taskMap.values());
     }
 
+    /**
+     * Commit the outputs of a partition ahead of the process, when all the tasks of the partition
+     * succeeded. The commit is recorded in the snapshot summary, so that the partition is not
+     * committed again even if the process is recovered. A failed partition commit is given up, the
+     * partition is committed again with the process.
+     */
+    private void commitPartition(String partition) {
+      List<TaskRuntime> tasks;
+      ArcticTable table;
+      try {
+        table =
+            (ArcticTable) tableManager.loadTable(tableRuntime.getTableIdentifier()).originalTable();
+      } catch (Exception e) {
+        LOG.warn(
+            "{} failed to load table to commit partition {} of process {}",
+            tableRuntime.getTableIdentifier(),
+            partition,
+            processId,
+            e);
+        return;
+      }
+      // The keyed tables commit the sequences of all the partitions at once
+      if (table.isKeyedTable()) {
+        return;
+      }
+      // Take the tasks of the partition under the lock, and commit them outside of it
+      lock.lock();
+      try {
+        if (status != Status.RUNNING
+            || hasCommitted
+            || committingPartitions.contains(partition)
+            || !partitionTasksPrepared(partition)
+            || loadCommittedPartitions(table).contains(partition)) {
+          return;
+        }
+        tasks =
+            taskMap.values().stream()
+                .filter(task -> Objects.equals(partition, task.getPartition()))
+                .collect(Collectors.toList());
+        committingPartitions.add(partition);
+      } catch (Exception e) {
+        LOG.warn(
+            "{} failed to prepare partition {} of process {}, commit it with the process",
+            tableRuntime.getTableIdentifier(),
+            partition,
+            processId,
+            e);
+        return;
+      } finally {
+        lock.unlock();
+      }
+
+      boolean committed = false;
+      try (Timer.Context ignored = ServerMetrics.OPTIMIZING_COMMIT_TIMER.time()) {
+        new UnKeyedTableCommit(targetSnapshotId, table, tasks)
+            .set(SnapshotSummary.OPTIMIZING_PROCESS_ID, String.valueOf(processId))
+            .set(SnapshotSummary.OPTIMIZING_PARTITION, partition)
+            .commit();
+        committed = true;
+        LOG.info(
+            "{} committed partition {} of process {} with {} tasks",
+            tableRuntime.getTableIdentifier(),
+            partition,
+            processId,
+            tasks.size());
+      } catch (Exception e) {
+        LOG.warn(
+            "{} failed to commit partition {} of process {}, commit it with the process",
+            tableRuntime.getTableIdentifier(),
+            partition,
+            processId,
+            e);
+      }
+
+      lock.lock();
+      try {
+        if (committed) {
+          committedPartitions.add(partition);
+        }
+        committingPartitions.remove(partition);
+        partitionCommitted.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private boolean partitionTasksPrepared(String partition) {
+      return taskMap.values().stream()
+          .filter(task -> Objects.equals(partition, task.getPartition()))
+          .allMatch(task -> task.getStatus() == TaskRuntime.Status.SUCCESS);
+    }
+
+    private Set<String> loadCommittedPartitions(ArcticTable table) {
+      if (committedPartitions == null) {
+        committedPartitions = Sets.newHashSet();
+        Snapshot currentSnapshot = table.asUnkeyedTable().currentSnapshot();
+        if (currentSnapshot != null) {
+          Long oldestSnapshotId =
+              targetSnapshotId == ArcticServiceConstants.INVALID_SNAPSHOT_ID
+                  ? null
+                  : targetSnapshotId;
+          for (Snapshot snapshot :
+              SnapshotUtil.ancestorsBetween(
+                  currentSnapshot.snapshotId(),
+                  oldestSnapshotId,
+                  table.asUnkeyedTable()::snapshot)) {
+            if (String.valueOf(processId)
+                .equals(snapshot.summary().get(SnapshotSummary.OPTIMIZING_PROCESS_ID))) {
+              committedPartitions.add(snapshot.summary().get(SnapshotSummary.OPTIMIZING_PARTITION));
+            }
+          }
+        }
+      }
+      return committedPartitions;
+    }
+
+    /** Build the commit of the process, or null if all the partitions have been committed. */
     private UnKeyedTableCommit buildCommit() {
       ArcticTable table =
           (ArcticTable) tableManager.loadTable(tableRuntime.getTableIdentifier()).originalTable();
       if (table.isUnkeyedTable()) {
-        return new UnKeyedTableCommit(targetSnapshotId, table, taskMap.values());
+        Set<String> partitions = loadCommittedPartitions(table);
+        Collection<TaskRuntime> tasks =
+            taskMap.values().stream()
+                .filter(task -> !partitions.contains(task.getPartition()))
+                .collect(Collectors.toList());
+        return tasks.isEmpty() ? null : new UnKeyedTableCommit(targetSnapshotId, table, tasks);
       } else {
         return new KeyedTableCommit(
             table,
@@ -658,20 +966,25 @@ public class OptimizingQueue extends PersistentBase {
               OptimizingMapper.class,
               mapper ->
                   mapper.selectTaskRuntimes(tableRuntime.getTableIdentifier().getId(), processId));
+      List<TaskRuntime> failedTasks = Lists.newArrayList();
+      taskRuntimes.forEach(
+          taskRuntime -> {
+            taskRuntime.claimOwnership(this);
+            taskMap.put(taskRuntime.getTaskId(), taskRuntime);
+            if (taskRuntime.getStatus() == TaskRuntime.Status.PLANNED) {
+              taskQueue.offer(taskRuntime);
+            } else if (taskRuntime.getStatus() == TaskRuntime.Status.FAILED) {
+              failedTasks.add(taskRuntime);
+            }
+          });
+      if (failedTasks.isEmpty()) {
+        return;
+      }
+      // Retrying resets the summary of the task by its input, load the inputs of the process now
       try {
-        Map<Integer, RewriteFilesInput> inputs = TaskFilesPersistence.loadTaskInputs(processId);
-        taskRuntimes.forEach(
-            taskRuntime -> {
-              taskRuntime.claimOwnership(this);
-              taskRuntime.setInput(inputs.get(taskRuntime.getTaskId().getTaskId()));
-              taskMap.put(taskRuntime.getTaskId(), taskRuntime);
-              if (taskRuntime.getStatus() == TaskRuntime.Status.PLANNED) {
-                taskQueue.offer(taskRuntime);
-              } else if (taskRuntime.getStatus() == TaskRuntime.Status.FAILED) {
-                retryTask(taskRuntime);
-              }
-            });
-      } catch (IllegalArgumentException e) {
+        loadTaskInputs();
+        failedTasks.forEach(OptimizingQueue.this::retryTask);
+      } catch (IllegalArgumentException | IllegalStateException e) {
         LOG.warn(
             "Load task inputs failed, close the optimizing process : {}",
             optimizingProcess.getProcessId(),
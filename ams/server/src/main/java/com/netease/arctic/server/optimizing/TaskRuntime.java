@@ -29,6 +29,7 @@ import com.netease.arctic.server.dashboard.utils.OptimizingUtil;
 import com.netease.arctic.server.exception.IllegalTaskStateException;
 import com.netease.arctic.server.exception.OptimizingClosedException;
 import com.netease.arctic.server.exception.TaskRuntimeException;
+import com.netease.arctic.server.metrics.ServerMetrics;
 import com.netease.arctic.server.optimizing.plan.TaskDescriptor;
 import com.netease.arctic.server.persistence.StatedPersistentBase;
 import com.netease.arctic.server.persistence.TaskFilesPersistence;
@@ -74,7 +75,7 @@ public class TaskRuntime extends StatedPersistentBase {
   }
 
   public void complete(OptimizerThread thread, OptimizingTaskResult result) {
-    invokeConsistency(
+    invokeStatusChanging(
         () -> {
           validThread(thread);
           if (result.getErrorMessage() != null) {
@@ -95,6 +96,8 @@ public class TaskRuntime extends StatedPersistentBase {
                 OptimizingUtil.getRecordCnt(filesOutput.getDeleteFiles()));
             summary.setNewFileSize(summary.getNewDataSize() + summary.getNewDeleteSize());
             summary.setNewFileCnt(summary.getNewDataFileCnt() + summary.getNewDeleteFileCnt());
+            summary.setExecutionProfileFromTaskSummary(result.getSummary());
+            ServerMetrics.updateTaskProfile(summary.getExecutionProfile());
             endTime = System.currentTimeMillis();
             costTime += endTime - startTime;
             output = filesOutput;
@@ -108,7 +111,7 @@ public class TaskRuntime extends StatedPersistentBase {
   }
 
   void reset() {
-    invokeConsistency(
+    invokeStatusChanging(
         () -> {
           statusMachine.accept(Status.PLANNED);
           startTime = ArcticServiceConstants.INVALID_TIME;
@@ -117,14 +120,14 @@ public class TaskRuntime extends StatedPersistentBase {
           threadId = -1;
           failReason = null;
           output = null;
-          summary = new MetricsSummary(input);
+          summary = new MetricsSummary(getInput());
           // The cost time should not be reset since it is the total cost time of all runs.
           persistTaskRuntime(this);
         });
   }
 
   public void schedule(OptimizerThread thread) {
-    invokeConsistency(
+    invokeStatusChanging(
         () -> {
           statusMachine.accept(Status.SCHEDULED);
           token = thread.getToken();
@@ -135,7 +138,7 @@ public class TaskRuntime extends StatedPersistentBase {
   }
 
   public void ack(OptimizerThread thread) {
-    invokeConsistency(
+    invokeStatusChanging(
         () -> {
           validThread(thread);
           statusMachine.accept(Status.ACKED);
@@ -144,7 +147,7 @@ public class TaskRuntime extends StatedPersistentBase {
   }
 
   void tryCanceling() {
-    invokeConsistency(
+    invokeStatusChanging(
         () -> {
           if (statusMachine.tryAccepting(Status.CANCELED)) {
             endTime = System.currentTimeMillis();
@@ -156,6 +159,18 @@ public class TaskRuntime extends StatedPersistentBase {
         });
   }
 
+  /** Invoke the operation consistently, and notify the owner if the status is changed. */
+  private void invokeStatusChanging(Runnable operation) {
+    Status originalStatus = status;
+    try {
+      invokeConsistency(operation);
+    } finally {
+      if (owner != null && status != originalStatus) {
+        owner.statusChanged(this, originalStatus);
+      }
+    }
+  }
+
   public TaskRuntime claimOwnership(TaskOwner owner) {
     this.owner = owner;
     return this;
@@ -175,6 +190,10 @@ public class TaskRuntime extends StatedPersistentBase {
   }
 
   public RewriteFilesInput getInput() {
+    if (input == null && owner != null) {
+      // The inputs of the recovered tasks are loaded by the owner on demand
+      owner.loadTaskInputs();
+    }
     return input;
   }
 
@@ -208,7 +227,7 @@ public class TaskRuntime extends StatedPersistentBase {
 
   public OptimizingTask getOptimizingTask() {
     OptimizingTask optimizingTask = new OptimizingTask(taskId);
-    optimizingTask.setTaskInput(SerializationUtil.simpleSerialize(input));
+    optimizingTask.setTaskInput(SerializationUtil.simpleSerialize(getInput()));
     optimizingTask.setProperties(properties);
     return optimizingTask;
   }
@@ -433,5 +452,11 @@ public class TaskRuntime extends StatedPersistentBase {
     void acceptResult(TaskRuntime taskRuntime);
 
     boolean isClosed();
+
+    /** Load the inputs of the tasks if they were not loaded with the tasks. */
+    default void loadTaskInputs() {}
+
+    /** Called after the status of the task is changed, the task may have changed again. */
+    default void statusChanged(TaskRuntime taskRuntime, Status originalStatus) {}
   }
 }
@@ -76,6 +76,7 @@ public class UnKeyedTableCommit {
   private final Long targetSnapshotId;
   private final ArcticTable table;
   private final Collection<TaskRuntime> tasks;
+  private final Map<String, String> snapshotProperties = new HashMap<>();
 
   public UnKeyedTableCommit(
       Long targetSnapshotId, ArcticTable table, Collection<TaskRuntime> tasks) {
@@ -84,6 +85,12 @@ public class UnKeyedTableCommit {
     this.tasks = tasks;
   }
 
+  /** Set a property to the summary of the snapshots committed. */
+  public UnKeyedTableCommit set(String property, String value) {
+    snapshotProperties.put(property, value);
+    return this;
+  }
+
   protected List<DataFile> moveFile2HiveIfNeed() {
     if (!needMoveFile2Hive()) {
       return null;
@@ -190,6 +197,7 @@ public class UnKeyedTableCommit {
     // collect files
     Set<DataFile> addedDataFiles = Sets.newHashSet();
     Set<DataFile> removedDataFiles = Sets.newHashSet();
+    Set<String> removedDataFilePaths = Sets.newHashSet();
     Set<DeleteFile> addedDeleteFiles = Sets.newHashSet();
     Set<DeleteFile> removedDeleteFiles = Sets.newHashSet();
     for (TaskRuntime task : tasks) {
@@ -202,7 +210,10 @@ public class UnKeyedTableCommit {
         addedDeleteFiles.addAll(Arrays.asList(task.getOutput().getDeleteFiles()));
       }
       if (task.getInput().rewrittenDataFiles() != null) {
-        removedDataFiles.addAll(Arrays.asList(task.getInput().rewrittenDataFiles()));
+        // a data file may be read by several tasks of reclustering, it is removed only once
+        Arrays.stream(task.getInput().rewrittenDataFiles())
+            .filter(dataFile -> removedDataFilePaths.add(dataFile.path().toString()))
+            .forEach(removedDataFiles::add);
       }
       if (task.getInput().rewrittenDeleteFiles() != null) {
         removedDeleteFiles.addAll(
@@ -269,6 +280,7 @@ public class UnKeyedTableCommit {
     removedDeleteFiles.forEach(rewriteFiles::deleteFile);
     addedDeleteFiles.forEach(rewriteFiles::addFile);
     rewriteFiles.set(SnapshotSummary.SNAPSHOT_PRODUCER, CommitMetaProducer.OPTIMIZE.name());
+    snapshotProperties.forEach(rewriteFiles::set);
     if (TableTypeUtil.isHive(table)) {
       if (!needMoveFile2Hive()) {
         rewriteFiles.set(DELETE_UNTRACKED_HIVE_FILE, "true");
@@ -282,6 +294,7 @@ public class UnKeyedTableCommit {
     RowDelta rowDelta = transaction.newRowDelta();
     addDeleteFiles.forEach(rowDelta::addDeletes);
     rowDelta.set(SnapshotSummary.SNAPSHOT_PRODUCER, CommitMetaProducer.OPTIMIZE.name());
+    snapshotProperties.forEach(rowDelta::set);
     rowDelta.commit();
   }
 
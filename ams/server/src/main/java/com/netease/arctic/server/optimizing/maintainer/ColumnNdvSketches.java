@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.optimizing.maintainer;
+
+import com.netease.arctic.utils.StatisticsFileUtil;
+import org.apache.datasketches.memory.Memory;
+import org.apache.datasketches.theta.CompactSketch;
+import org.apache.datasketches.theta.SetOperation;
+import org.apache.datasketches.theta.Sketches;
+import org.apache.datasketches.theta.Union;
+import org.apache.iceberg.Accessor;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.MetadataColumns;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.StructLike;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.avro.Avro;
+import org.apache.iceberg.data.InternalRecordWrapper;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.data.avro.DataReader;
+import org.apache.iceberg.data.orc.GenericOrcReader;
+import org.apache.iceberg.data.parquet.GenericParquetReaders;
+import org.apache.iceberg.encryption.EncryptedFiles;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.io.InputFile;
+import org.apache.iceberg.orc.ORC;
+import org.apache.iceberg.parquet.Parquet;
+import org.apache.iceberg.puffin.StandardBlobTypes;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableList;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableMap;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.apache.iceberg.types.Conversions;
+import org.apache.iceberg.types.Type;
+import org.apache.iceberg.types.TypeUtil;
+import org.apache.iceberg.types.Types;
+import org.apache.iceberg.util.ByteBuffers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Theta sketches estimating the number of distinct values (NDV) of the columns of a table, which
+ * are stored as {@link StandardBlobTypes#APACHE_DATASKETCHES_THETA_V1} blobs in the statistics
+ * files by {@link StatisticsFileUtil}.
+ *
+ * <p>The values are updated into the sketches in the single-value serialization of Iceberg as the
+ * Puffin spec requires, so that the engines could read and merge them with their own sketches.
+ * Theta sketches could be merged but could not remove values, so the sketches of a snapshot could
+ * be computed incrementally from the sketches of an ancestor and the data files added since then.
+ */
+public class ColumnNdvSketches {
+  public static final String BLOB_TYPE = StandardBlobTypes.APACHE_DATASKETCHES_THETA_V1;
+  public static final String NDV_PROPERTY = "ndv";
+
+  private final Schema projection;
+  private final InternalRecordWrapper wrapper;
+  private final Map<Integer, Union> unions = Maps.newLinkedHashMap();
+  private final Map<Integer, Accessor<StructLike>> accessors = Maps.newHashMap();
+
+  public ColumnNdvSketches(Schema schema, Collection<Integer> fieldIds) {
+    this.projection = TypeUtil.select(schema, Sets.newHashSet(fieldIds));
+    this.wrapper = new InternalRecordWrapper(projection.asStruct());
+    for (Integer fieldId : fieldIds) {
+      Types.NestedField field = projection.asStruct().field(fieldId);
+      Preconditions.checkArgument(
+          field != null && field.type().isPrimitiveType(),
+          "Cannot collect NDV of field %s, only the top-level primitive columns are supported",
+          fieldId);
+      unions.put(fieldId, SetOperation.builder().buildUnion());
+      accessors.put(fieldId, projection.accessorForField(fieldId));
+    }
+  }
+
+  /**
+   * Get the field ids of the columns to collect NDV.
+   *
+   * @param schema the table schema
+   * @param columns comma-separated column names, or empty for all the top-level primitive columns
+   * @return the field ids
+   */
+  public static List<Integer> fieldIds(Schema schema, String columns) {
+    if (columns == null || columns.trim().isEmpty()) {
+      return schema.columns().stream()
+          .filter(field -> field.type().isPrimitiveType())
+          .map(Types.NestedField::fieldId)
+          .collect(Collectors.toList());
+    }
+    return Arrays.stream(columns.split(","))
+        .map(String::trim)
+        .filter(column -> !column.isEmpty())
+        .map(
+            column -> {
+              Types.NestedField field = schema.asStruct().field(column);
+              Preconditions.checkArgument(field != null, "Cannot find top-level column %s", column);
+              return field.fieldId();
+            })
+        .distinct()
+        .collect(Collectors.toList());
+  }
+
+  public Set<Integer> fieldIds() {
+    return Collections.unmodifiableSet(unions.keySet());
+  }
+
+  /** The schema of the records to update the sketches. */
+  public Schema projection() {
+    return projection;
+  }
+
+  public void update(Record record) {
+    StructLike row = wrapper.wrap(record);
+    for (Map.Entry<Integer, Union> entry : unions.entrySet()) {
+      Object value = accessors.get(entry.getKey()).get(row);
+      if (value != null) {
+        Type type = projection.findType(entry.getKey());
+        entry.getValue().update(ByteBuffers.toByteArray(Conversions.toByteBuffer(type, value)));
+      }
+    }
+  }
+
+  /** Update the sketches by all the records of the data file. */
+  public void update(Table table, DataFile dataFile) {
+    try (CloseableIterable<Record> records = open(table, dataFile)) {
+      records.forEach(this::update);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Merge a serialized sketch of the field, which is ignored if the field is not collected. */
+  public void merge(int fieldId, ByteBuffer sketch) {
+    Union union = unions.get(fieldId);
+    if (union != null) {
+      union.union(Sketches.wrapSketch(Memory.wrap(ByteBuffers.toByteArray(sketch))));
+    }
+  }
+
+  public long estimate(int fieldId) {
+    return (long) result(fieldId).getEstimate();
+  }
+
+  /** Get the serialized compact sketch of the field. */
+  public ByteBuffer sketch(int fieldId) {
+    return ByteBuffer.wrap(result(fieldId).toByteArray());
+  }
+
+  /** Add a blob for each column to the statistics file, with the estimated NDV as a property. */
+  public void writeTo(StatisticsFileUtil.Writer writer) {
+    for (Integer fieldId : unions.keySet()) {
+      CompactSketch sketch = result(fieldId);
+      writer.add(
+          BLOB_TYPE,
+          ImmutableList.of(fieldId),
+          ByteBuffer.wrap(sketch.toByteArray()),
+          ImmutableMap.of(NDV_PROPERTY, String.valueOf((long) sketch.getEstimate())));
+    }
+  }
+
+  private CompactSketch result(int fieldId) {
+    Preconditions.checkArgument(unions.containsKey(fieldId), "Field %s is not collected", fieldId);
+    return unions.get(fieldId).getResult();
+  }
+
+  private CloseableIterable<Record> open(Table table, DataFile dataFile) {
+    InputFile input =
+        table
+            .encryption()
+            .decrypt(
+                EncryptedFiles.encryptedInput(
+                    table.io().newInputFile(dataFile.path().toString()), dataFile.keyMetadata()));
+    switch (dataFile.format()) {
+      case AVRO:
+        return Avro.read(input)
+            .project(projection)
+            .createReaderFunc(
+                avroSchema -> DataReader.create(projection, avroSchema, Collections.emptyMap()))
+            .build();
+      case PARQUET:
+        return Parquet.read(input)
+            .project(projection)
+            .createReaderFunc(
+                fileSchema ->
+                    GenericParquetReaders.buildReader(
+                        projection, fileSchema, Collections.emptyMap()))
+            .build();
+      case ORC:
+        return ORC.read(input)
+            .project(TypeUtil.selectNot(projection, MetadataColumns.metadataFieldIds()))
+            .createReaderFunc(
+                fileSchema ->
+                    GenericOrcReader.buildReader(projection, fileSchema, Collections.emptyMap()))
+            .build();
+      default:
+        throw new UnsupportedOperationException(
+            String.format("Cannot read %s file: %s", dataFile.format().name(), dataFile.path()));
+    }
+  }
+}
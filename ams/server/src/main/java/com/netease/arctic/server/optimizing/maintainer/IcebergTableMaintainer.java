@@ -38,7 +38,6 @@ import org.apache.iceberg.DeleteFile;
 import org.apache.iceberg.DeleteFiles;
 import org.apache.iceberg.FileContent;
 import org.apache.iceberg.FileScanTask;
-import org.apache.iceberg.ManifestFile;
 import org.apache.iceberg.ReachableFileUtil;
 import org.apache.iceberg.RewriteFiles;
 import org.apache.iceberg.Schema;
@@ -76,7 +75,6 @@ import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
@@ -94,6 +92,8 @@ public class IcebergTableMaintainer implements TableMaintainer {
 
   private static final Logger LOG = LoggerFactory.getLogger(IcebergTableMaintainer.class);
 
+  private static final int EXPIRED_FILES_DELETE_BATCH_SIZE = 10000;
+
   public static final String METADATA_FOLDER_NAME = "metadata";
   public static final String DATA_FOLDER_NAME = "data";
   // same as org.apache.iceberg.flink.sink.IcebergFilesCommitter#FLINK_JOB_ID
@@ -175,6 +175,7 @@ public class IcebergTableMaintainer implements TableMaintainer {
   private void expireSnapshots(long olderThan, Set<String> exclude) {
     LOG.debug("start expire snapshots older than {}, the exclude is {}", olderThan, exclude);
     final AtomicInteger toDeleteFiles = new AtomicInteger(0);
+    final AtomicInteger deletedFiles = new AtomicInteger(0);
     Set<String> parentDirectories = new HashSet<>();
     Set<String> expiredFiles = new HashSet<>();
     table
@@ -195,15 +196,23 @@ public class IcebergTableMaintainer implements TableMaintainer {
 
               parentDirectories.add(new Path(file).getParent().toString());
               toDeleteFiles.incrementAndGet();
+              // The expired files are reported after committing, delete them in batches to bound
+              // the memory instead of collecting all of them
+              if (expiredFiles.size() >= EXPIRED_FILES_DELETE_BATCH_SIZE) {
+                deletedFiles.addAndGet(
+                    TableFileUtil.parallelDeleteFiles(
+                        arcticFileIO(), expiredFiles, ThreadPools.getWorkerPool()));
+                expiredFiles.clear();
+              }
             })
-        .cleanExpiredFiles(
-            true) /* enable clean only for collecting the expired files, will delete them later */
+        // the expired files are passed to the delete callback above and deleted in batches
+        .cleanExpiredFiles(true)
         .commit();
 
     // try to batch delete files
-    int deletedFiles =
+    deletedFiles.addAndGet(
         TableFileUtil.parallelDeleteFiles(
-            arcticFileIO(), expiredFiles, ThreadPools.getWorkerPool());
+            arcticFileIO(), expiredFiles, ThreadPools.getWorkerPool()));
 
     parentDirectories.forEach(
         parent -> {
@@ -222,7 +231,7 @@ public class IcebergTableMaintainer implements TableMaintainer {
                 "To delete {} files in {}, success delete {} files",
                 toDeleteFiles.get(),
                 getTable().name(),
-                deletedFiles));
+                deletedFiles.get()));
   }
 
   @Override
@@ -296,6 +305,14 @@ public class IcebergTableMaintainer implements TableMaintainer {
         .execute();
   }
 
+  @Override
+  public void updateColumnStatistics(TableRuntime tableRuntime) {
+    if (!tableRuntime.getTableConfiguration().isColumnStatisticsEnabled()) {
+      return;
+    }
+    new UpdateColumnStatisticsAction(table).execute();
+  }
+
   protected void cleanContentFiles(long lastTime) {
     // For clean data files, should getRuntime valid files in the base store and the change store,
     // so acquire in advance
@@ -357,21 +374,19 @@ public class IcebergTableMaintainer implements TableMaintainer {
     try (ArcticFileIO io = arcticFileIO()) {
       // listPrefix will not return the directory and the orphan file clean should clean the empty
       // dir.
+      OrphanFilesCleaner cleaner =
+          new OrphanFilesCleaner(io, exclude, lastTime, ThreadPools.getWorkerPool());
       if (io.supportFileSystemOperations()) {
         SupportsFileSystemOperations fio = io.asFileSystemIO();
-        Set<PathInfo> directories = new HashSet<>();
-        Set<String> filesToDelete =
-            deleteInvalidFilesInFs(fio, dataLocation, lastTime, exclude, directories);
-        slated = filesToDelete.size();
-        deleted = TableFileUtil.deleteFiles(io, filesToDelete);
+        cleaner.cleanInFs(fio, dataLocation);
+        slated = cleaner.slated();
+        deleted = cleaner.deleted();
         /* delete empty directories */
-        deleteEmptyDirectories(fio, directories, lastTime, exclude);
+        deleteEmptyDirectories(fio, cleaner.directories(), lastTime, exclude);
       } else if (io.supportPrefixOperations()) {
-        SupportsPrefixOperations pio = io.asPrefixFileIO();
-        Set<String> filesToDelete =
-            deleteInvalidFilesByPrefix(pio, dataLocation, lastTime, exclude);
-        slated = filesToDelete.size();
-        deleted = TableFileUtil.deleteFiles(io, filesToDelete);
+        cleaner.cleanByPrefix(io.asPrefixFileIO(), dataLocation);
+        slated = cleaner.slated();
+        deleted = cleaner.deleted();
       } else {
         LOG.warn(
             String.format(
@@ -508,36 +523,6 @@ public class IcebergTableMaintainer implements TableMaintainer {
     return snapshot.map(Snapshot::timestampMillis).orElse(Long.MAX_VALUE);
   }
 
-  private Set<String> deleteInvalidFilesInFs(
-      SupportsFileSystemOperations fio,
-      String location,
-      long lastTime,
-      Set<String> excludes,
-      Set<PathInfo> directories) {
-    if (!fio.exists(location)) {
-      return Collections.emptySet();
-    }
-
-    Set<String> filesToDelete = new HashSet<>();
-    for (PathInfo p : fio.listDirectory(location)) {
-      String uriPath = TableFileUtil.getUriPath(p.location());
-      if (p.isDirectory()) {
-        directories.add(p);
-        filesToDelete.addAll(
-            deleteInvalidFilesInFs(fio, p.location(), lastTime, excludes, directories));
-      } else {
-        String parentLocation = TableFileUtil.getParent(p.location());
-        String parentUriPath = TableFileUtil.getUriPath(parentLocation);
-        if (!excludes.contains(uriPath)
-            && !excludes.contains(parentUriPath)
-            && p.createdAtMillis() < lastTime) {
-          filesToDelete.add(p.location());
-        }
-      }
-    }
-    return filesToDelete;
-  }
-
   private void deleteEmptyDirectories(
       SupportsFileSystemOperations fio, Set<PathInfo> paths, long lastTime, Set<String> excludes) {
     paths.forEach(
@@ -552,48 +537,8 @@ public class IcebergTableMaintainer implements TableMaintainer {
         });
   }
 
-  private Set<String> deleteInvalidFilesByPrefix(
-      SupportsPrefixOperations pio, String prefix, long lastTime, Set<String> excludes) {
-    Set<String> filesToDelete = new HashSet<>();
-    for (FileInfo fileInfo : pio.listPrefix(prefix)) {
-      String uriPath = TableFileUtil.getUriPath(fileInfo.location());
-      if (!excludes.contains(uriPath) && fileInfo.createdAtMillis() < lastTime) {
-        filesToDelete.add(fileInfo.location());
-      }
-    }
-
-    return filesToDelete;
-  }
-
   private static Set<String> getValidMetadataFiles(Table internalTable) {
-    String tableName = internalTable.name();
-    Set<String> validFiles = new HashSet<>();
-    Iterable<Snapshot> snapshots = internalTable.snapshots();
-    int size = Iterables.size(snapshots);
-    LOG.info("{} getRuntime {} snapshots to scan", tableName, size);
-    int cnt = 0;
-    for (Snapshot snapshot : snapshots) {
-      cnt++;
-      int before = validFiles.size();
-      String manifestListLocation = snapshot.manifestListLocation();
-
-      validFiles.add(TableFileUtil.getUriPath(manifestListLocation));
-
-      // valid data files
-      List<ManifestFile> manifestFiles = snapshot.allManifests(internalTable.io());
-      for (ManifestFile manifestFile : manifestFiles) {
-        validFiles.add(TableFileUtil.getUriPath(manifestFile.path()));
-      }
-
-      LOG.info(
-          "{} scan snapshot {}: {} and getRuntime {} files, complete {}/{}",
-          tableName,
-          snapshot.snapshotId(),
-          formatTime(snapshot.timestampMillis()),
-          validFiles.size() - before,
-          cnt,
-          size);
-    }
+    Set<String> validFiles = ReachableManifests.of(internalTable);
     Stream.of(
             ReachableFileUtil.metadataFileLocations(internalTable, false).stream(),
             ReachableFileUtil.statisticsFilesLocations(internalTable).stream(),
@@ -641,11 +586,6 @@ public class IcebergTableMaintainer implements TableMaintainer {
     return filesToDelete;
   }
 
-  private static String formatTime(long timestamp) {
-    return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault())
-        .toString();
-  }
-
   CloseableIterable<FileEntry> fileScan(
       Table table, Expression dataFilter, DataExpirationConfig expirationConfig) {
     TableScan tableScan = table.newScan().filter(dataFilter).includeColumnStats();
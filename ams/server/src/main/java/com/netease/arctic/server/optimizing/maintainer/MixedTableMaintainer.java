@@ -273,6 +273,11 @@ public class MixedTableMaintainer implements TableMaintainer {
     throw new UnsupportedOperationException("Mixed table doesn't support auto create tags");
   }
 
+  @Override
+  public void updateColumnStatistics(TableRuntime tableRuntime) {
+    throw new UnsupportedOperationException("Mixed table doesn't support column statistics");
+  }
+
   protected void cleanContentFiles(long lastTime) {
     if (changeMaintainer != null) {
       changeMaintainer.cleanContentFiles(lastTime);
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.optimizing.maintainer;
+
+import com.netease.arctic.io.ArcticFileIO;
+import com.netease.arctic.io.PathInfo;
+import com.netease.arctic.io.SupportsFileSystemOperations;
+import com.netease.arctic.utils.TableFileUtil;
+import org.apache.iceberg.io.FileInfo;
+import org.apache.iceberg.io.SupportsPrefixOperations;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Find and delete the orphan files under a location.
+ *
+ * <p>The directories are listed in parallel by the executor, and the orphan files are deleted in
+ * batches once enough of them are found, so neither the listing is serial nor all the orphan files
+ * are kept in memory. No task waits for another task in the executor, so the executor could be
+ * shared by the cleaners of all tables.
+ */
+class OrphanFilesCleaner {
+
+  private static final int DELETE_BATCH_SIZE = 1000;
+
+  private final ArcticFileIO io;
+  private final Set<String> excludes;
+  private final long lastTime;
+  private final ExecutorService executor;
+  private final Set<PathInfo> directories = Sets.newConcurrentHashSet();
+  private final AtomicInteger pendingDirectories = new AtomicInteger();
+  private final CompletableFuture<Void> listed = new CompletableFuture<>();
+  private final AtomicInteger deleted = new AtomicInteger();
+  private Set<String> candidates = new HashSet<>();
+  private int slated;
+
+  /**
+   * Create a cleaner.
+   *
+   * @param io the file io to list and delete files
+   * @param excludes the uri paths of the valid files and directories
+   * @param lastTime only the files created before it are deleted
+   * @param executor the executor to list directories
+   */
+  OrphanFilesCleaner(
+      ArcticFileIO io, Set<String> excludes, long lastTime, ExecutorService executor) {
+    this.io = io;
+    this.excludes = excludes;
+    this.lastTime = lastTime;
+    this.executor = executor;
+  }
+
+  /** Walk the location recursively and delete the orphan files, and collect the directories. */
+  void cleanInFs(SupportsFileSystemOperations fio, String location) {
+    if (!fio.exists(location)) {
+      return;
+    }
+    submit(fio, location);
+    try {
+      listed.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+    flush();
+  }
+
+  /** List the files by the prefix and delete the orphan files. */
+  void cleanByPrefix(SupportsPrefixOperations pio, String prefix) {
+    for (FileInfo fileInfo : pio.listPrefix(prefix)) {
+      String uriPath = TableFileUtil.getUriPath(fileInfo.location());
+      if (!excludes.contains(uriPath) && fileInfo.createdAtMillis() < lastTime) {
+        addCandidate(fileInfo.location());
+      }
+    }
+    flush();
+  }
+
+  /** The directories found by {@link #cleanInFs}. */
+  Set<PathInfo> directories() {
+    return directories;
+  }
+
+  synchronized int slated() {
+    return slated;
+  }
+
+  int deleted() {
+    return deleted.get();
+  }
+
+  private void submit(SupportsFileSystemOperations fio, String location) {
+    pendingDirectories.incrementAndGet();
+    try {
+      executor.execute(
+          () -> {
+            try {
+              if (!listed.isDone()) {
+                listDirectory(fio, location);
+              }
+            } catch (Throwable t) {
+              listed.completeExceptionally(t);
+            } finally {
+              if (pendingDirectories.decrementAndGet() == 0) {
+                listed.complete(null);
+              }
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      pendingDirectories.decrementAndGet();
+      listed.completeExceptionally(e);
+    }
+  }
+
+  private void listDirectory(SupportsFileSystemOperations fio, String location) {
+    for (PathInfo p : fio.listDirectory(location)) {
+      if (p.isDirectory()) {
+        directories.add(p);
+        submit(fio, p.location());
+      } else {
+        String uriPath = TableFileUtil.getUriPath(p.location());
+        String parentUriPath = TableFileUtil.getUriPath(TableFileUtil.getParent(p.location()));
+        if (!excludes.contains(uriPath)
+            && !excludes.contains(parentUriPath)
+            && p.createdAtMillis() < lastTime) {
+          addCandidate(p.location());
+        }
+      }
+    }
+  }
+
+  private void addCandidate(String location) {
+    Set<String> batch = null;
+    synchronized (this) {
+      candidates.add(location);
+      slated++;
+      if (candidates.size() >= DELETE_BATCH_SIZE) {
+        batch = candidates;
+        candidates = new HashSet<>();
+      }
+    }
+    if (batch != null) {
+      deleted.addAndGet(TableFileUtil.deleteFiles(io, batch));
+    }
+  }
+
+  private void flush() {
+    Set<String> batch;
+    synchronized (this) {
+      batch = candidates;
+      candidates = new HashSet<>();
+    }
+    deleted.addAndGet(TableFileUtil.deleteFiles(io, batch));
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.optimizing.maintainer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.netease.arctic.server.ArcticManagementConf;
+import com.netease.arctic.utils.TableFileUtil;
+import org.apache.iceberg.ManifestFile;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The manifest lists and manifests reachable from the snapshots of a table.
+ *
+ * <p>They are kept across the runs of orphan files cleaning, so that only the manifest lists of
+ * the snapshots committed since the last run are read, and the manifests referenced only by the
+ * expired snapshots are released, instead of reading the manifest lists of all the snapshots every
+ * time.
+ */
+public class ReachableManifests {
+  private static final Logger LOG = LoggerFactory.getLogger(ReachableManifests.class);
+
+  private static volatile Cache<String, ReachableManifests> tables =
+      newCache(
+          ArcticManagementConf.CLEAN_ORPHAN_FILES_MANIFESTS_CACHE_MAX_SIZE.defaultValue(),
+          ArcticManagementConf.CLEAN_ORPHAN_FILES_MANIFESTS_CACHE_EXPIRE_AFTER_ACCESS
+              .defaultValue());
+
+  private final Map<Long, Reference[]> manifestsBySnapshot = new HashMap<>();
+  private final Map<String, Reference> references = new HashMap<>();
+
+  /**
+   * Set the maximum number of the tables whose reachable manifests are kept and how long they are
+   * kept without being accessed. The evicted tables read the manifest lists of all the snapshots
+   * again at the next run.
+   */
+  public static void setup(long maxSize, Duration expireAfterAccess) {
+    tables = newCache(maxSize, expireAfterAccess);
+  }
+
+  private static Cache<String, ReachableManifests> newCache(
+      long maxSize, Duration expireAfterAccess) {
+    return Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterAccess(expireAfterAccess)
+        .build();
+  }
+
+  /** Get the uri paths of the manifest lists and manifests reachable from the table snapshots. */
+  static Set<String> of(Table table) {
+    ReachableManifests reachable =
+        tables.get(table.location(), location -> new ReachableManifests());
+    return reachable.refresh(table);
+  }
+
+  @VisibleForTesting
+  static long cachedTables() {
+    tables.cleanUp();
+    return tables.estimatedSize();
+  }
+
+  private synchronized Set<String> refresh(Table table) {
+    Set<Long> snapshotIds = new HashSet<>();
+    int newSnapshots = 0;
+    for (Snapshot snapshot : table.snapshots()) {
+      snapshotIds.add(snapshot.snapshotId());
+      if (!manifestsBySnapshot.containsKey(snapshot.snapshotId())) {
+        manifestsBySnapshot.put(snapshot.snapshotId(), reference(table, snapshot));
+        newSnapshots++;
+      }
+    }
+
+    int expiredSnapshots = 0;
+    for (Long snapshotId : new HashSet<>(manifestsBySnapshot.keySet())) {
+      if (!snapshotIds.contains(snapshotId)) {
+        release(manifestsBySnapshot.remove(snapshotId));
+        expiredSnapshots++;
+      }
+    }
+    LOG.info(
+        "{} read manifests of {} new snapshots and released {} expired snapshots, "
+            + "{} manifests reachable from {} snapshots",
+        table.name(),
+        newSnapshots,
+        expiredSnapshots,
+        references.size(),
+        snapshotIds.size());
+    return new HashSet<>(references.keySet());
+  }
+
+  private Reference[] reference(Table table, Snapshot snapshot) {
+    List<ManifestFile> manifests = snapshot.allManifests(table.io());
+    List<Reference> referenced = new ArrayList<>(manifests.size() + 1);
+    if (snapshot.manifestListLocation() != null) {
+      referenced.add(reference(TableFileUtil.getUriPath(snapshot.manifestListLocation())));
+    }
+    for (ManifestFile manifest : manifests) {
+      referenced.add(reference(TableFileUtil.getUriPath(manifest.path())));
+    }
+    return referenced.toArray(new Reference[0]);
+  }
+
+  private Reference reference(String path) {
+    Reference reference = references.computeIfAbsent(path, Reference::new);
+    reference.count++;
+    return reference;
+  }
+
+  private void release(Reference[] referenced) {
+    for (Reference reference : referenced) {
+      reference.count--;
+      if (reference.count <= 0) {
+        references.remove(reference.path);
+      }
+    }
+  }
+
+  private static class Reference {
+    private final String path;
+    private int count;
+
+    private Reference(String path) {
+      this.path = path;
+    }
+  }
+}
@@ -28,7 +28,7 @@ import org.apache.iceberg.Table;
  * API for maintaining table.
  *
  * <p>Includes: clean content files, clean metadata, clean dangling delete files, expire snapshots,
- * auto create tags.
+ * auto create tags, update column statistics.
  */
 // TODO TableMaintainer should not be in this optimizing.xxx package.
 public interface TableMaintainer {
@@ -58,6 +58,9 @@ public interface TableMaintainer {
   /** Auto create tags for table. */
   void autoCreateTags(TableRuntime tableRuntime);
 
+  /** Update the NDV statistics of the table columns to the current snapshot. */
+  void updateColumnStatistics(TableRuntime tableRuntime);
+
   static TableMaintainer ofTable(AmoroTable<?> amoroTable) {
     TableFormat format = amoroTable.format();
     if (format == TableFormat.MIXED_HIVE || format == TableFormat.MIXED_ICEBERG) {
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.optimizing.maintainer;
+
+import com.netease.arctic.table.TableProperties;
+import com.netease.arctic.utils.CompatiblePropertyUtil;
+import com.netease.arctic.utils.StatisticsFileUtil;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataOperations;
+import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.StatisticsFile;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.puffin.Blob;
+import org.apache.iceberg.puffin.BlobMetadata;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.util.Pair;
+import org.apache.iceberg.util.SnapshotUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Action to update the NDV sketches of the columns of Iceberg Table to the current snapshot.
+ *
+ * <p>The sketches are computed incrementally from the latest ancestor having the sketches of the
+ * columns, by the data files appended or overwritten since then, or from all the data files if
+ * there is no such ancestor. If no data has been added since then, e.g.: the files are only
+ * rewritten by optimizing, the statistics file of the ancestor is carried forward to the current
+ * snapshot.
+ */
+public class UpdateColumnStatisticsAction {
+  private static final Logger LOG = LoggerFactory.getLogger(UpdateColumnStatisticsAction.class);
+
+  private final Table table;
+
+  public UpdateColumnStatisticsAction(Table table) {
+    this.table = table;
+  }
+
+  public void execute() {
+    Snapshot current = table.currentSnapshot();
+    if (current == null) {
+      return;
+    }
+    List<Integer> fieldIds =
+        ColumnNdvSketches.fieldIds(
+            table.schema(),
+            CompatiblePropertyUtil.propertyAsString(
+                table.properties(),
+                TableProperties.COLUMN_STATISTICS_COLUMNS,
+                TableProperties.COLUMN_STATISTICS_COLUMNS_DEFAULT));
+    if (fieldIds.isEmpty()) {
+      return;
+    }
+
+    Map<Long, StatisticsFile> statisticsFiles =
+        table.statisticsFiles().stream()
+            .collect(Collectors.toMap(StatisticsFile::snapshotId, Function.identity()));
+    StatisticsFile baseFile = null;
+    List<Snapshot> newSnapshots = Lists.newArrayList();
+    for (Snapshot snapshot : SnapshotUtil.ancestorsOf(current.snapshotId(), table::snapshot)) {
+      StatisticsFile statisticsFile = statisticsFiles.get(snapshot.snapshotId());
+      if (statisticsFile != null && containsSketches(statisticsFile, fieldIds)) {
+        baseFile = statisticsFile;
+        break;
+      }
+      newSnapshots.add(snapshot);
+    }
+    if (baseFile != null && newSnapshots.isEmpty()) {
+      LOG.debug("The column statistics of {} are up to date", table.name());
+      return;
+    }
+
+    StatisticsFile currentFile = statisticsFiles.get(current.snapshotId());
+    List<Snapshot> addingSnapshots =
+        newSnapshots.stream()
+            .filter(
+                snapshot ->
+                    DataOperations.APPEND.equals(snapshot.operation())
+                        || DataOperations.OVERWRITE.equals(snapshot.operation()))
+            .collect(Collectors.toList());
+    if (baseFile != null && addingSnapshots.isEmpty() && currentFile == null) {
+      LOG.info(
+          "Carry forward the column statistics of {} from snapshot {} to {}",
+          table.name(),
+          baseFile.snapshotId(),
+          current.snapshotId());
+      table
+          .updateStatistics()
+          .setStatistics(
+              current.snapshotId(),
+              StatisticsFileUtil.copyToSnapshot(baseFile, current.snapshotId()))
+          .commit();
+      return;
+    }
+
+    ColumnNdvSketches sketches = new ColumnNdvSketches(table.schema(), fieldIds);
+    StatisticsFileUtil.Reader reader = StatisticsFileUtil.reader(table);
+    int fileCount = 0;
+    if (baseFile == null) {
+      try (CloseableIterable<FileScanTask> tasks =
+          table.newScan().useSnapshot(current.snapshotId()).planFiles()) {
+        for (FileScanTask task : tasks) {
+          sketches.update(table, task.file());
+          fileCount++;
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    } else {
+      for (Pair<BlobMetadata, ByteBuffer> blob :
+          reader.read(baseFile, metadata -> isSketchOf(metadata, fieldIds))) {
+        sketches.merge(blob.first().inputFields().get(0), blob.second());
+      }
+      for (Snapshot snapshot : addingSnapshots) {
+        for (DataFile dataFile : snapshot.addedDataFiles(table.io())) {
+          sketches.update(table, dataFile);
+          fileCount++;
+        }
+      }
+    }
+
+    StatisticsFileUtil.Writer writer =
+        StatisticsFileUtil.writerBuilder(table).withSnapshotId(current.snapshotId()).build();
+    sketches.writeTo(writer);
+    if (currentFile != null) {
+      // Keep the other statistics of the current snapshot, e.g.: computed by the engines
+      for (Pair<BlobMetadata, ByteBuffer> blob :
+          reader.read(currentFile, metadata -> !isSketchOf(metadata, fieldIds))) {
+        BlobMetadata metadata = blob.first();
+        writer.add(
+            new Blob(
+                metadata.type(),
+                metadata.inputFields(),
+                metadata.snapshotId(),
+                metadata.sequenceNumber(),
+                blob.second(),
+                null,
+                metadata.properties()));
+      }
+    }
+    table.updateStatistics().setStatistics(current.snapshotId(), writer.complete()).commit();
+    LOG.info(
+        "Updated the column statistics of {} to snapshot {} by {} data files",
+        table.name(),
+        current.snapshotId(),
+        fileCount);
+  }
+
+  private static boolean containsSketches(StatisticsFile statisticsFile, List<Integer> fieldIds) {
+    Set<Integer> sketchFields =
+        statisticsFile.blobMetadata().stream()
+            .filter(blob -> isSketchOf(blob.type(), blob.fields(), fieldIds))
+            .map(blob -> blob.fields().get(0))
+            .collect(Collectors.toSet());
+    return sketchFields.containsAll(fieldIds);
+  }
+
+  private static boolean isSketchOf(BlobMetadata metadata, List<Integer> fieldIds) {
+    return isSketchOf(metadata.type(), metadata.inputFields(), fieldIds);
+  }
+
+  private static boolean isSketchOf(String type, List<Integer> fields, List<Integer> fieldIds) {
+    return ColumnNdvSketches.BLOB_TYPE.equals(type)
+        && fields.size() == 1
+        && fieldIds.contains(fields.get(0));
+  }
+}
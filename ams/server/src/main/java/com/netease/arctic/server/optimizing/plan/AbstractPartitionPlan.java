@@ -19,6 +19,8 @@
 package com.netease.arctic.server.optimizing.plan;
 
 import com.netease.arctic.api.config.OptimizingConfig;
+import com.netease.arctic.optimizing.ClusteringKeyGenerator;
+import com.netease.arctic.optimizing.ClusteringKeyRange;
 import com.netease.arctic.optimizing.OptimizingInputProperties;
 import com.netease.arctic.optimizing.RewriteFilesInput;
 import com.netease.arctic.server.optimizing.OptimizingType;
@@ -37,6 +39,7 @@ import org.apache.iceberg.util.Pair;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -72,6 +75,12 @@ public abstract class AbstractPartitionPlan implements PartitionEvaluator {
    */
   protected final Set<String> reservedDeleteFiles = Sets.newHashSet();
 
+  /**
+   * Data files which need no optimizing by themselves, but are rewritten if the partition needs
+   * reclustering.
+   */
+  protected final Map<DataFile, List<ContentFile<?>>> clusteringFiles = Maps.newHashMap();
+
   public AbstractPartitionPlan(
       TableRuntime tableRuntime,
       ArcticTable table,
@@ -97,7 +106,7 @@ public abstract class AbstractPartitionPlan implements PartitionEvaluator {
   }
 
   protected CommonPartitionEvaluator buildEvaluator() {
-    return new CommonPartitionEvaluator(tableRuntime, partition, planTime);
+    return new CommonPartitionEvaluator(tableRuntime, partition, planTime, tableObject);
   }
 
   @Override
@@ -131,6 +140,9 @@ public abstract class AbstractPartitionPlan implements PartitionEvaluator {
     }
     if (!added) {
       reservedDeleteFiles(deletes);
+      if (evaluator().isClusteringEnabled()) {
+        clusteringFiles.put(dataFile, deletes);
+      }
     }
     return added;
   }
@@ -142,7 +154,8 @@ public abstract class AbstractPartitionPlan implements PartitionEvaluator {
 
   public List<TaskDescriptor> splitTasks(int targetTaskCount) {
     if (taskSplitter == null) {
-      taskSplitter = buildTaskSplitter();
+      taskSplitter =
+          evaluator().isClusteringNecessary() ? new ClusteringTaskSplitter() : buildTaskSplitter();
     }
     beforeSplit();
     return filterSplitTasks(taskSplitter.splitTasks(targetTaskCount)).stream()
@@ -248,14 +261,27 @@ public abstract class AbstractPartitionPlan implements PartitionEvaluator {
     private final Set<DataFile> rewriteDataFiles = Sets.newHashSet();
     private final Set<DataFile> rewritePosDataFiles = Sets.newHashSet();
     private final Set<ContentFile<?>> deleteFiles = Sets.newHashSet();
+    private final ClusteringKeyRange clusteringKeyRange;
 
     public SplitTask(
         Set<DataFile> rewriteDataFiles,
         Set<DataFile> rewritePosDataFiles,
         Set<ContentFile<?>> deleteFiles) {
+      this(rewriteDataFiles, rewritePosDataFiles, deleteFiles, null);
+    }
+
+    /**
+     * Create the task of reclustering which only writes the records in the clustering key range.
+     */
+    public SplitTask(
+        Set<DataFile> rewriteDataFiles,
+        Set<DataFile> rewritePosDataFiles,
+        Set<ContentFile<?>> deleteFiles,
+        ClusteringKeyRange clusteringKeyRange) {
       this.rewriteDataFiles.addAll(rewriteDataFiles);
       this.rewritePosDataFiles.addAll(rewritePosDataFiles);
       this.deleteFiles.addAll(deleteFiles);
+      this.clusteringKeyRange = clusteringKeyRange;
     }
 
     public Set<DataFile> getRewriteDataFiles() {
@@ -287,6 +313,9 @@ public abstract class AbstractPartitionPlan implements PartitionEvaluator {
               readOnlyDeleteFiles.toArray(new ContentFile[0]),
               rewriteDeleteFiles.toArray(new ContentFile[0]),
               tableObject);
+      if (clusteringKeyRange != null) {
+        properties.setClusteringKeyRange(clusteringKeyRange);
+      }
       PartitionSpec spec =
           ArcticTableUtil.getArcticTablePartitionSpecById(tableObject, partition.first());
       String partitionPath = spec.partitionToPath(partition.second());
@@ -387,4 +416,66 @@ public abstract class AbstractPartitionPlan implements PartitionEvaluator {
       return results;
     }
   }
+
+  /**
+   * Split all the data files of the partition into tasks for reclustering by the ranges of the
+   * clustering keys. The files are ordered by their lowest keys and packed consecutively, the key
+   * range of a task starts from the lowest key of its first file and ends at the start of the next
+   * task. Each task reads all the files whose keys may be in its range and only writes the records
+   * in its range, so that the outputs of different tasks do not overlap.
+   */
+  protected class ClusteringTaskSplitter implements TaskSplitter {
+
+    @Override
+    public List<SplitTask> splitTasks(int targetTaskCount) {
+      Map<DataFile, List<ContentFile<?>>> allDataFiles = Maps.newHashMap();
+      allDataFiles.putAll(clusteringFiles);
+      allDataFiles.putAll(undersizedSegmentFiles);
+      allDataFiles.putAll(rewritePosDataFiles);
+      allDataFiles.putAll(rewriteDataFiles);
+      ClusteringKeyGenerator keyGenerator = evaluator().getClusteringKeyGenerator();
+      Map<DataFile, ClusteringKeyRange> keyRanges = Maps.newHashMap();
+      allDataFiles.keySet().forEach(file -> keyRanges.put(file, keyGenerator.keyRange(file)));
+      Comparator<byte[]> lowerKeyOrder = ClusteringKeyRange.lowerKeyOrder();
+      List<DataFile> orderedFiles = Lists.newArrayList(allDataFiles.keySet());
+      orderedFiles.sort(Comparator.comparing(file -> keyRanges.get(file).lower(), lowerKeyOrder));
+
+      long maxTaskSize = Math.max(config.getTargetSize(), config.getMaxTaskSize());
+      // the lowest keys of the tasks, the first task is unbounded
+      List<byte[]> taskLowerKeys = Lists.newArrayList();
+      taskLowerKeys.add(null);
+      byte[] firstLowerKey = null;
+      long taskSize = 0;
+      for (DataFile dataFile : orderedFiles) {
+        byte[] lowerKey = keyRanges.get(dataFile).lower();
+        if (taskSize == 0) {
+          firstLowerKey = lowerKey;
+        } else if (taskSize + dataFile.fileSizeInBytes() > maxTaskSize
+            && lowerKeyOrder.compare(lowerKey, firstLowerKey) > 0) {
+          // a task must start after the lowest key of the previous task to read any file
+          taskLowerKeys.add(lowerKey);
+          firstLowerKey = lowerKey;
+          taskSize = 0;
+        }
+        taskSize += dataFile.fileSizeInBytes();
+      }
+
+      List<SplitTask> results = Lists.newArrayList();
+      for (int i = 0; i < taskLowerKeys.size(); i++) {
+        byte[] upperKey = i + 1 < taskLowerKeys.size() ? taskLowerKeys.get(i + 1) : null;
+        ClusteringKeyRange taskKeyRange = new ClusteringKeyRange(taskLowerKeys.get(i), upperKey);
+        Set<DataFile> taskDataFiles = Sets.newHashSet();
+        Set<ContentFile<?>> taskDeleteFiles = Sets.newHashSet();
+        for (DataFile dataFile : orderedFiles) {
+          if (keyRanges.get(dataFile).overlaps(taskKeyRange)) {
+            taskDataFiles.add(dataFile);
+            taskDeleteFiles.addAll(allDataFiles.get(dataFile));
+          }
+        }
+        results.add(
+            new SplitTask(taskDataFiles, Sets.newHashSet(), taskDeleteFiles, taskKeyRange));
+      }
+      return results;
+    }
+  }
 }
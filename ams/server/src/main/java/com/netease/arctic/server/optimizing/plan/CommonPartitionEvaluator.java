@@ -19,25 +19,39 @@
 package com.netease.arctic.server.optimizing.plan;
 
 import com.netease.arctic.api.config.OptimizingConfig;
+import com.netease.arctic.optimizing.ClusteringKeyGenerator;
+import com.netease.arctic.optimizing.ClusteringMode;
 import com.netease.arctic.server.optimizing.OptimizingType;
 import com.netease.arctic.server.table.TableRuntime;
+import com.netease.arctic.table.ArcticTable;
 import org.apache.iceberg.ContentFile;
 import org.apache.iceberg.DataFile;
 import org.apache.iceberg.FileContent;
+import org.apache.iceberg.SortOrder;
 import org.apache.iceberg.StructLike;
 import org.apache.iceberg.relocated.com.google.common.base.MoreObjects;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.apache.iceberg.types.Comparators;
+import org.apache.iceberg.types.Conversions;
+import org.apache.iceberg.types.Types;
 import org.apache.iceberg.util.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class CommonPartitionEvaluator implements PartitionEvaluator {
   private static final Logger LOG = LoggerFactory.getLogger(CommonPartitionEvaluator.class);
 
+  // We estimate that the cost of writing is 3 times that of reading, so rewriting costs 4 times.
+  private static final int REWRITE_COST_RATIO = 4;
+
   private final Set<String> deleteFileSet = Sets.newHashSet();
   protected final TableRuntime tableRuntime;
 
@@ -49,6 +63,16 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
 
   private final boolean reachFullInterval;
 
+  // clustering
+  private final ClusteringMode clusteringMode;
+  private final ClusteringKeyGenerator clusteringKeyGenerator;
+  private final List<Types.NestedField> clusteringFields;
+  private final List<Comparator<Object>> clusteringComparators = Lists.newArrayList();
+  private final List<ColumnRanges> clusteringRanges = Lists.newArrayList();
+  protected int clusteringOnlyFileCount = 0;
+  protected long clusteringOnlyFileSize = 0L;
+  private Boolean clusteringNecessary = null;
+
   // fragment files
   protected int fragmentFileCount = 0;
   protected long fragmentFileSize = 0;
@@ -77,6 +101,18 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
 
   public CommonPartitionEvaluator(
       TableRuntime tableRuntime, Pair<Integer, StructLike> partition, long planTime) {
+    this(tableRuntime, partition, planTime, null);
+  }
+
+  /**
+   * Create the evaluator which also evaluates the clustering of the data files if the table is
+   * given and the clustering is configured.
+   */
+  public CommonPartitionEvaluator(
+      TableRuntime tableRuntime,
+      Pair<Integer, StructLike> partition,
+      long planTime,
+      ArcticTable table) {
     this.partition = partition;
     this.tableRuntime = tableRuntime;
     this.config = tableRuntime.getOptimizingConfig();
@@ -92,6 +128,50 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
         config.getFullTriggerInterval() >= 0
             && planTime - tableRuntime.getLastFullOptimizingTime()
                 > config.getFullTriggerInterval();
+    ClusteringMode mode = table == null ? ClusteringMode.NONE : clusteringMode(table);
+    this.clusteringFields =
+        mode == ClusteringMode.NONE ? Lists.newArrayList() : clusteringFields(table, mode);
+    this.clusteringMode = clusteringFields.isEmpty() ? ClusteringMode.NONE : mode;
+    this.clusteringKeyGenerator =
+        clusteringMode == ClusteringMode.NONE ? null : clusteringKeyGenerator(table, mode);
+    for (Types.NestedField field : clusteringFields) {
+      clusteringComparators.add(Comparators.forType(field.type().asPrimitiveType()));
+    }
+  }
+
+  private ClusteringMode clusteringMode(ArcticTable table) {
+    if (!table.isUnkeyedTable()) {
+      return ClusteringMode.NONE;
+    }
+    try {
+      ClusteringMode mode = ClusteringMode.fromName(config.getClusteringMode());
+      if (mode != ClusteringMode.NONE) {
+        // validate the clustering columns before any task fails on them
+        clusteringKeyGenerator(table, mode);
+      }
+      return mode;
+    } catch (IllegalArgumentException e) {
+      LOG.warn("Ignore the invalid clustering of {}: {}", table.id(), e.getMessage());
+      return ClusteringMode.NONE;
+    }
+  }
+
+  private ClusteringKeyGenerator clusteringKeyGenerator(ArcticTable table, ClusteringMode mode) {
+    return ClusteringKeyGenerator.create(
+        table.schema(), sortOrder(table), mode, clusteringColumns());
+  }
+
+  private List<Types.NestedField> clusteringFields(ArcticTable table, ClusteringMode mode) {
+    return ClusteringKeyGenerator.clusteringFields(
+        table.schema(), sortOrder(table), mode, clusteringColumns());
+  }
+
+  private SortOrder sortOrder(ArcticTable table) {
+    return table.asUnkeyedTable().sortOrder();
+  }
+
+  private List<String> clusteringColumns() {
+    return ClusteringKeyGenerator.parseColumns(config.getClusteringColumns());
   }
 
   @Override
@@ -112,13 +192,22 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
     if (!config.isEnabled()) {
       return false;
     }
+    boolean added;
     if (isFragmentFile(dataFile)) {
-      return addFragmentFile(dataFile, deletes);
+      added = addFragmentFile(dataFile, deletes);
     } else if (isUndersizedSegmentFile(dataFile)) {
-      return addUndersizedSegmentFile(dataFile, deletes);
+      added = addUndersizedSegmentFile(dataFile, deletes);
     } else {
-      return addTargetSizeReachedFile(dataFile, deletes);
+      added = addTargetSizeReachedFile(dataFile, deletes);
+    }
+    if (isClusteringEnabled()) {
+      clusteringRanges.add(new ColumnRanges(dataFile));
+      if (!added) {
+        clusteringOnlyFileCount++;
+        clusteringOnlyFileSize += dataFile.fileSizeInBytes();
+      }
     }
+    return added;
   }
 
   private boolean isDuplicateDelete(ContentFile<?> delete) {
@@ -251,9 +340,9 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
   public boolean isNecessary() {
     if (necessary == null) {
       if (isFullOptimizing()) {
-        necessary = isFullNecessary();
+        necessary = isFullNecessary() || isClusteringNecessary();
       } else {
-        necessary = isMajorNecessary() || isMinorNecessary();
+        necessary = isMajorNecessary() || isMinorNecessary() || isClusteringNecessary();
       }
       LOG.debug("{} necessary = {}, {}", name(), necessary, this);
     }
@@ -263,11 +352,11 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
   @Override
   public long getCost() {
     if (cost < 0) {
-      // We estimate that the cost of writing is 3 times that of reading.
       // When rewriting the Position delete file, only the primary key field of the segment file
       // will be read, so only one-tenth of the size is calculated based on the size.
       cost =
-          (fragmentFileSize + rewriteSegmentFileSize + undersizedSegmentFileSize) * 4
+          (fragmentFileSize + rewriteSegmentFileSize + undersizedSegmentFileSize)
+                  * REWRITE_COST_RATIO
               + rewritePosSegmentFileSize / 10
               + posDeleteFileSize
               + equalityDeleteFileSize;
@@ -279,6 +368,11 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
               + posDeleteFileCount
               + equalityDeleteFileCount;
       cost += fileCnt * config.getOpenFileCost();
+      if (isClusteringNecessary()) {
+        cost +=
+            clusteringOnlyFileSize * REWRITE_COST_RATIO
+                + clusteringOnlyFileCount * config.getOpenFileCost();
+      }
     }
     return cost;
   }
@@ -294,7 +388,9 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
       optimizingType =
           isFullNecessary()
               ? OptimizingType.FULL
-              : isMajorNecessary() ? OptimizingType.MAJOR : OptimizingType.MINOR;
+              : isMajorNecessary() || isClusteringNecessary()
+                  ? OptimizingType.MAJOR
+                  : OptimizingType.MINOR;
       LOG.debug("{} optimizingType = {} ", name(), optimizingType);
     }
     return optimizingType;
@@ -343,6 +439,102 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
         || rewritePosSegmentFileCount > 0;
   }
 
+  public ClusteringMode getClusteringMode() {
+    return clusteringMode;
+  }
+
+  public boolean isClusteringEnabled() {
+    return clusteringMode != ClusteringMode.NONE;
+  }
+
+  /**
+   * Whether the data files should be reclustered, that the ratio of data files whose value ranges
+   * of the clustering columns overlap another data file reaches the threshold. All the data files
+   * of the partition are rewritten by reclustering.
+   */
+  public boolean isClusteringNecessary() {
+    if (clusteringNecessary == null) {
+      clusteringNecessary =
+          isClusteringEnabled()
+              && clusteringRanges.size() >= 2
+              && clusteringOverlapRatio() >= config.getClusteringOverlapRatio();
+      LOG.debug("{} clusteringNecessary = {}", name(), clusteringNecessary);
+    }
+    return clusteringNecessary;
+  }
+
+  /**
+   * Get the ratio of data files overlapping another data file, two files overlap if their value
+   * ranges intersect on all the clustering columns. Missing bounds are taken as unbounded.
+   */
+  protected double clusteringOverlapRatio() {
+    List<ColumnRanges> ranges = Lists.newArrayList(clusteringRanges);
+    Comparator<Object> leading = Comparator.nullsFirst(clusteringComparators.get(0));
+    ranges.sort((r1, r2) -> leading.compare(r1.lowers[0], r2.lowers[0]));
+    boolean[] overlapped = new boolean[ranges.size()];
+    for (int i = 0; i < ranges.size(); i++) {
+      ColumnRanges current = ranges.get(i);
+      for (int j = i + 1; j < ranges.size(); j++) {
+        if (current.before(ranges.get(j).lowers[0], 0)) {
+          // the later files all start after the current file ends on the leading column
+          break;
+        }
+        if (current.overlaps(ranges.get(j))) {
+          overlapped[i] = true;
+          overlapped[j] = true;
+        }
+      }
+    }
+    int overlappedCount = 0;
+    for (boolean fileOverlapped : overlapped) {
+      if (fileOverlapped) {
+        overlappedCount++;
+      }
+    }
+    return (double) overlappedCount / ranges.size();
+  }
+
+  /** Get the generator of the clustering keys, null if clustering is not enabled. */
+  public ClusteringKeyGenerator getClusteringKeyGenerator() {
+    return clusteringKeyGenerator;
+  }
+
+  private static Object bound(Map<Integer, ByteBuffer> bounds, Types.NestedField field) {
+    if (bounds == null || bounds.get(field.fieldId()) == null) {
+      return null;
+    }
+    return Conversions.fromByteBuffer(field.type(), bounds.get(field.fieldId()));
+  }
+
+  /** The value ranges of the clustering columns in a data file, null for unbounded. */
+  private class ColumnRanges {
+    private final Object[] lowers = new Object[clusteringFields.size()];
+    private final Object[] uppers = new Object[clusteringFields.size()];
+
+    ColumnRanges(DataFile dataFile) {
+      for (int i = 0; i < clusteringFields.size(); i++) {
+        lowers[i] = bound(dataFile.lowerBounds(), clusteringFields.get(i));
+        uppers[i] = bound(dataFile.upperBounds(), clusteringFields.get(i));
+      }
+    }
+
+    /** Whether the range of the column ends before the value. */
+    boolean before(Object value, int column) {
+      return value != null
+          && uppers[column] != null
+          && clusteringComparators.get(column).compare(uppers[column], value) < 0;
+    }
+
+    boolean overlaps(ColumnRanges other) {
+      for (int i = 0; i < lowers.length; i++) {
+        if (before(other.lowers[i], i) || other.before(lowers[i], i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
   protected String name() {
     if (name == null) {
       name =
@@ -368,12 +560,14 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
 
   @Override
   public int getSegmentFileCount() {
-    return rewriteSegmentFileCount + undersizedSegmentFileCount + rewritePosSegmentFileCount;
+    int count = rewriteSegmentFileCount + undersizedSegmentFileCount + rewritePosSegmentFileCount;
+    return isClusteringNecessary() ? count + clusteringOnlyFileCount : count;
   }
 
   @Override
   public long getSegmentFileSize() {
-    return rewriteSegmentFileSize + undersizedSegmentFileSize + rewritePosSegmentFileSize;
+    long size = rewriteSegmentFileSize + undersizedSegmentFileSize + rewritePosSegmentFileSize;
+    return isClusteringNecessary() ? size + clusteringOnlyFileSize : size;
   }
 
   @Override
@@ -435,6 +629,9 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
         .add("equalityDeleteFileSize", equalityDeleteFileSize)
         .add("posDeleteFileCount", posDeleteFileCount)
         .add("posDeleteFileSize", posDeleteFileSize)
+        .add("clusteringMode", clusteringMode)
+        .add("clusteringOnlyFileCount", clusteringOnlyFileCount)
+        .add("clusteringOnlyFileSize", clusteringOnlyFileSize)
         .toString();
   }
 }
@@ -47,6 +47,9 @@ public class IcebergPartitionPlan extends AbstractPartitionPlan {
   protected OptimizingInputProperties buildTaskProperties() {
     OptimizingInputProperties properties = new OptimizingInputProperties();
     properties.setExecutorFactoryImpl(IcebergRewriteExecutorFactory.class.getName());
+    if (evaluator().isClusteringEnabled()) {
+      properties.setClustering(evaluator().getClusteringMode(), config.getClusteringColumns());
+    }
     return properties;
   }
 
@@ -143,7 +143,8 @@ public class OptimizingEvaluator {
 
   protected PartitionEvaluator buildEvaluator(Pair<Integer, StructLike> partition) {
     if (TableFormat.ICEBERG == arcticTable.format()) {
-      return new CommonPartitionEvaluator(tableRuntime, partition, System.currentTimeMillis());
+      return new CommonPartitionEvaluator(
+          tableRuntime, partition, System.currentTimeMillis(), arcticTable);
     } else {
       Map<String, String> partitionProperties = partitionProperties(partition);
       if (TableTypeUtil.isHive(arcticTable)) {
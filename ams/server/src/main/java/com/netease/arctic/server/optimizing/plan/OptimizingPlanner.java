@@ -20,6 +20,7 @@ package com.netease.arctic.server.optimizing.plan;
 
 import com.netease.arctic.TableFormat;
 import com.netease.arctic.server.ArcticServiceConstants;
+import com.netease.arctic.server.metrics.ServerMetrics;
 import com.netease.arctic.server.optimizing.OptimizingType;
 import com.netease.arctic.server.table.KeyedTableSnapshot;
 import com.netease.arctic.server.table.TableRuntime;
@@ -42,6 +43,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public class OptimizingPlanner extends OptimizingEvaluator {
@@ -187,6 +189,7 @@ public class OptimizingPlanner extends OptimizingEvaluator {
       }
     }
     long endTime = System.nanoTime();
+    ServerMetrics.OPTIMIZING_PLAN_TIMER.update(endTime - startTime, TimeUnit.NANOSECONDS);
     LOG.info(
         "{} finish plan, type = {}, get {} tasks, cost {} ns, {} ms maxInputSize {} actualInputSize {}",
         tableRuntime.getTableIdentifier(),
@@ -18,8 +18,10 @@
 
 package com.netease.arctic.server.persistence;
 
+import com.netease.arctic.api.metrics.Timer;
 import com.netease.arctic.server.exception.ArcticRuntimeException;
 import com.netease.arctic.server.exception.PersistenceException;
+import com.netease.arctic.server.metrics.ServerMetrics;
 import org.apache.ibatis.session.TransactionIsolationLevel;
 import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
@@ -43,7 +45,8 @@ public abstract class PersistentBase {
   }
 
   protected final <T> void doAs(Class<T> mapperClz, Consumer<T> consumer) {
-    try (NestedSqlSession session = beginSession()) {
+    try (Timer.Context ignored = ServerMetrics.PERSISTENCE_SESSION_TIMER.time();
+        NestedSqlSession session = beginSession()) {
       try {
         T mapper = getMapper(session, mapperClz);
         consumer.accept(mapper);
@@ -56,7 +59,8 @@ public abstract class PersistentBase {
   }
 
   protected final void doAsTransaction(Runnable... operations) {
-    try (NestedSqlSession session = beginSession()) {
+    try (Timer.Context ignored = ServerMetrics.PERSISTENCE_SESSION_TIMER.time();
+        NestedSqlSession session = beginSession()) {
       try {
         Arrays.stream(operations).forEach(Runnable::run);
         session.commit();
@@ -68,7 +72,8 @@ public abstract class PersistentBase {
   }
 
   protected final <T, R> R getAs(Class<T> mapperClz, Function<T, R> func) {
-    try (NestedSqlSession session = beginSession()) {
+    try (Timer.Context ignored = ServerMetrics.PERSISTENCE_SESSION_TIMER.time();
+        NestedSqlSession session = beginSession()) {
       try {
         T mapper = getMapper(session, mapperClz);
         return func.apply(mapper);
@@ -82,7 +87,8 @@ public abstract class PersistentBase {
       Class<T> mapperClz,
       Function<T, Integer> func,
       Supplier<? extends ArcticRuntimeException> errorSupplier) {
-    try (NestedSqlSession session = beginSession()) {
+    try (Timer.Context ignored = ServerMetrics.PERSISTENCE_SESSION_TIMER.time();
+        NestedSqlSession session = beginSession()) {
       try {
         int result = func.apply(getMapper(session, mapperClz));
         if (result == 0) {
@@ -46,12 +46,20 @@ public interface OptimizerMapper {
           + " #{optimizer.properties, typeHandler=com.netease.arctic.server.persistence.converter.Map2StringConverter})")
   void insertOptimizer(@Param("optimizer") OptimizerInstance optimizer);
 
-  @Update("UPDATE optimizer SET touch_time = CURRENT_TIMESTAMP WHERE token = #{token}")
-  void updateTouchTime(@Param("token") String token);
+  @Update(
+      "UPDATE optimizer SET touch_time = #{touchTime,"
+          + " typeHandler=com.netease.arctic.server.persistence.converter.Long2TsConverter}"
+          + " WHERE token = #{token}")
+  void updateTouchTime(@Param("token") String token, @Param("touchTime") long touchTime);
 
   @Delete("DELETE FROM optimizer WHERE token = #{token}")
   void deleteOptimizer(@Param("token") String token);
 
+  @Delete(
+      "DELETE FROM optimizer WHERE touch_time < #{expireTime,"
+          + " typeHandler=com.netease.arctic.server.persistence.converter.Long2TsConverter}")
+  void deleteExpiredOptimizers(@Param("expireTime") long expireTime);
+
   @Select(
       "SELECT token, resource_id, group_name, container_name, start_time, touch_time,"
           + "thread_count, total_memory, properties FROM optimizer")
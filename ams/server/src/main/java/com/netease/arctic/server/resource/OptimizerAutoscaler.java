@@ -0,0 +1,330 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.resource;
+
+import com.netease.arctic.api.OptimizerProperties;
+import com.netease.arctic.api.resource.Resource;
+import com.netease.arctic.api.resource.ResourceContainer;
+import com.netease.arctic.api.resource.ResourceGroup;
+import com.netease.arctic.api.resource.ResourceType;
+import com.netease.arctic.server.optimizing.OptimizerGroupMetrics;
+import com.netease.arctic.utils.CompatiblePropertyUtil;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Scale the optimizers of the resource groups with {@link OptimizerProperties#AUTOSCALE_ENABLED}
+ * by the load of their optimizing queues, through the container of each group.
+ *
+ * <p>The desired parallelism of a group is the number of executing tasks plus the threads to
+ * consume the pending tasks, which is estimated by the input size of the pending tasks and the max
+ * input size per thread, and is at least one if there are tables waiting for planning. Optimizers
+ * are requested if the parallelism is below the desired. If the parallelism is above the desired,
+ * the surplus optimizers which have held no tasks for the scale-in cooldown are released, by the
+ * idle time of each optimizer rather than the whole group, so that the idle optimizers are
+ * released even if the others are still busy. The parallelism always stays within the min and max
+ * parallelism of the group.
+ *
+ * <p>The requested resources are counted to the parallelism before their optimizers register. A
+ * resource without a registered optimizer for the register timeout is released, e.g.: its
+ * optimizer failed to start, so that it would not block scaling out forever.
+ */
+public class OptimizerAutoscaler implements Runnable {
+  private static final Logger LOG = LoggerFactory.getLogger(OptimizerAutoscaler.class);
+
+  private final OptimizerManager optimizerManager;
+  private final Function<String, OptimizerGroupMetrics> metricsByGroup;
+  private final Function<String, ResourceContainer> containers;
+  private final Map<String, ScaleTimes> scaleTimesByGroup = Maps.newHashMap();
+
+  public OptimizerAutoscaler(
+      OptimizerManager optimizerManager, Function<String, OptimizerGroupMetrics> metricsByGroup) {
+    this(optimizerManager, metricsByGroup, ResourceContainers::get);
+  }
+
+  @VisibleForTesting
+  OptimizerAutoscaler(
+      OptimizerManager optimizerManager,
+      Function<String, OptimizerGroupMetrics> metricsByGroup,
+      Function<String, ResourceContainer> containers) {
+    this.optimizerManager = optimizerManager;
+    this.metricsByGroup = metricsByGroup;
+    this.containers = containers;
+  }
+
+  @Override
+  public void run() {
+    List<ResourceGroup> groups = optimizerManager.listResourceGroups();
+    Set<String> groupNames =
+        groups.stream().map(ResourceGroup::getName).collect(Collectors.toSet());
+    scaleTimesByGroup.keySet().retainAll(groupNames);
+    long now = System.currentTimeMillis();
+    for (ResourceGroup group : groups) {
+      try {
+        scale(group, now);
+      } catch (Throwable t) {
+        LOG.error("Failed to autoscale the optimizers of group {}", group.getName(), t);
+      }
+    }
+  }
+
+  @VisibleForTesting
+  void scale(ResourceGroup group, long now) {
+    Map<String, String> properties = group.getProperties();
+    if (properties == null
+        || ResourceContainers.EXTERNAL_CONTAINER_NAME.equals(group.getContainer())
+        || !CompatiblePropertyUtil.propertyAsBoolean(
+            properties,
+            OptimizerProperties.AUTOSCALE_ENABLED,
+            OptimizerProperties.AUTOSCALE_ENABLED_DEFAULT)) {
+      return;
+    }
+    OptimizerGroupMetrics metrics = metricsByGroup.apply(group.getName());
+    if (metrics == null) {
+      return;
+    }
+    int minParallelism =
+        CompatiblePropertyUtil.propertyAsInt(
+            properties,
+            OptimizerProperties.AUTOSCALE_MIN_PARALLELISM,
+            OptimizerProperties.AUTOSCALE_MIN_PARALLELISM_DEFAULT);
+    int maxParallelism =
+        CompatiblePropertyUtil.propertyAsInt(
+            properties,
+            OptimizerProperties.AUTOSCALE_MAX_PARALLELISM,
+            OptimizerProperties.AUTOSCALE_MAX_PARALLELISM_DEFAULT);
+    int parallelismPerOptimizer =
+        CompatiblePropertyUtil.propertyAsInt(
+            properties,
+            OptimizerProperties.AUTOSCALE_PARALLELISM_PER_OPTIMIZER,
+            OptimizerProperties.AUTOSCALE_PARALLELISM_PER_OPTIMIZER_DEFAULT);
+    if (minParallelism < 0 || maxParallelism < minParallelism || parallelismPerOptimizer <= 0) {
+      LOG.warn(
+          "Skip autoscaling group {} for invalid parallelism, min: {}, max: {}, per optimizer: {}",
+          group.getName(),
+          minParallelism,
+          maxParallelism,
+          parallelismPerOptimizer);
+      return;
+    }
+
+    ScaleTimes scaleTimes =
+        scaleTimesByGroup.computeIfAbsent(group.getName(), name -> new ScaleTimes());
+    List<OptimizerInstance> optimizers = optimizerManager.listOptimizers(group.getName());
+    List<Resource> resources =
+        expireUnregisteredResources(
+            optimizerManager.listResourcesByGroup(group.getName()),
+            optimizers,
+            scaleTimes,
+            CompatiblePropertyUtil.propertyAsLong(
+                properties,
+                OptimizerProperties.AUTOSCALE_REGISTER_TIMEOUT,
+                OptimizerProperties.AUTOSCALE_REGISTER_TIMEOUT_DEFAULT),
+            now);
+    // The requested resources are counted even if their optimizers have not registered yet
+    int parallelism =
+        resources.stream().mapToInt(Resource::getThreadCount).sum()
+            + optimizers.stream()
+                .filter(optimizer -> StringUtils.isEmpty(optimizer.getResourceId()))
+                .mapToInt(OptimizerInstance::getThreadCount)
+                .sum();
+    int desiredParallelism =
+        desiredParallelism(
+            metrics,
+            CompatiblePropertyUtil.propertyAsLong(
+                properties,
+                OptimizerProperties.MAX_INPUT_FILE_SIZE_PER_THREAD,
+                OptimizerProperties.MAX_INPUT_FILE_SIZE_PER_THREAD_DEFAULT),
+            minParallelism,
+            maxParallelism);
+    // Sample the busy optimizers every round, so that a long running task would not be missed
+    optimizers.stream().filter(metrics::isOptimizerBusy).forEach(optimizer -> optimizer.busy(now));
+
+    if (parallelism < desiredParallelism) {
+      long scaleOutCooldown =
+          CompatiblePropertyUtil.propertyAsLong(
+              properties,
+              OptimizerProperties.AUTOSCALE_SCALE_OUT_COOLDOWN,
+              OptimizerProperties.AUTOSCALE_SCALE_OUT_COOLDOWN_DEFAULT);
+      if (now - scaleTimes.lastScaleOutTime < scaleOutCooldown) {
+        return;
+      }
+      LOG.info(
+          "Scale out group {} from parallelism {} to {}",
+          group.getName(),
+          parallelism,
+          desiredParallelism);
+      scaleTimes.lastScaleOutTime = now;
+      while (parallelism < desiredParallelism) {
+        int threadCount = Math.min(parallelismPerOptimizer, maxParallelism - parallelism);
+        Resource resource = requestOptimizer(group, threadCount);
+        scaleTimes.unregisteredTimes.put(resource.getResourceId(), now);
+        parallelism += threadCount;
+      }
+    } else if (parallelism > desiredParallelism) {
+      long scaleInCooldown =
+          CompatiblePropertyUtil.propertyAsLong(
+              properties,
+              OptimizerProperties.AUTOSCALE_SCALE_IN_COOLDOWN,
+              OptimizerProperties.AUTOSCALE_SCALE_IN_COOLDOWN_DEFAULT);
+      if (now - Math.max(scaleTimes.lastScaleOutTime, scaleTimes.lastScaleInTime)
+          < scaleInCooldown) {
+        return;
+      }
+      // Release the surplus optimizers idle for the cooldown, the longest idle first, and also the
+      // busy ones beyond the max parallelism
+      Map<String, Resource> resourcesById =
+          resources.stream().collect(Collectors.toMap(Resource::getResourceId, r -> r));
+      List<OptimizerInstance> releasable =
+          optimizers.stream()
+              .filter(optimizer -> resourcesById.containsKey(optimizer.getResourceId()))
+              .sorted(Comparator.comparingLong(OptimizerInstance::getLastBusyTime))
+              .collect(Collectors.toList());
+      int remaining = parallelism;
+      for (OptimizerInstance optimizer : releasable) {
+        Resource resource = resourcesById.remove(optimizer.getResourceId());
+        if (resource == null) {
+          // Another optimizer registered by the same resource has been checked
+          continue;
+        }
+        boolean idle = now - optimizer.getLastBusyTime() >= scaleInCooldown;
+        int minRemaining = remaining > maxParallelism ? 0 : desiredParallelism;
+        if ((idle || remaining > maxParallelism)
+            && remaining - resource.getThreadCount() >= minRemaining) {
+          LOG.info(
+              "Scale in group {} from parallelism {} by releasing resource {}, idle for {} ms",
+              group.getName(),
+              remaining,
+              resource.getResourceId(),
+              now - optimizer.getLastBusyTime());
+          scaleTimes.lastScaleInTime = now;
+          releaseOptimizer(resource, optimizer);
+          remaining -= resource.getThreadCount();
+        }
+      }
+    }
+  }
+
+  @VisibleForTesting
+  static int desiredParallelism(
+      OptimizerGroupMetrics metrics,
+      long maxInputSizePerThread,
+      int minParallelism,
+      int maxParallelism) {
+    int pendingTasks = metrics.getPendingTasks();
+    int pendingParallelism = 0;
+    if (pendingTasks > 0) {
+      long costParallelism =
+          (metrics.getPendingTaskBytes() + maxInputSizePerThread - 1) / maxInputSizePerThread;
+      pendingParallelism = (int) Math.max(1, Math.min(pendingTasks, costParallelism));
+    }
+    int desired = metrics.getExecutingTasks() + pendingParallelism;
+    if (desired == 0 && metrics.hasPendingTables()) {
+      // The tables are planned only when there are optimizers polling tasks
+      desired = 1;
+    }
+    return Math.max(minParallelism, Math.min(maxParallelism, desired));
+  }
+
+  /**
+   * Release the resources whose optimizers have not registered within the timeout since they were
+   * requested, or first seen unregistered if they were requested before AMS started.
+   *
+   * @return the resources not released
+   */
+  private List<Resource> expireUnregisteredResources(
+      List<Resource> resources,
+      List<OptimizerInstance> optimizers,
+      ScaleTimes scaleTimes,
+      long registerTimeout,
+      long now) {
+    List<Resource> remainingResources = Lists.newArrayList();
+    Map<String, Long> unregisteredTimes = Maps.newHashMap();
+    for (Resource resource : resources) {
+      if (registeredOptimizer(optimizers, resource).isPresent()) {
+        remainingResources.add(resource);
+        continue;
+      }
+      long unregisteredTime =
+          scaleTimes.unregisteredTimes.getOrDefault(resource.getResourceId(), now);
+      if (now - unregisteredTime < registerTimeout) {
+        unregisteredTimes.put(resource.getResourceId(), unregisteredTime);
+        remainingResources.add(resource);
+        continue;
+      }
+      LOG.warn(
+          "Release resource {} of group {}, since its optimizer has not registered in {} ms",
+          resource.getResourceId(),
+          resource.getGroupName(),
+          registerTimeout);
+      try {
+        containers.apply(resource.getContainerName()).releaseOptimizer(resource);
+      } catch (Throwable t) {
+        LOG.warn("Failed to release the optimizer of resource {}", resource.getResourceId(), t);
+      }
+      optimizerManager.deleteResource(resource.getResourceId());
+    }
+    scaleTimes.unregisteredTimes = unregisteredTimes;
+    return remainingResources;
+  }
+
+  private Optional<OptimizerInstance> registeredOptimizer(
+      List<OptimizerInstance> optimizers, Resource resource) {
+    return optimizers.stream()
+        .filter(optimizer -> resource.getResourceId().equals(optimizer.getResourceId()))
+        .findAny();
+  }
+
+  private Resource requestOptimizer(ResourceGroup group, int threadCount) {
+    Resource resource =
+        new Resource.Builder(group.getContainer(), group.getName(), ResourceType.OPTIMIZER)
+            .setProperties(Maps.newHashMap(group.getProperties()))
+            .setThreadCount(threadCount)
+            .build();
+    containers.apply(resource.getContainerName()).requestResource(resource);
+    optimizerManager.createResource(resource);
+    return resource;
+  }
+
+  private void releaseOptimizer(Resource resource, OptimizerInstance optimizer) {
+    resource.getProperties().putAll(optimizer.getProperties());
+    containers.apply(resource.getContainerName()).releaseOptimizer(resource);
+    optimizerManager.deleteResource(resource.getResourceId());
+    optimizerManager.deleteOptimizer(resource.getGroupName(), resource.getResourceId());
+  }
+
+  private static class ScaleTimes {
+    private long lastScaleOutTime;
+    private long lastScaleInTime;
+    // The time since when each resource has been without a registered optimizer
+    private Map<String, Long> unregisteredTimes = Maps.newHashMap();
+  }
+}
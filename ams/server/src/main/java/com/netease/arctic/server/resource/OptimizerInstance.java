@@ -28,7 +28,9 @@ public class OptimizerInstance extends Resource {
 
   private String token;
   private long startTime;
-  private long touchTime;
+  private volatile long touchTime;
+  // The last time the optimizer held tasks, only kept in memory
+  private volatile long lastBusyTime = System.currentTimeMillis();
 
   public OptimizerInstance() {}
 
@@ -44,6 +46,12 @@ public class OptimizerInstance extends Resource {
     return this;
   }
 
+  /** Mark the optimizer busy at the time, if it is later than the last busy time. */
+  public OptimizerInstance busy(long time) {
+    lastBusyTime = Math.max(lastBusyTime, time);
+    return this;
+  }
+
   public String getToken() {
     return token;
   }
@@ -52,6 +60,10 @@ public class OptimizerInstance extends Resource {
     return touchTime;
   }
 
+  public long getLastBusyTime() {
+    return lastBusyTime;
+  }
+
   public long getStartTime() {
     return startTime;
   }
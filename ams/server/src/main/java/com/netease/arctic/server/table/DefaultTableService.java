@@ -29,6 +29,7 @@ import com.netease.arctic.api.ServerTableIdentifier;
 import com.netease.arctic.api.TableIdentifier;
 import com.netease.arctic.api.config.Configurations;
 import com.netease.arctic.api.config.TableConfiguration;
+import com.netease.arctic.api.metrics.Timer;
 import com.netease.arctic.server.ArcticManagementConf;
 import com.netease.arctic.server.catalog.CatalogBuilder;
 import com.netease.arctic.server.catalog.ExternalCatalog;
@@ -38,6 +39,7 @@ import com.netease.arctic.server.exception.AlreadyExistsException;
 import com.netease.arctic.server.exception.IllegalMetadataException;
 import com.netease.arctic.server.exception.ObjectNotExistsException;
 import com.netease.arctic.server.manager.MetricManager;
+import com.netease.arctic.server.metrics.ServerMetrics;
 import com.netease.arctic.server.optimizing.OptimizingStatus;
 import com.netease.arctic.server.persistence.StatedPersistentBase;
 import com.netease.arctic.server.persistence.mapper.CatalogMetaMapper;
@@ -52,9 +54,11 @@ import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Sets;
 import org.apache.iceberg.relocated.com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.iceberg.util.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -70,15 +74,19 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class DefaultTableService extends StatedPersistentBase implements TableService {
 
   public static final Logger LOG = LoggerFactory.getLogger(DefaultTableService.class);
   private final long externalCatalogRefreshingInterval;
+  private final long externalCatalogFullSyncInterval;
   private final long blockerTimeout;
   private final Map<String, InternalCatalog> internalCatalogMap = new ConcurrentHashMap<>();
   private final Map<String, ExternalCatalog> externalCatalogMap = new ConcurrentHashMap<>();
+  private final Map<String, ExternalCatalogExploreState> catalogExploreStates =
+      new ConcurrentHashMap<>();
 
   private final Map<ServerTableIdentifier, TableRuntime> tableRuntimeMap =
       new ConcurrentHashMap<>();
@@ -93,12 +101,28 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
   private final Configurations serverConfiguration;
   private RuntimeHandlerChain headHandler;
   private ExecutorService tableExplorerExecutors;
+  private final TableCache tableCache;
+  private TableOwnership tableOwnership = TableOwnership.ALL;
 
   public DefaultTableService(Configurations configuration) {
     this.externalCatalogRefreshingInterval =
         configuration.getLong(ArcticManagementConf.REFRESH_EXTERNAL_CATALOGS_INTERVAL);
+    this.externalCatalogFullSyncInterval =
+        configuration.getLong(ArcticManagementConf.REFRESH_EXTERNAL_CATALOGS_FULL_SYNC_INTERVAL);
     this.blockerTimeout = configuration.getLong(ArcticManagementConf.BLOCKER_TIMEOUT);
     this.serverConfiguration = configuration;
+    this.tableCache =
+        configuration.getBoolean(ArcticManagementConf.TABLE_CACHE_ENABLED)
+            ? new TableCache(
+                configuration.getLong(ArcticManagementConf.TABLE_CACHE_MAX_SIZE),
+                configuration.get(ArcticManagementConf.TABLE_CACHE_EXPIRE_AFTER_ACCESS))
+            : null;
+  }
+
+  /** Set the ownership of tables, this node only manages the runtimes of the tables it owns. */
+  public void setTableOwnership(TableOwnership tableOwnership) {
+    checkNotStarted();
+    this.tableOwnership = tableOwnership;
   }
 
   @Override
@@ -170,6 +194,8 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
     serverCatalog.dispose();
     internalCatalogMap.remove(catalogName);
     externalCatalogMap.remove(catalogName);
+    catalogExploreStates.remove(catalogName);
+    invalidateCachedTables(catalogName);
   }
 
   @Override
@@ -179,6 +205,9 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
     validateCatalogUpdate(catalog.getMetadata(), catalogMeta);
     doAs(CatalogMetaMapper.class, mapper -> mapper.updateCatalog(catalogMeta));
     catalog.updateMetadata(catalogMeta);
+    invalidateCachedTables(catalogMeta.getCatalogName());
+    // The filters or the metastore may have changed, sync the catalog fully next time
+    catalogExploreStates.remove(catalogMeta.getCatalogName());
   }
 
   @Override
@@ -196,14 +225,8 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
     ServerTableIdentifier serverTableIdentifier =
         getInternalCatalog(tableIdentifier.getCatalog())
             .dropTable(tableIdentifier.getDatabase(), tableIdentifier.getTableName());
-    Optional.ofNullable(tableRuntimeMap.remove(serverTableIdentifier))
-        .ifPresent(
-            tableRuntime -> {
-              if (headHandler != null) {
-                headHandler.fireTableRemoved(tableRuntime);
-              }
-              tableRuntime.dispose();
-            });
+    invalidateCachedTable(serverTableIdentifier);
+    disposeTableRuntime(serverTableIdentifier);
   }
 
   @Override
@@ -236,6 +259,26 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
         TableMetaMapper.class, mapper -> mapper.selectTableIdentifiersByCatalog(catalogName));
   }
 
+  @Override
+  public List<TableRuntime> listTableRuntimes() {
+    checkStarted();
+    if (!tableOwnership.isSharded()) {
+      return Lists.newArrayList(tableRuntimeMap.values());
+    }
+    Map<Long, TableRuntime> ownedRuntimes =
+        tableRuntimeMap.values().stream()
+            .collect(
+                Collectors.toMap(
+                    tableRuntime -> tableRuntime.getTableIdentifier().getId(),
+                    tableRuntime -> tableRuntime));
+    return getAs(TableMetaMapper.class, TableMetaMapper::selectTableRuntimeMetas).stream()
+        .map(
+            tableRuntimeMeta ->
+                Optional.ofNullable(ownedRuntimes.get(tableRuntimeMeta.getTableId()))
+                    .orElseGet(() -> tableRuntimeMeta.constructTableRuntime(this)))
+        .collect(Collectors.toList());
+  }
+
   @Override
   public List<TableIDWithFormat> listTables(String catalogName, String dbName) {
     checkStarted();
@@ -257,10 +300,37 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
   @Override
   public AmoroTable<?> loadTable(ServerTableIdentifier tableIdentifier) {
     checkStarted();
+    try (Timer.Context ignored = ServerMetrics.TABLE_LOAD_TIMER.time()) {
+      if (tableCache == null) {
+        return loadTableFromCatalog(tableIdentifier);
+      }
+      return tableCache.get(
+          tableIdentifier, this::currentMetadataLocation, this::loadTableFromCatalog);
+    }
+  }
+
+  private AmoroTable<?> loadTableFromCatalog(ServerTableIdentifier tableIdentifier) {
     return getServerCatalog(tableIdentifier.getCatalog())
         .loadTable(tableIdentifier.getDatabase(), tableIdentifier.getTableName());
   }
 
+  private String currentMetadataLocation(ServerTableIdentifier tableIdentifier) {
+    return getServerCatalog(tableIdentifier.getCatalog())
+        .metadataLocation(tableIdentifier.getDatabase(), tableIdentifier.getTableName());
+  }
+
+  private void invalidateCachedTable(ServerTableIdentifier tableIdentifier) {
+    if (tableCache != null && tableIdentifier != null) {
+      tableCache.invalidate(tableIdentifier);
+    }
+  }
+
+  private void invalidateCachedTables(String catalogName) {
+    if (tableCache != null) {
+      tableCache.invalidateCatalog(catalogName);
+    }
+  }
+
   @Override
   public List<TableMetadata> listTableMetas() {
     checkStarted();
@@ -345,20 +415,44 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
     }
   }
 
+  /**
+   * Build the catalogs before the service is initialized, e.g.: while the node is waiting for the
+   * leadership, so that it only reconciles the catalogs changed since then when it takes over.
+   */
+  public void prepare() {
+    checkNotStarted();
+    syncCatalogs();
+  }
+
   @Override
   public void initialize() {
     checkNotStarted();
-    List<CatalogMeta> catalogMetas = getAs(CatalogMetaMapper.class, CatalogMetaMapper::getCatalogs);
-    catalogMetas.forEach(this::initServerCatalog);
+    syncCatalogs();
 
     List<TableRuntimeMeta> tableRuntimeMetaList =
-        getAs(TableMetaMapper.class, TableMetaMapper::selectTableRuntimeMetas);
-    tableRuntimeMetaList.forEach(
-        tableRuntimeMeta -> {
-          TableRuntime tableRuntime = tableRuntimeMeta.constructTableRuntime(this);
-          tableRuntimeMap.put(tableRuntime.getTableIdentifier(), tableRuntime);
-          tableRuntime.registerMetric(MetricManager.getInstance().getGlobalRegistry());
-        });
+        getAs(TableMetaMapper.class, TableMetaMapper::selectTableRuntimeMetas).stream()
+            .filter(tableRuntimeMeta -> tableOwnership.owns(tableRuntimeMeta.getTableId()))
+            .collect(Collectors.toList());
+    // Build the table runtimes in parallel to serve the tables soon after starting or taking over
+    ExecutorService buildingExecutor =
+        Executors.newFixedThreadPool(
+            serverConfiguration.getInteger(ArcticManagementConf.OPTIMIZING_RECOVERY_THREAD_COUNT),
+            new ThreadFactoryBuilder()
+                .setNameFormat("table-runtime-building-thread-%d")
+                .setDaemon(true)
+                .build());
+    try {
+      CompletableFuture.allOf(
+              tableRuntimeMetaList.stream()
+                  .map(
+                      tableRuntimeMeta ->
+                          CompletableFuture.runAsync(
+                              () -> buildTableRuntime(tableRuntimeMeta), buildingExecutor))
+                  .toArray(CompletableFuture[]::new))
+          .join();
+    } finally {
+      buildingExecutor.shutdown();
+    }
 
     if (headHandler != null) {
       headHandler.initialize(tableRuntimeMetaList);
@@ -382,10 +476,120 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
                   .build());
     }
     tableExplorerScheduler.scheduleAtFixedRate(
-        this::exploreExternalCatalog, 0, externalCatalogRefreshingInterval, TimeUnit.MILLISECONDS);
+        this::exploreExternalCatalogIncrementally,
+        0,
+        externalCatalogRefreshingInterval,
+        TimeUnit.MILLISECONDS);
+    if (tableOwnership.isSharded()) {
+      // Take over or release the tables when the nodes change, and find the tables added or
+      // dropped by the other nodes periodically
+      tableOwnership.addListener(this::scheduleSyncingTableRuntimes);
+      tableExplorerScheduler.scheduleWithFixedDelay(
+          this::syncTableRuntimes,
+          externalCatalogRefreshingInterval,
+          externalCatalogRefreshingInterval,
+          TimeUnit.MILLISECONDS);
+    }
     initialized.complete(true);
   }
 
+  private void buildTableRuntime(TableRuntimeMeta tableRuntimeMeta) {
+    TableRuntime tableRuntime = tableRuntimeMeta.constructTableRuntime(this);
+    tableRuntimeMap.put(tableRuntime.getTableIdentifier(), tableRuntime);
+    tableRuntime.registerMetric(MetricManager.getInstance().getGlobalRegistry());
+  }
+
+  private void scheduleSyncingTableRuntimes() {
+    try {
+      tableExplorerScheduler.execute(this::syncTableRuntimes);
+    } catch (RejectedExecutionException e) {
+      LOG.warn("Table service has been disposed, skip syncing table runtimes");
+    }
+  }
+
+  /**
+   * Sync the catalogs and the table runtimes of this node with the persisted ones when the tables
+   * are sharded across the nodes. The tables newly assigned to this node are taken over from the
+   * persisted runtimes, and the tables assigned to the other nodes are released without disposing
+   * their persisted runtimes.
+   */
+  @VisibleForTesting
+  void syncTableRuntimes() {
+    try {
+      syncCatalogs();
+      // The tables added to this node after listing the identifiers are not released
+      Set<ServerTableIdentifier> loadedTables = new HashSet<>(tableRuntimeMap.keySet());
+      Map<Long, TableRuntimeMeta> persistedTables =
+          getAs(TableMetaMapper.class, TableMetaMapper::selectTableRuntimeMetas).stream()
+              .collect(Collectors.toMap(TableRuntimeMeta::getTableId, meta -> meta));
+      for (ServerTableIdentifier identifier : loadedTables) {
+        boolean dropped = persistedTables.remove(identifier.getId()) == null;
+        if (!tableOwnership.owns(identifier.getId())) {
+          Optional.ofNullable(tableRuntimeMap.remove(identifier))
+              .ifPresent(
+                  tableRuntime -> {
+                    LOG.info("Release table {} assigned to the other node", identifier);
+                    invalidateCachedTable(identifier);
+                    if (headHandler != null) {
+                      headHandler.fireTableUnassigned(tableRuntime);
+                    }
+                    tableRuntime.unregisterMetric();
+                  });
+        } else if (dropped) {
+          LOG.info("Dispose table {} dropped by the other node", identifier);
+          invalidateCachedTable(identifier);
+          disposeTableRuntime(identifier);
+        }
+      }
+      persistedTables.values().stream()
+          .filter(tableRuntimeMeta -> tableOwnership.owns(tableRuntimeMeta.getTableId()))
+          .forEach(this::takeOverTable);
+    } catch (Throwable t) {
+      LOG.error("Failed to sync the table runtimes", t);
+    }
+  }
+
+  private void takeOverTable(TableRuntimeMeta tableRuntimeMeta) {
+    TableRuntime tableRuntime = tableRuntimeMeta.constructTableRuntime(this);
+    ServerTableIdentifier identifier = tableRuntime.getTableIdentifier();
+    if (!catalogExist(identifier.getCatalog())
+        || tableRuntimeMap.putIfAbsent(identifier, tableRuntime) != null) {
+      return;
+    }
+    LOG.info("Take over table {} assigned to this node", identifier);
+    tableRuntime.registerMetric(MetricManager.getInstance().getGlobalRegistry());
+    if (headHandler != null) {
+      headHandler.fireTableAssigned(tableRuntimeMeta);
+    }
+  }
+
+  private void syncCatalogs() {
+    Map<String, CatalogMeta> catalogMetas =
+        getAs(CatalogMetaMapper.class, CatalogMetaMapper::getCatalogs).stream()
+            .collect(Collectors.toMap(CatalogMeta::getCatalogName, catalogMeta -> catalogMeta));
+    List<ServerCatalog> loadedCatalogs = Lists.newArrayList(internalCatalogMap.values());
+    loadedCatalogs.addAll(externalCatalogMap.values());
+    for (ServerCatalog loadedCatalog : loadedCatalogs) {
+      CatalogMeta loadedMeta = loadedCatalog.getMetadata();
+      String catalogName = loadedMeta.getCatalogName();
+      CatalogMeta catalogMeta = catalogMetas.remove(catalogName);
+      if (catalogMeta == null) {
+        LOG.info("Remove the dropped catalog {}", catalogName);
+        loadedCatalog.dispose();
+        internalCatalogMap.remove(catalogName);
+        externalCatalogMap.remove(catalogName);
+        catalogExploreStates.remove(catalogName);
+        invalidateCachedTables(catalogName);
+      } else if (!catalogMeta.equals(loadedMeta)) {
+        LOG.info("Update the changed catalog {}", catalogName);
+        loadedCatalog.updateMetadata(catalogMeta);
+        invalidateCachedTables(catalogName);
+        catalogExploreStates.remove(catalogName);
+      }
+    }
+    catalogMetas.values().forEach(this::initServerCatalog);
+  }
+
   private TableRuntime getAndCheckExist(ServerTableIdentifier tableIdentifier) {
     Preconditions.checkArgument(tableIdentifier != null, "tableIdentifier cannot be null");
     TableRuntime tableRuntime = getRuntime(tableIdentifier);
@@ -445,107 +649,33 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
     }
   }
 
+  /** Explore all the databases and tables of the external catalogs. */
   @VisibleForTesting
   void exploreExternalCatalog() {
+    exploreExternalCatalog(true);
+  }
+
+  private void exploreExternalCatalogIncrementally() {
+    exploreExternalCatalog(false);
+  }
+
+  private void exploreExternalCatalog(boolean forceFullSync) {
+    if (!tableOwnership.isCoordinator()) {
+      return;
+    }
     long start = System.currentTimeMillis();
     LOG.info("Syncing external catalogs: {}", String.join(",", externalCatalogMap.keySet()));
     for (ExternalCatalog externalCatalog : externalCatalogMap.values()) {
+      ExternalCatalogExploreState state =
+          catalogExploreStates.computeIfAbsent(
+              externalCatalog.name(),
+              name ->
+                  new ExternalCatalogExploreState(
+                      externalCatalogRefreshingInterval, externalCatalogFullSyncInterval));
       try {
-        final List<CompletableFuture<Set<TableIdentity>>> tableIdentifiersFutures =
-            Lists.newArrayList();
-        externalCatalog
-            .listDatabases()
-            .forEach(
-                database -> {
-                  try {
-                    tableIdentifiersFutures.add(
-                        CompletableFuture.supplyAsync(
-                            () -> {
-                              try {
-                                return externalCatalog.listTables(database).stream()
-                                    .map(TableIdentity::new)
-                                    .collect(Collectors.toSet());
-                              } catch (Exception e) {
-                                LOG.error(
-                                    "TableExplorer list tables in database {} error", database, e);
-                                return new HashSet<>();
-                              }
-                            },
-                            tableExplorerExecutors));
-                  } catch (RejectedExecutionException e) {
-                    LOG.error(
-                        "The queue of table explorer is full, please increase the queue size or thread count.");
-                  }
-                });
-        Set<TableIdentity> tableIdentifiers =
-            tableIdentifiersFutures.stream()
-                .map(CompletableFuture::join)
-                .reduce(
-                    (a, b) -> {
-                      a.addAll(b);
-                      return a;
-                    })
-                .orElse(Sets.newHashSet());
-        LOG.info(
-            "Loaded {} tables from external catalog {}.",
-            tableIdentifiers.size(),
-            externalCatalog.name());
-        Map<TableIdentity, ServerTableIdentifier> serverTableIdentifiers =
-            getAs(
-                    TableMetaMapper.class,
-                    mapper -> mapper.selectTableIdentifiersByCatalog(externalCatalog.name()))
-                .stream()
-                .collect(Collectors.toMap(TableIdentity::new, tableIdentifier -> tableIdentifier));
-        LOG.info(
-            "Loaded {} tables from Amoro server catalog {}.",
-            serverTableIdentifiers.size(),
-            externalCatalog.name());
-        final List<CompletableFuture<Void>> taskFutures = Lists.newArrayList();
-        Sets.difference(tableIdentifiers, serverTableIdentifiers.keySet())
-            .forEach(
-                tableIdentity -> {
-                  try {
-                    taskFutures.add(
-                        CompletableFuture.runAsync(
-                            () -> {
-                              try {
-                                syncTable(externalCatalog, tableIdentity);
-                              } catch (Exception e) {
-                                LOG.error(
-                                    "TableExplorer sync table {} error",
-                                    tableIdentity.toString(),
-                                    e);
-                              }
-                            },
-                            tableExplorerExecutors));
-                  } catch (RejectedExecutionException e) {
-                    LOG.error(
-                        "The queue of table explorer is full, please increase the queue size or thread count.");
-                  }
-                });
-        Sets.difference(serverTableIdentifiers.keySet(), tableIdentifiers)
-            .forEach(
-                tableIdentity -> {
-                  try {
-                    taskFutures.add(
-                        CompletableFuture.runAsync(
-                            () -> {
-                              try {
-                                disposeTable(serverTableIdentifiers.get(tableIdentity));
-                              } catch (Exception e) {
-                                LOG.error(
-                                    "TableExplorer dispose table {} error",
-                                    tableIdentity.toString(),
-                                    e);
-                              }
-                            },
-                            tableExplorerExecutors));
-                  } catch (RejectedExecutionException e) {
-                    LOG.error(
-                        "The queue of table explorer is full, please increase the queue size or thread count.");
-                  }
-                });
-        taskFutures.forEach(CompletableFuture::join);
+        synchronized (state) {
+          exploreExternalCatalog(externalCatalog, state, forceFullSync);
+        }
       } catch (Throwable e) {
         LOG.error("TableExplorer error", e);
       }
@@ -568,6 +698,166 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
     LOG.info("Syncing external catalogs took {} ms.", end - start);
   }
 
+  /**
+   * Explore an external catalog, by a full sync if it is forced or due, or else by listing only the
+   * databases that may have changed.
+   */
+  @VisibleForTesting
+  void exploreExternalCatalog(
+      ExternalCatalog externalCatalog, ExternalCatalogExploreState state, boolean forceFullSync) {
+    long now = System.currentTimeMillis();
+    Long eventId = null;
+    Set<String> notifiedDatabases = null;
+    if (!forceFullSync && !state.fullSyncRequired(now) && state.lastEventId() != null) {
+      try {
+        Pair<Long, Set<String>> changes =
+            externalCatalog.changedDatabasesSince(state.lastEventId());
+        eventId = changes.first();
+        notifiedDatabases = changes.second();
+      } catch (Exception e) {
+        LOG.warn(
+            "Failed to read notification events of catalog {}, fall back to a full sync",
+            externalCatalog.name(),
+            e);
+        state.reset();
+      }
+    }
+
+    if (forceFullSync || state.fullSyncRequired(now)) {
+      // Get the event id before listing, the changes during listing will be found next time
+      eventId = externalCatalog.currentNotificationEventId();
+      List<String> databases = externalCatalog.listDatabases();
+      Set<String> changedDatabases =
+          exploreDatabases(externalCatalog, databases, database -> true);
+      state.fullSynced(now, eventId, databases, changedDatabases);
+      return;
+    }
+
+    List<String> databases = externalCatalog.listDatabases();
+    Set<String> toExplore = state.databasesToExplore(now, databases, notifiedDatabases);
+    Set<String> droppedDatabases = state.droppedDatabases(databases);
+    if (!toExplore.isEmpty() || !droppedDatabases.isEmpty()) {
+      LOG.info(
+          "Incrementally syncing {} databases and {} dropped databases of external catalog {}.",
+          toExplore.size(),
+          droppedDatabases.size(),
+          externalCatalog.name());
+    }
+    Set<String> changedDatabases =
+        exploreDatabases(
+            externalCatalog,
+            toExplore,
+            database -> toExplore.contains(database) || droppedDatabases.contains(database));
+    state.incrementalSynced(now, eventId, toExplore, droppedDatabases, changedDatabases);
+  }
+
+  /**
+   * List the tables of the databases and sync them with the tables of AMS in the scope.
+   *
+   * @return the databases in which tables are added or removed
+   */
+  private Set<String> exploreDatabases(
+      ExternalCatalog externalCatalog,
+      Collection<String> databases,
+      Predicate<String> databaseScope) {
+    final List<CompletableFuture<Set<TableIdentity>>> tableIdentifiersFutures =
+        Lists.newArrayList();
+    databases.forEach(
+        database -> {
+          try {
+            tableIdentifiersFutures.add(
+                CompletableFuture.supplyAsync(
+                    () -> {
+                      try {
+                        return externalCatalog.listTables(database).stream()
+                            .map(TableIdentity::new)
+                            .collect(Collectors.toSet());
+                      } catch (Exception e) {
+                        LOG.error("TableExplorer list tables in database {} error", database, e);
+                        return new HashSet<>();
+                      }
+                    },
+                    tableExplorerExecutors));
+          } catch (RejectedExecutionException e) {
+            LOG.error(
+                "The queue of table explorer is full, please increase the queue size or thread count.");
+          }
+        });
+    Set<TableIdentity> tableIdentifiers =
+        tableIdentifiersFutures.stream()
+            .map(CompletableFuture::join)
+            .reduce(
+                (a, b) -> {
+                  a.addAll(b);
+                  return a;
+                })
+            .orElse(Sets.newHashSet());
+    LOG.info(
+        "Loaded {} tables from {} databases of external catalog {}.",
+        tableIdentifiers.size(),
+        databases.size(),
+        externalCatalog.name());
+    Map<TableIdentity, ServerTableIdentifier> serverTableIdentifiers =
+        getAs(
+                TableMetaMapper.class,
+                mapper -> mapper.selectTableIdentifiersByCatalog(externalCatalog.name()))
+            .stream()
+            .filter(tableIdentifier -> databaseScope.test(tableIdentifier.getDatabase()))
+            .collect(Collectors.toMap(TableIdentity::new, tableIdentifier -> tableIdentifier));
+    LOG.info(
+        "Loaded {} tables from Amoro server catalog {}.",
+        serverTableIdentifiers.size(),
+        externalCatalog.name());
+    Set<String> changedDatabases = Sets.newHashSet();
+    final List<CompletableFuture<Void>> taskFutures = Lists.newArrayList();
+    Sets.difference(tableIdentifiers, serverTableIdentifiers.keySet())
+        .forEach(
+            tableIdentity -> {
+              changedDatabases.add(tableIdentity.getDatabase());
+              try {
+                taskFutures.add(
+                    CompletableFuture.runAsync(
+                        () -> {
+                          try {
+                            syncTable(externalCatalog, tableIdentity);
+                          } catch (Exception e) {
+                            LOG.error(
+                                "TableExplorer sync table {} error", tableIdentity.toString(), e);
+                          }
+                        },
+                        tableExplorerExecutors));
+              } catch (RejectedExecutionException e) {
+                LOG.error(
+                    "The queue of table explorer is full, please increase the queue size or thread count.");
+              }
+            });
+    Sets.difference(serverTableIdentifiers.keySet(), tableIdentifiers)
+        .forEach(
+            tableIdentity -> {
+              changedDatabases.add(tableIdentity.getDatabase());
+              try {
+                taskFutures.add(
+                    CompletableFuture.runAsync(
+                        () -> {
+                          try {
+                            disposeTable(serverTableIdentifiers.get(tableIdentity));
+                          } catch (Exception e) {
+                            LOG.error(
+                                "TableExplorer dispose table {} error",
+                                tableIdentity.toString(),
+                                e);
+                          }
+                        },
+                        tableExplorerExecutors));
+              } catch (RejectedExecutionException e) {
+                LOG.error(
+                    "The queue of table explorer is full, please increase the queue size or thread count.");
+              }
+            });
+    taskFutures.forEach(CompletableFuture::join);
+    return changedDatabases;
+  }
+
   private void validateTableIdentifier(TableIdentifier tableIdentifier) {
     if (StringUtils.isBlank(tableIdentifier.getTableName())) {
       throw new IllegalMetadataException("table name is blank");
@@ -648,6 +938,10 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
       }
     }
     TableRuntime tableRuntime = new TableRuntime(serverTableIdentifier, this, table.properties());
+    if (!tableOwnership.owns(serverTableIdentifier.getId())) {
+      // The persisted runtime would be taken over by the owner
+      return true;
+    }
     tableRuntimeMap.put(serverTableIdentifier, tableRuntime);
     tableRuntime.registerMetric(MetricManager.getInstance().getGlobalRegistry());
     if (headHandler != null) {
@@ -674,6 +968,12 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
                 tableIdentifier.getCatalog(),
                 tableIdentifier.getDatabase(),
                 tableIdentifier.getTableName()));
+    invalidateCachedTable(tableIdentifier);
+    disposeTableRuntime(tableIdentifier);
+  }
+
+  private void disposeTableRuntime(ServerTableIdentifier tableIdentifier) {
+    // The runtime of a table owned by the other node is disposed by the owner
     Optional.ofNullable(tableRuntimeMap.remove(tableIdentifier))
         .ifPresent(
             tableRuntime -> {
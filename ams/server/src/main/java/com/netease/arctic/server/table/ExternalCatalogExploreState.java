@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.table;
+
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The state of exploring an external catalog incrementally.
+ *
+ * <p>A full sync lists all the databases and tables of the catalog, it runs at the first time and
+ * then periodically. Between two full syncs, only the databases that may have changed are listed.
+ * If the metastore provides notification events, they are the databases mentioned by the events
+ * after the last handled event. Otherwise, each database is listed by its own interval, which is
+ * doubled each time the database is found unchanged, up to the full sync interval, and reset to
+ * the base interval once the database changes.
+ */
+class ExternalCatalogExploreState {
+
+  private final long baseInterval;
+  private final long fullSyncInterval;
+  private final Map<String, DatabaseState> databases = new HashMap<>();
+  private long lastFullSyncTime = -1;
+  private Long lastEventId;
+
+  ExternalCatalogExploreState(long baseInterval, long fullSyncInterval) {
+    this.baseInterval = baseInterval;
+    this.fullSyncInterval = Math.max(baseInterval, fullSyncInterval);
+  }
+
+  boolean fullSyncRequired(long now) {
+    return lastFullSyncTime < 0 || now - lastFullSyncTime >= fullSyncInterval;
+  }
+
+  /** The id of the last handled notification event, null if notifications are not used. */
+  Long lastEventId() {
+    return lastEventId;
+  }
+
+  /**
+   * Get the databases to list in an incremental round.
+   *
+   * @param now current time
+   * @param currentDatabases the current databases of the catalog
+   * @param notifiedDatabases the databases mentioned by the notification events, null if the
+   *     notification events are not available
+   */
+  Set<String> databasesToExplore(
+      long now, Collection<String> currentDatabases, Set<String> notifiedDatabases) {
+    Set<String> toExplore = Sets.newHashSet();
+    for (String database : currentDatabases) {
+      DatabaseState state = databases.get(database);
+      if (state == null) {
+        toExplore.add(database);
+      } else if (notifiedDatabases != null) {
+        if (notifiedDatabases.contains(database)) {
+          toExplore.add(database);
+        }
+      } else if (state.nextExploreTime <= now) {
+        toExplore.add(database);
+      }
+    }
+    return toExplore;
+  }
+
+  /** Get the databases which have been explored before but do not exist anymore. */
+  Set<String> droppedDatabases(Collection<String> currentDatabases) {
+    return Sets.newHashSet(Sets.difference(databases.keySet(), Sets.newHashSet(currentDatabases)));
+  }
+
+  void fullSynced(
+      long now, Long eventId, Collection<String> currentDatabases, Set<String> changedDatabases) {
+    lastFullSyncTime = now;
+    lastEventId = eventId;
+    databases.keySet().retainAll(Sets.newHashSet(currentDatabases));
+    explored(now, currentDatabases, changedDatabases);
+  }
+
+  void incrementalSynced(
+      long now,
+      Long eventId,
+      Collection<String> exploredDatabases,
+      Set<String> droppedDatabases,
+      Set<String> changedDatabases) {
+    lastEventId = eventId;
+    databases.keySet().removeAll(droppedDatabases);
+    explored(now, exploredDatabases, changedDatabases);
+  }
+
+  /** Force a full sync in the next round, e.g.: the notification events could not be read. */
+  void reset() {
+    lastFullSyncTime = -1;
+    lastEventId = null;
+  }
+
+  private void explored(long now, Collection<String> exploredDatabases, Set<String> changed) {
+    for (String database : exploredDatabases) {
+      DatabaseState state = databases.get(database);
+      if (state == null || changed.contains(database)) {
+        state = new DatabaseState(baseInterval);
+        databases.put(database, state);
+      } else {
+        state.interval = Math.min(state.interval * 2, fullSyncInterval);
+      }
+      state.nextExploreTime = now + state.interval;
+    }
+  }
+
+  private static class DatabaseState {
+    private long interval;
+    private long nextExploreTime;
+
+    private DatabaseState(long interval) {
+      this.interval = interval;
+    }
+  }
+}
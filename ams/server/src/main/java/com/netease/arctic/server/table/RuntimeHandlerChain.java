@@ -117,6 +117,41 @@ public abstract class RuntimeHandlerChain {
     }
   }
 
+  /**
+   * Fire when the table is assigned to this node since the AMS nodes changed, the runtime of the
+   * table is loaded from the persisted one.
+   */
+  public final void fireTableAssigned(TableRuntimeMeta tableRuntimeMeta) {
+    if (!initialized) {
+      return;
+    }
+
+    if (formatSupported(tableRuntimeMeta.getTableRuntime().getFormat())) {
+      doSilently(() -> handleTableAssigned(tableRuntimeMeta));
+    }
+    if (next != null) {
+      next.fireTableAssigned(tableRuntimeMeta);
+    }
+  }
+
+  /**
+   * Fire when the table is assigned to another node since the AMS nodes changed, the persisted
+   * runtime of the table should be kept for the new owner.
+   */
+  public final void fireTableUnassigned(TableRuntime tableRuntime) {
+    if (!initialized) {
+      return;
+    }
+
+    if (next != null) {
+      next.fireTableUnassigned(tableRuntime);
+    }
+
+    if (formatSupported(tableRuntime.getFormat())) {
+      doSilently(() -> handleTableUnassigned(tableRuntime));
+    }
+  }
+
   public final void dispose() {
     if (next != null) {
       next.dispose();
@@ -147,6 +182,10 @@ public abstract class RuntimeHandlerChain {
 
   protected abstract void handleTableRemoved(TableRuntime tableRuntime);
 
+  protected abstract void handleTableAssigned(TableRuntimeMeta tableRuntimeMeta);
+
+  protected abstract void handleTableUnassigned(TableRuntime tableRuntime);
+
   protected abstract void initHandler(List<TableRuntimeMeta> tableRuntimeMetaList);
 
   protected abstract void doDispose();
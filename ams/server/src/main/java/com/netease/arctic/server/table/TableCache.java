@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.table;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.netease.arctic.AmoroTable;
+import com.netease.arctic.api.ServerTableIdentifier;
+import com.netease.arctic.table.KeyedTable;
+import org.apache.iceberg.HasTableOperations;
+import org.apache.iceberg.TableMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of the tables loaded by AMS, shared by all the table executors, the optimizing
+ * and the dashboard.
+ *
+ * <p>A table handed out by the cache is never refreshed by the cache, so a caller holding it keeps
+ * a stable view of the table. Each entry keeps the metadata location of its table at load time. On
+ * a hit the current metadata location is looked up from the catalog without loading the table, and
+ * only if it has moved the table is loaded again. So the cache always returns the latest commit,
+ * including the commits of AMS itself. The tables whose metadata location is unknown, e.g.: paimon
+ * tables, are not cached.
+ */
+public class TableCache {
+  private static final Logger LOG = LoggerFactory.getLogger(TableCache.class);
+
+  private final Cache<ServerTableIdentifier, Entry> tables;
+
+  public TableCache(long maxSize, Duration expireAfterAccess) {
+    this.tables =
+        Caffeine.newBuilder().maximumSize(maxSize).expireAfterAccess(expireAfterAccess).build();
+  }
+
+  /**
+   * Get the latest table from the cache, or load it by the loader if it is not cached or stale.
+   *
+   * @param identifier the table identifier
+   * @param locator the function to look up the current metadata location of the table, which
+   *     returns null if the location is unknown
+   * @param loader the loader to load the table if it is absent or stale
+   * @return the latest table
+   */
+  public AmoroTable<?> get(
+      ServerTableIdentifier identifier,
+      Function<ServerTableIdentifier, String> locator,
+      Function<ServerTableIdentifier, AmoroTable<?>> loader) {
+    String currentLocation;
+    try {
+      currentLocation = locator.apply(identifier);
+    } catch (RuntimeException e) {
+      LOG.warn("Failed to look up the metadata location of table {}, reload it.", identifier, e);
+      currentLocation = null;
+    }
+    if (currentLocation == null) {
+      tables.invalidate(identifier);
+      return loader.apply(identifier);
+    }
+
+    Entry entry = tables.getIfPresent(identifier);
+    if (entry != null && entry.location.equals(currentLocation)) {
+      return entry.table;
+    }
+
+    AmoroTable<?> table = loader.apply(identifier);
+    String location = metadataLocation(table);
+    if (location != null) {
+      tables.put(identifier, new Entry(table, location));
+    } else {
+      tables.invalidate(identifier);
+    }
+    return table;
+  }
+
+  public void invalidate(ServerTableIdentifier identifier) {
+    tables.invalidate(identifier);
+  }
+
+  public void invalidateCatalog(String catalogName) {
+    tables.asMap().keySet().removeIf(identifier -> identifier.getCatalog().equals(catalogName));
+  }
+
+  public long size() {
+    return tables.estimatedSize();
+  }
+
+  /**
+   * The metadata location of a table, the locations of both the change and the base store for a
+   * keyed table, or null if the location is unknown.
+   */
+  static String metadataLocation(AmoroTable<?> table) {
+    Object originalTable = table.originalTable();
+    if (originalTable instanceof KeyedTable) {
+      String change = metadataLocation(((KeyedTable) originalTable).changeTable());
+      String base = metadataLocation(((KeyedTable) originalTable).baseTable());
+      return change == null || base == null ? null : change + "," + base;
+    }
+    return metadataLocation(originalTable);
+  }
+
+  private static String metadataLocation(Object table) {
+    if (!(table instanceof HasTableOperations)) {
+      return null;
+    }
+    try {
+      TableMetadata metadata = ((HasTableOperations) table).operations().current();
+      return metadata == null ? null : metadata.metadataFileLocation();
+    } catch (UnsupportedOperationException e) {
+      return null;
+    }
+  }
+
+  private static class Entry {
+    /** The table handed out to the callers, which is never refreshed by the cache. */
+    private final AmoroTable<?> table;
+    /** The metadata location of the table when it was loaded. */
+    private final String location;
+
+    private Entry(AmoroTable<?> table, String location) {
+      this.table = table;
+      this.location = location;
+    }
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.table;
+
+/**
+ * The ownership of the tables of an AMS node. An AMS node only manages the runtimes, optimizing
+ * and maintenance of the tables it owns.
+ */
+public interface TableOwnership {
+
+  /** The ownership of a single active AMS node, which owns all the tables. */
+  TableOwnership ALL =
+      new TableOwnership() {
+        @Override
+        public boolean isSharded() {
+          return false;
+        }
+
+        @Override
+        public boolean owns(long tableId) {
+          return true;
+        }
+
+        @Override
+        public boolean isCoordinator() {
+          return true;
+        }
+
+        @Override
+        public void addListener(Runnable listener) {}
+      };
+
+  /** Whether the tables are sharded across several active AMS nodes. */
+  boolean isSharded();
+
+  boolean owns(long tableId);
+
+  /**
+   * Whether this node is the coordinator of the cluster, which runs the cluster wide duties, e.g.:
+   * exploring the external catalogs.
+   */
+  boolean isCoordinator();
+
+  /** Add a listener called when the ownership of tables changes. */
+  void addListener(Runnable listener);
+}
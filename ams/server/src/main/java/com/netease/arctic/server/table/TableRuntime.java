@@ -152,6 +152,10 @@ public class TableRuntime extends StatedPersistentBase {
     this.metrics.register(metricRegistry);
   }
 
+  public void unregisterMetric() {
+    this.metrics.unregister();
+  }
+
   public void dispose() {
     invokeInStateLock(
         () -> {
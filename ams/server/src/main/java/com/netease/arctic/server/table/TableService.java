@@ -79,6 +79,14 @@ public interface TableService extends CatalogService, TableManager {
    */
   List<ServerTableIdentifier> listManagedTables(String catalogName);
 
+  /**
+   * Load the runtimes of all managed tables. The runtimes of the tables owned by the other AMS
+   * nodes are loaded from their persisted state, without the running optimizing processes.
+   *
+   * @return {@link TableRuntime} list
+   */
+  List<TableRuntime> listTableRuntimes();
+
   /**
    * Load table identifiers by server catalog
    *
@@ -18,8 +18,10 @@
 
 package com.netease.arctic.server.table.executor;
 
+import com.netease.arctic.api.ServerTableIdentifier;
 import com.netease.arctic.api.config.Configurations;
 import com.netease.arctic.server.ArcticManagementConf;
+import com.netease.arctic.server.optimizing.maintainer.ReachableManifests;
 import com.netease.arctic.server.table.TableManager;
 
 public class AsyncTableExecutors {
@@ -35,18 +37,31 @@ public class AsyncTableExecutors {
   private HiveCommitSyncExecutor hiveCommitSyncExecutor;
   private TagsAutoCreatingExecutor tagsAutoCreatingExecutor;
   private DataExpiringExecutor dataExpiringExecutor;
+  private ColumnStatisticsUpdatingExecutor columnStatisticsUpdatingExecutor;
+  private TableExecutorScheduler scheduler;
 
   public static AsyncTableExecutors getInstance() {
     return instance;
   }
 
   public void setup(TableManager tableManager, Configurations conf) {
+    synchronized (this) {
+      if (scheduler != null) {
+        scheduler.shutdown();
+      }
+      scheduler =
+          new TableExecutorScheduler(
+              conf.getInteger(ArcticManagementConf.TABLE_EXECUTORS_MAX_THREAD_COUNT));
+    }
     if (conf.getBoolean(ArcticManagementConf.EXPIRE_SNAPSHOTS_ENABLED)) {
       this.snapshotsExpiringExecutor =
           new SnapshotsExpiringExecutor(
               tableManager, conf.getInteger(ArcticManagementConf.EXPIRE_SNAPSHOTS_THREAD_COUNT));
     }
     if (conf.getBoolean(ArcticManagementConf.CLEAN_ORPHAN_FILES_ENABLED)) {
+      ReachableManifests.setup(
+          conf.getLong(ArcticManagementConf.CLEAN_ORPHAN_FILES_MANIFESTS_CACHE_MAX_SIZE),
+          conf.get(ArcticManagementConf.CLEAN_ORPHAN_FILES_MANIFESTS_CACHE_EXPIRE_AFTER_ACCESS));
       this.orphanFilesCleaningExecutor =
           new OrphanFilesCleaningExecutor(
               tableManager, conf.getInteger(ArcticManagementConf.CLEAN_ORPHAN_FILES_THREAD_COUNT));
@@ -75,7 +90,8 @@ public class AsyncTableExecutors {
         new TableRuntimeRefreshExecutor(
             tableManager,
             conf.getInteger(ArcticManagementConf.REFRESH_TABLES_THREAD_COUNT),
-            conf.getLong(ArcticManagementConf.REFRESH_TABLES_INTERVAL));
+            conf.getLong(ArcticManagementConf.REFRESH_TABLES_INTERVAL),
+            conf.getLong(ArcticManagementConf.REFRESH_TABLES_NOTIFIED_INTERVAL));
     if (conf.getBoolean(ArcticManagementConf.AUTO_CREATE_TAGS_ENABLED)) {
       this.tagsAutoCreatingExecutor =
           new TagsAutoCreatingExecutor(
@@ -90,6 +106,34 @@ public class AsyncTableExecutors {
               conf.getInteger(ArcticManagementConf.DATA_EXPIRATION_THREAD_COUNT),
               conf.get(ArcticManagementConf.DATA_EXPIRATION_INTERVAL));
     }
+    if (conf.getBoolean(ArcticManagementConf.UPDATE_COLUMN_STATISTICS_ENABLED)) {
+      this.columnStatisticsUpdatingExecutor =
+          new ColumnStatisticsUpdatingExecutor(
+              tableManager,
+              conf.getInteger(ArcticManagementConf.UPDATE_COLUMN_STATISTICS_THREAD_COUNT),
+              conf.getLong(ArcticManagementConf.UPDATE_COLUMN_STATISTICS_INTERVAL));
+    }
+  }
+
+  /** The scheduler shared by the table executors, created with the default config if not setup. */
+  public synchronized TableExecutorScheduler getScheduler() {
+    if (scheduler == null) {
+      scheduler =
+          new TableExecutorScheduler(
+              ArcticManagementConf.TABLE_EXECUTORS_MAX_THREAD_COUNT.defaultValue());
+    }
+    return scheduler;
+  }
+
+  /**
+   * Notify that the table has been changed, e.g.: committed through AMS or reported by the writer,
+   * to refresh the table runtime without waiting for polling.
+   */
+  public void notifyTableChanged(ServerTableIdentifier identifier) {
+    TableRuntimeRefreshExecutor executor = tableRefreshingExecutor;
+    if (executor != null) {
+      executor.tableChanged(identifier);
+    }
   }
 
   public SnapshotsExpiringExecutor getSnapshotsExpiringExecutor() {
@@ -131,4 +175,8 @@ public class AsyncTableExecutors {
   public DataExpiringExecutor getDataExpiringExecutor() {
     return dataExpiringExecutor;
   }
+
+  public ColumnStatisticsUpdatingExecutor getColumnStatisticsUpdatingExecutor() {
+    return columnStatisticsUpdatingExecutor;
+  }
 }
@@ -27,7 +27,6 @@ import com.netease.arctic.server.table.TableManager;
 import com.netease.arctic.server.table.TableRuntime;
 import com.netease.arctic.server.table.TableRuntimeMeta;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.iceberg.relocated.com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,30 +35,34 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class BaseTableExecutor extends RuntimeHandlerChain {
 
   protected final Logger logger = LoggerFactory.getLogger(getClass());
 
   private static final long START_DELAY = 10 * 1000L;
+  private static final long EXECUTION_DEADLINE = 60 * 60 * 1000L;
 
-  private final ScheduledExecutorService executor;
+  private final TableExecutorScheduler.Lane lane;
   private final TableManager tableManager;
   private final Set<ServerTableIdentifier> scheduledTables =
       Collections.synchronizedSet(new HashSet<>());
-
+  private final Set<ServerTableIdentifier> triggeredTables = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Create a table executor.
+   *
+   * @param tableManager the table manager
+   * @param poolSize the max number of tables executed at the same time, the tasks run on the
+   *     workers shared by all the table executors
+   */
   protected BaseTableExecutor(TableManager tableManager, int poolSize) {
     this.tableManager = tableManager;
-    this.executor =
-        Executors.newScheduledThreadPool(
-            poolSize,
-            new ThreadFactoryBuilder()
-                .setDaemon(false)
-                .setNameFormat("async-" + getThreadName() + "-%d")
-                .build());
+    this.lane =
+        AsyncTableExecutors.getInstance()
+            .getScheduler()
+            .register(getThreadName(), poolSize, getExecutionDeadline());
   }
 
   @Override
@@ -70,8 +73,7 @@ public abstract class BaseTableExecutor extends RuntimeHandlerChain {
         .forEach(
             tableRuntime -> {
               if (scheduledTables.add(tableRuntime.getTableIdentifier())) {
-                executor.schedule(
-                    () -> executeTask(tableRuntime), getStartDelay(), TimeUnit.MILLISECONDS);
+                schedule(tableRuntime, getStartDelay());
               }
             });
 
@@ -79,24 +81,46 @@ public abstract class BaseTableExecutor extends RuntimeHandlerChain {
   }
 
   private void executeTask(TableRuntime tableRuntime) {
+    ServerTableIdentifier identifier = tableRuntime.getTableIdentifier();
+    triggeredTables.remove(identifier);
     try {
       if (isExecutable(tableRuntime)) {
         execute(tableRuntime);
       }
     } finally {
-      scheduledTables.remove(tableRuntime.getTableIdentifier());
-      scheduleIfNecessary(tableRuntime, getNextExecutingTime(tableRuntime));
+      scheduledTables.remove(identifier);
+      // Triggered while executing, the table may have changed after it was loaded
+      scheduleIfNecessary(
+          tableRuntime,
+          triggeredTables.contains(identifier) ? 0 : getNextExecutingTime(tableRuntime));
     }
   }
 
+  /**
+   * Execute the table as soon as possible instead of waiting for the next executing time, or once
+   * more right after the current execution if it is executing.
+   */
+  protected final void trigger(TableRuntime tableRuntime) {
+    ServerTableIdentifier identifier = tableRuntime.getTableIdentifier();
+    triggeredTables.add(identifier);
+    lane.expedite(identifier.toString());
+  }
+
   protected final void scheduleIfNecessary(TableRuntime tableRuntime, long millisecondsTime) {
     if (isExecutable(tableRuntime)) {
       if (scheduledTables.add(tableRuntime.getTableIdentifier())) {
-        executor.schedule(() -> executeTask(tableRuntime), millisecondsTime, TimeUnit.MILLISECONDS);
+        schedule(tableRuntime, millisecondsTime);
       }
     }
   }
 
+  private void schedule(TableRuntime tableRuntime, long millisecondsTime) {
+    lane.schedule(
+        tableRuntime.getTableIdentifier().toString(),
+        () -> executeTask(tableRuntime),
+        millisecondsTime);
+  }
+
   protected abstract long getNextExecutingTime(TableRuntime tableRuntime);
 
   protected abstract boolean enabled(TableRuntime tableRuntime);
@@ -119,7 +143,8 @@ public abstract class BaseTableExecutor extends RuntimeHandlerChain {
 
   @Override
   public void handleTableRemoved(TableRuntime tableRuntime) {
-    // DO nothing, handling would be canceled when calling executeTable
+    // Handling would be canceled when calling executeTable
+    triggeredTables.remove(tableRuntime.getTableIdentifier());
   }
 
   @Override
@@ -130,16 +155,31 @@ public abstract class BaseTableExecutor extends RuntimeHandlerChain {
     scheduleIfNecessary(tableRuntime, getStartDelay());
   }
 
+  @Override
+  public void handleTableAssigned(TableRuntimeMeta tableRuntimeMeta) {
+    scheduleIfNecessary(tableRuntimeMeta.getTableRuntime(), getStartDelay());
+  }
+
+  @Override
+  public void handleTableUnassigned(TableRuntime tableRuntime) {
+    handleTableRemoved(tableRuntime);
+  }
+
   @Override
   protected void doDispose() {
-    executor.shutdownNow();
-    logger.info("dispose thread pool for threads {}", getThreadName());
+    lane.close();
+    logger.info("dispose table executor {}", getThreadName());
   }
 
   protected long getStartDelay() {
     return START_DELAY;
   }
 
+  /** A table executed longer than the deadline is reported by logs and metrics. */
+  protected long getExecutionDeadline() {
+    return EXECUTION_DEADLINE;
+  }
+
   protected AmoroTable<?> loadTable(TableRuntime tableRuntime) {
     return tableManager.loadTable(tableRuntime.getTableIdentifier());
   }
@@ -0,0 +1,318 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.table.executor;
+
+import com.netease.arctic.api.metrics.Counter;
+import com.netease.arctic.api.metrics.MetricKey;
+import com.netease.arctic.api.metrics.Timer;
+import com.netease.arctic.server.manager.MetricManager;
+import com.netease.arctic.server.metrics.MetricRegistry;
+import com.netease.arctic.server.metrics.ServerMetrics;
+import org.apache.iceberg.relocated.com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A scheduler shared by all the table executors of AMS.
+ *
+ * <p>The delayed tasks are held by a single timer thread, and are put into the ready queue of
+ * their executor once due. The ready tasks run on an elastic worker pool, whose threads are
+ * created on demand and retired when idle. Each executor runs at most its own concurrency of
+ * tasks, and the executors with ready tasks take the free workers in turn, so a slow executor only
+ * holds its own share of the workers instead of starving the others.
+ */
+public class TableExecutorScheduler {
+  private static final Logger LOG = LoggerFactory.getLogger(TableExecutorScheduler.class);
+
+  private static final long WORKER_KEEP_ALIVE_SECONDS = 60;
+
+  private final int maxThreads;
+  private final ScheduledThreadPoolExecutor timer;
+  private final ThreadPoolExecutor workers;
+  private final List<Lane> lanes = new ArrayList<>();
+  private int running;
+  private int nextLane;
+
+  public TableExecutorScheduler(int maxThreads) {
+    this.maxThreads = maxThreads;
+    this.timer =
+        new ScheduledThreadPoolExecutor(
+            1,
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("table-executor-timer-%d")
+                .build());
+    this.timer.setRemoveOnCancelPolicy(true);
+    this.workers =
+        new ThreadPoolExecutor(
+            maxThreads,
+            maxThreads,
+            WORKER_KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setDaemon(false)
+                .setNameFormat("async-table-executor-%d")
+                .build());
+    this.workers.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Register an executor to the scheduler.
+   *
+   * @param name the name of the executor, used for logging and metrics
+   * @param concurrency the max number of tasks of the executor running at the same time
+   * @param deadlineMills a task running longer than it is reported, no deadline if not positive
+   * @return the lane to schedule the tasks of the executor
+   */
+  public synchronized Lane register(String name, int concurrency, long deadlineMills) {
+    Lane lane = new Lane(name, Math.max(1, concurrency), deadlineMills);
+    lanes.add(lane);
+    return lane;
+  }
+
+  public void shutdown() {
+    timer.shutdownNow();
+    workers.shutdownNow();
+  }
+
+  /** The number of the worker threads alive. */
+  public int workerCount() {
+    return workers.getPoolSize();
+  }
+
+  private synchronized void ready(Lane lane, Task task) {
+    // The task may have been expedited already
+    if (lane.closed || !lane.removeDelayed(task)) {
+      return;
+    }
+    task.readyTime = System.currentTimeMillis();
+    lane.ready.add(task);
+    dispatch();
+  }
+
+  /** Hand the ready tasks to the workers, taking the lanes in turn. */
+  private void dispatch() {
+    while (running < maxThreads && !lanes.isEmpty()) {
+      Lane lane = null;
+      for (int i = 0; i < lanes.size(); i++) {
+        Lane candidate = lanes.get((nextLane + i) % lanes.size());
+        if (!candidate.ready.isEmpty() && candidate.running.size() < candidate.concurrency) {
+          lane = candidate;
+          nextLane = (nextLane + i + 1) % lanes.size();
+          break;
+        }
+      }
+      if (lane == null) {
+        return;
+      }
+      Task task = lane.ready.poll();
+      lane.running.add(task);
+      running++;
+      Lane runningLane = lane;
+      workers.execute(() -> run(runningLane, task));
+    }
+  }
+
+  private void run(Lane lane, Task task) {
+    long start = System.currentTimeMillis();
+    lane.queueWaitTimer.update(start - task.readyTime, TimeUnit.MILLISECONDS);
+    ScheduledFuture<?> deadline = null;
+    synchronized (this) {
+      task.thread = Thread.currentThread();
+      if (lane.closed) {
+        task.thread.interrupt();
+      }
+    }
+    if (lane.deadlineMills > 0) {
+      deadline =
+          timer.schedule(
+              () -> {
+                lane.deadlineExceeded.inc();
+                LOG.warn(
+                    "Task {} of executor {} has been running for more than {} ms",
+                    task.name,
+                    lane.name,
+                    lane.deadlineMills);
+              },
+              lane.deadlineMills,
+              TimeUnit.MILLISECONDS);
+    }
+    try {
+      task.runnable.run();
+    } catch (Throwable t) {
+      LOG.error("Failed to run task {} of executor {}", task.name, lane.name, t);
+    } finally {
+      if (deadline != null) {
+        deadline.cancel(false);
+      }
+      lane.runTimer.update(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+      synchronized (this) {
+        task.thread = null;
+        lane.running.remove(task);
+        running--;
+        dispatch();
+      }
+      // Clear the interruption of a closed lane before the worker is reused
+      Thread.interrupted();
+    }
+  }
+
+  /** The tasks of a table executor, run with the concurrency of the executor. */
+  public class Lane {
+    private final String name;
+    private final int concurrency;
+    private final long deadlineMills;
+    private final Queue<Task> ready = new ArrayDeque<>();
+    /** The delayed tasks keyed by the task name. */
+    private final Map<String, Set<Task>> delayed = new HashMap<>();
+    private final Set<Task> running = new HashSet<>();
+    private final Timer queueWaitTimer = new Timer();
+    private final Timer runTimer = new Timer();
+    private final Counter deadlineExceeded = new Counter();
+    private final List<MetricKey> metricKeys;
+    private boolean closed;
+
+    private Lane(String name, int concurrency, long deadlineMills) {
+      this.name = name;
+      this.concurrency = concurrency;
+      this.deadlineMills = deadlineMills;
+      this.metricKeys = registerMetrics();
+    }
+
+    /**
+     * Schedule a task to run after the delay.
+     *
+     * @param taskName the name of the task, e.g.: the table identifier
+     * @param runnable the task
+     * @param delayMills the delay in milliseconds
+     */
+    public void schedule(String taskName, Runnable runnable, long delayMills) {
+      Task task = new Task(taskName, runnable);
+      synchronized (TableExecutorScheduler.this) {
+        if (closed) {
+          return;
+        }
+        delayed.computeIfAbsent(taskName, name -> new HashSet<>()).add(task);
+        task.future =
+            timer.schedule(
+                () -> ready(this, task), Math.max(0, delayMills), TimeUnit.MILLISECONDS);
+      }
+    }
+
+    /**
+     * Run the delayed task of the name as soon as a worker is available.
+     *
+     * @param taskName the name of the task
+     * @return false if there is no delayed task of the name, e.g.: it is running
+     */
+    public boolean expedite(String taskName) {
+      synchronized (TableExecutorScheduler.this) {
+        Set<Task> tasks = delayed.get(taskName);
+        if (tasks == null) {
+          return false;
+        }
+        Task task = tasks.iterator().next();
+        task.future.cancel(false);
+        ready(this, task);
+        return true;
+      }
+    }
+
+    /** Drop the waiting tasks and interrupt the running tasks, like shutting down a pool. */
+    public void close() {
+      synchronized (TableExecutorScheduler.this) {
+        if (closed) {
+          return;
+        }
+        closed = true;
+        lanes.remove(this);
+        nextLane = 0;
+        ready.clear();
+        delayed.values().forEach(tasks -> tasks.forEach(task -> task.future.cancel(false)));
+        delayed.clear();
+        running.stream()
+            .filter(task -> task.thread != null)
+            .forEach(task -> task.thread.interrupt());
+      }
+      MetricRegistry registry = registry();
+      metricKeys.forEach(registry::unregister);
+    }
+
+    private boolean removeDelayed(Task task) {
+      Set<Task> tasks = delayed.get(task.name);
+      if (tasks == null || !tasks.remove(task)) {
+        return false;
+      }
+      if (tasks.isEmpty()) {
+        delayed.remove(task.name);
+      }
+      return true;
+    }
+
+    private List<MetricKey> registerMetrics() {
+      try {
+        return ServerMetrics.registerTableExecutor(
+            registry(), name, queueWaitTimer, runTimer, deadlineExceeded, this::queued);
+      } catch (IllegalArgumentException e) {
+        // Another executor with the same name is not disposed yet
+        LOG.warn("Metrics of table executor {} have been registered, skip them", name);
+        return Collections.emptyList();
+      }
+    }
+
+    private int queued() {
+      synchronized (TableExecutorScheduler.this) {
+        return ready.size();
+      }
+    }
+  }
+
+  private static MetricRegistry registry() {
+    return MetricManager.getInstance().getGlobalRegistry();
+  }
+
+  private static class Task {
+    private final String name;
+    private final Runnable runnable;
+    private ScheduledFuture<?> future;
+    private long readyTime;
+    private Thread thread;
+
+    private Task(String name, Runnable runnable) {
+      this.name = name;
+      this.runnable = runnable;
+    }
+  }
+}
@@ -19,22 +19,48 @@
 package com.netease.arctic.server.table.executor;
 
 import com.netease.arctic.AmoroTable;
+import com.netease.arctic.api.ServerTableIdentifier;
 import com.netease.arctic.api.config.TableConfiguration;
 import com.netease.arctic.server.optimizing.OptimizingProcess;
+import com.netease.arctic.server.optimizing.OptimizingStatus;
 import com.netease.arctic.server.optimizing.plan.OptimizingEvaluator;
 import com.netease.arctic.server.table.TableManager;
 import com.netease.arctic.server.table.TableRuntime;
 import com.netease.arctic.table.ArcticTable;
 
-/** Service for expiring tables periodically. */
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for refreshing table runtimes.
+ *
+ * <p>The tables are refreshed periodically. The changes committed through AMS or reported to AMS
+ * trigger refreshing the table at once, and the tables whose changes have been notified are polled
+ * with the longer notified interval only in case of the changes not notified. Once a poll finds a
+ * change that was not notified, the table is polled with the regular interval again. A table is
+ * also refreshed at once when its optimizing becomes idle, since the changes notified during the
+ * optimizing were not evaluated.
+ */
 public class TableRuntimeRefreshExecutor extends BaseTableExecutor {
 
   // 1 minutes
   private final long interval;
+  private final long notifiedInterval;
+  private final TableManager tableManager;
+  private final Set<ServerTableIdentifier> notifiedTables = ConcurrentHashMap.newKeySet();
+  /** The tables notified but not refreshed yet. */
+  private final Set<ServerTableIdentifier> pendingNotifications = ConcurrentHashMap.newKeySet();
 
   public TableRuntimeRefreshExecutor(TableManager tableRuntimes, int poolSize, long interval) {
+    this(tableRuntimes, poolSize, interval, interval);
+  }
+
+  public TableRuntimeRefreshExecutor(
+      TableManager tableRuntimes, int poolSize, long interval, long notifiedInterval) {
     super(tableRuntimes, poolSize);
+    this.tableManager = tableRuntimes;
     this.interval = interval;
+    this.notifiedInterval = Math.max(interval, notifiedInterval);
   }
 
   @Override
@@ -43,7 +69,10 @@ public class TableRuntimeRefreshExecutor extends BaseTableExecutor {
   }
 
   protected long getNextExecutingTime(TableRuntime tableRuntime) {
-    return Math.min(tableRuntime.getOptimizingConfig().getMinorLeastInterval() * 4L / 5, interval);
+    long pollInterval =
+        notifiedTables.contains(tableRuntime.getTableIdentifier()) ? notifiedInterval : interval;
+    return Math.min(
+        tableRuntime.getOptimizingConfig().getMinorLeastInterval() * 4L / 5, pollInterval);
   }
 
   private void tryEvaluatingPendingInput(TableRuntime tableRuntime, ArcticTable table) {
@@ -60,6 +89,37 @@ public class TableRuntimeRefreshExecutor extends BaseTableExecutor {
     }
   }
 
+  /**
+   * Refresh the table at once since it has been changed.
+   *
+   * @param identifier the identifier of the changed table
+   */
+  public void tableChanged(ServerTableIdentifier identifier) {
+    TableRuntime tableRuntime = tableManager.getRuntime(identifier);
+    if (tableRuntime == null) {
+      return;
+    }
+    notifiedTables.add(identifier);
+    pendingNotifications.add(identifier);
+    trigger(tableRuntime);
+  }
+
+  @Override
+  public void handleStatusChanged(TableRuntime tableRuntime, OptimizingStatus originalStatus) {
+    // The changes notified while optimizing were not evaluated, evaluate them at once
+    if (originalStatus.isProcessing()
+        && tableRuntime.getOptimizingStatus() == OptimizingStatus.IDLE) {
+      trigger(tableRuntime);
+    }
+  }
+
+  @Override
+  public void handleTableRemoved(TableRuntime tableRuntime) {
+    super.handleTableRemoved(tableRuntime);
+    notifiedTables.remove(tableRuntime.getTableIdentifier());
+    pendingNotifications.remove(tableRuntime.getTableIdentifier());
+  }
+
   @Override
   public void handleConfigChanged(TableRuntime tableRuntime, TableConfiguration originalConfig) {
     // After disabling self-optimizing, close the currently running optimizing process.
@@ -75,11 +135,21 @@ public class TableRuntimeRefreshExecutor extends BaseTableExecutor {
 
   @Override
   public void execute(TableRuntime tableRuntime) {
+    ServerTableIdentifier identifier = tableRuntime.getTableIdentifier();
+    boolean notified = pendingNotifications.remove(identifier);
     try {
       long lastOptimizedSnapshotId = tableRuntime.getLastOptimizedSnapshotId();
       long lastOptimizedChangeSnapshotId = tableRuntime.getLastOptimizedChangeSnapshotId();
+      long lastSnapshotId = tableRuntime.getCurrentSnapshotId();
+      long lastChangeSnapshotId = tableRuntime.getCurrentChangeSnapshotId();
       AmoroTable<?> table = loadTable(tableRuntime);
       tableRuntime.refresh(table);
+      if (!notified
+          && (lastSnapshotId != tableRuntime.getCurrentSnapshotId()
+              || lastChangeSnapshotId != tableRuntime.getCurrentChangeSnapshotId())) {
+        // The table is also changed by the writers not notifying AMS
+        notifiedTables.remove(identifier);
+      }
       ArcticTable arcticTable = (ArcticTable) table.originalTable();
       if ((arcticTable.isKeyedTable()
               && (lastOptimizedSnapshotId != tableRuntime.getCurrentSnapshotId()
@@ -89,7 +159,7 @@ public class TableRuntimeRefreshExecutor extends BaseTableExecutor {
         tryEvaluatingPendingInput(tableRuntime, arcticTable);
       }
     } catch (Throwable throwable) {
-      logger.error("Refreshing table {} failed.", tableRuntime.getTableIdentifier(), throwable);
+      logger.error("Refreshing table {} failed.", identifier, throwable);
     }
   }
 }
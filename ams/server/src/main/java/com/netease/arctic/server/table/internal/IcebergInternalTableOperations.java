@@ -24,6 +24,7 @@ import static com.netease.arctic.server.table.internal.InternalTableConstants.PR
 import com.netease.arctic.api.ServerTableIdentifier;
 import com.netease.arctic.server.persistence.PersistentBase;
 import com.netease.arctic.server.persistence.mapper.TableMetaMapper;
+import com.netease.arctic.server.table.executor.AsyncTableExecutors;
 import com.netease.arctic.server.utils.InternalTableUtil;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.iceberg.LocationProviders;
@@ -35,6 +36,8 @@ import org.apache.iceberg.io.FileIO;
 import org.apache.iceberg.io.LocationProvider;
 import org.apache.iceberg.io.OutputFile;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Map;
 import java.util.Objects;
@@ -43,6 +46,7 @@ import java.util.concurrent.atomic.AtomicReference;
 
 /** Iceberg table operations {@link TableOperations} */
 public class IcebergInternalTableOperations extends PersistentBase implements TableOperations {
+  private static final Logger LOG = LoggerFactory.getLogger(IcebergInternalTableOperations.class);
 
   private final ServerTableIdentifier identifier;
 
@@ -81,7 +85,13 @@ public class IcebergInternalTableOperations extends PersistentBase implements Ta
     if (StringUtils.isBlank(metadataFileLocation)) {
       return null;
     }
-    this.current = TableMetadataParser.read(io, metadataFileLocation);
+    if (this.current != null
+        && metadataFileLocation.equals(this.current.metadataFileLocation())) {
+      return this.current;
+    }
+    this.current =
+        InternalTableMetadataCache.getInstance()
+            .get(metadataFileLocation, location -> TableMetadataParser.read(io, location));
     return this.current;
   }
 
@@ -102,18 +112,31 @@ public class IcebergInternalTableOperations extends PersistentBase implements Ta
 
     String newMetadataFileLocation = InternalTableUtil.genNewMetadataFileLocation(base, metadata);
 
+    boolean committed = false;
     try {
       commitTableInternal(tableMetadata, base, metadata, newMetadataFileLocation);
       com.netease.arctic.server.table.TableMetadata updatedMetadata = doCommit();
       checkCommitSuccess(updatedMetadata, newMetadataFileLocation);
+      committed = true;
     } catch (Exception e) {
       io.deleteFile(newMetadataFileLocation);
     } finally {
       this.tableMetadata = null;
     }
+    if (committed) {
+      notifyTableChanged();
+    }
     refresh();
   }
 
+  private void notifyTableChanged() {
+    try {
+      AsyncTableExecutors.getInstance().notifyTableChanged(identifier);
+    } catch (Exception e) {
+      LOG.warn("Failed to notify the change of table {}", identifier, e);
+    }
+  }
+
   @Override
   public FileIO io() {
     return this.io;
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.table.internal;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.netease.arctic.api.config.Configurations;
+import com.netease.arctic.server.ArcticManagementConf;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.TableMetadata;
+import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Parsed metadata of the internal tables keyed by the metadata file location. Metadata files are
+ * immutable and every commit writes a new file with a unique name, so an entry never goes stale and
+ * the table operations created per request don't have to read and parse the same file again.
+ *
+ * <p>The cache is bounded by the estimated memory size of the metadata, since the metadata of a
+ * table with a long history could be much larger than the others.
+ */
+public class InternalTableMetadataCache {
+
+  private static final long BASE_WEIGHT = 1024;
+  private static final long SNAPSHOT_WEIGHT = 1024;
+  private static final long LOG_ENTRY_WEIGHT = 128;
+  private static final long FIELD_WEIGHT = 128;
+  private static final long PROPERTY_WEIGHT = 128;
+
+  private static volatile InternalTableMetadataCache instance =
+      new InternalTableMetadataCache(
+          ArcticManagementConf.TABLE_METADATA_CACHE_MAX_MEMORY_SIZE.defaultValue(),
+          ArcticManagementConf.TABLE_METADATA_CACHE_EXPIRE_AFTER_ACCESS.defaultValue());
+
+  private final Cache<String, TableMetadata> cache;
+
+  @VisibleForTesting
+  InternalTableMetadataCache(long maxMemorySize, Duration expireAfterAccess) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumWeight(maxMemorySize)
+            .weigher(
+                (String location, TableMetadata metadata) ->
+                    (int) Math.min(Integer.MAX_VALUE, estimatedSize(metadata)))
+            .expireAfterAccess(expireAfterAccess)
+            .build();
+  }
+
+  public static InternalTableMetadataCache getInstance() {
+    return instance;
+  }
+
+  public static void setup(Configurations conf) {
+    instance =
+        new InternalTableMetadataCache(
+            conf.getLong(ArcticManagementConf.TABLE_METADATA_CACHE_MAX_MEMORY_SIZE),
+            conf.get(ArcticManagementConf.TABLE_METADATA_CACHE_EXPIRE_AFTER_ACCESS));
+  }
+
+  public TableMetadata get(String location, Function<String, TableMetadata> parser) {
+    return cache.get(location, parser);
+  }
+
+  @VisibleForTesting
+  void cleanUp() {
+    cache.cleanUp();
+  }
+
+  @VisibleForTesting
+  long weightedSize() {
+    return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+  }
+
+  /** Estimate the memory size of the metadata by the numbers of its parts. */
+  static long estimatedSize(TableMetadata metadata) {
+    long size = BASE_WEIGHT;
+    size += SNAPSHOT_WEIGHT * metadata.snapshots().size();
+    size += LOG_ENTRY_WEIGHT * (metadata.snapshotLog().size() + metadata.previousFiles().size());
+    for (Schema schema : metadata.schemas()) {
+      size += FIELD_WEIGHT * schema.highestFieldId();
+    }
+    size += FIELD_WEIGHT * (metadata.specs().size() + metadata.sortOrders().size());
+    size += PROPERTY_WEIGHT * metadata.properties().size();
+    return size;
+  }
+}
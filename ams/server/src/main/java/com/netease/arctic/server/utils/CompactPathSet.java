@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.utils;
+
+import org.apache.iceberg.relocated.com.google.common.collect.Iterators;
+
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A set of file paths grouped by their parent directories.
+ *
+ * <p>The files of a table are located in a limited number of directories, so each directory is
+ * only stored once and the files only keep their names, which takes much less memory than keeping
+ * all the full paths for tables with millions of files. It is not thread-safe for writing, but
+ * could be read concurrently once built.
+ */
+public class CompactPathSet extends AbstractSet<String> {
+
+  private final Map<String, Set<String>> namesByParent = new HashMap<>();
+  private int size;
+
+  @Override
+  public boolean add(String path) {
+    int index = path.lastIndexOf('/') + 1;
+    Set<String> names =
+        namesByParent.computeIfAbsent(path.substring(0, index), parent -> new HashSet<>());
+    if (names.add(path.substring(index))) {
+      size++;
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    if (!(o instanceof String)) {
+      return false;
+    }
+    String path = (String) o;
+    int index = path.lastIndexOf('/') + 1;
+    Set<String> names = namesByParent.get(path.substring(0, index));
+    return names != null && names.contains(path.substring(index));
+  }
+
+  @Override
+  public Iterator<String> iterator() {
+    return Iterators.unmodifiableIterator(
+        Iterators.concat(
+            Iterators.transform(
+                namesByParent.entrySet().iterator(),
+                entry ->
+                    Iterators.transform(
+                        entry.getValue().iterator(), name -> entry.getKey() + name))));
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+}
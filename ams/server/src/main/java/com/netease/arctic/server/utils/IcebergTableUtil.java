@@ -88,7 +88,7 @@ public class IcebergTableUtil {
   }
 
   public static Set<String> getAllContentFilePath(Table internalTable) {
-    Set<String> validFilesPath = new HashSet<>();
+    Set<String> validFilesPath = new CompactPathSet();
 
     TableEntriesScan entriesScan =
         TableEntriesScan.builder(internalTable)
@@ -26,6 +26,7 @@ import com.netease.arctic.api.OptimizerRegisterInfo;
 import com.netease.arctic.api.OptimizingTask;
 import com.netease.arctic.api.OptimizingTaskId;
 import com.netease.arctic.api.OptimizingTaskResult;
+import com.netease.arctic.api.config.Configurations;
 import com.netease.arctic.catalog.BasicCatalogTestHelper;
 import com.netease.arctic.catalog.CatalogTestHelper;
 import com.netease.arctic.io.MixedDataTestHelpers;
@@ -36,6 +37,8 @@ import com.netease.arctic.server.exception.PluginRetryAuthException;
 import com.netease.arctic.server.optimizing.OptimizingProcess;
 import com.netease.arctic.server.optimizing.OptimizingStatus;
 import com.netease.arctic.server.optimizing.TaskRuntime;
+import com.netease.arctic.server.persistence.PersistentBase;
+import com.netease.arctic.server.persistence.mapper.OptimizerMapper;
 import com.netease.arctic.server.resource.OptimizerInstance;
 import com.netease.arctic.server.table.AMSTableTestBase;
 import com.netease.arctic.server.table.TableRuntime;
@@ -56,8 +59,10 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @RunWith(Parameterized.class)
 public class TestDefaultOptimizingService extends AMSTableTestBase {
@@ -231,7 +236,8 @@ public class TestDefaultOptimizingService extends AMSTableTestBase {
     Assertions.assertThrows(PluginRetryAuthException.class, () -> optimizingService().touch(token));
     Assertions.assertThrows(
         PluginRetryAuthException.class, () -> optimizingService().pollTask(token, THREAD_ID));
-    assertTaskStatus(TaskRuntime.Status.SCHEDULED);
+    // the tasks of the expired optimizer are recovered once it expires
+    assertTaskStatus(TaskRuntime.Status.PLANNED);
     token = optimizingService().authenticate(buildRegisterInfo());
     toucher = new Toucher();
     Thread.sleep(1000);
@@ -240,6 +246,83 @@ public class TestDefaultOptimizingService extends AMSTableTestBase {
     Assertions.assertEquals(task2, task);
   }
 
+  @Test
+  public void testTouchTimePersistedByKeeper() throws InterruptedException {
+    OptimizerInstance optimizer = optimizingService().listOptimizers().get(0);
+    long persistedTouchTime = persistedTouchTime(token);
+    Thread.sleep(1);
+    optimizingService().touch(token);
+    // the lease is renewed in memory only
+    Assertions.assertTrue(optimizer.getTouchTime() > persistedTouchTime);
+    Assertions.assertEquals(persistedTouchTime, persistedTouchTime(token));
+
+    // and persisted once the keeper checks the optimizer
+    Thread.sleep(1000);
+    Assertions.assertTrue(persistedTouchTime(token) > persistedTouchTime);
+  }
+
+  @Test
+  public void testRetryUnackedTask() throws InterruptedException {
+    Configurations configurations = new Configurations();
+    configurations.set(ArcticManagementConf.OPTIMIZER_TASK_ACK_TIMEOUT, 200L);
+    reload(configurations);
+    try {
+      OptimizingTask task = optimizingService().pollTask(token, THREAD_ID);
+      Assertions.assertNotNull(task);
+      Assertions.assertEquals(1, optimizingService().getHeldTasks(token).size());
+
+      // the task is retried when the keeper checks the optimizer holding it
+      Thread.sleep(1000);
+      assertTaskStatus(TaskRuntime.Status.PLANNED);
+      Assertions.assertTrue(optimizingService().getHeldTasks(token).isEmpty());
+      Assertions.assertEquals(task, optimizingService().pollTask(token, THREAD_ID));
+    } finally {
+      reload();
+    }
+  }
+
+  @Test
+  public void testRetryHeldTasksOfExpiredOptimizer() throws InterruptedException {
+    OptimizerRegisterInfo registerInfo = buildRegisterInfo();
+    registerInfo.setResourceId("expiring");
+    String expiringToken = optimizingService().authenticate(registerInfo);
+    OptimizingTask task = optimizingService().pollTask(expiringToken, THREAD_ID);
+    Assertions.assertNotNull(task);
+    Assertions.assertEquals(1, optimizingService().getHeldTasks(expiringToken).size());
+    Assertions.assertTrue(optimizingService().getHeldTasks(token).isEmpty());
+
+    // the optimizer never touches, its tasks are retried as soon as it is unregistered
+    Thread.sleep(1000);
+    Assertions.assertNull(optimizingService().getHeldTasks(expiringToken));
+    assertTaskStatus(TaskRuntime.Status.PLANNED);
+    Assertions.assertEquals(task, optimizingService().pollTask(token, THREAD_ID));
+    Assertions.assertEquals(1, optimizingService().getHeldTasks(token).size());
+  }
+
+  @Test
+  public void testReloadLeasesAndHeldTasks() throws InterruptedException {
+    OptimizingTask task = optimizingService().pollTask(token, THREAD_ID);
+    Assertions.assertNotNull(task);
+    long reloadTime = System.currentTimeMillis();
+    reload();
+
+    // the loaded optimizer gets a full timeout to touch again, and holds its task again
+    OptimizerInstance optimizer = optimizingService().listOptimizers().get(0);
+    Assertions.assertTrue(optimizer.getTouchTime() >= reloadTime);
+    Assertions.assertEquals(
+        Collections.singleton(task.getTaskId()),
+        optimizingService().getHeldTasks(token).stream()
+            .map(TaskRuntime::getTaskId)
+            .collect(Collectors.toSet()));
+    assertTaskStatus(TaskRuntime.Status.SCHEDULED);
+
+    // the completed task is dropped when the keeper checks the optimizer
+    optimizingService().ackTask(token, THREAD_ID, task.getTaskId());
+    optimizingService().completeTask(token, buildOptimizingTaskResult(task.getTaskId()));
+    Thread.sleep(1000);
+    Assertions.assertTrue(optimizingService().getHeldTasks(token).isEmpty());
+  }
+
   @Test
   public void testRebootAndPoll() throws InterruptedException {
     OptimizingTask task = optimizingService().pollTask(token, THREAD_ID);
@@ -254,6 +337,29 @@ public class TestDefaultOptimizingService extends AMSTableTestBase {
     Assertions.assertEquals(task2.getTaskId(), task.getTaskId());
   }
 
+  @Test
+  public void testUnregisterOptimizerWhilePolling() throws InterruptedException {
+    for (int i = 0; i < 20; i++) {
+      OptimizerRegisterInfo registerInfo = buildRegisterInfo();
+      registerInfo.setResourceId("polling");
+      String pollingToken = optimizingService().authenticate(registerInfo);
+      Thread poller =
+          new Thread(
+              () -> {
+                try {
+                  optimizingService().pollTask(pollingToken, THREAD_ID);
+                } catch (PluginRetryAuthException e) {
+                  // the optimizer has been unregistered before polling
+                }
+              });
+      poller.start();
+      optimizingService().deleteOptimizer(defaultResourceGroup().getName(), "polling");
+      poller.join();
+      // the task polled by the unregistered optimizer is never left scheduled
+      assertTaskStatus(TaskRuntime.Status.PLANNED);
+    }
+  }
+
   @Test
   public void testAckAndCompleteTask() {
     OptimizingTask task = optimizingService().pollTask(token, THREAD_ID);
@@ -394,12 +500,20 @@ public class TestDefaultOptimizingService extends AMSTableTestBase {
   }
 
   protected void reload() {
+    reload(new Configurations());
+  }
+
+  private void reload(Configurations configurations) {
     disposeTableService();
     toucher.suspend();
-    initTableService();
+    initTableService(configurations);
     toucher.goOn();
   }
 
+  private long persistedTouchTime(String token) {
+    return new OptimizerReader().getTouchTime(token);
+  }
+
   protected void reboot() throws InterruptedException {
     disposeTableService();
     toucher.stop();
@@ -419,6 +533,17 @@ public class TestDefaultOptimizingService extends AMSTableTestBase {
     }
   }
 
+  private static class OptimizerReader extends PersistentBase {
+
+    long getTouchTime(String token) {
+      return getAs(OptimizerMapper.class, OptimizerMapper::selectAll).stream()
+          .filter(optimizer -> token.equals(optimizer.getToken()))
+          .findFirst()
+          .map(OptimizerInstance::getTouchTime)
+          .orElseThrow(() -> new IllegalStateException("Optimizer not persisted: " + token));
+    }
+  }
+
   private class Toucher implements Runnable {
 
     private volatile boolean stop = false;
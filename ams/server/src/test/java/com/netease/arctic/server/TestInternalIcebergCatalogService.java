@@ -50,6 +50,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -154,6 +156,38 @@ public class TestInternalIcebergCatalogService extends RestCatalogServiceTestBas
       Assertions.assertFalse(nsCatalog.tableExists(identifier));
     }
 
+    @Test
+    public void testLoadTableWithETag() throws IOException {
+      Table tbl = nsCatalog.createTable(identifier, schema);
+      HttpURLConnection connection = openLoadTable(null);
+      Assertions.assertEquals(200, connection.getResponseCode());
+      String etag = connection.getHeaderField("ETag");
+      Assertions.assertNotNull(etag);
+
+      connection = openLoadTable(etag);
+      Assertions.assertEquals(304, connection.getResponseCode());
+      Assertions.assertEquals(etag, connection.getHeaderField("ETag"));
+
+      tbl.updateProperties().set("k1", "v1").commit();
+      connection = openLoadTable(etag);
+      Assertions.assertEquals(200, connection.getResponseCode());
+      Assertions.assertNotEquals(etag, connection.getHeaderField("ETag"));
+      Assertions.assertEquals("v1", nsCatalog.loadTable(identifier).properties().get("k1"));
+    }
+
+    private HttpURLConnection openLoadTable(String ifNoneMatch) throws IOException {
+      URL url =
+          new URL(
+              String.format(
+                  "%s%s/v1/catalogs/%s/namespaces/%s/tables/%s",
+                  ams.getHttpUrl(), restCatalogUri, catalogName(), database, table));
+      HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+      if (ifNoneMatch != null) {
+        connection.setRequestProperty("If-None-Match", ifNoneMatch);
+      }
+      return connection;
+    }
+
     @Test
     public void testTableWriteAndCommit() throws IOException {
       Table tbl = nsCatalog.createTable(identifier, schema);
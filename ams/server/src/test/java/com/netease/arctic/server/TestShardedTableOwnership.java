@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server;
+
+import com.netease.arctic.client.AmsServerInfo;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.retry.ExponentialBackoffRetry;
+import org.apache.curator.test.TestingServer;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+
+public class TestShardedTableOwnership {
+
+  private static final String NODES_PATH = "/test/arctic/ams/optimizing-service-nodes";
+  private static final long RELEASE_TIMEOUT = 500;
+
+  private TestingServer server;
+  private CuratorFramework zkClient;
+
+  @BeforeEach
+  public void startZookeeper() throws Exception {
+    server = new TestingServer(true);
+    zkClient =
+        CuratorFrameworkFactory.newClient(
+            server.getConnectString(), new ExponentialBackoffRetry(1000, 3));
+    zkClient.start();
+  }
+
+  @AfterEach
+  public void stopZookeeper() throws Exception {
+    zkClient.close();
+    server.close();
+  }
+
+  @Test
+  public void testOwnerOf() {
+    List<String> nodes = Lists.newArrayList("host1:1261", "host2:1261", "host3:1261");
+    List<String> remainingNodes = Lists.newArrayList("host1:1261", "host3:1261");
+    int[] ownedTables = new int[nodes.size()];
+    for (long tableId = 0; tableId < 3000; tableId++) {
+      String owner = ShardedTableOwnership.ownerOf(tableId, nodes);
+      ownedTables[nodes.indexOf(owner)]++;
+      // Only the tables of the left node move
+      if (!owner.equals("host2:1261")) {
+        Assertions.assertEquals(owner, ShardedTableOwnership.ownerOf(tableId, remainingNodes));
+      }
+    }
+    for (int owned : ownedTables) {
+      Assertions.assertTrue(owned > 800, "The tables are not balanced");
+    }
+    Assertions.assertNull(ShardedTableOwnership.ownerOf(1L, Lists.newArrayList()));
+  }
+
+  @Test
+  public void testNodesChanged() throws Exception {
+    ShardedTableOwnership first = newOwnership("host1", () -> true);
+    ShardedTableOwnership second = newOwnership("host2", () -> false);
+    AtomicInteger changedTimes = new AtomicInteger();
+    first.start();
+    first.addListener(changedTimes::incrementAndGet);
+    waitUntil(() -> LongStream.range(0, 100).allMatch(first::owns));
+    Assertions.assertTrue(first.isCoordinator());
+    Assertions.assertFalse(second.isCoordinator());
+
+    second.start();
+    waitUntil(() -> first.getNodes().size() == 2);
+    Assertions.assertEquals(first.getNodes(), second.getNodes());
+    Assertions.assertTrue(changedTimes.get() > 0);
+    waitUntil(
+        () ->
+            LongStream.range(0, 100)
+                .allMatch(tableId -> first.owns(tableId) != second.owns(tableId)));
+
+    second.stop();
+    waitUntil(() -> first.getNodes().size() == 1);
+    Assertions.assertFalse(LongStream.range(0, 100).anyMatch(second::owns));
+    waitUntil(() -> LongStream.range(0, 100).allMatch(first::owns));
+    first.stop();
+  }
+
+  @Test
+  public void testWaitForRelease() throws Exception {
+    ShardedTableOwnership first = newOwnership("host1", () -> true);
+    ShardedTableOwnership second = newOwnership("host2", () -> false);
+    first.start();
+    waitUntil(() -> LongStream.range(0, 100).allMatch(first::owns));
+
+    // The joined node takes over its tables only after the release timeout
+    long joinTime = System.currentTimeMillis();
+    second.start();
+    waitUntil(() -> first.getNodes().size() == 2);
+    boolean takenOver = LongStream.range(0, 100).anyMatch(second::owns);
+    Assertions.assertTrue(!takenOver || System.currentTimeMillis() - joinTime >= RELEASE_TIMEOUT);
+    // The previous owner gives them up at once
+    Assertions.assertTrue(
+        LongStream.range(0, 100).noneMatch(tableId -> first.owns(tableId) && second.owns(tableId)));
+    waitUntil(() -> LongStream.range(0, 100).anyMatch(second::owns));
+    second.stop();
+    first.stop();
+  }
+
+  @Test
+  public void testSuspend() throws Exception {
+    ShardedTableOwnership ownership = newOwnership("host1", () -> true);
+    AtomicInteger changedTimes = new AtomicInteger();
+    ownership.start();
+    ownership.addListener(changedTimes::incrementAndGet);
+    waitUntil(() -> LongStream.range(0, 100).allMatch(ownership::owns));
+
+    int lastChangedTimes = changedTimes.get();
+    ownership.suspend();
+    Assertions.assertFalse(LongStream.range(0, 100).anyMatch(ownership::owns));
+    Assertions.assertEquals(lastChangedTimes + 1, changedTimes.get());
+
+    ownership.resume();
+    Assertions.assertTrue(LongStream.range(0, 100).allMatch(ownership::owns));
+    Assertions.assertEquals(lastChangedTimes + 2, changedTimes.get());
+    ownership.stop();
+  }
+
+  private ShardedTableOwnership newOwnership(String host, BooleanSupplier coordinator) {
+    AmsServerInfo serverInfo = new AmsServerInfo();
+    serverInfo.setHost(host);
+    serverInfo.setThriftBindPort(1261);
+    return new ShardedTableOwnership(
+        zkClient, NODES_PATH, serverInfo, coordinator, RELEASE_TIMEOUT);
+  }
+
+  private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10000;
+    while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(50);
+    }
+    Assertions.assertTrue(condition.getAsBoolean());
+  }
+}
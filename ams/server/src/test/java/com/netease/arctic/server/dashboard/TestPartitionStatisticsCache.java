@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.dashboard;
+
+import com.netease.arctic.data.DataFileType;
+import com.netease.arctic.server.dashboard.model.PartitionBaseInfo;
+import com.netease.arctic.server.dashboard.model.PartitionFileBaseInfo;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.hadoop.HadoopTables;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.types.Types;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class TestPartitionStatisticsCache {
+
+  private static final Schema SCHEMA =
+      new Schema(
+          Types.NestedField.required(1, "id", Types.IntegerType.get()),
+          Types.NestedField.required(2, "p", Types.StringType.get()));
+
+  private static final PartitionSpec SPEC = PartitionSpec.builderFor(SCHEMA).identity("p").build();
+
+  @TempDir private File tableDir;
+
+  @Test
+  public void testIncrementalUpdate() {
+    Table table =
+        new HadoopTables(new Configuration()).create(SCHEMA, SPEC, tableDir.toURI().toString());
+    PartitionStatisticsCache cache = new PartitionStatisticsCache(10, Duration.ofMinutes(1));
+    AtomicInteger fullScanTimes = new AtomicInteger();
+    Function<Table, CloseableIterable<PartitionFileBaseInfo>> fullScan =
+        t -> {
+          fullScanTimes.incrementAndGet();
+          return CloseableIterable.transform(t.newScan().planFiles(), this::toFileInfo);
+        };
+
+    Assertions.assertTrue(cache.get(table, fullScan).isEmpty());
+
+    DataFile file1 = dataFile("p=a", 10);
+    DataFile file2 = dataFile("p=a", 20);
+    DataFile file3 = dataFile("p=b", 30);
+    table.newAppend().appendFile(file1).appendFile(file2).commit();
+    Map<String, PartitionBaseInfo> partitions = cache.get(table, fullScan);
+    Assertions.assertEquals(1, fullScanTimes.get());
+    assertPartition(partitions.get("p=a"), 2, 30);
+
+    table.newAppend().appendFile(file3).commit();
+    table.newDelete().deleteFile(file1).commit();
+    partitions = cache.get(table, fullScan);
+    Assertions.assertEquals(1, fullScanTimes.get());
+    Assertions.assertEquals(2, partitions.size());
+    assertPartition(partitions.get("p=a"), 1, 20);
+    assertPartition(partitions.get("p=b"), 1, 30);
+    Assertions.assertEquals(
+        partitions.get("p=b").getLastCommitTime(),
+        table.snapshot(table.currentSnapshot().parentId()).timestampMillis());
+
+    table.newDelete().deleteFile(file3).commit();
+    partitions = cache.get(table, fullScan);
+    Assertions.assertEquals(1, fullScanTimes.get());
+    Assertions.assertFalse(partitions.containsKey("p=b"));
+
+    // rollback makes the cached snapshot not an ancestor of the current one
+    long rollbackTo = table.currentSnapshot().parentId();
+    table.manageSnapshots().rollbackTo(rollbackTo).commit();
+    partitions = cache.get(table, fullScan);
+    Assertions.assertEquals(2, fullScanTimes.get());
+    assertPartition(partitions.get("p=b"), 1, 30);
+  }
+
+  private DataFile dataFile(String partition, long size) {
+    return DataFiles.builder(SPEC)
+        .withPath(tableDir.getPath() + "/data/" + partition + "/" + size + ".parquet")
+        .withPartitionPath(partition)
+        .withFileSizeInBytes(size)
+        .withRecordCount(1)
+        .build();
+  }
+
+  private PartitionFileBaseInfo toFileInfo(FileScanTask task) {
+    DataFile file = task.file();
+    return new PartitionFileBaseInfo(
+        null,
+        DataFileType.BASE_FILE,
+        0L,
+        SPEC.partitionToPath(file.partition()),
+        file.specId(),
+        file.path().toString(),
+        file.fileSizeInBytes());
+  }
+
+  private void assertPartition(PartitionBaseInfo partition, long fileCount, long fileSize) {
+    Assertions.assertNotNull(partition);
+    Assertions.assertEquals(fileCount, partition.getFileCount());
+    Assertions.assertEquals(fileSize, partition.getFileSize());
+  }
+}
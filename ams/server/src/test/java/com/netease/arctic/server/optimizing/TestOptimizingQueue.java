@@ -41,6 +41,7 @@ import com.netease.arctic.api.resource.ResourceGroup;
 import com.netease.arctic.catalog.BasicCatalogTestHelper;
 import com.netease.arctic.catalog.CatalogTestHelper;
 import com.netease.arctic.io.MixedDataTestHelpers;
+import com.netease.arctic.op.SnapshotSummary;
 import com.netease.arctic.optimizing.RewriteFilesOutput;
 import com.netease.arctic.optimizing.TableOptimizing;
 import com.netease.arctic.server.manager.MetricManager;
@@ -57,6 +58,7 @@ import com.netease.arctic.table.UnkeyedTable;
 import com.netease.arctic.utils.SerializationUtil;
 import org.apache.iceberg.AppendFiles;
 import org.apache.iceberg.DataFile;
+import org.apache.iceberg.Snapshot;
 import org.apache.iceberg.data.Record;
 import org.apache.iceberg.relocated.com.google.common.collect.ImmutableMap;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
@@ -69,7 +71,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 @RunWith(Parameterized.class)
@@ -234,6 +238,110 @@ public class TestOptimizingQueue extends AMSTableTestBase {
     queue.dispose();
   }
 
+  @Test
+  public void testRecoverProcess() {
+    TableRuntimeMeta tableRuntimeMeta = initTableWithFiles();
+    OptimizingQueue queue = buildOptimizingGroupService(tableRuntimeMeta);
+    TaskRuntime task = queue.pollTask(MAX_POLLING_TIME);
+    Assert.assertNotNull(task);
+    TableRuntime tableRuntime = tableRuntimeMeta.getTableRuntime();
+    OptimizingProcess process = tableRuntime.getOptimizingProcess();
+    queue.dispose();
+
+    // Recover the process as AMS taking over does
+    TableRuntimeMeta recoveringMeta =
+        newTableRuntimeMeta(tableRuntime.getOptimizingStatus(), defaultResourceGroup());
+    recoveringMeta.setOptimizingProcessId(process.getProcessId());
+    recoveringMeta.setOptimizingType(process.getOptimizingType());
+    recoveringMeta.setTargetSnapshotId(process.getTargetSnapshotId());
+    recoveringMeta.setPlanTime(process.getPlanTime());
+    recoveringMeta.constructTableRuntime(tableService());
+    ExecutorService recoveryExecutor = Executors.newFixedThreadPool(2);
+    OptimizingQueue recoveredQueue =
+        new OptimizingQueue(
+            tableService(),
+            testResourceGroup(),
+            quotaProvider,
+            planExecutor,
+            Collections.singletonList(recoveringMeta),
+            1,
+            recoveryExecutor);
+    recoveryExecutor.shutdown();
+    Assert.assertEquals(
+        process.getProcessId(),
+        recoveringMeta.getTableRuntime().getOptimizingProcess().getProcessId());
+    Assert.assertNotNull(recoveredQueue.getTask(task.getTaskId()));
+
+    // The task inputs are loaded when the task is polled
+    TaskRuntime recoveredTask = recoveredQueue.pollTask(MAX_POLLING_TIME);
+    Assert.assertEquals(task.getTaskId(), recoveredTask.getTaskId());
+    Assert.assertNotNull(recoveredTask.getInput());
+    Assert.assertNotNull(recoveredTask.getOptimizingTask().getTaskInput());
+    Assert.assertNull(recoveredQueue.pollTask(0));
+    recoveredQueue.dispose();
+  }
+
+  @Test
+  public void testPartialCommit() {
+    ArcticTable arcticTable =
+        (ArcticTable) tableService().loadTable(serverTableIdentifier()).originalTable();
+    arcticTable
+        .updateProperties()
+        .set(TableProperties.SELF_OPTIMIZING_PARTIAL_COMMIT_ENABLED, "true")
+        .commit();
+    appendData(arcticTable.asUnkeyedTable(), 1, "2022-01-01T12:00:00");
+    appendData(arcticTable.asUnkeyedTable(), 2, "2022-01-01T12:00:00");
+    appendData(arcticTable.asUnkeyedTable(), 3, "2022-01-02T12:00:00");
+    appendData(arcticTable.asUnkeyedTable(), 4, "2022-01-02T12:00:00");
+    TableRuntimeMeta tableRuntimeMeta =
+        buildTableRuntimeMeta(OptimizingStatus.PENDING, defaultResourceGroup());
+    tableRuntimeMeta.getTableRuntime().refresh(tableService().loadTable(serverTableIdentifier()));
+    OptimizingQueue queue = buildOptimizingGroupService(tableRuntimeMeta);
+
+    TaskRuntime task = queue.pollTask(MAX_POLLING_TIME);
+    TaskRuntime otherTask = queue.pollTask(0);
+    Assert.assertNotNull(task);
+    Assert.assertNotNull(otherTask);
+    Assert.assertNotEquals(task.getPartition(), otherTask.getPartition());
+    Assert.assertNull(queue.pollTask(0));
+
+    // The partition of the task is committed when the task completes
+    task.schedule(optimizerThread);
+    task.ack(optimizerThread);
+    task.complete(
+        optimizerThread,
+        buildOptimizingTaskResult(task.getTaskId(), optimizerThread.getThreadId()));
+    CompletableFuture.runAsync(() -> {}, planExecutor).join();
+    OptimizingProcess optimizingProcess = tableRuntimeMeta.getTableRuntime().getOptimizingProcess();
+    arcticTable.refresh();
+    Map<String, String> summary = arcticTable.asUnkeyedTable().currentSnapshot().summary();
+    Assert.assertEquals(
+        String.valueOf(optimizingProcess.getProcessId()),
+        summary.get(SnapshotSummary.OPTIMIZING_PROCESS_ID));
+    Assert.assertEquals(task.getPartition(), summary.get(SnapshotSummary.OPTIMIZING_PARTITION));
+    Assert.assertEquals(OptimizingProcess.Status.RUNNING, optimizingProcess.getStatus());
+
+    // The process commits the other partition
+    otherTask.schedule(optimizerThread);
+    otherTask.ack(optimizerThread);
+    otherTask.complete(
+        optimizerThread,
+        buildOptimizingTaskResult(otherTask.getTaskId(), optimizerThread.getThreadId()));
+    optimizingProcess.commit();
+    Assert.assertEquals(OptimizingProcess.Status.SUCCESS, optimizingProcess.getStatus());
+    arcticTable.refresh();
+    Snapshot snapshot = arcticTable.asUnkeyedTable().currentSnapshot();
+    Assert.assertNull(snapshot.summary().get(SnapshotSummary.OPTIMIZING_PARTITION));
+    Assert.assertEquals(
+        task.getPartition(),
+        arcticTable
+            .asUnkeyedTable()
+            .snapshot(snapshot.parentId())
+            .summary()
+            .get(SnapshotSummary.OPTIMIZING_PARTITION));
+    queue.dispose();
+  }
+
   @Test
   public void testCollectingTasks() {
     TableRuntimeMeta tableRuntimeMeta = initTableWithFiles();
@@ -246,6 +354,13 @@ public class TestOptimizingQueue extends AMSTableTestBase {
     Assert.assertEquals(1, queue.collectTasks().size());
     Assert.assertEquals(
         1, queue.collectTasks(t -> t.getStatus() == TaskRuntime.Status.SCHEDULED).size());
+    Assert.assertEquals(1, queue.collectTasksByStatus(TaskRuntime.Status.SCHEDULED).size());
+    Assert.assertEquals(0, queue.collectTasksByStatus(TaskRuntime.Status.ACKED).size());
+    Assert.assertSame(task, queue.getTask(task.getTaskId()));
+
+    task.ack(optimizerThread);
+    Assert.assertEquals(0, queue.collectTasksByStatus(TaskRuntime.Status.SCHEDULED).size());
+    Assert.assertEquals(1, queue.collectTasksByStatus(TaskRuntime.Status.ACKED).size());
     queue.dispose();
   }
 
@@ -364,6 +479,13 @@ public class TestOptimizingQueue extends AMSTableTestBase {
 
   private TableRuntimeMeta buildTableRuntimeMeta(
       OptimizingStatus status, ResourceGroup resourceGroup) {
+    TableRuntimeMeta tableRuntimeMeta = newTableRuntimeMeta(status, resourceGroup);
+    tableRuntimeMeta.constructTableRuntime(tableService());
+    return tableRuntimeMeta;
+  }
+
+  private TableRuntimeMeta newTableRuntimeMeta(
+      OptimizingStatus status, ResourceGroup resourceGroup) {
     ArcticTable arcticTable =
         (ArcticTable) tableService().loadTable(serverTableIdentifier()).originalTable();
     TableRuntimeMeta tableRuntimeMeta = new TableRuntimeMeta();
@@ -375,15 +497,17 @@ public class TestOptimizingQueue extends AMSTableTestBase {
     tableRuntimeMeta.setTableStatus(status);
     tableRuntimeMeta.setTableConfig(TableConfiguration.parseConfig(arcticTable.properties()));
     tableRuntimeMeta.setOptimizerGroup(resourceGroup.getName());
-    tableRuntimeMeta.constructTableRuntime(tableService());
     return tableRuntimeMeta;
   }
 
   private void appendData(UnkeyedTable table, int id) {
+    appendData(table, id, "2022-01-01T12:00:00");
+  }
+
+  private void appendData(UnkeyedTable table, int id, String opTime) {
     ArrayList<Record> newRecords =
         Lists.newArrayList(
-            MixedDataTestHelpers.createRecord(
-                table.schema(), id, "111", 0L, "2022-01-01T12:00:00"));
+            MixedDataTestHelpers.createRecord(table.schema(), id, "111", 0L, opTime));
     List<DataFile> dataFiles = MixedDataTestHelpers.writeBaseStore(table, 0L, newRecords, false);
     AppendFiles appendFiles = table.newAppend();
     dataFiles.forEach(appendFiles::appendFile);
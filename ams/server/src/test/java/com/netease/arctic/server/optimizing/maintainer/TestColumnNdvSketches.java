@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.optimizing.maintainer;
+
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.data.GenericRecord;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.types.Types;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+public class TestColumnNdvSketches {
+
+  private static final Schema SCHEMA =
+      new Schema(
+          Types.NestedField.required(1, "id", Types.LongType.get()),
+          Types.NestedField.optional(2, "name", Types.StringType.get()),
+          Types.NestedField.optional(3, "day", Types.DateType.get()),
+          Types.NestedField.optional(
+              4,
+              "struct",
+              Types.StructType.of(
+                  Types.NestedField.optional(5, "inner", Types.IntegerType.get()))));
+
+  @Test
+  public void testFieldIds() {
+    Assert.assertEquals(Lists.newArrayList(1, 2, 3), ColumnNdvSketches.fieldIds(SCHEMA, ""));
+    Assert.assertEquals(
+        Lists.newArrayList(3, 1), ColumnNdvSketches.fieldIds(SCHEMA, " day, id ,day"));
+    Assert.assertThrows(
+        IllegalArgumentException.class, () -> ColumnNdvSketches.fieldIds(SCHEMA, "inner"));
+    Assert.assertThrows(
+        IllegalArgumentException.class,
+        () -> new ColumnNdvSketches(SCHEMA, Lists.newArrayList(1, 4)));
+  }
+
+  @Test
+  public void testEstimate() {
+    ColumnNdvSketches sketches = new ColumnNdvSketches(SCHEMA, Lists.newArrayList(1, 2, 3));
+    for (int i = 0; i < 1000; i++) {
+      sketches.update(record(sketches.projection(), i, i % 10));
+    }
+    Assert.assertEquals(1000, sketches.estimate(1));
+    Assert.assertEquals(10, sketches.estimate(2));
+    Assert.assertEquals(10, sketches.estimate(3));
+  }
+
+  @Test
+  public void testMerge() {
+    ColumnNdvSketches first = new ColumnNdvSketches(SCHEMA, Lists.newArrayList(1, 2));
+    ColumnNdvSketches second = new ColumnNdvSketches(SCHEMA, Lists.newArrayList(1, 2));
+    for (int i = 0; i < 100; i++) {
+      first.update(record(first.projection(), i, i % 10));
+      second.update(record(second.projection(), i + 50, i % 20));
+    }
+
+    ColumnNdvSketches merged = new ColumnNdvSketches(SCHEMA, Lists.newArrayList(1, 2));
+    merged.merge(1, first.sketch(1));
+    merged.merge(1, second.sketch(1));
+    merged.merge(2, first.sketch(2));
+    merged.merge(2, second.sketch(2));
+    // The sketch of a field not collected is ignored
+    merged.merge(3, first.sketch(1));
+    Assert.assertEquals(150, merged.estimate(1));
+    Assert.assertEquals(20, merged.estimate(2));
+  }
+
+  private static Record record(Schema projection, long id, int group) {
+    Record record = GenericRecord.create(projection);
+    record.setField("id", id);
+    if (projection.findField("name") != null) {
+      record.setField("name", "name-" + group);
+    }
+    if (projection.findField("day") != null) {
+      record.setField("day", LocalDate.of(2024, 1, 1).plusDays(group));
+    }
+    return record;
+  }
+}
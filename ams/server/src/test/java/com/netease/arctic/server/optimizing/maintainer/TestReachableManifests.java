@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.optimizing.maintainer;
+
+import com.netease.arctic.BasicTableTestHelper;
+import com.netease.arctic.TableFormat;
+import com.netease.arctic.TableTestHelper;
+import com.netease.arctic.catalog.BasicCatalogTestHelper;
+import com.netease.arctic.catalog.CatalogTestHelper;
+import com.netease.arctic.server.ArcticManagementConf;
+import com.netease.arctic.server.table.executor.ExecutorTestBase;
+import com.netease.arctic.table.UnkeyedTable;
+import com.netease.arctic.utils.TableFileUtil;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.ManifestFile;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+@RunWith(Parameterized.class)
+public class TestReachableManifests extends ExecutorTestBase {
+
+  @Parameterized.Parameters(name = "{0}, {1}")
+  public static Object[] parameters() {
+    return new Object[][] {
+      {new BasicCatalogTestHelper(TableFormat.ICEBERG), new BasicTableTestHelper(false, false)}
+    };
+  }
+
+  public TestReachableManifests(
+      CatalogTestHelper catalogTestHelper, TableTestHelper tableTestHelper) {
+    super(catalogTestHelper, tableTestHelper);
+  }
+
+  @After
+  public void resetCache() {
+    ReachableManifests.setup(
+        ArcticManagementConf.CLEAN_ORPHAN_FILES_MANIFESTS_CACHE_MAX_SIZE.defaultValue(),
+        ArcticManagementConf.CLEAN_ORPHAN_FILES_MANIFESTS_CACHE_EXPIRE_AFTER_ACCESS
+            .defaultValue());
+  }
+
+  @Test
+  public void testReleaseManifestsOfExpiredSnapshots() {
+    UnkeyedTable table = getArcticTable().asUnkeyedTable();
+    DataFile file1 = dataFile(table, 1);
+    DataFile file2 = dataFile(table, 2);
+    table.newAppend().appendFile(file1).commit();
+    Snapshot snapshot1 = table.currentSnapshot();
+    table.newAppend().appendFile(file2).commit();
+    Snapshot snapshot2 = table.currentSnapshot();
+    Assert.assertEquals(reachableManifests(table), ReachableManifests.of(table));
+
+    // the manifest written by the first snapshot is still referenced by the second one
+    String manifest1 = manifestPaths(table, snapshot1).iterator().next();
+    table
+        .expireSnapshots()
+        .expireSnapshotId(snapshot1.snapshotId())
+        .cleanExpiredFiles(false)
+        .commit();
+    Set<String> reachable = ReachableManifests.of(table);
+    Assert.assertEquals(reachableManifests(table), reachable);
+    Assert.assertTrue(reachable.contains(manifest1));
+    Assert.assertFalse(
+        reachable.contains(TableFileUtil.getUriPath(snapshot1.manifestListLocation())));
+
+    // the manifest of the first snapshot is rewritten without the deleted file
+    table.newDelete().deleteFile(file1).commit();
+    table
+        .expireSnapshots()
+        .expireSnapshotId(snapshot2.snapshotId())
+        .cleanExpiredFiles(false)
+        .commit();
+    reachable = ReachableManifests.of(table);
+    Assert.assertEquals(reachableManifests(table), reachable);
+    Assert.assertFalse(reachable.contains(manifest1));
+  }
+
+  @Test
+  public void testEvictedTable() {
+    ReachableManifests.setup(1, Duration.ofDays(1));
+    UnkeyedTable table = getArcticTable().asUnkeyedTable();
+    table.newAppend().appendFile(dataFile(table, 1)).commit();
+    Assert.assertEquals(reachableManifests(table), ReachableManifests.of(table));
+
+    Table otherTable = Mockito.mock(Table.class);
+    Mockito.when(otherTable.location()).thenReturn(table.location() + "_other");
+    Mockito.when(otherTable.snapshots()).thenReturn(Lists.newArrayList());
+    Assert.assertTrue(ReachableManifests.of(otherTable).isEmpty());
+    Assert.assertEquals(1, ReachableManifests.cachedTables());
+
+    // an evicted table reads the manifests of all the snapshots again
+    table.newAppend().appendFile(dataFile(table, 2)).commit();
+    Assert.assertEquals(reachableManifests(table), ReachableManifests.of(table));
+    Assert.assertEquals(1, ReachableManifests.cachedTables());
+  }
+
+  private static DataFile dataFile(Table table, int index) {
+    return DataFiles.builder(table.spec())
+        .withPath(table.location() + "/data/file-" + index + ".parquet")
+        .withFileSizeInBytes(10)
+        .withRecordCount(1)
+        .build();
+  }
+
+  private static Set<String> manifestPaths(Table table, Snapshot snapshot) {
+    Set<String> paths = new HashSet<>();
+    for (ManifestFile manifest : snapshot.allManifests(table.io())) {
+      paths.add(TableFileUtil.getUriPath(manifest.path()));
+    }
+    return paths;
+  }
+
+  private static Set<String> reachableManifests(Table table) {
+    Set<String> paths = new HashSet<>();
+    for (Snapshot snapshot : table.snapshots()) {
+      paths.add(TableFileUtil.getUriPath(snapshot.manifestListLocation()));
+      paths.addAll(manifestPaths(table, snapshot));
+    }
+    return paths;
+  }
+}
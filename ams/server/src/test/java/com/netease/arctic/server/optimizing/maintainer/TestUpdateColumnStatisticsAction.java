@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.optimizing.maintainer;
+
+import com.netease.arctic.BasicTableTestHelper;
+import com.netease.arctic.TableFormat;
+import com.netease.arctic.catalog.BasicCatalogTestHelper;
+import com.netease.arctic.catalog.TableTestBase;
+import com.netease.arctic.server.optimizing.OptimizingTestHelpers;
+import com.netease.arctic.table.TableProperties;
+import com.netease.arctic.utils.StatisticsFileUtil;
+import org.apache.iceberg.BlobMetadata;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.StatisticsFile;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableList;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableMap;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class TestUpdateColumnStatisticsAction extends TableTestBase {
+
+  private Table table;
+  private int idFieldId;
+
+  public TestUpdateColumnStatisticsAction() {
+    super(new BasicCatalogTestHelper(TableFormat.ICEBERG), new BasicTableTestHelper(false, false));
+  }
+
+  @Before
+  public void initTable() {
+    table = getArcticTable().asUnkeyedTable();
+    table.updateProperties().set(TableProperties.COLUMN_STATISTICS_COLUMNS, "id").commit();
+    idFieldId = table.schema().findField("id").fieldId();
+  }
+
+  @Test
+  public void testIncrementalUpdate() {
+    List<DataFile> oldFiles = appendRecords(1, 10);
+    new UpdateColumnStatisticsAction(table).execute();
+    Assert.assertEquals(10, ndv(currentStatisticsFile()));
+
+    // The sketches are merged with the new data files, the old data files are not read again
+    oldFiles.forEach(dataFile -> table.io().deleteFile(dataFile.path().toString()));
+    appendRecords(6, 15);
+    new UpdateColumnStatisticsAction(table).execute();
+    Assert.assertEquals(15, ndv(currentStatisticsFile()));
+    Assert.assertEquals(2, table.statisticsFiles().size());
+  }
+
+  @Test
+  public void testCarryForwardAfterRewrite() {
+    List<DataFile> oldFiles = appendRecords(1, 10);
+    new UpdateColumnStatisticsAction(table).execute();
+    StatisticsFile baseFile = currentStatisticsFile();
+
+    // Rewriting the files adds no data, the statistics file is carried forward
+    List<DataFile> newFiles =
+        tableTestHelper().writeBaseStore(getArcticTable(), 0L, records(1, 10), false);
+    table.newRewrite().rewriteFiles(Sets.newHashSet(oldFiles), Sets.newHashSet(newFiles)).commit();
+    new UpdateColumnStatisticsAction(table).execute();
+    StatisticsFile currentFile = currentStatisticsFile();
+    Assert.assertNotEquals(baseFile.snapshotId(), currentFile.snapshotId());
+    Assert.assertEquals(baseFile.path(), currentFile.path());
+    Assert.assertEquals(10, ndv(currentFile));
+
+    // Nothing to update for the current snapshot
+    new UpdateColumnStatisticsAction(table).execute();
+    Assert.assertEquals(currentFile.path(), currentStatisticsFile().path());
+  }
+
+  @Test
+  public void testKeepOtherBlobs() {
+    appendRecords(1, 10);
+    Snapshot current = table.currentSnapshot();
+    StatisticsFile otherFile =
+        StatisticsFileUtil.writerBuilder(table)
+            .withSnapshotId(current.snapshotId())
+            .build()
+            .add(
+                "other-blob",
+                ImmutableList.of(idFieldId),
+                ByteBuffer.wrap("other".getBytes(StandardCharsets.UTF_8)),
+                ImmutableMap.of())
+            .complete();
+    table.updateStatistics().setStatistics(current.snapshotId(), otherFile).commit();
+
+    new UpdateColumnStatisticsAction(table).execute();
+    StatisticsFile currentFile = currentStatisticsFile();
+    Assert.assertNotEquals(otherFile.path(), currentFile.path());
+    Assert.assertEquals(10, ndv(currentFile));
+    List<ByteBuffer> otherBlobs = StatisticsFileUtil.reader(table).read(currentFile, "other-blob");
+    Assert.assertEquals(1, otherBlobs.size());
+    Assert.assertEquals("other", StandardCharsets.UTF_8.decode(otherBlobs.get(0)).toString());
+  }
+
+  private List<Record> records(int from, int to) {
+    return OptimizingTestHelpers.generateRecord(tableTestHelper(), from, to, "2022-01-01T12:00:00");
+  }
+
+  private List<DataFile> appendRecords(int from, int to) {
+    return OptimizingTestHelpers.appendBase(
+        getArcticTable(),
+        tableTestHelper().writeBaseStore(getArcticTable(), 0L, records(from, to), false));
+  }
+
+  private StatisticsFile currentStatisticsFile() {
+    long snapshotId = table.currentSnapshot().snapshotId();
+    return table.statisticsFiles().stream()
+        .filter(file -> file.snapshotId() == snapshotId)
+        .findFirst()
+        .orElseThrow(() -> new AssertionError("No statistics file of snapshot " + snapshotId));
+  }
+
+  private long ndv(StatisticsFile statisticsFile) {
+    BlobMetadata sketch =
+        statisticsFile.blobMetadata().stream()
+            .filter(blob -> ColumnNdvSketches.BLOB_TYPE.equals(blob.type()))
+            .filter(blob -> blob.fields().equals(ImmutableList.of(idFieldId)))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("No sketch of column id"));
+    return Long.parseLong(sketch.properties().get(ColumnNdvSketches.NDV_PROPERTY));
+  }
+}
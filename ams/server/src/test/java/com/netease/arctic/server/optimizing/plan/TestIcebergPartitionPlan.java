@@ -25,14 +25,30 @@ import com.netease.arctic.catalog.BasicCatalogTestHelper;
 import com.netease.arctic.catalog.CatalogTestHelper;
 import com.netease.arctic.optimizing.IcebergRewriteExecutorFactory;
 import com.netease.arctic.optimizing.OptimizingInputProperties;
+import com.netease.arctic.optimizing.RewriteFilesOutput;
+import com.netease.arctic.server.exception.OptimizingCommitException;
+import com.netease.arctic.server.optimizing.OptimizingTestHelpers;
+import com.netease.arctic.server.optimizing.TaskRuntime;
+import com.netease.arctic.server.optimizing.UnKeyedTableCommit;
 import com.netease.arctic.server.optimizing.scan.IcebergTableFileScanHelper;
 import com.netease.arctic.server.optimizing.scan.TableFileScanHelper;
 import com.netease.arctic.server.utils.IcebergTableUtil;
+import com.netease.arctic.table.TableProperties;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.apache.iceberg.types.Conversions;
+import org.apache.iceberg.types.Types;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
+import org.mockito.Mockito;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 @RunWith(Parameterized.class)
@@ -70,6 +86,75 @@ public class TestIcebergPartitionPlan extends TestUnkeyedPartitionPlan {
     testOnlyOneFragmentFileBase();
   }
 
+  @Test
+  public void testReclusterOnlyOnce() throws OptimizingCommitException {
+    closeFullOptimizingInterval();
+    updateTableProperty(TableProperties.SELF_OPTIMIZING_CLUSTERING_MODE, "z-order");
+    updateTableProperty(TableProperties.SELF_OPTIMIZING_CLUSTERING_COLUMNS, "id");
+    // every data file starts a task of its own
+    updateTableProperty(TableProperties.SELF_OPTIMIZING_TARGET_SIZE, "1");
+    updateTableProperty(TableProperties.SELF_OPTIMIZING_MAX_TASK_SIZE, "1");
+    appendRecords(1, 3);
+    appendRecords(2, 5);
+
+    AbstractPartitionPlan partitionPlan = buildPlanWithCurrentFiles();
+    Assert.assertTrue(partitionPlan.evaluator().isClusteringNecessary());
+    List<TaskDescriptor> taskDescriptors = partitionPlan.splitTasks(0);
+    Assert.assertEquals(2, taskDescriptors.size());
+    // the second task starts from the lowest key of the second file, which both files may contain
+    Assert.assertEquals(1, taskDescriptors.get(0).getInput().rewrittenDataFiles().length);
+    Assert.assertEquals(2, taskDescriptors.get(1).getInput().rewrittenDataFiles().length);
+    List<DataFile> reclusteredFiles = executeAndCommit(taskDescriptors);
+    Assert.assertEquals(2, reclusteredFiles.size());
+    Assert.assertEquals(7, reclusteredFiles.stream().mapToLong(DataFile::recordCount).sum());
+    Assert.assertEquals(1, idBound(reclusteredFiles.get(0).lowerBounds()));
+    Assert.assertEquals(1, idBound(reclusteredFiles.get(0).upperBounds()));
+    Assert.assertEquals(2, idBound(reclusteredFiles.get(1).lowerBounds()));
+    Assert.assertEquals(5, idBound(reclusteredFiles.get(1).upperBounds()));
+
+    // the outputs of the tasks do not overlap each other, and are not reclustered again
+    Assert.assertFalse(buildPlanWithCurrentFiles().evaluator().isClusteringNecessary());
+
+    // the new data overlapping the reclustered files triggers reclustering again
+    appendRecords(2, 3);
+    Assert.assertTrue(buildPlanWithCurrentFiles().evaluator().isClusteringNecessary());
+  }
+
+  private int idBound(Map<Integer, ByteBuffer> bounds) {
+    Types.NestedField idField = getArcticTable().schema().findField("id");
+    return Conversions.fromByteBuffer(idField.type(), bounds.get(idField.fieldId()));
+  }
+
+  private void appendRecords(int from, int to) {
+    List<Record> records =
+        OptimizingTestHelpers.generateRecord(tableTestHelper(), from, to, "2022-01-01T12:00:00");
+    OptimizingTestHelpers.appendBase(
+        getArcticTable(),
+        tableTestHelper().writeBaseStore(getArcticTable(), 0L, records, false));
+  }
+
+  private List<DataFile> executeAndCommit(List<TaskDescriptor> taskDescriptors)
+      throws OptimizingCommitException {
+    List<TaskRuntime> taskRuntimes = Lists.newArrayList();
+    List<DataFile> addedFiles = Lists.newArrayList();
+    for (TaskDescriptor taskDescriptor : taskDescriptors) {
+      IcebergRewriteExecutorFactory executorFactory = new IcebergRewriteExecutorFactory();
+      executorFactory.initialize(taskDescriptor.properties());
+      RewriteFilesOutput output =
+          (RewriteFilesOutput) executorFactory.createExecutor(taskDescriptor.getInput()).execute();
+      addedFiles.addAll(Arrays.asList(output.getDataFiles()));
+      TaskRuntime taskRuntime = Mockito.mock(TaskRuntime.class);
+      Mockito.when(taskRuntime.getPartition()).thenReturn(taskDescriptor.getPartition());
+      Mockito.when(taskRuntime.getInput()).thenReturn(taskDescriptor.getInput());
+      Mockito.when(taskRuntime.getOutput()).thenReturn(output);
+      taskRuntimes.add(taskRuntime);
+    }
+    new UnKeyedTableCommit(
+            getTableRuntime().getCurrentSnapshotId(), getArcticTable(), taskRuntimes)
+        .commit();
+    return addedFiles;
+  }
+
   @Override
   protected AbstractPartitionPlan getPartitionPlan() {
     return new IcebergPartitionPlan(
@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.resource;
+
+import com.netease.arctic.api.OptimizerProperties;
+import com.netease.arctic.api.OptimizerRegisterInfo;
+import com.netease.arctic.api.resource.Resource;
+import com.netease.arctic.api.resource.ResourceGroup;
+import com.netease.arctic.server.manager.LocalOptimizerContainer;
+import com.netease.arctic.server.optimizing.OptimizerGroupMetrics;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableMap;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class TestOptimizerAutoscaler {
+  private static final long MB = 1024 * 1024L;
+  private static final String GROUP = "autoscale-group";
+
+  private final List<Resource> resources = Lists.newArrayList();
+  private final List<OptimizerInstance> optimizers = Lists.newArrayList();
+  private final RecordingContainer container = new RecordingContainer();
+  private OptimizerManager optimizerManager;
+  private OptimizerGroupMetrics metrics;
+  private OptimizerAutoscaler autoscaler;
+
+  @BeforeEach
+  public void setup() {
+    optimizerManager = Mockito.mock(OptimizerManager.class);
+    Mockito.doAnswer(invocation -> Lists.newArrayList(resources))
+        .when(optimizerManager)
+        .listResourcesByGroup(GROUP);
+    Mockito.doAnswer(invocation -> Lists.newArrayList(optimizers))
+        .when(optimizerManager)
+        .listOptimizers(GROUP);
+    Mockito.doAnswer(invocation -> resources.add(invocation.getArgument(0)))
+        .when(optimizerManager)
+        .createResource(Mockito.any());
+    Mockito.doAnswer(
+            invocation ->
+                resources.removeIf(r -> r.getResourceId().equals(invocation.getArgument(0))))
+        .when(optimizerManager)
+        .deleteResource(Mockito.anyString());
+    Mockito.doAnswer(
+            invocation ->
+                optimizers.removeIf(o -> o.getResourceId().equals(invocation.getArgument(1))))
+        .when(optimizerManager)
+        .deleteOptimizer(Mockito.eq(GROUP), Mockito.anyString());
+
+    metrics = Mockito.mock(OptimizerGroupMetrics.class);
+    autoscaler =
+        new OptimizerAutoscaler(
+            optimizerManager, group -> GROUP.equals(group) ? metrics : null, name -> container);
+  }
+
+  @Test
+  public void testDesiredParallelism() {
+    mockLoad(10, 1, 1024 * MB, false);
+    Assertions.assertEquals(3, OptimizerAutoscaler.desiredParallelism(metrics, 512 * MB, 0, 8));
+    Assertions.assertEquals(2, OptimizerAutoscaler.desiredParallelism(metrics, 512 * MB, 0, 2));
+
+    // Each pending task needs one thread at least, but no more than one thread
+    mockLoad(2, 0, 0, false);
+    Assertions.assertEquals(1, OptimizerAutoscaler.desiredParallelism(metrics, 512 * MB, 0, 8));
+    mockLoad(2, 0, 4096 * MB, false);
+    Assertions.assertEquals(2, OptimizerAutoscaler.desiredParallelism(metrics, 512 * MB, 0, 8));
+
+    // The pending tables need an optimizer to be planned
+    mockLoad(0, 0, 0, true);
+    Assertions.assertEquals(1, OptimizerAutoscaler.desiredParallelism(metrics, 512 * MB, 0, 8));
+    mockLoad(0, 0, 0, false);
+    Assertions.assertEquals(0, OptimizerAutoscaler.desiredParallelism(metrics, 512 * MB, 0, 8));
+    Assertions.assertEquals(2, OptimizerAutoscaler.desiredParallelism(metrics, 512 * MB, 2, 8));
+  }
+
+  @Test
+  public void testScaleOutAndIn() {
+    ResourceGroup group = buildGroup(true);
+    long now = System.currentTimeMillis();
+
+    // Scale out by the parallelism per optimizer
+    mockLoad(3, 0, 3 * 512 * MB, true);
+    autoscaler.scale(group, now);
+    Assertions.assertEquals(Lists.newArrayList(2, 2), threadCounts(container.requested));
+    Assertions.assertEquals(Lists.newArrayList(2, 2), threadCounts(resources));
+    resources.forEach(this::registerOptimizer);
+
+    // The scale-out is cooling down
+    mockLoad(4, 3, 8 * 512 * MB, false);
+    autoscaler.scale(group, now + 500);
+    Assertions.assertEquals(2, container.requested.size());
+
+    // Scale out to the max parallelism
+    autoscaler.scale(group, now + 1000);
+    Assertions.assertEquals(Lists.newArrayList(2, 2, 2), threadCounts(container.requested));
+    registerOptimizer(resources.get(2));
+
+    // Only the optimizers idle for the cooldown are released, even if the others are busy
+    OptimizerInstance busyOptimizer = optimizers.get(0);
+    mockLoad(0, 1, 0, false);
+    Mockito.doReturn(true).when(metrics).isOptimizerBusy(busyOptimizer);
+    autoscaler.scale(group, now + 4000);
+    Assertions.assertTrue(container.released.isEmpty());
+    autoscaler.scale(group, now + 10000);
+    Assertions.assertEquals(2, container.released.size());
+    Assertions.assertNotNull(
+        container.released.get(0).getProperties().get(Resource.PROPERTY_JOB_ID));
+    Assertions.assertEquals(Lists.newArrayList(busyOptimizer), optimizers);
+    Assertions.assertEquals(Lists.newArrayList(2), threadCounts(resources));
+
+    // Keep the min parallelism
+    mockLoad(0, 0, 0, false);
+    autoscaler.scale(group, now + 20000);
+    Assertions.assertEquals(2, container.released.size());
+    Assertions.assertEquals(Lists.newArrayList(2), threadCounts(resources));
+  }
+
+  @Test
+  public void testScaleInByOptimizerIdleTime() {
+    ResourceGroup group = buildGroup(true);
+    long now = System.currentTimeMillis();
+    mockLoad(4, 0, 4 * 512 * MB, true);
+    autoscaler.scale(group, now);
+    resources.forEach(this::registerOptimizer);
+    Assertions.assertEquals(2, optimizers.size());
+
+    // The optimizer busy within the cooldown is kept, while the other one is released
+    mockLoad(0, 0, 0, false);
+    Mockito.doReturn(true).when(metrics).isOptimizerBusy(optimizers.get(0));
+    autoscaler.scale(group, now + 3000);
+    mockLoad(0, 0, 0, false);
+    autoscaler.scale(group, now + 6000);
+    Assertions.assertEquals(1, container.released.size());
+    Assertions.assertEquals(1, optimizers.size());
+
+    // The scale-in is cooling down
+    autoscaler.scale(group, now + 8000);
+    Assertions.assertEquals(1, optimizers.size());
+
+    // The last optimizer is kept for the min parallelism
+    autoscaler.scale(group, now + 20000);
+    Assertions.assertEquals(1, container.released.size());
+    Assertions.assertEquals(1, optimizers.size());
+  }
+
+  @Test
+  public void testReleaseUnregisteredResource() {
+    ResourceGroup group = buildGroup(true);
+    long now = System.currentTimeMillis();
+    mockLoad(1, 0, 512 * MB, true);
+    autoscaler.scale(group, now);
+    Assertions.assertEquals(1, resources.size());
+    Resource unregistered = resources.get(0);
+
+    // The requested resource is counted before its optimizer registers
+    autoscaler.scale(group, now + 2000);
+    Assertions.assertEquals(1, container.requested.size());
+    Assertions.assertTrue(container.released.isEmpty());
+
+    // The resource never registered is released, and the group is scaled out again
+    autoscaler.scale(group, now + 4000);
+    Assertions.assertEquals(Lists.newArrayList(unregistered), container.released);
+    Assertions.assertEquals(2, container.requested.size());
+    Assertions.assertEquals(1, resources.size());
+    Assertions.assertNotEquals(unregistered.getResourceId(), resources.get(0).getResourceId());
+
+    // The registered resource is kept
+    registerOptimizer(resources.get(0));
+    autoscaler.scale(group, now + 10000);
+    Assertions.assertEquals(1, container.released.size());
+    Assertions.assertEquals(1, resources.size());
+  }
+
+  @Test
+  public void testNotScaleDisabledGroup() {
+    mockLoad(3, 0, 3 * 512 * MB, true);
+    autoscaler.scale(buildGroup(false), System.currentTimeMillis());
+    autoscaler.scale(
+        new ResourceGroup.Builder(GROUP, ResourceContainers.EXTERNAL_CONTAINER_NAME)
+            .addProperty(OptimizerProperties.AUTOSCALE_ENABLED, "true")
+            .build(),
+        System.currentTimeMillis());
+    Assertions.assertTrue(container.requested.isEmpty());
+  }
+
+  private ResourceGroup buildGroup(boolean autoscaleEnabled) {
+    return new ResourceGroup.Builder(GROUP, "local")
+        .addProperty(OptimizerProperties.AUTOSCALE_ENABLED, String.valueOf(autoscaleEnabled))
+        .addProperty(OptimizerProperties.AUTOSCALE_MIN_PARALLELISM, "1")
+        .addProperty(OptimizerProperties.AUTOSCALE_MAX_PARALLELISM, "6")
+        .addProperty(OptimizerProperties.AUTOSCALE_PARALLELISM_PER_OPTIMIZER, "2")
+        .addProperty(OptimizerProperties.AUTOSCALE_SCALE_OUT_COOLDOWN, "1000")
+        .addProperty(OptimizerProperties.AUTOSCALE_SCALE_IN_COOLDOWN, "5000")
+        .addProperty(OptimizerProperties.AUTOSCALE_REGISTER_TIMEOUT, "3000")
+        .addProperty(OptimizerProperties.MAX_INPUT_FILE_SIZE_PER_THREAD, String.valueOf(512 * MB))
+        .addProperty(LocalOptimizerContainer.JOB_MEMORY_PROPERTY, "1024")
+        .build();
+  }
+
+  private void mockLoad(
+      int pendingTasks, int executingTasks, long pendingBytes, boolean pendingTables) {
+    Mockito.doReturn(pendingTasks).when(metrics).getPendingTasks();
+    Mockito.doReturn(executingTasks).when(metrics).getExecutingTasks();
+    Mockito.doReturn(pendingBytes).when(metrics).getPendingTaskBytes();
+    Mockito.doReturn(pendingTables).when(metrics).hasPendingTables();
+    Mockito.doReturn(false).when(metrics).isOptimizerBusy(Mockito.any());
+  }
+
+  private void registerOptimizer(Resource resource) {
+    OptimizerRegisterInfo registerInfo = new OptimizerRegisterInfo();
+    registerInfo.setResourceId(resource.getResourceId());
+    registerInfo.setGroupName(GROUP);
+    registerInfo.setThreadCount(resource.getThreadCount());
+    registerInfo.setMemoryMb(1024);
+    registerInfo.setStartTime(System.currentTimeMillis());
+    registerInfo.setProperties(
+        ImmutableMap.of(Resource.PROPERTY_JOB_ID, String.valueOf(optimizers.size())));
+    optimizers.add(new OptimizerInstance(registerInfo, "local"));
+  }
+
+  private static List<Integer> threadCounts(List<Resource> resources) {
+    return resources.stream().map(Resource::getThreadCount).collect(Collectors.toList());
+  }
+
+  /** A local container recording the resources instead of starting and killing processes. */
+  private static class RecordingContainer extends LocalOptimizerContainer {
+    private final List<Resource> requested = Lists.newArrayList();
+    private final List<Resource> released = Lists.newArrayList();
+
+    @Override
+    protected Map<String, String> doScaleOut(Resource resource) {
+      requested.add(resource);
+      return ImmutableMap.of();
+    }
+
+    @Override
+    public void releaseOptimizer(Resource resource) {
+      released.add(resource);
+    }
+  }
+}
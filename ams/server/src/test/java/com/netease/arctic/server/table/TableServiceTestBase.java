@@ -37,8 +37,13 @@ public abstract class TableServiceTestBase {
 
   @BeforeClass
   public static void initTableService() {
+    initTableService(new Configurations());
+  }
+
+  protected static void initTableService(Configurations optimizingConfigurations) {
     Configurations configurations = new Configurations();
     configurations.set(ArcticManagementConf.OPTIMIZER_HB_TIMEOUT, 800L);
+    configurations.addAll(optimizingConfigurations);
     TABLE_SERVICE = new DefaultTableService(new Configurations());
     OPTIMIZING_SERVICE = new DefaultOptimizingService(configurations, TABLE_SERVICE);
     TABLE_SERVICE.addHandlerChain(OPTIMIZING_SERVICE.getTableRuntimeHandler());
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.table;
+
+import com.netease.arctic.server.catalog.ExternalCatalog;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.apache.iceberg.util.Pair;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class TestExternalCatalogExploration extends TableServiceTestBase {
+
+  private static final long REFRESH_INTERVAL = TimeUnit.HOURS.toMillis(1);
+  private static final long FULL_SYNC_INTERVAL = TimeUnit.HOURS.toMillis(24);
+
+  private final List<String> databases = Lists.newArrayList("db1", "db2", "db3");
+  private ExternalCatalog catalog;
+  private ExternalCatalogExploreState state;
+
+  @Before
+  public void mockCatalog() {
+    catalog = Mockito.mock(ExternalCatalog.class);
+    Mockito.when(catalog.name()).thenReturn("mock_external_catalog");
+    Mockito.when(catalog.listDatabases()).thenAnswer(invocation -> databases);
+    Mockito.when(catalog.listTables(Mockito.anyString())).thenReturn(Collections.emptyList());
+    state = new ExternalCatalogExploreState(REFRESH_INTERVAL, FULL_SYNC_INTERVAL);
+  }
+
+  @Test
+  public void testExploreNotifiedDatabases() {
+    Mockito.when(catalog.currentNotificationEventId()).thenReturn(10L);
+    tableService().exploreExternalCatalog(catalog, state, false);
+    databases.forEach(database -> Mockito.verify(catalog).listTables(database));
+
+    Mockito.clearInvocations(catalog);
+    Mockito.when(catalog.changedDatabasesSince(10L))
+        .thenReturn(Pair.of(12L, Sets.newHashSet("db2")));
+    tableService().exploreExternalCatalog(catalog, state, false);
+    Mockito.verify(catalog).listTables("db2");
+    Mockito.verify(catalog, Mockito.never()).listTables("db1");
+    Mockito.verify(catalog, Mockito.never()).listTables("db3");
+    Mockito.verify(catalog, Mockito.never()).currentNotificationEventId();
+
+    // the events after the last handled one are read next time
+    Mockito.clearInvocations(catalog);
+    Mockito.when(catalog.changedDatabasesSince(12L)).thenReturn(Pair.of(12L, Sets.newHashSet()));
+    tableService().exploreExternalCatalog(catalog, state, false);
+    Mockito.verify(catalog, Mockito.never()).listTables(Mockito.anyString());
+  }
+
+  @Test
+  public void testFallBackToFullSyncIfEventsUnavailable() {
+    Mockito.when(catalog.currentNotificationEventId()).thenReturn(10L);
+    tableService().exploreExternalCatalog(catalog, state, false);
+
+    Mockito.clearInvocations(catalog);
+    Mockito.when(catalog.changedDatabasesSince(10L))
+        .thenThrow(new IllegalStateException("events have been cleaned"));
+    Mockito.when(catalog.currentNotificationEventId()).thenReturn(20L);
+    tableService().exploreExternalCatalog(catalog, state, false);
+    databases.forEach(database -> Mockito.verify(catalog).listTables(database));
+    Mockito.verify(catalog).currentNotificationEventId();
+
+    // the notification events are used again after the full sync
+    Mockito.clearInvocations(catalog);
+    Mockito.when(catalog.changedDatabasesSince(20L)).thenReturn(Pair.of(20L, Sets.newHashSet()));
+    tableService().exploreExternalCatalog(catalog, state, false);
+    Mockito.verify(catalog, Mockito.never()).listTables(Mockito.anyString());
+  }
+
+  @Test
+  public void testExploreNewDatabasesWithoutNotifications() {
+    Mockito.when(catalog.currentNotificationEventId()).thenReturn(null);
+    tableService().exploreExternalCatalog(catalog, state, false);
+    databases.forEach(database -> Mockito.verify(catalog).listTables(database));
+
+    // the known databases are not due yet, only the new database is listed
+    Mockito.clearInvocations(catalog);
+    databases.add("db4");
+    tableService().exploreExternalCatalog(catalog, state, false);
+    Mockito.verify(catalog).listTables("db4");
+    Mockito.verify(catalog, Mockito.times(1)).listTables(Mockito.anyString());
+    Mockito.verify(catalog, Mockito.never()).changedDatabasesSince(Mockito.anyLong());
+
+    // a forced full sync lists all the databases
+    Mockito.clearInvocations(catalog);
+    tableService().exploreExternalCatalog(catalog, state, true);
+    databases.forEach(database -> Mockito.verify(catalog).listTables(database));
+  }
+}
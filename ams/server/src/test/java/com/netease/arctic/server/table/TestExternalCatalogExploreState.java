@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.table;
+
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+public class TestExternalCatalogExploreState {
+
+  @Test
+  public void testAdaptiveInterval() {
+    ExternalCatalogExploreState state = new ExternalCatalogExploreState(10, 100);
+    Assertions.assertTrue(state.fullSyncRequired(0));
+    List<String> databases = Lists.newArrayList("db1", "db2");
+    state.fullSynced(0, null, databases, Collections.emptySet());
+    Assertions.assertFalse(state.fullSyncRequired(50));
+
+    Assertions.assertEquals(
+        Sets.newHashSet("db1", "db2"), state.databasesToExplore(10, databases, null));
+    // db1 is unchanged, its interval is doubled
+    state.incrementalSynced(
+        10, null, databases, Collections.emptySet(), Collections.singleton("db2"));
+    Assertions.assertEquals(Sets.newHashSet("db2"), state.databasesToExplore(20, databases, null));
+    Assertions.assertEquals(
+        Sets.newHashSet("db1", "db2"), state.databasesToExplore(30, databases, null));
+
+    // new databases are always explored, dropped databases are reported
+    List<String> newDatabases = Lists.newArrayList("db2", "db3");
+    Assertions.assertEquals(
+        Sets.newHashSet("db3"), state.databasesToExplore(11, newDatabases, null));
+    Assertions.assertEquals(Sets.newHashSet("db1"), state.droppedDatabases(newDatabases));
+
+    Assertions.assertTrue(state.fullSyncRequired(100));
+  }
+
+  @Test
+  public void testNotifiedDatabases() {
+    ExternalCatalogExploreState state = new ExternalCatalogExploreState(10, 100);
+    List<String> databases = Lists.newArrayList("db1", "db2");
+    state.fullSynced(0, 5L, databases, Collections.emptySet());
+    Assertions.assertEquals(5L, state.lastEventId());
+
+    Assertions.assertEquals(
+        Sets.newHashSet("db2"),
+        state.databasesToExplore(50, databases, Collections.singleton("db2")));
+    Assertions.assertTrue(
+        state.databasesToExplore(50, databases, Collections.emptySet()).isEmpty());
+
+    state.reset();
+    Assertions.assertNull(state.lastEventId());
+    Assertions.assertTrue(state.fullSyncRequired(50));
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.table;
+
+import com.netease.arctic.AmoroTable;
+import com.netease.arctic.TableFormat;
+import com.netease.arctic.api.ServerTableIdentifier;
+import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.table.BasicUnkeyedTable;
+import org.apache.iceberg.TableMetadata;
+import org.apache.iceberg.TableOperations;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+public class TestTableCache {
+
+  private final ServerTableIdentifier identifier =
+      ServerTableIdentifier.of(1L, "catalog", "db", "table", TableFormat.ICEBERG);
+
+  /** The current metadata location of the table in the catalog. */
+  private final AtomicReference<String> catalogLocation = new AtomicReference<>("v1.json");
+
+  private final List<BasicUnkeyedTable> loadedTables = new ArrayList<>();
+
+  private final Function<ServerTableIdentifier, String> locator = id -> catalogLocation.get();
+
+  private final Function<ServerTableIdentifier, AmoroTable<?>> loader = id -> loadTable();
+
+  @Test
+  public void testHandOutTablesWithoutRefreshing() {
+    TableCache cache = new TableCache(10, Duration.ofMinutes(1));
+
+    AmoroTable<?> table = cache.get(identifier, locator, loader);
+    Assertions.assertSame(table, cache.get(identifier, locator, loader));
+    Assertions.assertSame(table, cache.get(identifier, locator, loader));
+    Assertions.assertEquals(1, loadedTables.size());
+    Mockito.verify(loadedTables.get(0), Mockito.never()).refresh();
+  }
+
+  @Test
+  public void testReloadOnceIfLocationMoved() {
+    TableCache cache = new TableCache(10, Duration.ofMinutes(1));
+    AmoroTable<?> table = cache.get(identifier, locator, loader);
+
+    catalogLocation.set("v2.json");
+    AmoroTable<?> newTable = cache.get(identifier, locator, loader);
+    Assertions.assertNotSame(table, newTable);
+    Assertions.assertEquals("v1.json", TableCache.metadataLocation(table));
+    Assertions.assertEquals("v2.json", TableCache.metadataLocation(newTable));
+    Assertions.assertSame(newTable, cache.get(identifier, locator, loader));
+    Assertions.assertEquals(2, loadedTables.size());
+    Mockito.verify(loadedTables.get(0), Mockito.never()).refresh();
+  }
+
+  @Test
+  public void testReloadIfLocationUnknown() {
+    TableCache cache = new TableCache(10, Duration.ofMinutes(1));
+    AmoroTable<?> table = cache.get(identifier, locator, loader);
+    Assertions.assertEquals(1, cache.size());
+
+    AmoroTable<?> reloaded = cache.get(identifier, id -> null, loader);
+    Assertions.assertNotSame(table, reloaded);
+    Assertions.assertEquals(0, cache.size());
+
+    Function<ServerTableIdentifier, String> failedLocator =
+        id -> {
+          throw new IllegalStateException("metastore is unavailable");
+        };
+    cache.get(identifier, locator, loader);
+    Assertions.assertNotSame(table, cache.get(identifier, failedLocator, loader));
+    Assertions.assertEquals(0, cache.size());
+    Assertions.assertEquals(4, loadedTables.size());
+  }
+
+  @Test
+  public void testInvalidate() {
+    TableCache cache = new TableCache(10, Duration.ofMinutes(1));
+    ServerTableIdentifier other =
+        ServerTableIdentifier.of(2L, "other_catalog", "db", "table", TableFormat.ICEBERG);
+    cache.get(identifier, locator, loader);
+    cache.get(other, locator, loader);
+    Assertions.assertEquals(2, cache.size());
+
+    cache.invalidateCatalog("catalog");
+    Assertions.assertEquals(1, cache.size());
+    cache.invalidate(other);
+    Assertions.assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testNotCacheTableWithoutLocation() {
+    TableCache cache = new TableCache(10, Duration.ofMinutes(1));
+    AmoroTable<?> table = Mockito.mock(AmoroTable.class);
+    Mockito.doReturn(Mockito.mock(ArcticTable.class)).when(table).originalTable();
+
+    List<AmoroTable<?>> loaded = new ArrayList<>();
+    Function<ServerTableIdentifier, AmoroTable<?>> loader =
+        id -> {
+          loaded.add(table);
+          return table;
+        };
+    cache.get(identifier, locator, loader);
+    cache.get(identifier, locator, loader);
+    Assertions.assertEquals(2, loaded.size());
+    Assertions.assertEquals(0, cache.size());
+  }
+
+  /** Load a table reading the current location of the catalog. */
+  private AmoroTable<?> loadTable() {
+    String location = catalogLocation.get();
+    TableMetadata metadata = Mockito.mock(TableMetadata.class);
+    Mockito.when(metadata.metadataFileLocation()).thenReturn(location);
+    TableOperations operations = Mockito.mock(TableOperations.class);
+    Mockito.when(operations.current()).thenReturn(metadata);
+    BasicUnkeyedTable arcticTable = Mockito.mock(BasicUnkeyedTable.class);
+    Mockito.when(arcticTable.operations()).thenReturn(operations);
+    loadedTables.add(arcticTable);
+
+    AmoroTable<?> table = Mockito.mock(AmoroTable.class);
+    Mockito.doReturn(arcticTable).when(table).originalTable();
+    return table;
+  }
+}
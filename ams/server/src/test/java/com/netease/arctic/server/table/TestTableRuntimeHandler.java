@@ -121,6 +121,50 @@ public class TestTableRuntimeHandler extends AMSTableTestBase {
     tableService = null;
   }
 
+  @Test
+  public void testTableAssignment() throws Exception {
+    TestOwnership ownership = new TestOwnership();
+    tableService = new DefaultTableService(new Configurations());
+    tableService.setTableOwnership(ownership);
+    TestHandler handler = new TestHandler();
+    tableService.addHandlerChain(handler);
+    tableService.initialize();
+    if (!(catalogTestHelper().tableFormat().equals(TableFormat.MIXED_HIVE)
+        && TEST_HMS.getHiveClient().getDatabase(TableTestHelper.TEST_DB_NAME) != null)) {
+      createDatabase();
+    }
+    createTable();
+    ServerTableIdentifier createTableId = tableService().listManagedTables().get(0);
+    Assert.assertEquals(1, handler.getAddedTables().size());
+
+    // assigned to the other node
+    ownership.owned = false;
+    tableService.syncTableRuntimes();
+    Assert.assertEquals(1, handler.getUnassignedTables().size());
+    Assert.assertEquals(0, handler.getRemovedTables().size());
+    Assert.assertNull(tableService.getRuntime(createTableId));
+    // still listed from the persisted runtime
+    Assert.assertEquals(1, tableService.listTableRuntimes().size());
+    Assert.assertEquals(
+        createTableId, tableService.listTableRuntimes().get(0).getTableIdentifier());
+
+    // assigned back to this node, the runtime is loaded from the persisted one
+    ownership.owned = true;
+    tableService.syncTableRuntimes();
+    Assert.assertEquals(1, handler.getAssignedTables().size());
+    Assert.assertEquals(
+        createTableId.getId().longValue(), handler.getAssignedTables().get(0).getTableId());
+    Assert.assertNotNull(tableService.getRuntime(createTableId));
+    Assert.assertSame(
+        tableService.getRuntime(createTableId), tableService.listTableRuntimes().get(0));
+
+    dropTable();
+    Assert.assertEquals(1, handler.getRemovedTables().size());
+    dropDatabase();
+    tableService.dispose();
+    tableService = null;
+  }
+
   protected DefaultTableService tableService() {
     if (tableService != null) {
       return tableService;
@@ -138,6 +182,8 @@ public class TestTableRuntimeHandler extends AMSTableTestBase {
         Lists.newArrayList();
     private final List<Pair<ArcticTable, TableRuntime>> addedTables = Lists.newArrayList();
     private final List<TableRuntime> removedTables = Lists.newArrayList();
+    private final List<TableRuntimeMeta> assignedTables = Lists.newArrayList();
+    private final List<TableRuntime> unassignedTables = Lists.newArrayList();
     private boolean disposed = false;
 
     @Override
@@ -161,6 +207,16 @@ public class TestTableRuntimeHandler extends AMSTableTestBase {
       removedTables.add(tableRuntime);
     }
 
+    @Override
+    protected void handleTableAssigned(TableRuntimeMeta tableRuntimeMeta) {
+      assignedTables.add(tableRuntimeMeta);
+    }
+
+    @Override
+    protected void handleTableUnassigned(TableRuntime tableRuntime) {
+      unassignedTables.add(tableRuntime);
+    }
+
     @Override
     protected void initHandler(List<TableRuntimeMeta> tableRuntimeMetaList) {
       initTables.addAll(tableRuntimeMetaList);
@@ -191,8 +247,39 @@ public class TestTableRuntimeHandler extends AMSTableTestBase {
       return removedTables;
     }
 
+    public List<TableRuntimeMeta> getAssignedTables() {
+      return assignedTables;
+    }
+
+    public List<TableRuntime> getUnassignedTables() {
+      return unassignedTables;
+    }
+
     public boolean isDisposed() {
       return disposed;
     }
   }
+
+  static class TestOwnership implements TableOwnership {
+
+    private volatile boolean owned = true;
+
+    @Override
+    public boolean isSharded() {
+      return true;
+    }
+
+    @Override
+    public boolean owns(long tableId) {
+      return owned;
+    }
+
+    @Override
+    public boolean isCoordinator() {
+      return true;
+    }
+
+    @Override
+    public void addListener(Runnable listener) {}
+  }
 }
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.table.executor;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestTableExecutorScheduler {
+
+  @Test
+  public void testConcurrencyOfLanes() throws InterruptedException {
+    TableExecutorScheduler scheduler = new TableExecutorScheduler(2);
+    TableExecutorScheduler.Lane slowLane = scheduler.register("test-slow", 1, 0);
+    TableExecutorScheduler.Lane fastLane = scheduler.register("test-fast", 2, 0);
+    try {
+      CountDownLatch blocker = new CountDownLatch(1);
+      AtomicInteger slowRunning = new AtomicInteger();
+      AtomicInteger slowMaxRunning = new AtomicInteger();
+      CountDownLatch slowFinished = new CountDownLatch(3);
+      for (int i = 0; i < 3; i++) {
+        slowLane.schedule(
+            "slow-" + i,
+            () -> {
+              slowMaxRunning.accumulateAndGet(slowRunning.incrementAndGet(), Math::max);
+              try {
+                blocker.await();
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              } finally {
+                slowRunning.decrementAndGet();
+                slowFinished.countDown();
+              }
+            },
+            0);
+      }
+
+      // The slow lane holds only one worker, the other lane is not starved
+      CountDownLatch fastFinished = new CountDownLatch(5);
+      for (int i = 0; i < 5; i++) {
+        fastLane.schedule("fast-" + i, fastFinished::countDown, 10);
+      }
+      Assertions.assertTrue(fastFinished.await(10, TimeUnit.SECONDS));
+
+      blocker.countDown();
+      Assertions.assertTrue(slowFinished.await(10, TimeUnit.SECONDS));
+      Assertions.assertEquals(1, slowMaxRunning.get());
+    } finally {
+      slowLane.close();
+      fastLane.close();
+      scheduler.shutdown();
+    }
+  }
+
+  @Test
+  public void testCloseLane() throws InterruptedException {
+    TableExecutorScheduler scheduler = new TableExecutorScheduler(1);
+    TableExecutorScheduler.Lane lane = scheduler.register("test-close", 1, 0);
+    try {
+      AtomicInteger executed = new AtomicInteger();
+      lane.schedule("delayed", executed::incrementAndGet, 200);
+      lane.close();
+      lane.schedule("after-close", executed::incrementAndGet, 0);
+      Thread.sleep(500);
+      Assertions.assertEquals(0, executed.get());
+    } finally {
+      scheduler.shutdown();
+    }
+  }
+
+  @Test
+  public void testExpedite() throws InterruptedException {
+    TableExecutorScheduler scheduler = new TableExecutorScheduler(1);
+    TableExecutorScheduler.Lane lane = scheduler.register("test-expedite", 1, 0);
+    try {
+      CountDownLatch executed = new CountDownLatch(1);
+      lane.schedule("table", executed::countDown, 60 * 60 * 1000L);
+      Assertions.assertFalse(lane.expedite("other_table"));
+      Assertions.assertTrue(lane.expedite("table"));
+      Assertions.assertTrue(executed.await(10, TimeUnit.SECONDS));
+      Assertions.assertFalse(lane.expedite("table"));
+    } finally {
+      lane.close();
+      scheduler.shutdown();
+    }
+  }
+}
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.table.executor;
+
+import com.netease.arctic.AmoroTable;
+import com.netease.arctic.TableFormat;
+import com.netease.arctic.api.ServerTableIdentifier;
+import com.netease.arctic.api.config.OptimizingConfig;
+import com.netease.arctic.server.optimizing.OptimizingStatus;
+import com.netease.arctic.server.table.TableManager;
+import com.netease.arctic.server.table.TableRuntime;
+import com.netease.arctic.table.ArcticTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TestTableRuntimeRefreshExecutor {
+
+  private static final long INTERVAL = 60 * 1000L;
+  private static final long NOTIFIED_INTERVAL = 10 * 60 * 1000L;
+
+  private final ServerTableIdentifier identifier =
+      ServerTableIdentifier.of(1L, "catalog", "db", "table", TableFormat.ICEBERG);
+  private TableManager tableManager;
+  private TableRuntime tableRuntime;
+  private RecordingRefreshExecutor executor;
+
+  @BeforeEach
+  public void setup() {
+    tableRuntime = Mockito.mock(TableRuntime.class);
+    Mockito.when(tableRuntime.getTableIdentifier()).thenReturn(identifier);
+    Mockito.when(tableRuntime.getOptimizingConfig())
+        .thenReturn(new OptimizingConfig().setMinorLeastInterval(Integer.MAX_VALUE));
+    tableManager = Mockito.mock(TableManager.class);
+    Mockito.when(tableManager.contains(identifier)).thenReturn(true);
+    Mockito.when(tableManager.getRuntime(identifier)).thenReturn(tableRuntime);
+    executor = new RecordingRefreshExecutor(tableManager);
+  }
+
+  @AfterEach
+  public void dispose() {
+    executor.dispose();
+  }
+
+  @Test
+  public void testRefreshNotifiedTable() throws InterruptedException {
+    executor.handleTableAdded(null, tableRuntime);
+    Assertions.assertEquals(INTERVAL, executor.getNextExecutingTime(tableRuntime));
+    Assertions.assertFalse(executor.executions.tryAcquire(200, TimeUnit.MILLISECONDS));
+
+    executor.tableChanged(identifier);
+    Assertions.assertTrue(executor.executions.tryAcquire(10, TimeUnit.SECONDS));
+    // polled with the longer interval after notified
+    Assertions.assertEquals(NOTIFIED_INTERVAL, executor.getNextExecutingTime(tableRuntime));
+    Assertions.assertFalse(executor.executions.tryAcquire(200, TimeUnit.MILLISECONDS));
+
+    executor.tableChanged(identifier);
+    Assertions.assertTrue(executor.executions.tryAcquire(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testNotifiedIntervalBoundedByMinorInterval() {
+    executor.tableChanged(identifier);
+    Mockito.when(tableRuntime.getOptimizingConfig())
+        .thenReturn(new OptimizingConfig().setMinorLeastInterval(5 * 60 * 1000));
+    Assertions.assertEquals(4 * 60 * 1000L, executor.getNextExecutingTime(tableRuntime));
+  }
+
+  @Test
+  public void testPollWithRegularIntervalAfterUnnotifiedChange() {
+    AtomicLong catalogSnapshotId = new AtomicLong(1L);
+    AtomicLong currentSnapshotId = new AtomicLong(1L);
+    Mockito.when(tableRuntime.getCurrentSnapshotId()).thenAnswer(i -> currentSnapshotId.get());
+    Mockito.when(tableRuntime.getCurrentChangeSnapshotId()).thenReturn(-1L);
+    Mockito.when(tableRuntime.getLastOptimizedSnapshotId()).thenReturn(1L);
+    Mockito.doAnswer(
+            i -> {
+              currentSnapshotId.set(catalogSnapshotId.get());
+              return tableRuntime;
+            })
+        .when(tableRuntime)
+        .refresh(Mockito.any());
+    ArcticTable arcticTable = Mockito.mock(ArcticTable.class);
+    Mockito.when(arcticTable.isUnkeyedTable()).thenReturn(true);
+    AmoroTable<?> table = Mockito.mock(AmoroTable.class);
+    Mockito.doReturn(arcticTable).when(table).originalTable();
+    Mockito.doReturn(table).when(tableManager).loadTable(identifier);
+    TableRuntimeRefreshExecutor refreshExecutor =
+        new TableRuntimeRefreshExecutor(tableManager, 1, INTERVAL, NOTIFIED_INTERVAL);
+    try {
+      // the notified change is refreshed
+      catalogSnapshotId.set(2L);
+      refreshExecutor.tableChanged(identifier);
+      refreshExecutor.execute(tableRuntime);
+      Assertions.assertEquals(
+          NOTIFIED_INTERVAL, refreshExecutor.getNextExecutingTime(tableRuntime));
+      refreshExecutor.execute(tableRuntime);
+      Assertions.assertEquals(
+          NOTIFIED_INTERVAL, refreshExecutor.getNextExecutingTime(tableRuntime));
+
+      // a change found by polling was not notified
+      catalogSnapshotId.set(3L);
+      refreshExecutor.execute(tableRuntime);
+      Assertions.assertEquals(INTERVAL, refreshExecutor.getNextExecutingTime(tableRuntime));
+    } finally {
+      refreshExecutor.dispose();
+    }
+  }
+
+  @Test
+  public void testRefreshOnceOptimizingIdle() throws InterruptedException {
+    executor.handleTableAdded(null, tableRuntime);
+    Mockito.when(tableRuntime.getOptimizingStatus()).thenReturn(OptimizingStatus.PENDING);
+    executor.handleStatusChanged(tableRuntime, OptimizingStatus.IDLE);
+    Assertions.assertFalse(executor.executions.tryAcquire(200, TimeUnit.MILLISECONDS));
+
+    Mockito.when(tableRuntime.getOptimizingStatus()).thenReturn(OptimizingStatus.IDLE);
+    executor.handleStatusChanged(tableRuntime, OptimizingStatus.COMMITTING);
+    Assertions.assertTrue(executor.executions.tryAcquire(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testNotifiedWhileRefreshing() throws InterruptedException {
+    executor.blocker = new CountDownLatch(1);
+    executor.handleTableAdded(null, tableRuntime);
+    executor.tableChanged(identifier);
+    Assertions.assertTrue(executor.started.tryAcquire(10, TimeUnit.SECONDS));
+
+    // the table is refreshed once more right after the running refreshing
+    executor.tableChanged(identifier);
+    executor.tableChanged(identifier);
+    executor.blocker.countDown();
+    Assertions.assertTrue(executor.executions.tryAcquire(2, 10, TimeUnit.SECONDS));
+    Assertions.assertFalse(executor.executions.tryAcquire(200, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testNotifyRemovedTable() throws InterruptedException {
+    Mockito.when(tableManager.getRuntime(identifier)).thenReturn(null);
+    executor.handleTableAdded(null, tableRuntime);
+    executor.tableChanged(identifier);
+    Assertions.assertFalse(executor.executions.tryAcquire(200, TimeUnit.MILLISECONDS));
+  }
+
+  private static class RecordingRefreshExecutor extends TableRuntimeRefreshExecutor {
+    private final Semaphore started = new Semaphore(0);
+    private final Semaphore executions = new Semaphore(0);
+    private volatile CountDownLatch blocker;
+
+    private RecordingRefreshExecutor(TableManager tableManager) {
+      super(tableManager, 1, INTERVAL, NOTIFIED_INTERVAL);
+    }
+
+    @Override
+    protected long getStartDelay() {
+      return INTERVAL;
+    }
+
+    @Override
+    public void execute(TableRuntime tableRuntime) {
+      started.release();
+      try {
+        if (blocker != null) {
+          blocker.await();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      executions.release();
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.table.internal;
+
+import com.netease.arctic.BasicTableTestHelper;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.TableMetadata;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableMap;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestInternalTableMetadataCache {
+
+  @Test
+  public void testParseOnce() {
+    InternalTableMetadataCache cache =
+        new InternalTableMetadataCache(1024 * 1024, Duration.ofMinutes(1));
+    AtomicInteger parsedTimes = new AtomicInteger();
+    TableMetadata metadata = newMetadata(ImmutableMap.of());
+
+    Assertions.assertSame(metadata, cache.get("v1.json", location -> parse(metadata, parsedTimes)));
+    Assertions.assertSame(metadata, cache.get("v1.json", location -> parse(metadata, parsedTimes)));
+    Assertions.assertEquals(1, parsedTimes.get());
+  }
+
+  @Test
+  public void testBoundedByEstimatedSize() {
+    TableMetadata small = newMetadata(ImmutableMap.of());
+    Map<String, String> properties = Maps.newHashMap();
+    for (int i = 0; i < 1000; i++) {
+      properties.put("key-" + i, "value-" + i);
+    }
+    TableMetadata large = newMetadata(properties);
+    long smallSize = InternalTableMetadataCache.estimatedSize(small);
+    long largeSize = InternalTableMetadataCache.estimatedSize(large);
+    Assertions.assertTrue(largeSize > smallSize * 10);
+
+    long maxSize = largeSize + smallSize * 10;
+    InternalTableMetadataCache cache =
+        new InternalTableMetadataCache(maxSize, Duration.ofMinutes(1));
+    for (int i = 0; i < 10; i++) {
+      cache.get("small-v" + i + ".json", location -> small);
+    }
+    cache.cleanUp();
+    Assertions.assertEquals(smallSize * 10, cache.weightedSize());
+
+    for (int i = 0; i < 10; i++) {
+      cache.get("large-v" + i + ".json", location -> large);
+    }
+    cache.cleanUp();
+    Assertions.assertTrue(cache.weightedSize() <= maxSize);
+  }
+
+  private static TableMetadata parse(TableMetadata metadata, AtomicInteger parsedTimes) {
+    parsedTimes.incrementAndGet();
+    return metadata;
+  }
+
+  private static TableMetadata newMetadata(Map<String, String> properties) {
+    return TableMetadata.newTableMetadata(
+        BasicTableTestHelper.TABLE_SCHEMA,
+        PartitionSpec.unpartitioned(),
+        "/tmp/table",
+        properties);
+  }
+}
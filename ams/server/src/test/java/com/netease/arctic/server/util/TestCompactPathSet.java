@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.util;
+
+import com.netease.arctic.server.utils.CompactPathSet;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+public class TestCompactPathSet {
+
+  @Test
+  public void addAndContains() {
+    Set<String> paths = new CompactPathSet();
+    Assertions.assertTrue(paths.add("/warehouse/db/table/data/p=1/file-1.parquet"));
+    Assertions.assertTrue(paths.add("/warehouse/db/table/data/p=1/file-2.parquet"));
+    Assertions.assertTrue(paths.add("/warehouse/db/table/data/p=2/file-1.parquet"));
+    Assertions.assertTrue(paths.add("file-3.parquet"));
+    Assertions.assertFalse(paths.add("/warehouse/db/table/data/p=1/file-1.parquet"));
+    Assertions.assertEquals(4, paths.size());
+
+    Assertions.assertTrue(paths.contains("/warehouse/db/table/data/p=2/file-1.parquet"));
+    Assertions.assertTrue(paths.contains("file-3.parquet"));
+    Assertions.assertFalse(paths.contains("/warehouse/db/table/data/p=2/file-2.parquet"));
+    Assertions.assertFalse(paths.contains("/warehouse/db/table/data/p=1"));
+    Assertions.assertFalse(paths.contains("/file-3.parquet"));
+
+    Assertions.assertEquals(
+        Sets.newHashSet(
+            "/warehouse/db/table/data/p=1/file-1.parquet",
+            "/warehouse/db/table/data/p=1/file-2.parquet",
+            "/warehouse/db/table/data/p=2/file-1.parquet",
+            "file-3.parquet"),
+        Sets.newHashSet(paths));
+  }
+}
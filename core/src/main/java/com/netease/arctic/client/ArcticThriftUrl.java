@@ -32,9 +32,13 @@ import javax.security.auth.login.LoginException;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 public class ArcticThriftUrl {
   public static final String PARAM_SOCKET_TIMEOUT = "socketTimeout";
@@ -208,6 +212,62 @@ public class ArcticThriftUrl {
     }
   }
 
+  /**
+   * List the urls of all the optimizing service nodes, if the url is a zookeeper url of an AMS
+   * cluster sharding tables across its nodes.
+   *
+   * @param url - ams url
+   * @return the urls of the nodes, or the url itself if it is not sharded
+   */
+  public static List<String> listOptimizingServiceUrls(String url) {
+    if (url == null || !url.startsWith(ZOOKEEPER_FLAG)) {
+      return Collections.singletonList(url);
+    }
+    String query = url.contains("?") ? url.substring(url.indexOf("?")) : "";
+    Matcher m = PATTERN.matcher(url.substring(0, url.length() - query.length()));
+    if (!m.matches()) {
+      throw new RuntimeException(String.format("invalid ams url %s", url));
+    }
+    String zkServerAddress = m.group(1);
+    String cluster = m.group(2);
+    if (m.group(1).contains("/")) {
+      zkServerAddress = m.group(1).substring(0, m.group(1).indexOf("/"));
+      cluster = m.group(1).substring(m.group(1).indexOf("/") + 1);
+    }
+    try {
+      ZookeeperService zkService = ZookeeperService.getInstance(zkServerAddress);
+      String nodesPath = AmsHAProperties.getOptimizingServiceNodesPath(cluster);
+      List<String> urls =
+          zkService.getChildren(nodesPath).stream()
+              .map(
+                  node -> {
+                    try {
+                      return JacksonUtil.parseObject(
+                          zkService.getData(nodesPath + "/" + node), AmsServerInfo.class);
+                    } catch (Exception e) {
+                      // The node has left
+                      return null;
+                    }
+                  })
+              .filter(Objects::nonNull)
+              .map(
+                  serverInfo ->
+                      String.format(
+                          THRIFT_URL_FORMAT,
+                          serverInfo.getHost(),
+                          serverInfo.getThriftBindPort(),
+                          "",
+                          query))
+              .distinct()
+              .sorted()
+              .collect(Collectors.toList());
+      return urls.isEmpty() ? Collections.singletonList(url) : urls;
+    } catch (Exception e) {
+      logger.error("Failed to list the optimizing service nodes of {}", url, e);
+      return Collections.singletonList(url);
+    }
+  }
+
   public String schema() {
     return schema;
   }
@@ -19,22 +19,29 @@
 package com.netease.arctic.io.reader;
 
 import com.netease.arctic.data.DataTreeNode;
+import com.netease.arctic.data.PrimaryKeyedFile;
 import com.netease.arctic.io.ArcticFileIO;
 import com.netease.arctic.scan.ArcticFileScanTask;
 import com.netease.arctic.table.PrimaryKeySpec;
 import com.netease.arctic.utils.NodeFilter;
 import com.netease.arctic.utils.map.StructLikeCollections;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.FileFormat;
 import org.apache.iceberg.FileScanTask;
 import org.apache.iceberg.MetadataColumns;
+import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.Schema;
 import org.apache.iceberg.StructLike;
+import org.apache.iceberg.expressions.Expression;
 import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.io.CloseableIterator;
 import org.apache.iceberg.io.InputFile;
 import org.apache.iceberg.mapping.NameMappingParser;
 import org.apache.iceberg.orc.ORC;
 import org.apache.iceberg.orc.OrcRowReader;
 import org.apache.iceberg.parquet.Parquet;
 import org.apache.iceberg.parquet.ParquetValueReader;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableList;
 import org.apache.iceberg.relocated.com.google.common.collect.Sets;
 import org.apache.iceberg.types.Type;
 import org.apache.iceberg.types.TypeUtil;
@@ -42,6 +49,9 @@ import org.apache.iceberg.util.Filter;
 import org.apache.orc.TypeDescription;
 import org.apache.parquet.schema.MessageType;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BiFunction;
@@ -61,6 +71,7 @@ public abstract class AbstractUnkeyedDataReader<T> {
   protected final ArcticFileIO fileIO;
   protected final BiFunction<Type, Object, Object> convertConstant;
   protected final Filter<T> dataNodeFilter;
+  protected final Set<DataTreeNode> sourceNodes;
   protected final boolean reuseContainer;
   private StructLikeCollections structLikeCollections = StructLikeCollections.DEFAULT;
 
@@ -123,6 +134,7 @@ public abstract class AbstractUnkeyedDataReader<T> {
     this.fileIO = fileIO;
     this.convertConstant = convertConstant;
     this.reuseContainer = reuseContainer;
+    this.sourceNodes = sourceNodes;
     if (sourceNodes != null) {
       this.dataNodeFilter =
           new NodeFilter<>(
@@ -153,6 +165,73 @@ public abstract class AbstractUnkeyedDataReader<T> {
     return iterable;
   }
 
+  /**
+   * Read the data of the task, starting from its {@code startingRowOffset}-th row.
+   *
+   * <p>If no row of the task could be dropped by deletes, residual filter or data node filter, the
+   * row groups (parquet) or stripes (orc) before the starting row are not read at all, and only the
+   * leading rows of the row group containing it are decoded and discarded. Otherwise all the rows
+   * before the starting row are read and discarded.
+   *
+   * @param task the task to read
+   * @param startingRowOffset the offset of the first row to return
+   * @return the iterator positioned at the starting row
+   */
+  public CloseableIterator<T> readData(FileScanTask task, long startingRowOffset) {
+    FileScanTask readTask = task;
+    long rowsToSkip = startingRowOffset;
+    if (startingRowOffset > 0 && canSeekByFileLayout(task)) {
+      FileSplitSeeker.Position position =
+          FileSplitSeeker.seek(
+              fileIO.newInputFile(task.file().path().toString()),
+              task.file().format(),
+              task.start(),
+              task.length(),
+              startingRowOffset);
+      readTask =
+          new SeekedArcticFileScanTask(
+              (ArcticFileScanTask) task, position.start(), position.length());
+      rowsToSkip = position.rowsToSkip();
+    }
+
+    CloseableIterator<T> iterator = readData(readTask).iterator();
+    for (long i = 0; i < rowsToSkip; ++i) {
+      if (!iterator.hasNext()) {
+        try {
+          iterator.close();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        throw new IllegalStateException(
+            String.format(
+                "Invalid starting row offset %d for file %s.",
+                startingRowOffset,
+                task.file().path()));
+      }
+      iterator.next();
+    }
+    return iterator;
+  }
+
+  private boolean canSeekByFileLayout(FileScanTask task) {
+    if (!(task instanceof ArcticFileScanTask)) {
+      return false;
+    }
+    if (task.file().format() != FileFormat.PARQUET && task.file().format() != FileFormat.ORC) {
+      return false;
+    }
+    if (!task.deletes().isEmpty()
+        || (task.residual() != null && task.residual().op() != Expression.Operation.TRUE)) {
+      return false;
+    }
+    if (dataNodeFilter == null) {
+      return true;
+    }
+    // all rows of the file pass the node filter if the file belongs to one of the source nodes
+    DataTreeNode fileNode = ((ArcticFileScanTask) task).file().node();
+    return fileNode != null && sourceNodes.stream().anyMatch(fileNode::isSonOf);
+  }
+
   private CloseableIterable<T> newIterable(
       FileScanTask task, Schema schema, Map<Integer, ?> idToConstant) {
     CloseableIterable<T> iter;
@@ -224,6 +303,54 @@ public abstract class AbstractUnkeyedDataReader<T> {
 
   protected abstract Function<Schema, Function<T, StructLike>> toStructLikeFunction();
 
+  /** A {@link ArcticFileScanTask} reading only a sub range of the split of another task. */
+  private static class SeekedArcticFileScanTask implements ArcticFileScanTask {
+    private final ArcticFileScanTask task;
+    private final long start;
+    private final long length;
+
+    SeekedArcticFileScanTask(ArcticFileScanTask task, long start, long length) {
+      this.task = task;
+      this.start = start;
+      this.length = length;
+    }
+
+    @Override
+    public PrimaryKeyedFile file() {
+      return task.file();
+    }
+
+    @Override
+    public List<DeleteFile> deletes() {
+      return task.deletes();
+    }
+
+    @Override
+    public PartitionSpec spec() {
+      return task.spec();
+    }
+
+    @Override
+    public long start() {
+      return start;
+    }
+
+    @Override
+    public long length() {
+      return length;
+    }
+
+    @Override
+    public Expression residual() {
+      return task.residual();
+    }
+
+    @Override
+    public Iterable<FileScanTask> split(long splitSize) {
+      return ImmutableList.of(this);
+    }
+  }
+
   protected class GenericDeleteFilter extends DeleteFilter<T> {
 
     protected Function<T, StructLike> asStructLike;
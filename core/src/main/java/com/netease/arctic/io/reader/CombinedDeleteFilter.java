@@ -21,9 +21,11 @@ package com.netease.arctic.io.reader;
 import com.netease.arctic.io.ArcticFileIO;
 import com.netease.arctic.io.CloseablePredicate;
 import com.netease.arctic.optimizing.RewriteFilesInput;
+import com.netease.arctic.optimizing.TaskExecutionProfile;
 import com.netease.arctic.utils.ContentFiles;
 import com.netease.arctic.utils.map.StructLikeBaseMap;
 import com.netease.arctic.utils.map.StructLikeCollections;
+import com.netease.arctic.utils.map.StructLikeSpillableMap;
 import org.apache.iceberg.Accessor;
 import org.apache.iceberg.ContentFile;
 import org.apache.iceberg.DeleteFile;
@@ -108,6 +110,14 @@ public abstract class CombinedDeleteFilter<T extends StructLike> {
   private final long dataRecordCnt;
   private final boolean filterEqDelete;
 
+  private long eqDeleteRecordCnt;
+  private long deleteMapRecordCnt;
+  private long deleteMapMemoryBytes;
+  private long deleteMapSpillBytes;
+  private long deleteMapBuildNanos;
+  private long filterNanos;
+  private long filterNegateNanos;
+
   protected CombinedDeleteFilter(
       RewriteFilesInput rewriteFilesInput,
       Schema tableSchema,
@@ -184,6 +194,25 @@ public abstract class CombinedDeleteFilter<T extends StructLike> {
     return posDeletes != null && posDeletes.size() > 0;
   }
 
+  /** The time spent in testing the records against the deletes by {@link #filter}. */
+  public long filterNanos() {
+    return filterNanos;
+  }
+
+  /** The time spent in testing the records against the deletes by {@link #filterNegate}. */
+  public long filterNegateNanos() {
+    return filterNegateNanos;
+  }
+
+  /** Collect the statistics of the delete map into the profile. */
+  public void collectProfile(TaskExecutionProfile profile) {
+    if (deleteMapBuildNanos > 0) {
+      profile.setDeleteMap(
+          eqDeleteRecordCnt, deleteMapRecordCnt, deleteMapMemoryBytes, deleteMapSpillBytes);
+      profile.setDeleteMapBuildNanos(deleteMapBuildNanos);
+    }
+  }
+
   public void close() {
     positionMap = null;
     try {
@@ -210,7 +239,12 @@ public abstract class CombinedDeleteFilter<T extends StructLike> {
         new Filter<StructForDelete<T>>() {
           @Override
           protected boolean shouldKeep(StructForDelete<T> item) {
-            return or.test(item);
+            long startNanos = System.nanoTime();
+            try {
+              return or.test(item);
+            } finally {
+              filterNegateNanos += System.nanoTime() - startNanos;
+            }
           }
         };
 
@@ -226,6 +260,7 @@ public abstract class CombinedDeleteFilter<T extends StructLike> {
       return record -> false;
     }
 
+    long buildStartNanos = System.nanoTime();
     InternalRecordWrapper internalRecordWrapper =
         new InternalRecordWrapper(deleteSchema.asStruct());
 
@@ -273,12 +308,16 @@ public abstract class CombinedDeleteFilter<T extends StructLike> {
               : getArcticFileIo().doAs(deletes::iterator);
       while (it.hasNext()) {
         RecordWithLsn recordWithLsn = it.next();
+        eqDeleteRecordCnt++;
         StructLike deletePK = internalRecordWrapper.copyFor(recordWithLsn.getRecord());
         if (filterEqDelete && !bloomFilter.mightContain(deletePK)) {
           continue;
         }
         Long lsn = recordWithLsn.getLsn();
         Long old = structLikeMap.get(deletePK);
+        if (old == null) {
+          deleteMapRecordCnt++;
+        }
         if (old == null || old.compareTo(lsn) <= 0) {
           structLikeMap.put(deletePK, lsn);
         }
@@ -286,6 +325,12 @@ public abstract class CombinedDeleteFilter<T extends StructLike> {
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
+    if (structLikeMap instanceof StructLikeSpillableMap) {
+      StructLikeSpillableMap<Long> spillableMap = (StructLikeSpillableMap<Long>) structLikeMap;
+      deleteMapMemoryBytes = spillableMap.getMemoryMapSpaceSize();
+      deleteMapSpillBytes = spillableMap.getSizeOfFileOnDiskInBytes();
+    }
+    deleteMapBuildNanos = System.nanoTime() - buildStartNanos;
 
     Predicate<StructForDelete<T>> isInDeleteSet =
         structForDelete -> {
@@ -322,7 +367,12 @@ public abstract class CombinedDeleteFilter<T extends StructLike> {
         new Filter<StructForDelete<T>>() {
           @Override
           protected boolean shouldKeep(StructForDelete<T> item) {
-            return predicate.test(item);
+            long startNanos = System.nanoTime();
+            try {
+              return predicate.test(item);
+            } finally {
+              filterNanos += System.nanoTime() - startNanos;
+            }
           }
         };
 
@@ -375,7 +425,12 @@ public abstract class CombinedDeleteFilter<T extends StructLike> {
         new Filter<StructForDelete<T>>() {
           @Override
           protected boolean shouldKeep(StructForDelete<T> item) {
-            return predicate.test(item);
+            long startNanos = System.nanoTime();
+            try {
+              return predicate.test(item);
+            } finally {
+              filterNanos += System.nanoTime() - startNanos;
+            }
           }
         };
 
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.io.reader;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.hadoop.HadoopInputFile;
+import org.apache.iceberg.io.InputFile;
+import org.apache.iceberg.orc.ORC;
+import org.apache.iceberg.parquet.PublicParquetIO;
+import org.apache.orc.Reader;
+import org.apache.orc.StripeInformation;
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Locates the parquet row group or orc stripe that contains a given row of a file split, by the
+ * row counts recorded in the file footer. Reading the split from the returned position instead of
+ * from its start avoids decoding every row group before it.
+ *
+ * <p>Row groups and stripes are selected with the same rules as the parquet and orc readers use for
+ * a split range, so the rows of the narrowed range are exactly the tail of the rows of the original
+ * one.
+ */
+public class FileSplitSeeker {
+
+  private FileSplitSeeker() {}
+
+  /**
+   * Seek the split [start, start + length) of the file to its {@code rowOffset}-th row.
+   *
+   * @param file the data file
+   * @param format the format of the data file, only parquet and orc are supported
+   * @param start the start of the split in bytes
+   * @param length the length of the split in bytes
+   * @param rowOffset the offset of the row in the split
+   * @return the narrowed split and the rows to skip in it to reach the row
+   */
+  public static Position seek(
+      InputFile file, FileFormat format, long start, long length, long rowOffset) {
+    switch (format) {
+      case PARQUET:
+        return seekParquet(file, start, length, rowOffset);
+      case ORC:
+        return seekOrc(file, start, length, rowOffset);
+      default:
+        throw new UnsupportedOperationException("Cannot seek unknown format: " + format);
+    }
+  }
+
+  private static Position seekParquet(InputFile file, long start, long length, long rowOffset) {
+    ParquetReadOptions options =
+        ParquetReadOptions.builder().withRange(start, start + length).build();
+    try (ParquetFileReader reader = ParquetFileReader.open(PublicParquetIO.file(file), options)) {
+      long skippedRows = 0;
+      for (BlockMetaData rowGroup : reader.getRowGroups()) {
+        if (skippedRows + rowGroup.getRowCount() > rowOffset) {
+          return Position.of(
+              rowGroup.getStartingPos(),
+              start + length - rowGroup.getStartingPos(),
+              rowOffset - skippedRows);
+        }
+        skippedRows += rowGroup.getRowCount();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read footer of file: " + file.location(), e);
+    }
+    return Position.of(start, length, rowOffset);
+  }
+
+  private static Position seekOrc(InputFile file, long start, long length, long rowOffset) {
+    Configuration conf =
+        file instanceof HadoopInputFile ? ((HadoopInputFile) file).getConf() : new Configuration();
+    try (Reader reader = ORC.newFileReader(file, conf)) {
+      long skippedRows = 0;
+      for (StripeInformation stripe : reader.getStripes()) {
+        if (stripe.getOffset() < start || stripe.getOffset() >= start + length) {
+          continue;
+        }
+        if (skippedRows + stripe.getNumberOfRows() > rowOffset) {
+          return Position.of(
+              stripe.getOffset(), start + length - stripe.getOffset(), rowOffset - skippedRows);
+        }
+        skippedRows += stripe.getNumberOfRows();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read footer of file: " + file.location(), e);
+    }
+    return Position.of(start, length, rowOffset);
+  }
+
+  /** The narrowed split range and the rows left to skip within it. */
+  public static class Position {
+    private final long start;
+    private final long length;
+    private final long rowsToSkip;
+
+    private Position(long start, long length, long rowsToSkip) {
+      this.start = start;
+      this.length = length;
+      this.rowsToSkip = rowsToSkip;
+    }
+
+    static Position of(long start, long length, long rowsToSkip) {
+      return new Position(start, length, rowsToSkip);
+    }
+
+    public long start() {
+      return start;
+    }
+
+    public long length() {
+      return length;
+    }
+
+    public long rowsToSkip() {
+      return rowsToSkip;
+    }
+  }
+}
@@ -21,6 +21,7 @@ package com.netease.arctic.io.reader;
 import com.netease.arctic.io.ArcticFileIO;
 import com.netease.arctic.optimizing.OptimizingDataReader;
 import com.netease.arctic.optimizing.RewriteFilesInput;
+import com.netease.arctic.optimizing.TaskExecutionProfile;
 import com.netease.arctic.scan.CombinedIcebergScanTask;
 import com.netease.arctic.utils.map.StructLikeCollections;
 import org.apache.iceberg.ContentFile;
@@ -74,6 +75,11 @@ public class GenericCombinedIcebergDataReader implements OptimizingDataReader {
 
   protected RewriteFilesInput input;
 
+  /** The records read from the files before filtering the deleted records. */
+  private long dataRecords;
+
+  private long deletedDataRecords;
+
   public GenericCombinedIcebergDataReader(
       ArcticFileIO fileIO,
       Schema tableSchema,
@@ -117,7 +123,12 @@ public class GenericCombinedIcebergDataReader implements OptimizingDataReader {
     StructForDelete<Record> structForDelete =
         new StructForDelete<>(requireSchema, deleteFilter.deleteIds());
     CloseableIterable<StructForDelete<Record>> structForDeleteCloseableIterable =
-        CloseableIterable.transform(concat, structForDelete::wrap);
+        CloseableIterable.transform(
+            concat,
+            record -> {
+              dataRecords++;
+              return structForDelete.wrap(record);
+            });
 
     CloseableIterable<Record> iterable =
         CloseableIterable.transform(
@@ -149,7 +160,12 @@ public class GenericCombinedIcebergDataReader implements OptimizingDataReader {
     StructForDelete<Record> structForDelete =
         new StructForDelete<>(requireSchema, deleteFilter.deleteIds());
     CloseableIterable<StructForDelete<Record>> structForDeleteCloseableIterable =
-        CloseableIterable.transform(concat, structForDelete::wrap);
+        CloseableIterable.transform(
+            concat,
+            record -> {
+              deletedDataRecords++;
+              return structForDelete.wrap(record);
+            });
 
     CloseableIterable<Record> iterable =
         CloseableIterable.transform(
@@ -157,6 +173,21 @@ public class GenericCombinedIcebergDataReader implements OptimizingDataReader {
     return iterable;
   }
 
+  @Override
+  public void collectProfile(TaskExecutionProfile profile) {
+    deleteFilter.collectProfile(profile);
+    if (dataRecords > 0) {
+      profile
+          .phase(TaskExecutionProfile.PHASE_REWRITE)
+          .addReadRecords(dataRecords, deleteFilter.filterNanos());
+    }
+    if (deletedDataRecords > 0) {
+      profile
+          .phase(TaskExecutionProfile.PHASE_EQ_TO_POS)
+          .addReadRecords(deletedDataRecords, deleteFilter.filterNegateNanos());
+    }
+  }
+
   public void close() {
     deleteFilter.close();
   }
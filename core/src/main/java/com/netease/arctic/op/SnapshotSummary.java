@@ -25,4 +25,9 @@ public class SnapshotSummary {
   public static final String SNAPSHOT_PRODUCER_DEFAULT = CommitMetaProducer.INGESTION.name();
 
   public static final String TRANSACTION_BEGIN_SIGNATURE = "tx.begin.signature";
+
+  /** The optimizing process and the partition committed by a partial commit of the process. */
+  public static final String OPTIMIZING_PROCESS_ID = "optimizing.process-id";
+
+  public static final String OPTIMIZING_PARTITION = "optimizing.partition";
 }
@@ -26,6 +26,7 @@ import com.netease.arctic.data.DataTreeNode;
 import com.netease.arctic.io.ArcticFileIO;
 import com.netease.arctic.io.writer.SetTreeNode;
 import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.utils.map.SortedRecordBuffer;
 import com.netease.arctic.utils.map.StructLikeCollections;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.iceberg.ContentFile;
@@ -51,6 +52,9 @@ import org.apache.iceberg.util.PropertyUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -75,12 +79,34 @@ public abstract class AbstractRewriteFilesExecutor
 
   protected StructLikeCollections structLikeCollections;
 
+  protected final TaskExecutionProfile profile = new TaskExecutionProfile();
+
+  /** Generates the keys to sort the rewritten records by, null if not clustering. */
+  protected final ClusteringKeyGenerator clusteringKeyGenerator;
+
+  /**
+   * The range of the clustering keys of the records to write if clustering. The tasks of
+   * reclustering a partition may read the same data file, each of them only writes its own range.
+   */
+  protected final ClusteringKeyRange clusteringKeyRange;
+
   public AbstractRewriteFilesExecutor(
       RewriteFilesInput input, ArcticTable table, StructLikeCollections structLikeCollections) {
+    this(input, table, structLikeCollections, null, ClusteringKeyRange.ALL);
+  }
+
+  public AbstractRewriteFilesExecutor(
+      RewriteFilesInput input,
+      ArcticTable table,
+      StructLikeCollections structLikeCollections,
+      @Nullable ClusteringKeyGenerator clusteringKeyGenerator,
+      ClusteringKeyRange clusteringKeyRange) {
     this.input = input;
     this.table = table;
     this.io = table.io();
     this.structLikeCollections = structLikeCollections;
+    this.clusteringKeyGenerator = clusteringKeyGenerator;
+    this.clusteringKeyRange = clusteringKeyRange;
     dataReader = dataReader();
   }
 
@@ -106,23 +132,34 @@ public abstract class AbstractRewriteFilesExecutor
       if (!ArrayUtils.isEmpty(input.rewrittenDataFiles())) {
         dataFiles = io.doAs(this::rewriterDataFiles);
       }
+      dataReader.collectProfile(profile);
     } finally {
       dataReader.close();
     }
     long duration = System.currentTimeMillis() - startTime;
 
     Map<String, String> summary = resolverSummary(dataFiles, deleteFiles, duration);
+    summary.putAll(profile.toSummary());
     return new RewriteFilesOutput(
         dataFiles.toArray(new DataFile[0]), deleteFiles.toArray(new DeleteFile[0]), summary);
   }
 
   private List<DeleteFile> equalityToPosition() throws Exception {
     FileWriter<PositionDelete<Record>, DeleteWriteResult> posDeleteWriter = posWriter();
+    TaskExecutionProfile.Phase phase = profile.phase(TaskExecutionProfile.PHASE_EQ_TO_POS);
+    phase.addReadBytes(totalSize(input.rePosDeletedDataFiles()));
 
     try (CloseableIterator<Record> iterator = dataReader.readDeletedData().iterator()) {
       PositionDelete<Record> positionDelete = PositionDelete.create();
-      while (iterator.hasNext()) {
+      while (true) {
+        long readStartNanos = System.nanoTime();
+        if (!iterator.hasNext()) {
+          phase.addReadNanos(System.nanoTime() - readStartNanos);
+          break;
+        }
         Record record = iterator.next();
+        long writeStartNanos = System.nanoTime();
+        phase.addReadNanos(writeStartNanos - readStartNanos);
         String filePath = (String) record.getField(MetadataColumns.FILE_PATH.name());
         Long rowPosition = (Long) record.getField(MetadataColumns.ROW_POSITION.name());
         positionDelete.set(filePath, rowPosition, null);
@@ -133,9 +170,12 @@ public abstract class AbstractRewriteFilesExecutor
           ((SetTreeNode) posDeleteWriter).setTreeNode(dataTreeNode);
         }
         posDeleteWriter.write(positionDelete);
+        phase.addRecord(System.nanoTime() - writeStartNanos);
       }
     } finally {
+      long closeStartNanos = System.nanoTime();
       posDeleteWriter.close();
+      phase.addCloseNanos(System.nanoTime() - closeStartNanos);
     }
 
     return posDeleteWriter.result().deleteFiles();
@@ -144,14 +184,26 @@ public abstract class AbstractRewriteFilesExecutor
   private List<DataFile> rewriterDataFiles() throws Exception {
     List<DataFile> result = Lists.newArrayList();
     TaskWriter<Record> writer = dataWriter();
-
-    try (CloseableIterator<Record> records = dataReader.readData().iterator()) {
-      while (records.hasNext()) {
+    TaskExecutionProfile.Phase phase = profile.phase(TaskExecutionProfile.PHASE_REWRITE);
+    phase.addReadBytes(totalSize(input.rewrittenDataFiles()));
+
+    try (CloseableIterator<Record> records = clustered(dataReader.readData().iterator(), phase)) {
+      while (true) {
+        long readStartNanos = System.nanoTime();
+        if (!records.hasNext()) {
+          phase.addReadNanos(System.nanoTime() - readStartNanos);
+          break;
+        }
         Record record = records.next();
+        long writeStartNanos = System.nanoTime();
+        phase.addReadNanos(writeStartNanos - readStartNanos);
         writer.write(record);
+        phase.addRecord(System.nanoTime() - writeStartNanos);
       }
     } finally {
+      long closeStartNanos = System.nanoTime();
       writer.close();
+      phase.addCloseNanos(System.nanoTime() - closeStartNanos);
     }
 
     result.addAll(Arrays.asList(writer.dataFiles()));
@@ -159,6 +211,50 @@ public abstract class AbstractRewriteFilesExecutor
     return result;
   }
 
+  /**
+   * Sort the records by the clustering keys if clustering, the records are sorted by a buffer
+   * spilling to disk when the records exceed the memory limit, whether the spill map is enabled.
+   * The records out of the clustering key range are skipped.
+   */
+  private CloseableIterator<Record> clustered(
+      CloseableIterator<Record> records, TaskExecutionProfile.Phase phase) throws IOException {
+    if (clusteringKeyGenerator == null) {
+      return records;
+    }
+    long startNanos = System.nanoTime();
+    SortedRecordBuffer buffer = null;
+    try (CloseableIterator<Record> toSort = records) {
+      while (toSort.hasNext()) {
+        Record record = toSort.next();
+        byte[] key = clusteringKeyGenerator.key(record);
+        if (!clusteringKeyRange.contains(key)) {
+          continue;
+        }
+        if (buffer == null) {
+          buffer = structLikeCollections.createSortedRecordBuffer(record.struct());
+        }
+        buffer.add(key, record);
+      }
+    } catch (IOException | RuntimeException e) {
+      if (buffer != null) {
+        buffer.close();
+      }
+      throw e;
+    }
+    phase.addReadNanos(System.nanoTime() - startNanos);
+    if (buffer == null) {
+      return CloseableIterator.empty();
+    }
+    LOG.info(
+        "Clustering the records of table optimize task, spilled {} records to disk",
+        buffer.spilledCount());
+    return buffer.sortedRecords();
+  }
+
+  private static long totalSize(DataFile[] files) {
+    return Arrays.stream(files).mapToLong(DataFile::fileSizeInBytes).sum();
+  }
+
   protected FileFormat dataFileFormat() {
     String formatAsString =
         table.properties().getOrDefault(DEFAULT_FILE_FORMAT, DEFAULT_FILE_FORMAT_DEFAULT);
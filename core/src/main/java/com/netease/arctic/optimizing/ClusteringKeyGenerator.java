@@ -0,0 +1,454 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.optimizing;
+
+import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.NullOrder;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.SortDirection;
+import org.apache.iceberg.SortField;
+import org.apache.iceberg.SortOrder;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.transforms.Transform;
+import org.apache.iceberg.types.Conversions;
+import org.apache.iceberg.types.Type;
+import org.apache.iceberg.types.Types;
+import org.apache.iceberg.util.DateTimeUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Generates the clustering keys of records. The keys are compared as unsigned bytes, records sorted
+ * by their keys are sorted by the sort order of the table, or by the z-order curve over the
+ * clustering columns.
+ *
+ * <p>Decimals are compared by their double values, and the z-order curve only takes the first 8
+ * bytes of strings and binaries, so the order of such values is approximate.
+ */
+public class ClusteringKeyGenerator {
+
+  private static final int ZORDER_COLUMN_BYTES = 8;
+
+  private static final byte[] MAX_ZORDER_COLUMN_BYTES = new byte[ZORDER_COLUMN_BYTES];
+
+  static {
+    Arrays.fill(MAX_ZORDER_COLUMN_BYTES, (byte) 0xFF);
+  }
+
+  private final ClusteringMode mode;
+  private final List<KeyField> keyFields;
+  private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+  private ClusteringKeyGenerator(ClusteringMode mode, List<KeyField> keyFields) {
+    this.mode = mode;
+    this.keyFields = keyFields;
+  }
+
+  /**
+   * Create the key generator of the clustering mode.
+   *
+   * @param schema the schema of the records
+   * @param sortOrder the sort order of the table, used by {@link ClusteringMode#SORT}
+   * @param mode the clustering mode, must not be {@link ClusteringMode#NONE}
+   * @param columns the clustering columns, used by {@link ClusteringMode#ZORDER}
+   * @return the key generator
+   */
+  public static ClusteringKeyGenerator create(
+      Schema schema, SortOrder sortOrder, ClusteringMode mode, List<String> columns) {
+    List<KeyField> keyFields = Lists.newArrayList();
+    switch (mode) {
+      case SORT:
+        Preconditions.checkArgument(
+            sortOrder != null && sortOrder.isSorted(),
+            "Sort clustering requires the table to have a sort order");
+        for (SortField sortField : sortOrder.fields()) {
+          keyFields.add(new KeyField(sourceField(schema, sortField), sortField));
+        }
+        break;
+      case ZORDER:
+        Preconditions.checkArgument(
+            !columns.isEmpty(), "Z-order clustering requires the clustering columns");
+        for (String column : columns) {
+          keyFields.add(new KeyField(column(schema, column), null));
+        }
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported clustering mode: " + mode);
+    }
+    return new ClusteringKeyGenerator(mode, keyFields);
+  }
+
+  /**
+   * Get the columns that the records are clustered by, whose value ranges in data files tell how
+   * well the files are clustered. It is the leading sort column for {@link ClusteringMode#SORT} if
+   * its transform preserves order, or all the clustering columns for {@link ClusteringMode#ZORDER}.
+   */
+  public static List<Types.NestedField> clusteringFields(
+      Schema schema, SortOrder sortOrder, ClusteringMode mode, List<String> columns) {
+    switch (mode) {
+      case SORT:
+        if (sortOrder == null || !sortOrder.isSorted()) {
+          return Lists.newArrayList();
+        }
+        SortField leading = sortOrder.fields().get(0);
+        if (!leading.transform().preservesOrder()) {
+          return Lists.newArrayList();
+        }
+        return Lists.newArrayList(sourceField(schema, leading));
+      case ZORDER:
+        return columns.stream().map(column -> column(schema, column)).collect(Collectors.toList());
+      default:
+        return Lists.newArrayList();
+    }
+  }
+
+  /** Split the comma separated clustering columns. */
+  public static List<String> parseColumns(String columns) {
+    if (columns == null) {
+      return Lists.newArrayList();
+    }
+    return Arrays.stream(columns.split(","))
+        .map(String::trim)
+        .filter(column -> !column.isEmpty())
+        .collect(Collectors.toList());
+  }
+
+  public byte[] key(Record record) {
+    if (mode == ClusteringMode.ZORDER) {
+      byte[][] columns = new byte[keyFields.size()][];
+      for (int i = 0; i < columns.length; i++) {
+        columns[i] = keyFields.get(i).zorderBytes(record);
+      }
+      return interleave(columns);
+    }
+    buffer.reset();
+    for (KeyField keyField : keyFields) {
+      keyField.writeSortBytes(record, buffer);
+    }
+    return buffer.toByteArray();
+  }
+
+  /**
+   * Get the range of the clustering keys of the records in a file from the value bounds of the
+   * columns in the file. The range may be larger than the keys actually in the file, it is
+   * unbounded on a side whose bounds are missing.
+   */
+  public ClusteringKeyRange keyRange(ContentFile<?> file) {
+    if (mode == ClusteringMode.ZORDER) {
+      byte[][] lowers = new byte[keyFields.size()][];
+      byte[][] uppers = new byte[keyFields.size()][];
+      for (int i = 0; i < lowers.length; i++) {
+        KeyField keyField = keyFields.get(i);
+        Object lower = keyField.boundValue(file.lowerBounds());
+        Object upper = keyField.boundValue(file.upperBounds());
+        // nulls take the smallest bytes and NaN the largest
+        lowers[i] =
+            lower == null || keyField.mayContainNull(file)
+                ? new byte[ZORDER_COLUMN_BYTES]
+                : keyField.zorderBytes(lower);
+        uppers[i] =
+            upper == null || keyField.mayContainNaN(file)
+                ? MAX_ZORDER_COLUMN_BYTES
+                : keyField.zorderBytes(upper);
+      }
+      return new ClusteringKeyRange(interleave(lowers), exclusive(interleave(uppers)));
+    }
+    // the keys are ordered by the leading field first
+    return keyFields.get(0).sortKeyRange(file);
+  }
+
+  private static Types.NestedField sourceField(Schema schema, SortField sortField) {
+    Types.NestedField field = schema.asStruct().field(sortField.sourceId());
+    Preconditions.checkArgument(
+        field != null,
+        "Sort clustering only supports top level columns, but got %s",
+        schema.findColumnName(sortField.sourceId()));
+    return field;
+  }
+
+  private static Types.NestedField column(Schema schema, String column) {
+    Types.NestedField field = schema.asStruct().field(column);
+    Preconditions.checkArgument(
+        field != null, "Z-order clustering column %s is not a top level column", column);
+    return field;
+  }
+
+  /** Get the smallest key larger than the given key, to make an inclusive upper key exclusive. */
+  private static byte[] exclusive(byte[] key) {
+    return Arrays.copyOf(key, key.length + 1);
+  }
+
+  private static byte[] interleave(byte[][] columns) {
+    byte[] result = new byte[columns.length * ZORDER_COLUMN_BYTES];
+    int resultBit = 0;
+    for (int bit = 0; bit < ZORDER_COLUMN_BYTES * 8; bit++) {
+      for (byte[] column : columns) {
+        if ((column[bit / 8] & (0x80 >>> (bit % 8))) != 0) {
+          result[resultBit / 8] |= (byte) (0x80 >>> (resultBit % 8));
+        }
+        resultBit++;
+      }
+    }
+    return result;
+  }
+
+  private static class KeyField {
+    private final String name;
+    private final int fieldId;
+    private final Type sourceType;
+    private final Type type;
+    private final Function<Object, Object> transform;
+    private final boolean preservesOrder;
+    private final boolean descending;
+    private final boolean nullsFirst;
+
+    @SuppressWarnings("unchecked")
+    KeyField(Types.NestedField field, SortField sortField) {
+      Preconditions.checkArgument(
+          field.type().isPrimitiveType(),
+          "Clustering only supports primitive columns, but %s is %s",
+          field.name(),
+          field.type());
+      this.name = field.name();
+      this.fieldId = field.fieldId();
+      this.sourceType = field.type();
+      if (sortField == null || sortField.transform().isIdentity()) {
+        this.type = field.type();
+        this.transform = null;
+        this.preservesOrder = true;
+        this.descending = sortField != null && sortField.direction() == SortDirection.DESC;
+      } else {
+        Transform<Object, Object> bound = (Transform<Object, Object>) sortField.transform();
+        this.type = bound.getResultType(field.type());
+        this.transform = bound.bind(field.type());
+        this.preservesOrder = bound.preservesOrder();
+        this.descending = sortField.direction() == SortDirection.DESC;
+      }
+      this.nullsFirst = sortField == null || sortField.nullOrder() == NullOrder.NULLS_FIRST;
+    }
+
+    private Object value(Record record) {
+      Object value = record.getField(name);
+      if (value == null) {
+        return null;
+      }
+      return transformed(internalValue(value));
+    }
+
+    private Object transformed(Object value) {
+      return transform == null ? value : transform.apply(value);
+    }
+
+    /** Get the transformed value of a bound of the column, or null if the bound is missing. */
+    Object boundValue(Map<Integer, ByteBuffer> bounds) {
+      if (bounds == null || bounds.get(fieldId) == null) {
+        return null;
+      }
+      return transformed(Conversions.fromByteBuffer(sourceType, bounds.get(fieldId)));
+    }
+
+    boolean mayContainNull(ContentFile<?> file) {
+      return mayContain(file.nullValueCounts());
+    }
+
+    boolean mayContainNaN(ContentFile<?> file) {
+      return (sourceType.typeId() == Type.TypeID.FLOAT
+              || sourceType.typeId() == Type.TypeID.DOUBLE)
+          && mayContain(file.nanValueCounts());
+    }
+
+    private boolean mayContain(Map<Integer, Long> counts) {
+      Long count = counts == null ? null : counts.get(fieldId);
+      return count == null || count > 0;
+    }
+
+    /**
+     * Get the range of the keys of the file whose leading field is this field. The range is
+     * unbounded if the transform does not preserve order, the leading bytes of the keys are the
+     * null marker and the bytes of the value.
+     */
+    ClusteringKeyRange sortKeyRange(ContentFile<?> file) {
+      if (!preservesOrder) {
+        return ClusteringKeyRange.ALL;
+      }
+      Object min = boundValue(descending ? file.upperBounds() : file.lowerBounds());
+      Object max = boundValue(descending ? file.lowerBounds() : file.upperBounds());
+      boolean nulls = mayContainNull(file);
+      // NaN takes the largest bytes, which are the smallest if descending
+      boolean nans = mayContainNaN(file);
+      byte[] lower = null;
+      if (min != null && !(nulls && nullsFirst) && !(nans && descending)) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeSortBytes(min, out);
+        lower = out.toByteArray();
+      }
+      byte[] upper = null;
+      if (max != null && !(nulls && !nullsFirst) && !(nans && !descending)) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeSortBytes(max, out);
+        // the keys with the leading bytes are followed by a null marker or nothing
+        out.write(0xFF);
+        upper = out.toByteArray();
+      }
+      return new ClusteringKeyRange(lower, upper);
+    }
+
+    void writeSortBytes(Record record, ByteArrayOutputStream out) {
+      writeSortBytes(value(record), out);
+    }
+
+    private void writeSortBytes(Object value, ByteArrayOutputStream out) {
+      if (value == null) {
+        out.write(nullsFirst ? 0x00 : 0x02);
+        return;
+      }
+      out.write(0x01);
+      byte[] bytes = sortBytes(value);
+      if (descending) {
+        for (int i = 0; i < bytes.length; i++) {
+          bytes[i] = (byte) ~bytes[i];
+        }
+      }
+      out.write(bytes, 0, bytes.length);
+    }
+
+    byte[] zorderBytes(Record record) {
+      return zorderBytes(value(record));
+    }
+
+    private byte[] zorderBytes(Object value) {
+      if (value == null) {
+        return new byte[ZORDER_COLUMN_BYTES];
+      }
+      switch (type.typeId()) {
+        case STRING:
+        case BINARY:
+        case FIXED:
+          return Arrays.copyOf(rawBytes(value), ZORDER_COLUMN_BYTES);
+        case UUID:
+          return orderedLong(((UUID) value).getMostSignificantBits());
+        default:
+          return numericBytes(value);
+      }
+    }
+
+    private byte[] sortBytes(Object value) {
+      switch (type.typeId()) {
+        case STRING:
+        case BINARY:
+        case FIXED:
+          return escaped(rawBytes(value));
+        case UUID:
+          UUID uuid = (UUID) value;
+          return ByteBuffer.allocate(16)
+              .put(orderedLong(uuid.getMostSignificantBits()))
+              .put(orderedLong(uuid.getLeastSignificantBits()))
+              .array();
+        default:
+          return numericBytes(value);
+      }
+    }
+
+    private byte[] numericBytes(Object value) {
+      switch (type.typeId()) {
+        case BOOLEAN:
+          return orderedLong((Boolean) value ? 1 : 0);
+        case FLOAT:
+        case DOUBLE:
+          return orderedDouble(((Number) value).doubleValue());
+        case DECIMAL:
+          return orderedDouble(((BigDecimal) value).doubleValue());
+        case INTEGER:
+        case LONG:
+        case DATE:
+        case TIME:
+        case TIMESTAMP:
+          return orderedLong(((Number) value).longValue());
+        default:
+          throw new IllegalArgumentException(
+              "Unsupported clustering column type " + type + " of " + name);
+      }
+    }
+
+    /** Convert the value of generic records to the internal representation of iceberg. */
+    private Object internalValue(Object value) {
+      if (value instanceof LocalDate) {
+        return DateTimeUtil.daysFromDate((LocalDate) value);
+      } else if (value instanceof LocalTime) {
+        return DateTimeUtil.microsFromTime((LocalTime) value);
+      } else if (value instanceof LocalDateTime) {
+        return DateTimeUtil.microsFromTimestamp((LocalDateTime) value);
+      } else if (value instanceof OffsetDateTime) {
+        return DateTimeUtil.microsFromTimestamptz((OffsetDateTime) value);
+      } else if (value instanceof byte[]) {
+        return ByteBuffer.wrap((byte[]) value);
+      }
+      return value;
+    }
+  }
+
+  private static byte[] rawBytes(Object value) {
+    if (value instanceof CharSequence) {
+      return value.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  /** Escape 0x00 as 0x00 0xFF and terminate with 0x00 0x00, to keep the order of prefixes. */
+  private static byte[] escaped(byte[] bytes) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length + 2);
+    for (byte b : bytes) {
+      out.write(b);
+      if (b == 0) {
+        out.write(0xFF);
+      }
+    }
+    out.write(0x00);
+    out.write(0x00);
+    return out.toByteArray();
+  }
+
+  private static byte[] orderedLong(long value) {
+    return ByteBuffer.allocate(8).putLong(value ^ Long.MIN_VALUE).array();
+  }
+
+  private static byte[] orderedDouble(double value) {
+    long bits = Double.doubleToLongBits(value);
+    // flip all the bits of negative values, and only the sign bit of positive values
+    return ByteBuffer.allocate(8).putLong(bits ^ ((bits >> 63) | Long.MIN_VALUE)).array();
+  }
+}
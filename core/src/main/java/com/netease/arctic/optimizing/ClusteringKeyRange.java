@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.optimizing;
+
+import org.apache.iceberg.relocated.com.google.common.primitives.UnsignedBytes;
+
+import javax.annotation.Nullable;
+
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * A range of clustering keys from the inclusive lower key to the exclusive upper key, compared as
+ * unsigned bytes. A missing key leaves the range unbounded on its side.
+ */
+public class ClusteringKeyRange {
+
+  public static final ClusteringKeyRange ALL = new ClusteringKeyRange(null, null);
+
+  private static final Comparator<byte[]> KEY_COMPARATOR =
+      UnsignedBytes.lexicographicalComparator();
+
+  private final byte[] lower;
+  private final byte[] upper;
+
+  public ClusteringKeyRange(@Nullable byte[] lower, @Nullable byte[] upper) {
+    this.lower = lower;
+    this.upper = upper;
+  }
+
+  /** The inclusive lower key, or null if unbounded. */
+  @Nullable
+  public byte[] lower() {
+    return lower;
+  }
+
+  /** The exclusive upper key, or null if unbounded. */
+  @Nullable
+  public byte[] upper() {
+    return upper;
+  }
+
+  public boolean contains(byte[] key) {
+    return (lower == null || KEY_COMPARATOR.compare(lower, key) <= 0)
+        && (upper == null || KEY_COMPARATOR.compare(key, upper) < 0);
+  }
+
+  public boolean overlaps(ClusteringKeyRange other) {
+    return (upper == null || other.lower == null || KEY_COMPARATOR.compare(other.lower, upper) < 0)
+        && (lower == null
+            || other.upper == null
+            || KEY_COMPARATOR.compare(lower, other.upper) < 0);
+  }
+
+  /** The order of keys as lower keys, the unbounded one first. */
+  public static Comparator<byte[]> lowerKeyOrder() {
+    return Comparator.nullsFirst(KEY_COMPARATOR);
+  }
+
+  @Override
+  public String toString() {
+    return "[" + toString(lower) + ", " + toString(upper) + ")";
+  }
+
+  private static String toString(byte[] key) {
+    return key == null ? "unbounded" : Base64.getEncoder().encodeToString(key);
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.optimizing;
+
+import java.util.Arrays;
+
+/** The clustering of the records rewritten by self-optimizing. */
+public enum ClusteringMode {
+  /** Write the records in the order they are read. */
+  NONE("none"),
+  /** Sort the records by the sort order of the table. */
+  SORT("sort"),
+  /** Sort the records by the z-order curve over the clustering columns. */
+  ZORDER("z-order");
+
+  private final String name;
+
+  ClusteringMode(String name) {
+    this.name = name;
+  }
+
+  public String modeName() {
+    return name;
+  }
+
+  public static ClusteringMode fromName(String name) {
+    return Arrays.stream(values())
+        .filter(mode -> mode.name.equalsIgnoreCase(name))
+        .findFirst()
+        .orElseThrow(
+            () -> new IllegalArgumentException("Unsupported clustering mode: " + name));
+  }
+}
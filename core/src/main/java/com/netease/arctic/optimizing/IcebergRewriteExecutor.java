@@ -36,6 +36,8 @@ import org.apache.iceberg.io.OutputFileFactory;
 import org.apache.iceberg.io.TaskWriter;
 import org.apache.iceberg.io.UnpartitionedWriter;
 
+import javax.annotation.Nullable;
+
 import java.util.UUID;
 
 /** OptimizingExecutor for iceberg format. */
@@ -46,6 +48,15 @@ public class IcebergRewriteExecutor extends AbstractRewriteFilesExecutor {
     super(input, table, structLikeCollections);
   }
 
+  public IcebergRewriteExecutor(
+      RewriteFilesInput input,
+      ArcticTable table,
+      StructLikeCollections structLikeCollections,
+      @Nullable ClusteringKeyGenerator clusteringKeyGenerator,
+      ClusteringKeyRange clusteringKeyRange) {
+    super(input, table, structLikeCollections, clusteringKeyGenerator, clusteringKeyRange);
+  }
+
   // TODO We can remove this override method after upgrading Iceberg version to 1.5+.
   @Override
   protected StructLike partition() {
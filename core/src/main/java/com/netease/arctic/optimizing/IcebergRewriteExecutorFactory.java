@@ -18,6 +18,7 @@
 
 package com.netease.arctic.optimizing;
 
+import com.netease.arctic.table.ArcticTable;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 
 import java.util.Map;
@@ -34,7 +35,25 @@ public class IcebergRewriteExecutorFactory implements OptimizingExecutorFactory<
   @Override
   public OptimizingExecutor createExecutor(RewriteFilesInput input) {
     OptimizingInputProperties optimizingConfig = OptimizingInputProperties.parse(properties);
+    ArcticTable table = input.getTable();
     return new IcebergRewriteExecutor(
-        input, input.getTable(), optimizingConfig.getStructLikeCollections());
+        input,
+        table,
+        optimizingConfig.getStructLikeCollections(),
+        clusteringKeyGenerator(optimizingConfig, table),
+        optimizingConfig.getClusteringKeyRange());
+  }
+
+  private ClusteringKeyGenerator clusteringKeyGenerator(
+      OptimizingInputProperties optimizingConfig, ArcticTable table) {
+    ClusteringMode mode = optimizingConfig.getClusteringMode();
+    if (mode == ClusteringMode.NONE) {
+      return null;
+    }
+    return ClusteringKeyGenerator.create(
+        table.schema(),
+        table.asUnkeyedTable().sortOrder(),
+        mode,
+        optimizingConfig.getClusteringColumns());
   }
 }
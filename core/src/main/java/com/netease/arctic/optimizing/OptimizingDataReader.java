@@ -38,6 +38,12 @@ public interface OptimizingDataReader extends Closeable {
    */
   CloseableIterable<Record> readDeletedData();
 
+  /**
+   * Collect the statistics of reading, e.g.: the delete map, into the profile. It is called before
+   * the reader is closed.
+   */
+  default void collectProfile(TaskExecutionProfile profile) {}
+
   /** Close the reader */
   void close();
 }
@@ -22,7 +22,9 @@ import com.netease.arctic.utils.map.StructLikeCollections;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 
+import java.util.Base64;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class OptimizingInputProperties {
@@ -39,6 +41,14 @@ public class OptimizingInputProperties {
 
   public static final String TASK_EXECUTOR_FACTORY_IMPL = "task-executor-factory-impl";
 
+  public static final String CLUSTERING_MODE = "clustering-mode";
+
+  public static final String CLUSTERING_COLUMNS = "clustering-columns";
+
+  public static final String CLUSTERING_LOWER_KEY = "clustering-lower-key";
+
+  public static final String CLUSTERING_UPPER_KEY = "clustering-upper-key";
+
   private final Map<String, String> properties;
 
   private OptimizingInputProperties(Map<String, String> properties) {
@@ -83,6 +93,23 @@ public class OptimizingInputProperties {
     return this;
   }
 
+  public OptimizingInputProperties setClustering(ClusteringMode mode, String columns) {
+    properties.put(CLUSTERING_MODE, mode.modeName());
+    properties.put(CLUSTERING_COLUMNS, columns);
+    return this;
+  }
+
+  /** Only write the records whose clustering keys are in the range. */
+  public OptimizingInputProperties setClusteringKeyRange(ClusteringKeyRange keyRange) {
+    if (keyRange.lower() != null) {
+      properties.put(CLUSTERING_LOWER_KEY, Base64.getEncoder().encodeToString(keyRange.lower()));
+    }
+    if (keyRange.upper() != null) {
+      properties.put(CLUSTERING_UPPER_KEY, Base64.getEncoder().encodeToString(keyRange.upper()));
+    }
+    return this;
+  }
+
   public StructLikeCollections getStructLikeCollections() {
     String enableSpillMapStr = properties.get(ENABLE_SPILL_MAP);
     boolean enableSpillMap = Boolean.parseBoolean(enableSpillMapStr);
@@ -111,6 +138,28 @@ public class OptimizingInputProperties {
     return Boolean.parseBoolean(s);
   }
 
+  public ClusteringMode getClusteringMode() {
+    String s = properties.get(CLUSTERING_MODE);
+    if (StringUtils.isBlank(s)) {
+      return ClusteringMode.NONE;
+    }
+    return ClusteringMode.fromName(s);
+  }
+
+  public List<String> getClusteringColumns() {
+    return ClusteringKeyGenerator.parseColumns(properties.get(CLUSTERING_COLUMNS));
+  }
+
+  public ClusteringKeyRange getClusteringKeyRange() {
+    return new ClusteringKeyRange(
+        decodeKey(properties.get(CLUSTERING_LOWER_KEY)),
+        decodeKey(properties.get(CLUSTERING_UPPER_KEY)));
+  }
+
+  private static byte[] decodeKey(String key) {
+    return key == null ? null : Base64.getDecoder().decode(key);
+  }
+
   public Map<String, String> getProperties() {
     return properties;
   }
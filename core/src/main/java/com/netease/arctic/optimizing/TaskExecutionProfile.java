@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.optimizing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Execution profile of an optimizing task, it tells where the time and memory of a task went. The
+ * profile is reported to AMS in the summary of the task result, with the keys prefixed by {@link
+ * #PREFIX}.
+ */
+public class TaskExecutionProfile {
+
+  public static final String PREFIX = "profile.";
+
+  /** Rewriting the data files. */
+  public static final String PHASE_REWRITE = "rewrite";
+
+  /** Converting equality deletes of the read-only data files to position deletes. */
+  public static final String PHASE_EQ_TO_POS = "eq-to-pos";
+
+  public static final String READ_RECORDS = "read-records";
+  public static final String READ_BYTES = "read-bytes";
+  public static final String WRITE_RECORDS = "write-records";
+  public static final String READ_MILLS = "read-mills";
+  public static final String FILTER_MILLS = "filter-mills";
+  public static final String WRITE_MILLS = "write-mills";
+  public static final String CLOSE_MILLS = "close-mills";
+
+  public static final String EQ_DELETE_RECORDS = PREFIX + "eq-delete-records";
+  public static final String DELETE_MAP_RECORDS = PREFIX + "delete-map-records";
+  public static final String DELETE_MAP_MEMORY_BYTES = PREFIX + "delete-map-memory-bytes";
+  public static final String DELETE_MAP_SPILL_BYTES = PREFIX + "delete-map-spill-bytes";
+  public static final String DELETE_MAP_BUILD_MILLS = PREFIX + "delete-map-build-mills";
+  public static final String PEAK_MEMORY_BYTES = PREFIX + "peak-memory-bytes";
+
+  private static final int MEMORY_SAMPLE_INTERVAL = 4096;
+
+  private final Map<String, Phase> phases = new LinkedHashMap<>();
+  private long eqDeleteRecords;
+  private long deleteMapRecords;
+  private long deleteMapMemoryBytes;
+  private long deleteMapSpillBytes;
+  private long deleteMapBuildNanos;
+  private long peakMemoryBytes;
+
+  /** Get the profile of a phase, the phase is created at the first time. */
+  public Phase phase(String name) {
+    return phases.computeIfAbsent(name, Phase::new);
+  }
+
+  public void setDeleteMap(long eqDeleteRecords, long records, long memoryBytes, long spillBytes) {
+    this.eqDeleteRecords = eqDeleteRecords;
+    this.deleteMapRecords = records;
+    this.deleteMapMemoryBytes = memoryBytes;
+    this.deleteMapSpillBytes = spillBytes;
+  }
+
+  public void setDeleteMapBuildNanos(long deleteMapBuildNanos) {
+    this.deleteMapBuildNanos = deleteMapBuildNanos;
+  }
+
+  /**
+   * Sample the used heap memory of the JVM. The heap is shared by all the executor threads of an
+   * optimizer, so the peak is an upper bound of the memory used by this task.
+   */
+  public void sampleMemory() {
+    Runtime runtime = Runtime.getRuntime();
+    peakMemoryBytes = Math.max(peakMemoryBytes, runtime.totalMemory() - runtime.freeMemory());
+  }
+
+  public static String phaseKey(String phase, String metric) {
+    return PREFIX + phase + "." + metric;
+  }
+
+  /** @return the profile as the entries of a task summary */
+  public Map<String, String> toSummary() {
+    Map<String, String> summary = new LinkedHashMap<>();
+    phases.values().forEach(phase -> phase.toSummary(summary));
+    if (deleteMapBuildNanos > 0) {
+      summary.put(EQ_DELETE_RECORDS, String.valueOf(eqDeleteRecords));
+      summary.put(DELETE_MAP_RECORDS, String.valueOf(deleteMapRecords));
+      summary.put(DELETE_MAP_MEMORY_BYTES, String.valueOf(deleteMapMemoryBytes));
+      summary.put(DELETE_MAP_SPILL_BYTES, String.valueOf(deleteMapSpillBytes));
+      summary.put(
+          DELETE_MAP_BUILD_MILLS,
+          String.valueOf(TimeUnit.NANOSECONDS.toMillis(deleteMapBuildNanos)));
+    }
+    summary.put(PEAK_MEMORY_BYTES, String.valueOf(peakMemoryBytes));
+    return summary;
+  }
+
+  /**
+   * Profile of a phase. The read records are counted before filtering the deleted records, and are
+   * only reported by the readers which could count them. The read time includes decoding and
+   * filtering the deleted records, but not building the delete map, and the filter time is the part
+   * of the read time spent in filtering. The close time includes flushing and uploading the last
+   * files.
+   */
+  public class Phase {
+    private final String name;
+    private long readRecords;
+    private long readBytes;
+    private long writeRecords;
+    private long readNanos;
+    private long filterNanos;
+    private long writeNanos;
+    private long closeNanos;
+
+    private Phase(String name) {
+      this.name = name;
+    }
+
+    public void addReadBytes(long bytes) {
+      readBytes += bytes;
+    }
+
+    public void addReadNanos(long nanos) {
+      readNanos += nanos;
+    }
+
+    /** Record the records read from the files and the time spent in filtering them. */
+    public void addReadRecords(long records, long filterNanos) {
+      this.readRecords += records;
+      this.filterNanos += filterNanos;
+    }
+
+    /** Record a record written, and sample the memory from time to time. */
+    public void addRecord(long writeNanos) {
+      this.writeNanos += writeNanos;
+      writeRecords++;
+      if (writeRecords % MEMORY_SAMPLE_INTERVAL == 0) {
+        sampleMemory();
+      }
+    }
+
+    public void addCloseNanos(long nanos) {
+      closeNanos += nanos;
+      sampleMemory();
+    }
+
+    private void toSummary(Map<String, String> summary) {
+      if (readRecords > 0) {
+        summary.put(phaseKey(name, READ_RECORDS), String.valueOf(readRecords));
+      }
+      summary.put(phaseKey(name, READ_BYTES), String.valueOf(readBytes));
+      summary.put(phaseKey(name, WRITE_RECORDS), String.valueOf(writeRecords));
+      summary.put(phaseKey(name, READ_MILLS), String.valueOf(toMillis(readNanos)));
+      if (readRecords > 0) {
+        summary.put(phaseKey(name, FILTER_MILLS), String.valueOf(toMillis(filterNanos)));
+      }
+      summary.put(phaseKey(name, WRITE_MILLS), String.valueOf(toMillis(writeNanos)));
+      summary.put(phaseKey(name, CLOSE_MILLS), String.valueOf(toMillis(closeNanos)));
+    }
+
+    private long toMillis(long nanos) {
+      return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+  }
+}
@@ -25,6 +25,7 @@ public class AmsHAProperties {
   private static final String LEADER_PATH = "/leader";
   private static final String TABLE_SERVICE_MASTER_PATH = "/master";
   private static final String OPTIMIZING_SERVICE_MASTER_PATH = "/optimizing-service-master";
+  private static final String OPTIMIZING_SERVICE_NODES_PATH = "/optimizing-service-nodes";
   private static final String NAMESPACE_DEFAULT = "default";
 
   private static String getBasePath(String namespace) {
@@ -42,6 +43,10 @@ public class AmsHAProperties {
     return getBasePath(namespace) + OPTIMIZING_SERVICE_MASTER_PATH;
   }
 
+  public static String getOptimizingServiceNodesPath(String namespace) {
+    return getBasePath(namespace) + OPTIMIZING_SERVICE_NODES_PATH;
+  }
+
   public static String getLeaderPath(String namespace) {
     return getBasePath(namespace) + LEADER_PATH;
   }
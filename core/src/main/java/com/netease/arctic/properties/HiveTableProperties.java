@@ -55,6 +55,10 @@ public class HiveTableProperties {
   public static final String HIVE_CONSISTENT_WRITE_ENABLED = "base.hive.consistent-write.enabled";
   public static final boolean HIVE_CONSISTENT_WRITE_ENABLED_DEFAULT = true;
 
+  // the number of partitions fetched or dropped by one batch of hive metastore requests
+  public static final String HIVE_METASTORE_BATCH_SIZE = "base.hive.metastore.batch-size";
+  public static final int HIVE_METASTORE_BATCH_SIZE_DEFAULT = 500;
+
   public static final String ALLOW_HIVE_TABLE_EXISTED = "allow-hive-table-existed";
 
   public static final String WATERMARK_HIVE = "watermark.hive";
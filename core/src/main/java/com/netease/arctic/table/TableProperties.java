@@ -119,6 +119,27 @@ public class TableProperties {
       "self-optimizing.full.rewrite-all-files";
   public static final boolean SELF_OPTIMIZING_FULL_REWRITE_ALL_FILES_DEFAULT = true;
 
+  public static final String SELF_OPTIMIZING_PARTIAL_COMMIT_ENABLED =
+      "self-optimizing.partial-commit.enabled";
+  public static final boolean SELF_OPTIMIZING_PARTIAL_COMMIT_ENABLED_DEFAULT = false;
+
+  /** Clustering mode of self-optimizing rewrites, one of none, sort and z-order. */
+  public static final String SELF_OPTIMIZING_CLUSTERING_MODE = "self-optimizing.clustering.mode";
+
+  public static final String SELF_OPTIMIZING_CLUSTERING_MODE_DEFAULT = "none";
+
+  /** Comma separated columns to build the z-order curve over, used by the z-order mode. */
+  public static final String SELF_OPTIMIZING_CLUSTERING_COLUMNS =
+      "self-optimizing.clustering.columns";
+
+  public static final String SELF_OPTIMIZING_CLUSTERING_COLUMNS_DEFAULT = "";
+
+  /** Ratio of data files overlapping another file on the clustering columns to trigger. */
+  public static final String SELF_OPTIMIZING_CLUSTERING_OVERLAP_RATIO =
+      "self-optimizing.clustering.overlap-ratio";
+
+  public static final double SELF_OPTIMIZING_CLUSTERING_OVERLAP_RATIO_DEFAULT = 0.5;
+
   /** deprecated table optimize related properties */
   @Deprecated public static final String ENABLE_OPTIMIZE = "optimize.enable";
 
@@ -200,6 +221,14 @@ public class TableProperties {
           + // v123.metadata.json
           "|.*[0-9a-fA-F]{8}(-[0-9a-fA-F]{4}){3}-[0-9a-fA-F]{12}-m[0-9]+\\.avro"; // UUID-m0.avro
 
+  /** table column statistics related properties */
+  public static final String ENABLE_COLUMN_STATISTICS = "column-statistics.enabled";
+
+  public static final boolean ENABLE_COLUMN_STATISTICS_DEFAULT = false;
+
+  public static final String COLUMN_STATISTICS_COLUMNS = "column-statistics.columns";
+  public static final String COLUMN_STATISTICS_COLUMNS_DEFAULT = "";
+
   /** table tag management related properties */
   public static final String ENABLE_AUTO_CREATE_TAG = "tag.auto-create.enabled";
 
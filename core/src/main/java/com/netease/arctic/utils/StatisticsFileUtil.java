@@ -36,7 +36,6 @@ import org.apache.iceberg.puffin.Puffin;
 import org.apache.iceberg.puffin.PuffinReader;
 import org.apache.iceberg.puffin.PuffinWriter;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
-import org.apache.iceberg.relocated.com.google.common.collect.Iterables;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.apache.iceberg.util.Pair;
@@ -49,6 +48,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /** Util class for write and read Iceberg statistics file {@link StatisticsFile}. */
@@ -121,6 +121,13 @@ public class StatisticsFileUtil {
       return this;
     }
 
+    /** Add a blob computed from the fields of the snapshot, with the properties of the blob. */
+    public Writer add(
+        String type, List<Integer> fields, ByteBuffer blobData, Map<String, String> properties) {
+      add(new Blob(type, fields, snapshotId, sequenceNumber, blobData, null, properties));
+      return this;
+    }
+
     public <T> Writer add(String type, T data, DataSerializer<T> serializer) {
       return add(type, serializer.serialize(data));
     }
@@ -174,14 +181,20 @@ public class StatisticsFileUtil {
     }
 
     public List<ByteBuffer> read(StatisticsFile statisticsFile, String type) {
+      return read(statisticsFile, blob -> type.equals(blob.type())).stream()
+          .map(Pair::second)
+          .collect(Collectors.toList());
+    }
+
+    /** Read the blobs matching the filter, together with their metadata. */
+    public List<Pair<BlobMetadata, ByteBuffer>> read(
+        StatisticsFile statisticsFile, Predicate<BlobMetadata> filter) {
       try (PuffinReader puffin =
           Puffin.read(table.io().newInputFile(statisticsFile.path())).build()) {
         FileMetadata fileMetadata = puffin.fileMetadata();
         List<BlobMetadata> blobs =
-            fileMetadata.blobs().stream()
-                .filter(b -> type.equals(b.type()))
-                .collect(Collectors.toList());
-        return Lists.newArrayList(Iterables.transform(puffin.readAll(blobs), Pair::second));
+            fileMetadata.blobs().stream().filter(filter).collect(Collectors.toList());
+        return Lists.newArrayList(puffin.readAll(blobs));
       } catch (IOException e) {
         throw new UncheckedIOException(e);
       }
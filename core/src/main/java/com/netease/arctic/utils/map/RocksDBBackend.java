@@ -79,6 +79,15 @@ public class RocksDBBackend {
     return createIfAbsent(backendBaseDir, ttlSeconds);
   }
 
+  /**
+   * Create a RocksDB instance which is not bound to the current thread, e.g.: for an instance used
+   * by several threads. The caller is responsible for closing it.
+   */
+  public static RocksDBBackend createInstance(String backendBaseDir, @Nullable Integer ttlSeconds) {
+    Preconditions.checkNotNull(backendBaseDir, "The rocksdb path is null.");
+    return new RocksDBBackend(backendBaseDir, ttlSeconds);
+  }
+
   private final Map<String, ColumnFamilyHandle> handleMap = new HashMap<>();
   private final Map<String, ColumnFamilyDescriptor> descriptorMap = new HashMap<>();
   private RocksDB rocksDB;
@@ -329,6 +338,31 @@ public class RocksDBBackend {
     }
   }
 
+  /**
+   * Retrieve the values for a batch of keys in a column family within a single call. The returned
+   * list has the same size and order as the keys, with null for the keys not found.
+   *
+   * @param columnFamilyHandle Column Family Handle
+   * @param keys Keys to be retrieved
+   */
+  public List<byte[]> multiGet(ColumnFamilyHandle columnFamilyHandle, List<byte[]> keys) {
+    Preconditions.checkArgument(!closed);
+    try {
+      Preconditions.checkNotNull(columnFamilyHandle, "Column Family Handle couldn't be null!");
+      if (keys.isEmpty()) {
+        return new ArrayList<>();
+      }
+      List<ColumnFamilyHandle> handles = new ArrayList<>(keys.size());
+      for (byte[] key : keys) {
+        Preconditions.checkArgument(key != null, "keys in rocksdb can not be null!");
+        handles.add(columnFamilyHandle);
+      }
+      return rocksDB.multiGetAsList(handles, keys);
+    } catch (Exception e) {
+      throw new ArcticIOException(e);
+    }
+  }
+
   public RocksDB getDB() {
     return rocksDB;
   }
@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.utils.map;
+
+import com.netease.arctic.utils.SerializationUtil;
+import org.apache.iceberg.data.GenericRecord;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.io.CloseableIterator;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.primitives.UnsignedBytes;
+import org.apache.iceberg.types.Types;
+import org.apache.lucene.util.RamUsageEstimator;
+
+import javax.annotation.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * A buffer sorting records by their keys with bounded memory. Records are kept in memory until the
+ * estimated size reaches the limit, the later records are spilled to RocksDB which keeps them
+ * sorted on disk, and the two sorted parts are merged when iterating. Records of the same key keep
+ * the order they are added.
+ */
+public class SortedRecordBuffer implements Closeable {
+
+  private static final int RECORDS_TO_SKIP_FOR_ESTIMATING = 200;
+  private static final Comparator<byte[]> KEY_COMPARATOR =
+      UnsignedBytes.lexicographicalComparator();
+
+  private final Types.StructType type;
+  private final long maxInMemorySizeInBytes;
+  private final String backendBaseDir;
+  private final List<Entry> memoryEntries = Lists.newArrayList();
+  private RocksDBBackend rocksDB;
+  private String columnFamily;
+  private long sequence = 0;
+  private long estimatedPayloadSize = 0;
+  private long currentInMemorySize = 0;
+  private long spilledCount = 0;
+
+  public static SortedRecordBuffer create(
+      Types.StructType type, Long maxInMemorySizeInBytes, @Nullable String backendBaseDir) {
+    return new SortedRecordBuffer(type, maxInMemorySizeInBytes, backendBaseDir);
+  }
+
+  private SortedRecordBuffer(
+      Types.StructType type, Long maxInMemorySizeInBytes, @Nullable String backendBaseDir) {
+    this.type = type;
+    this.maxInMemorySizeInBytes =
+        maxInMemorySizeInBytes == null ? Long.MAX_VALUE : maxInMemorySizeInBytes;
+    this.backendBaseDir = backendBaseDir;
+  }
+
+  public void add(byte[] key, Record record) {
+    // Append the sequence to the key to keep the records of the same key and make keys unique.
+    byte[] sortKey = ByteBuffer.allocate(key.length + 8).put(key).putLong(sequence++).array();
+    if (estimatedPayloadSize == 0 || sequence % RECORDS_TO_SKIP_FOR_ESTIMATING == 0) {
+      long payloadSize = sortKey.length + sizeEstimate(record);
+      this.estimatedPayloadSize =
+          estimatedPayloadSize == 0
+              ? payloadSize
+              : (long) (estimatedPayloadSize * 0.9 + payloadSize * 0.1);
+      this.currentInMemorySize = memoryEntries.size() * estimatedPayloadSize;
+    }
+
+    if (currentInMemorySize < maxInMemorySizeInBytes) {
+      memoryEntries.add(new Entry(sortKey, record.copy()));
+      currentInMemorySize += estimatedPayloadSize;
+    } else {
+      if (rocksDB == null) {
+        rocksDB = RocksDBBackend.getOrCreateInstance(backendBaseDir);
+        columnFamily = UUID.randomUUID().toString();
+        rocksDB.addColumnFamily(columnFamily);
+      }
+      rocksDB.put(columnFamily, sortKey, serialize(record));
+      spilledCount++;
+    }
+  }
+
+  /** Number of records spilled to disk. */
+  public long spilledCount() {
+    return spilledCount;
+  }
+
+  /**
+   * Iterate the records in the order of their keys, no more record could be added after it. Closing
+   * the iterator closes this buffer.
+   */
+  public CloseableIterator<Record> sortedRecords() {
+    memoryEntries.sort((e1, e2) -> KEY_COMPARATOR.compare(e1.key, e2.key));
+    RocksDBBackend.ValueIterator spilled =
+        rocksDB == null ? null : (RocksDBBackend.ValueIterator) rocksDB.values(columnFamily);
+    return new MergedIterator(memoryEntries.iterator(), spilled);
+  }
+
+  @Override
+  public void close() {
+    memoryEntries.clear();
+    currentInMemorySize = 0;
+    if (rocksDB != null) {
+      rocksDB.dropColumnFamily(columnFamily);
+      rocksDB = null;
+    }
+  }
+
+  private long sizeEstimate(Record record) {
+    long size = 0;
+    for (int i = 0; i < record.size(); i++) {
+      size += RamUsageEstimator.sizeOfObject(record.get(i), 0);
+    }
+    return size;
+  }
+
+  private byte[] serialize(Record record) {
+    Object[] values = new Object[record.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = record.get(i);
+    }
+    try {
+      return SerializationUtil.kryoSerialize(values);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private Record deserialize(byte[] bytes) {
+    Object[] values = SerializationUtil.kryoDeserialize(bytes);
+    GenericRecord record = GenericRecord.create(type);
+    for (int i = 0; i < values.length; i++) {
+      record.set(i, values[i]);
+    }
+    return record;
+  }
+
+  private static class Entry {
+    private final byte[] key;
+    private final Record record;
+
+    Entry(byte[] key, Record record) {
+      this.key = key;
+      this.record = record;
+    }
+  }
+
+  private class MergedIterator implements CloseableIterator<Record> {
+    private final Iterator<Entry> memory;
+    private final RocksDBBackend.ValueIterator spilled;
+    private Entry memoryHead;
+
+    MergedIterator(Iterator<Entry> memory, @Nullable RocksDBBackend.ValueIterator spilled) {
+      this.memory = memory;
+      this.spilled = spilled;
+      this.memoryHead = memory.hasNext() ? memory.next() : null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return memoryHead != null || (spilled != null && spilled.hasNext());
+    }
+
+    @Override
+    public Record next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      if (memoryHead != null
+          && (spilled == null
+              || !spilled.hasNext()
+              || KEY_COMPARATOR.compare(memoryHead.key, spilled.key()) < 0)) {
+        Record record = memoryHead.record;
+        memoryHead = memory.hasNext() ? memory.next() : null;
+        return record;
+      }
+      return deserialize(spilled.next());
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        if (spilled != null) {
+          spilled.close();
+        }
+      } catch (Exception e) {
+        throw new IOException(e);
+      } finally {
+        SortedRecordBuffer.this.close();
+      }
+    }
+  }
+}
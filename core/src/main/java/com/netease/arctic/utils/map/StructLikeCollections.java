@@ -34,12 +34,11 @@ public class StructLikeCollections implements Serializable {
   public StructLikeCollections(boolean enableSpillableMap, Long maxInMemorySizeInBytes) {
     if (maxInMemorySizeInBytes == null || maxInMemorySizeInBytes == 0) {
       enableSpillableMap = false;
+    } else {
+      this.maxInMemorySizeInBytes = maxInMemorySizeInBytes;
     }
 
     this.enableSpillableMap = enableSpillableMap;
-    if (enableSpillableMap) {
-      this.maxInMemorySizeInBytes = maxInMemorySizeInBytes;
-    }
   }
 
   public StructLikeCollections(
@@ -64,4 +63,13 @@ public class StructLikeCollections implements Serializable {
       return StructLikeSet.createSpillableSet(type, maxInMemorySizeInBytes, backendBaseDir);
     }
   }
+
+  /**
+   * Create a buffer sorting records, which holds all the records of a task. It spills to disk
+   * beyond the memory limit even if the spillable map is not enabled, only unbounded without a
+   * memory limit.
+   */
+  public SortedRecordBuffer createSortedRecordBuffer(Types.StructType type) {
+    return SortedRecordBuffer.create(type, maxInMemorySizeInBytes, backendBaseDir);
+  }
 }
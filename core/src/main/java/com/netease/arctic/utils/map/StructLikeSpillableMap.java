@@ -35,7 +35,7 @@ public class StructLikeSpillableMap<T> extends StructLikeBaseMap<T> {
     return new StructLikeSpillableMap<>(type, maxInMemorySizeInBytes, backendBaseDir);
   }
 
-  private final SimpleMap<StructLikeWrapper, T> wrapperMap;
+  private final SimpleSpillableMap<StructLikeWrapper, T> wrapperMap;
 
   private StructLikeSpillableMap(
       Types.StructType type, Long maxInMemorySizeInBytes, @Nullable String backendBaseDir) {
@@ -50,6 +50,16 @@ public class StructLikeSpillableMap<T> extends StructLikeBaseMap<T> {
             new DefaultSizeEstimator<>());
   }
 
+  /** Approximate memory footprint of the in-memory part. */
+  public long getMemoryMapSpaceSize() {
+    return wrapperMap.getMemoryMapSpaceSize();
+  }
+
+  /** Number of bytes spilled to disk. */
+  public long getSizeOfFileOnDiskInBytes() {
+    return wrapperMap.getSizeOfFileOnDiskInBytes();
+  }
+
   @Override
   protected SimpleMap<StructLikeWrapper, T> getInternalMap() {
     return wrapperMap;
@@ -29,6 +29,9 @@ import org.apache.iceberg.util.StructLikeMap;
 /**
  * Table scan for {@link com.netease.arctic.table.ChangeTable}, support filter files with data
  * sequence number and return {@link BasicArcticFileScanTask}.
+ *
+ * <p>The row filter prunes the change files by partition and column metrics, and is kept as the
+ * residual of the returned tasks so that readers could skip row groups or stripes as well.
  */
 public class MixedChangeTableScan extends DataTableScan implements ChangeTableIncrementalScan {
   private StructLikeMap<Long> fromPartitionSequence;
@@ -104,7 +107,10 @@ public class MixedChangeTableScan extends DataTableScan implements ChangeTableIn
         filteredTasks,
         fileScanTask ->
             new BasicArcticFileScanTask(
-                DefaultKeyedFile.parseChange(fileScanTask.file()), null, table().spec(), null));
+                DefaultKeyedFile.parseChange(fileScanTask.file()),
+                null,
+                table().spec(),
+                fileScanTask.residual()));
   }
 
   private boolean shouldKeepFile(StructLike partition, long sequence) {
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.io.reader;
+
+import com.netease.arctic.data.DefaultKeyedFile;
+import com.netease.arctic.io.ArcticFileIO;
+import com.netease.arctic.io.ArcticFileIOs;
+import com.netease.arctic.scan.BasicArcticFileScanTask;
+import com.netease.arctic.table.TableMetaStore;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.Files;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.TableProperties;
+import org.apache.iceberg.data.GenericRecord;
+import org.apache.iceberg.data.IdentityPartitionConverters;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.data.orc.GenericOrcReader;
+import org.apache.iceberg.data.orc.GenericOrcWriter;
+import org.apache.iceberg.data.parquet.GenericParquetReaders;
+import org.apache.iceberg.data.parquet.GenericParquetWriter;
+import org.apache.iceberg.expressions.Expressions;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.io.CloseableIterator;
+import org.apache.iceberg.io.FileAppender;
+import org.apache.iceberg.orc.ORC;
+import org.apache.iceberg.parquet.Parquet;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.types.Types;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+@RunWith(Parameterized.class)
+public class TestFileSplitSeeker {
+
+  private static final Schema SCHEMA =
+      new Schema(
+          Types.NestedField.required(1, "id", Types.LongType.get()),
+          Types.NestedField.optional(2, "name", Types.StringType.get()));
+
+  private static final int RECORD_COUNT = 1000;
+
+  @Rule public TemporaryFolder temp = new TemporaryFolder();
+
+  private final FileFormat format;
+
+  @Parameterized.Parameters(name = "format = {0}")
+  public static Object[] parameters() {
+    return new Object[] {FileFormat.PARQUET, FileFormat.ORC};
+  }
+
+  public TestFileSplitSeeker(FileFormat format) {
+    this.format = format;
+  }
+
+  @Test
+  public void testSeekToRow() throws IOException {
+    File file = writeFile();
+    for (long rowOffset : new long[] {0, 1, 99, 100, 555, RECORD_COUNT - 1}) {
+      FileSplitSeeker.Position position =
+          FileSplitSeeker.seek(Files.localInput(file), format, 0, file.length(), rowOffset);
+      Assert.assertTrue(position.rowsToSkip() <= rowOffset);
+
+      List<Record> records = readFile(file, position.start(), position.length());
+      Assert.assertEquals(RECORD_COUNT - rowOffset, records.size() - position.rowsToSkip());
+      Assert.assertEquals(
+          rowOffset, (long) records.get((int) position.rowsToSkip()).getField("id"));
+    }
+  }
+
+  @Test
+  public void testSeekSkipsRowGroups() throws IOException {
+    if (format != FileFormat.PARQUET) {
+      // orc only checks the stripe size every 5000 rows
+      return;
+    }
+    File file = writeFile();
+    FileSplitSeeker.Position position =
+        FileSplitSeeker.seek(Files.localInput(file), format, 0, file.length(), RECORD_COUNT - 1);
+    Assert.assertTrue(position.start() > 0);
+    Assert.assertTrue(position.rowsToSkip() < RECORD_COUNT - 1);
+  }
+
+  @Test
+  public void testReadDataFromRow() throws IOException {
+    File file = writeFile();
+    FileScanTask task =
+        new BasicArcticFileScanTask(
+            DefaultKeyedFile.parseBase(dataFile(file)), null, PartitionSpec.unpartitioned());
+    assertReadFromRow(task);
+  }
+
+  @Test
+  public void testReadDataFromRowWithResidual() throws IOException {
+    File file = writeFile();
+    // rows are skipped by decoding if the residual filter may drop some of them
+    FileScanTask task =
+        new BasicArcticFileScanTask(
+            DefaultKeyedFile.parseBase(dataFile(file)),
+            null,
+            PartitionSpec.unpartitioned(),
+            Expressions.greaterThanOrEqual("id", 0L));
+    assertReadFromRow(task);
+  }
+
+  private void assertReadFromRow(FileScanTask task) throws IOException {
+    ArcticFileIO fileIO = ArcticFileIOs.buildHadoopFileIO(TableMetaStore.EMPTY);
+    GenericUnkeyedDataReader reader =
+        new GenericUnkeyedDataReader(
+            fileIO,
+            SCHEMA,
+            SCHEMA,
+            null,
+            false,
+            IdentityPartitionConverters::convertConstant,
+            false);
+    for (long rowOffset : new long[] {0, 1, 99, 100, 555, RECORD_COUNT - 1}) {
+      try (CloseableIterator<Record> iterator = reader.readData(task, rowOffset)) {
+        List<Record> records = Lists.newArrayList(iterator);
+        Assert.assertEquals(RECORD_COUNT - rowOffset, records.size());
+        for (int i = 0; i < records.size(); i++) {
+          Assert.assertEquals(rowOffset + i, (long) records.get(i).getField("id"));
+        }
+      }
+    }
+  }
+
+  private DataFile dataFile(File file) {
+    return DataFiles.builder(PartitionSpec.unpartitioned())
+        .withPath(file.getAbsolutePath())
+        .withFormat(format)
+        .withFileSizeInBytes(file.length())
+        .withRecordCount(RECORD_COUNT)
+        .build();
+  }
+
+  private File writeFile() throws IOException {
+    File file = temp.newFile();
+    Assert.assertTrue(file.delete());
+    FileAppender<Record> appender;
+    if (format == FileFormat.PARQUET) {
+      appender =
+          Parquet.write(Files.localOutput(file))
+              .schema(SCHEMA)
+              .createWriterFunc(GenericParquetWriter::buildWriter)
+              .set(TableProperties.PARQUET_ROW_GROUP_SIZE_BYTES, "1")
+              .build();
+    } else {
+      appender =
+          ORC.write(Files.localOutput(file))
+              .schema(SCHEMA)
+              .createWriterFunc(GenericOrcWriter::buildWriter)
+              .build();
+    }
+    try (FileAppender<Record> writer = appender) {
+      for (long i = 0; i < RECORD_COUNT; i++) {
+        GenericRecord record = GenericRecord.create(SCHEMA);
+        record.setField("id", i);
+        record.setField("name", "name" + i);
+        writer.add(record);
+      }
+    }
+    return file;
+  }
+
+  private List<Record> readFile(File file, long start, long length) throws IOException {
+    CloseableIterable<Record> iterable;
+    if (format == FileFormat.PARQUET) {
+      iterable =
+          Parquet.read(Files.localInput(file))
+              .project(SCHEMA)
+              .split(start, length)
+              .createReaderFunc(fileSchema -> GenericParquetReaders.buildReader(SCHEMA, fileSchema))
+              .build();
+    } else {
+      iterable =
+          ORC.read(Files.localInput(file))
+              .project(SCHEMA)
+              .split(start, length)
+              .createReaderFunc(fileSchema -> GenericOrcReader.buildReader(SCHEMA, fileSchema))
+              .build();
+    }
+    try (CloseableIterable<Record> records = iterable) {
+      return Lists.newArrayList(records);
+    }
+  }
+}
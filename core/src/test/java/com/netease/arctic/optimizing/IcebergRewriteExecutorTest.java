@@ -197,6 +197,42 @@ public class IcebergRewriteExecutorTest extends TableTestBase {
     }
   }
 
+  @Test
+  public void executionProfile() {
+    IcebergRewriteExecutor executor =
+        new IcebergRewriteExecutor(scanTask, getArcticTable(), StructLikeCollections.DEFAULT);
+
+    Map<String, String> summary = executor.execute().summary();
+    // the records dropped by the deletes are read but not written
+    Assert.assertEquals(
+        "3",
+        summary.get(
+            TaskExecutionProfile.phaseKey(
+                TaskExecutionProfile.PHASE_REWRITE, TaskExecutionProfile.READ_RECORDS)));
+    Assert.assertEquals(
+        "1",
+        summary.get(
+            TaskExecutionProfile.phaseKey(
+                TaskExecutionProfile.PHASE_REWRITE, TaskExecutionProfile.WRITE_RECORDS)));
+    Assert.assertEquals(
+        "2",
+        summary.get(
+            TaskExecutionProfile.phaseKey(
+                TaskExecutionProfile.PHASE_EQ_TO_POS, TaskExecutionProfile.WRITE_RECORDS)));
+    Assert.assertEquals(
+        "3",
+        summary.get(
+            TaskExecutionProfile.phaseKey(
+                TaskExecutionProfile.PHASE_EQ_TO_POS, TaskExecutionProfile.READ_RECORDS)));
+    Assert.assertNotNull(
+        summary.get(
+            TaskExecutionProfile.phaseKey(
+                TaskExecutionProfile.PHASE_REWRITE, TaskExecutionProfile.FILTER_MILLS)));
+    Assert.assertEquals("1", summary.get(TaskExecutionProfile.EQ_DELETE_RECORDS));
+    Assert.assertEquals("1", summary.get(TaskExecutionProfile.DELETE_MAP_RECORDS));
+    Assert.assertTrue(Long.parseLong(summary.get(TaskExecutionProfile.PEAK_MEMORY_BYTES)) > 0);
+  }
+
   @Test
   public void readAllDataWithPartitionEvolution() throws IOException {
     Assume.assumeTrue(getArcticTable().spec().isPartitioned());
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.optimizing;
+
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.Metrics;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.SortOrder;
+import org.apache.iceberg.data.GenericRecord;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableMap;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.apache.iceberg.relocated.com.google.common.primitives.UnsignedBytes;
+import org.apache.iceberg.types.Conversions;
+import org.apache.iceberg.types.Types;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class TestClusteringKeyGenerator {
+
+  private static final Schema SCHEMA =
+      new Schema(
+          Types.NestedField.required(1, "id", Types.LongType.get()),
+          Types.NestedField.optional(2, "name", Types.StringType.get()),
+          Types.NestedField.optional(3, "x", Types.LongType.get()),
+          Types.NestedField.optional(4, "y", Types.LongType.get()));
+
+  @Test
+  public void testSortKeys() {
+    SortOrder sortOrder = SortOrder.builderFor(SCHEMA).asc("name").desc("id").build();
+    ClusteringKeyGenerator generator =
+        ClusteringKeyGenerator.create(
+            SCHEMA, sortOrder, ClusteringMode.SORT, Collections.emptyList());
+
+    List<Record> records =
+        Lists.newArrayList(
+            record(1L, "b", 0, 0),
+            record(2L, "a", 0, 0),
+            record(3L, null, 0, 0),
+            record(4L, "a\u0000", 0, 0),
+            record(-5L, "a", 0, 0),
+            record(6L, "ab", 0, 0));
+    List<Long> sorted = sortedIds(generator, records);
+    Assert.assertEquals(Arrays.asList(3L, 2L, -5L, 4L, 6L, 1L), sorted);
+  }
+
+  @Test
+  public void testZOrderKeys() {
+    ClusteringKeyGenerator generator =
+        ClusteringKeyGenerator.create(
+            SCHEMA, SortOrder.unsorted(), ClusteringMode.ZORDER, Arrays.asList("x", "y"));
+
+    List<Record> records = Lists.newArrayList();
+    for (long x = 0; x < 4; x++) {
+      for (long y = 0; y < 4; y++) {
+        records.add(record(x * 4 + y, null, x, y));
+      }
+    }
+    Collections.shuffle(records);
+    // each quadrant of the grid is continuous on the z-order curve
+    List<Long> sorted = sortedIds(generator, records);
+    Assert.assertEquals(Sets.newHashSet(0L, 1L, 4L, 5L), Sets.newHashSet(sorted.subList(0, 4)));
+    Assert.assertEquals(Sets.newHashSet(2L, 3L, 6L, 7L), Sets.newHashSet(sorted.subList(4, 8)));
+    Assert.assertEquals(0L, sorted.get(0).longValue());
+    Assert.assertEquals(15L, sorted.get(15).longValue());
+  }
+
+  @Test
+  public void testSortKeyRange() {
+    SortOrder sortOrder = SortOrder.builderFor(SCHEMA).asc("name").desc("id").build();
+    ClusteringKeyGenerator generator =
+        ClusteringKeyGenerator.create(
+            SCHEMA, sortOrder, ClusteringMode.SORT, Collections.emptyList());
+
+    ClusteringKeyRange keyRange = generator.keyRange(dataFile("a", "b", 0L));
+    Assert.assertTrue(keyRange.contains(generator.key(record(5L, "a", 0, 0))));
+    Assert.assertTrue(keyRange.contains(generator.key(record(0L, "ab", 0, 0))));
+    Assert.assertTrue(keyRange.contains(generator.key(record(-1L, "b", 0, 0))));
+    Assert.assertFalse(keyRange.contains(generator.key(record(0L, "c", 0, 0))));
+    Assert.assertFalse(keyRange.contains(generator.key(record(0L, null, 0, 0))));
+
+    // nulls are first, the range is unbounded below if the file may contain nulls
+    keyRange = generator.keyRange(dataFile("a", "b", 1L));
+    Assert.assertTrue(keyRange.contains(generator.key(record(0L, null, 0, 0))));
+    Assert.assertFalse(keyRange.contains(generator.key(record(0L, "c", 0, 0))));
+    keyRange = generator.keyRange(dataFile("a", "b", null));
+    Assert.assertTrue(keyRange.contains(generator.key(record(0L, null, 0, 0))));
+  }
+
+  @Test
+  public void testZOrderKeyRange() {
+    ClusteringKeyGenerator generator =
+        ClusteringKeyGenerator.create(
+            SCHEMA, SortOrder.unsorted(), ClusteringMode.ZORDER, Arrays.asList("x", "y"));
+
+    DataFile dataFile =
+        dataFile(
+            ImmutableMap.of(3, 0L, 4, 0L),
+            ImmutableMap.of(3, bound(3, 1L), 4, bound(4, 0L)),
+            ImmutableMap.of(3, bound(3, 2L), 4, bound(4, 3L)));
+    ClusteringKeyRange keyRange = generator.keyRange(dataFile);
+    for (long x = 1; x <= 2; x++) {
+      for (long y = 0; y <= 3; y++) {
+        Assert.assertTrue(keyRange.contains(generator.key(record(0L, null, x, y))));
+      }
+    }
+    Assert.assertFalse(keyRange.contains(generator.key(record(0L, null, 0, 0))));
+    Assert.assertFalse(keyRange.contains(generator.key(record(0L, null, 3, 3))));
+
+    Assert.assertFalse(keyRange.overlaps(new ClusteringKeyRange(null, keyRange.lower())));
+    Assert.assertTrue(keyRange.overlaps(new ClusteringKeyRange(keyRange.lower(), null)));
+  }
+
+  @Test
+  public void testInvalidClustering() {
+    Assert.assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            ClusteringKeyGenerator.create(
+                SCHEMA, SortOrder.unsorted(), ClusteringMode.SORT, Collections.emptyList()));
+    Assert.assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            ClusteringKeyGenerator.create(
+                SCHEMA, SortOrder.unsorted(), ClusteringMode.ZORDER, Arrays.asList("unknown")));
+    Assert.assertEquals(Arrays.asList("x", "y"), ClusteringKeyGenerator.parseColumns(" x, ,y"));
+  }
+
+  private List<Long> sortedIds(ClusteringKeyGenerator generator, List<Record> records) {
+    Comparator<byte[]> comparator = UnsignedBytes.lexicographicalComparator();
+    return records.stream()
+        .sorted((r1, r2) -> comparator.compare(generator.key(r1), generator.key(r2)))
+        .map(record -> (Long) record.getField("id"))
+        .collect(Collectors.toList());
+  }
+
+  private DataFile dataFile(String lowerName, String upperName, Long nameNullCount) {
+    Map<Integer, Long> nullCounts = Maps.newHashMap();
+    if (nameNullCount != null) {
+      nullCounts.put(2, nameNullCount);
+    }
+    return dataFile(
+        nullCounts,
+        ImmutableMap.of(2, bound(2, lowerName)),
+        ImmutableMap.of(2, bound(2, upperName)));
+  }
+
+  private DataFile dataFile(
+      Map<Integer, Long> nullCounts,
+      Map<Integer, ByteBuffer> lowerBounds,
+      Map<Integer, ByteBuffer> upperBounds) {
+    return DataFiles.builder(PartitionSpec.unpartitioned())
+        .withPath("/data/file.parquet")
+        .withFileSizeInBytes(1024)
+        .withMetrics(new Metrics(10L, null, null, nullCounts, null, lowerBounds, upperBounds))
+        .build();
+  }
+
+  private ByteBuffer bound(int fieldId, Object value) {
+    return Conversions.toByteBuffer(SCHEMA.findType(fieldId), value);
+  }
+
+  private Record record(long id, String name, long x, long y) {
+    GenericRecord record = GenericRecord.create(SCHEMA);
+    record.setField("id", id);
+    record.setField("name", name);
+    record.setField("x", x);
+    record.setField("y", y);
+    return record;
+  }
+}
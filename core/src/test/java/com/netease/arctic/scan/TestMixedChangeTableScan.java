@@ -22,6 +22,8 @@ import com.netease.arctic.io.TableDataTestBase;
 import com.netease.arctic.utils.ArcticDataFiles;
 import org.apache.iceberg.FileScanTask;
 import org.apache.iceberg.StructLike;
+import org.apache.iceberg.expressions.Expression;
+import org.apache.iceberg.expressions.Expressions;
 import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.util.StructLikeMap;
 import org.junit.Assert;
@@ -92,6 +94,26 @@ public class TestMixedChangeTableScan extends TableDataTestBase {
     }
   }
 
+  @Test
+  public void testIncrementalScanWithFilter() throws IOException {
+    ChangeTableIncrementalScan changeTableIncrementalScan =
+        getArcticTable()
+            .asKeyedTable()
+            .changeTable()
+            .newScan()
+            .filter(Expressions.equal("id", 6));
+    // change files only containing (id=5) are pruned by the column metrics
+    try (CloseableIterable<FileScanTask> tasks = changeTableIncrementalScan.planFiles()) {
+      assertFiles(
+          tasks,
+          1,
+          task ->
+              task.residual() != null
+                  && task.residual().op() != Expression.Operation.TRUE
+                  && task.file().dataSequenceNumber() == 1);
+    }
+  }
+
   private void assertFiles(
       CloseableIterable<FileScanTask> tasks, int fileCnt, Predicate<FileScanTask> validator) {
     int taskCount = 0;
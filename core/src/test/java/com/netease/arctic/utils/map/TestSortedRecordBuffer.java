@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.utils.map;
+
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.data.GenericRecord;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.io.CloseableIterator;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.types.Types;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+
+public class TestSortedRecordBuffer {
+
+  private static final Schema SCHEMA =
+      new Schema(
+          Types.NestedField.required(1, "id", Types.IntegerType.get()),
+          Types.NestedField.optional(2, "name", Types.StringType.get()));
+
+  @Test
+  public void testSortInMemory() throws IOException {
+    SortedRecordBuffer buffer = SortedRecordBuffer.create(SCHEMA.asStruct(), null, null);
+    List<Integer> sorted = addAndSort(buffer, 100);
+    Assert.assertEquals(0, buffer.spilledCount());
+    assertSorted(sorted, 100);
+  }
+
+  @Test
+  public void testSortWithSpilledRecords() throws IOException {
+    SortedRecordBuffer buffer = SortedRecordBuffer.create(SCHEMA.asStruct(), 1000L, null);
+    List<Integer> sorted = addAndSort(buffer, 1000);
+    Assert.assertTrue(buffer.spilledCount() > 0);
+    assertSorted(sorted, 1000);
+  }
+
+  @Test
+  public void testSpillWithoutSpillableMap() throws IOException {
+    StructLikeCollections collections = new StructLikeCollections(false, 1000L, null);
+    SortedRecordBuffer buffer = collections.createSortedRecordBuffer(SCHEMA.asStruct());
+    List<Integer> sorted = addAndSort(buffer, 1000);
+    Assert.assertTrue(buffer.spilledCount() > 0);
+    assertSorted(sorted, 1000);
+  }
+
+  @Test
+  public void testKeepOrderOfSameKey() throws IOException {
+    SortedRecordBuffer buffer = SortedRecordBuffer.create(SCHEMA.asStruct(), 100L, null);
+    for (int i = 0; i < 100; i++) {
+      buffer.add(new byte[] {1}, record(i));
+    }
+    List<Integer> sorted = Lists.newArrayList();
+    try (CloseableIterator<Record> records = buffer.sortedRecords()) {
+      records.forEachRemaining(record -> sorted.add((Integer) record.getField("id")));
+    }
+    assertSorted(sorted, 100);
+  }
+
+  private List<Integer> addAndSort(SortedRecordBuffer buffer, int count) throws IOException {
+    List<Integer> ids = Lists.newArrayList();
+    for (int i = 0; i < count; i++) {
+      ids.add(i);
+    }
+    Collections.shuffle(ids);
+    for (int id : ids) {
+      buffer.add(ByteBuffer.allocate(4).putInt(id).array(), record(id));
+    }
+
+    List<Integer> sorted = Lists.newArrayList();
+    try (CloseableIterator<Record> records = buffer.sortedRecords()) {
+      while (records.hasNext()) {
+        Record record = records.next();
+        Assert.assertEquals("name-" + record.getField("id"), record.getField("name"));
+        sorted.add((Integer) record.getField("id"));
+      }
+    }
+    return sorted;
+  }
+
+  private void assertSorted(List<Integer> sorted, int count) {
+    Assert.assertEquals(count, sorted.size());
+    for (int i = 0; i < count; i++) {
+      Assert.assertEquals(i, sorted.get(i).intValue());
+    }
+  }
+
+  private Record record(int id) {
+    GenericRecord record = GenericRecord.create(SCHEMA);
+    record.setField("id", id);
+    record.setField("name", "name-" + id);
+    return record;
+  }
+}
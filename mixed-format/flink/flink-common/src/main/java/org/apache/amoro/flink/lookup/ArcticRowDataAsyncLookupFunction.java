@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.amoro.flink.lookup;
+
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.functions.AsyncLookupFunction;
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.flink.util.Preconditions;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An asynchronous lookup function for {@link RowData} type.
+ *
+ * <p>The lookup keys are queued and served by a dedicated thread pool. Each thread drains up to
+ * {@code batchSize} pending keys and fetches them from the {@link KVTable} at once, so the rocksDB
+ * reads of concurrent probes are merged into multiGet calls. The futures are completed as soon as
+ * their batch is done, combine with {@code table.exec.async-lookup.output-mode} = {@code
+ * ALLOW_UNORDERED} to emit the results out of order.
+ */
+public class ArcticRowDataAsyncLookupFunction extends AsyncLookupFunction {
+  private static final Logger LOG = LoggerFactory.getLogger(ArcticRowDataAsyncLookupFunction.class);
+  private static final long serialVersionUID = 5398406512447135203L;
+  private static final long POLL_TIMEOUT_MS = 100;
+  private final BasicLookupFunction<RowData> basicLookupFunction;
+  private final int threadNumber;
+  private final int batchSize;
+
+  private transient BlockingQueue<LookupRequest> pendingRequests;
+  private transient ExecutorService executor;
+  private transient volatile boolean closed;
+
+  public ArcticRowDataAsyncLookupFunction(
+      BasicLookupFunction<RowData> basicLookupFunction, int threadNumber, int batchSize) {
+    Preconditions.checkArgument(threadNumber > 0, "threadNumber should be positive");
+    Preconditions.checkArgument(batchSize > 0, "batchSize should be positive");
+    this.basicLookupFunction = basicLookupFunction;
+    this.threadNumber = threadNumber;
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public void open(FunctionContext context) throws IOException {
+    basicLookupFunction.open(context);
+    pendingRequests = new LinkedBlockingQueue<>();
+    executor =
+        Executors.newFixedThreadPool(
+            threadNumber, new ExecutorThreadFactory("Arctic-async-lookup"));
+    for (int i = 0; i < threadNumber; i++) {
+      executor.execute(this::processRequests);
+    }
+    LOG.info(
+        "Open the async lookup function with {} threads and batch size {}.",
+        threadNumber,
+        batchSize);
+  }
+
+  @Override
+  public CompletableFuture<Collection<RowData>> asyncLookup(RowData keyRow) {
+    CompletableFuture<Collection<RowData>> future = new CompletableFuture<>();
+    if (closed) {
+      future.completeExceptionally(
+          new IllegalStateException("The async lookup function is closed."));
+      return future;
+    }
+    pendingRequests.add(new LookupRequest(keyRow, future));
+    return future;
+  }
+
+  private void processRequests() {
+    List<LookupRequest> batch = new ArrayList<>(batchSize);
+    List<RowData> keys = new ArrayList<>(batchSize);
+    while (!closed) {
+      try {
+        LookupRequest first = pendingRequests.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        pendingRequests.drainTo(batch, batchSize - 1);
+        for (LookupRequest request : batch) {
+          keys.add(request.key);
+        }
+
+        List<List<RowData>> results = basicLookupFunction.batchLookup(keys);
+        for (int i = 0; i < batch.size(); i++) {
+          batch.get(i).future.complete(results.get(i));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } catch (Throwable t) {
+        for (LookupRequest request : batch) {
+          request.future.completeExceptionally(t);
+        }
+      } finally {
+        batch.clear();
+        keys.clear();
+      }
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    closed = true;
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+    if (pendingRequests != null) {
+      LookupRequest request;
+      while ((request = pendingRequests.poll()) != null) {
+        request.future.completeExceptionally(
+            new IllegalStateException("The async lookup function is closed."));
+      }
+    }
+    basicLookupFunction.close();
+  }
+
+  private static class LookupRequest {
+    private final RowData key;
+    private final CompletableFuture<Collection<RowData>> future;
+
+    private LookupRequest(RowData key, CompletableFuture<Collection<RowData>> future) {
+      this.key = key;
+      this.future = future;
+    }
+  }
+}
@@ -50,7 +50,7 @@ public class ArcticRowDataLookupFunction extends LookupFunction {
       Predicate<RowData> predicate,
       AbstractAdaptHiveKeyedDataReader<RowData> flinkArcticMORDataReader,
       DataIteratorReaderFunction<RowData> readerFunction) {
-    this.basicLookupFunction =
+    this(
         new BasicLookupFunction<>(
             tableFactory,
             arcticTable,
@@ -61,7 +61,11 @@ public class ArcticRowDataLookupFunction extends LookupFunction {
             config,
             predicate,
             flinkArcticMORDataReader,
-            readerFunction);
+            readerFunction));
+  }
+
+  public ArcticRowDataLookupFunction(BasicLookupFunction<RowData> basicLookupFunction) {
+    this.basicLookupFunction = basicLookupFunction;
   }
 
   @Override
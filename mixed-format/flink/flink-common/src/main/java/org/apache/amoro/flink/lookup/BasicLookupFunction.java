@@ -18,6 +18,7 @@
 
 package org.apache.amoro.flink.lookup;
 
+import static org.apache.amoro.flink.table.descriptors.ArcticValidator.LOOKUP_CACHE_SHARED;
 import static org.apache.amoro.flink.table.descriptors.ArcticValidator.LOOKUP_RELOADING_INTERVAL;
 import static org.apache.amoro.flink.util.ArcticUtils.loadArcticTable;
 import static org.apache.flink.util.Preconditions.checkArgument;
@@ -47,6 +48,7 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.util.List;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -79,6 +81,15 @@ public class BasicLookupFunction<T> implements Serializable {
   private transient ScheduledExecutorService executor;
   private final AtomicReference<Throwable> failureThrowable = new AtomicReference<>();
 
+  /** The key to share the {@link KVTable} in a TaskManager, null if the sharing is disabled. */
+  private final String sharedKey;
+
+  private transient SharedLookupRegistry.Entry sharedEntry;
+  /** The lookup metric group of this subtask, which reports the metrics of the shared table. */
+  private transient MetricGroup sharedMetricMember;
+  /** The lookup function which holds the {@link KVTable}, it is this if not shared. */
+  private transient BasicLookupFunction<T> owner;
+
   public BasicLookupFunction(
       TableFactory<T> tableFactory,
       ArcticTable arcticTable,
@@ -106,16 +117,55 @@ public class BasicLookupFunction<T> implements Serializable {
     this.predicate = predicate;
     this.flinkArcticMORDataReader = flinkArcticMORDataReader;
     this.readerFunction = readerFunction;
+    this.sharedKey =
+        config.get(LOOKUP_CACHE_SHARED)
+            ? String.join(
+                "|",
+                arcticTable.id().toString(),
+                projectSchema.toString(),
+                joinKeys.toString(),
+                String.valueOf(filters),
+                String.valueOf(predicate),
+                new TreeMap<>(config.toMap()).toString())
+            : null;
   }
 
   /**
    * Open the lookup function, e.g.: create {@link KVTable} kvTable, and load data.
    *
+   * <p>If {@code lookup.cache.shared} is enabled, only the first lookup function of the same table,
+   * projection and filters in this TaskManager creates and loads the {@link KVTable}, the others
+   * reuse it.
+   *
    * @throws IOException If serialize or deserialize failed
    */
+  @SuppressWarnings("unchecked")
   public void open(FunctionContext context) throws IOException {
-    init(context);
-    start();
+    if (sharedKey == null) {
+      owner = this;
+      init(context);
+      start();
+      return;
+    }
+
+    sharedEntry = SharedLookupRegistry.acquire(sharedKey, this);
+    owner = (BasicLookupFunction<T>) sharedEntry.owner();
+    sharedMetricMember = context.getMetricGroup().addGroup(LookupMetrics.GROUP_NAME_LOOKUP);
+    sharedEntry.metricGroup().addMember(sharedMetricMember);
+    if (owner == this) {
+      try {
+        init(context);
+        start();
+      } catch (Throwable t) {
+        sharedEntry.failed(t);
+        throw t;
+      }
+      sharedEntry.opened();
+      LOG.info("Open the shared lookup table {} in this TaskManager.", arcticTable.name());
+    } else {
+      sharedEntry.waitOpened();
+      LOG.info("Reuse the shared lookup table {} in this TaskManager.", owner.arcticTable.name());
+    }
   }
 
   /**
@@ -125,7 +175,10 @@ public class BasicLookupFunction<T> implements Serializable {
    */
   public void init(FunctionContext context) {
     LOG.info("lookup function row data predicate: {}.", predicate);
-    MetricGroup metricGroup = context.getMetricGroup().addGroup(LookupMetrics.GROUP_NAME_LOOKUP);
+    MetricGroup metricGroup =
+        sharedEntry == null
+            ? context.getMetricGroup().addGroup(LookupMetrics.GROUP_NAME_LOOKUP)
+            : sharedEntry.metricGroup();
     if (arcticTable == null) {
       arcticTable = loadArcticTable(loader).asKeyedTable();
     }
@@ -137,7 +190,8 @@ public class BasicLookupFunction<T> implements Serializable {
     LOG.info("projected schema {}.\n table schema {}.", projectSchema, arcticTable.schema());
     kvTable =
         kvTableFactory.create(
-            new RowDataStateFactory(generateRocksDBPath(context, arcticTable.name()), metricGroup),
+            new RowDataStateFactory(
+                generateRocksDBPath(context, arcticTable.name()), metricGroup, sharedEntry != null),
             arcticTable.asKeyedTable().primaryKeySpec().fieldNames(),
             joinKeys,
             projectSchema,
@@ -177,9 +231,23 @@ public class BasicLookupFunction<T> implements Serializable {
   }
 
   public List<T> lookup(RowData lookupKey) {
-    checkErrorAndRethrow();
+    owner.checkErrorAndRethrow();
     try {
-      return kvTable.get(lookupKey);
+      return owner.kvTable.get(lookupKey);
+    } catch (Exception e) {
+      throw new FlinkRuntimeException(e);
+    }
+  }
+
+  /**
+   * Lookup a batch of keys at once.
+   *
+   * @return the results in the same order as the keys.
+   */
+  public List<List<T>> batchLookup(List<RowData> lookupKeys) {
+    owner.checkErrorAndRethrow();
+    try {
+      return owner.kvTable.batchGet(lookupKeys);
     } catch (Exception e) {
       throw new FlinkRuntimeException(e);
     }
@@ -197,6 +265,10 @@ public class BasicLookupFunction<T> implements Serializable {
 
     long batchStart = System.currentTimeMillis();
     while (incrementalLoader.hasNext()) {
+      if (!kvTable.initialized() && !incrementalLoader.nextIsMergeOnRead()) {
+        // The change data must be applied in order after all the merge-on-read data is loaded.
+        kvTable.waitInitializationCompleted();
+      }
       long start = System.currentTimeMillis();
       arcticTable
           .io()
@@ -228,10 +300,24 @@ public class BasicLookupFunction<T> implements Serializable {
   }
 
   public KVTable<T> getKVTable() {
-    return kvTable;
+    return owner == null ? kvTable : owner.kvTable;
   }
 
   public void close() throws Exception {
+    if (sharedEntry == null) {
+      closeResources();
+    } else {
+      SharedLookupRegistry.Entry entry = sharedEntry;
+      sharedEntry = null;
+      entry.metricGroup().removeMember(sharedMetricMember);
+      if (SharedLookupRegistry.release(entry)) {
+        LOG.info("Close the shared lookup table, no lookup function references it.");
+        owner.closeResources();
+      }
+    }
+  }
+
+  private void closeResources() throws Exception {
     if (kvTable != null) {
       kvTable.close();
     }
@@ -32,6 +32,8 @@ public class LookupOptions implements Serializable {
   private final Duration ttlAfterWrite;
   private final long blockCacheCapacity;
   private final int blockCacheNumShardBits;
+  private final int writeQueueCapacity;
+  private final int bulkLoadBatchSize;
 
   private LookupOptions(Builder builder) {
     this.lruMaximumSize = builder.lruMaximumSize;
@@ -39,6 +41,8 @@ public class LookupOptions implements Serializable {
     this.ttlAfterWrite = builder.ttlAfterWrite;
     this.blockCacheCapacity = builder.blockCacheCapacity;
     this.blockCacheNumShardBits = builder.blockCacheNumShardBits;
+    this.writeQueueCapacity = builder.writeQueueCapacity;
+    this.bulkLoadBatchSize = builder.bulkLoadBatchSize;
   }
 
   public long lruMaximumSize() {
@@ -65,6 +69,14 @@ public class LookupOptions implements Serializable {
     return blockCacheNumShardBits;
   }
 
+  public int writeQueueCapacity() {
+    return writeQueueCapacity;
+  }
+
+  public int bulkLoadBatchSize() {
+    return bulkLoadBatchSize;
+  }
+
   @Override
   public String toString() {
     return "LookupOptions{"
@@ -78,6 +90,10 @@ public class LookupOptions implements Serializable {
         + blockCacheCapacity
         + ", blockCacheNumShardBits="
         + blockCacheNumShardBits
+        + ", writeQueueCapacity="
+        + writeQueueCapacity
+        + ", bulkLoadBatchSize="
+        + bulkLoadBatchSize
         + "}";
   }
 
@@ -87,6 +103,8 @@ public class LookupOptions implements Serializable {
     private Duration ttlAfterWrite;
     private long blockCacheCapacity;
     private int blockCacheNumShardBits;
+    private int writeQueueCapacity;
+    private int bulkLoadBatchSize;
 
     /** LRU cache max size. */
     public Builder lruMaximumSize(long lruMaximumSize) {
@@ -126,6 +144,22 @@ public class LookupOptions implements Serializable {
       return this;
     }
 
+    /** The capacity of the queue handing records over to the writing threads. */
+    public Builder writeQueueCapacity(int writeQueueCapacity) {
+      Preconditions.checkArgument(
+          writeQueueCapacity > 0, "writeQueueCapacity must be greater than 0");
+      this.writeQueueCapacity = writeQueueCapacity;
+      return this;
+    }
+
+    /** The max number of records sorted and written into one sst file during initialization. */
+    public Builder bulkLoadBatchSize(int bulkLoadBatchSize) {
+      Preconditions.checkArgument(
+          bulkLoadBatchSize > 0, "bulkLoadBatchSize must be greater than 0");
+      this.bulkLoadBatchSize = bulkLoadBatchSize;
+      return this;
+    }
+
     public LookupOptions build() {
       return new LookupOptions(this);
     }
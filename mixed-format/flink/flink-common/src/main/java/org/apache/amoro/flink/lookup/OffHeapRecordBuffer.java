@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.amoro.flink.lookup;
+
+import org.apache.flink.core.memory.MemorySegment;
+import org.apache.flink.core.memory.MemorySegmentFactory;
+import org.apache.flink.runtime.operators.sort.IndexedSortable;
+import org.apache.flink.runtime.operators.sort.QuickSort;
+import org.apache.flink.util.Preconditions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A buffer of key-value records kept in off-heap memory, which sorts the records by key in unsigned
+ * lexicographical order, as RocksDB does with its default comparator.
+ *
+ * <p>Records are appended into off-heap segments, and a record larger than a segment gets a
+ * segment of its own. Only the positions of the records, which are kept in an off-heap index, are
+ * moved while sorting. Records with the same key keep the order they are added in.
+ *
+ * <p>The buffer is not thread safe, every writing thread uses one of its own.
+ */
+class OffHeapRecordBuffer implements IndexedSortable, AutoCloseable {
+  private static final int SEGMENT_SIZE = 4 * 1024 * 1024;
+  private static final int RECORD_HEADER_SIZE = 8;
+  private static final int INDEX_ENTRY_SIZE = 8;
+
+  private final int capacity;
+  private final MemorySegment index;
+  private final List<MemorySegment> segments = new ArrayList<>();
+  private int currentSegment = -1;
+  private int currentOffset;
+  private int size;
+
+  /** @param capacity the max number of records in the buffer */
+  OffHeapRecordBuffer(int capacity) {
+    Preconditions.checkArgument(capacity > 0, "capacity must be greater than 0");
+    this.capacity = capacity;
+    this.index = MemorySegmentFactory.allocateOffHeapUnsafeMemory(capacity * INDEX_ENTRY_SIZE);
+  }
+
+  void add(byte[] key, byte[] value) {
+    Preconditions.checkState(!isFull(), "The buffer is full.");
+    int recordSize = RECORD_HEADER_SIZE + key.length + value.length;
+    MemorySegment segment = segmentFor(recordSize);
+    segment.putInt(currentOffset, key.length);
+    segment.putInt(currentOffset + 4, value.length);
+    segment.put(currentOffset + RECORD_HEADER_SIZE, key);
+    segment.put(currentOffset + RECORD_HEADER_SIZE + key.length, value);
+    index.putLong(size * INDEX_ENTRY_SIZE, ((long) currentSegment << 32) | currentOffset);
+    currentOffset += recordSize;
+    size++;
+  }
+
+  private MemorySegment segmentFor(int recordSize) {
+    if (currentSegment >= 0 && currentOffset + recordSize <= segments.get(currentSegment).size()) {
+      return segments.get(currentSegment);
+    }
+    currentSegment++;
+    currentOffset = 0;
+    if (currentSegment < segments.size() && segments.get(currentSegment).size() >= recordSize) {
+      return segments.get(currentSegment);
+    }
+    MemorySegment segment =
+        MemorySegmentFactory.allocateOffHeapUnsafeMemory(Math.max(SEGMENT_SIZE, recordSize));
+    if (currentSegment < segments.size()) {
+      // the reused segment is too small for the record
+      segments.set(currentSegment, segment).free();
+    } else {
+      segments.add(segment);
+    }
+    return segment;
+  }
+
+  boolean isFull() {
+    return size >= capacity;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  /** Sorts the records by key, records with the same key keep the order they are added in. */
+  void sort() {
+    new QuickSort().sort(this);
+  }
+
+  byte[] key(int i) {
+    long position = position(i);
+    MemorySegment segment = segments.get((int) (position >>> 32));
+    int offset = (int) position;
+    byte[] key = new byte[segment.getInt(offset)];
+    segment.get(offset + RECORD_HEADER_SIZE, key);
+    return key;
+  }
+
+  byte[] value(int i) {
+    long position = position(i);
+    MemorySegment segment = segments.get((int) (position >>> 32));
+    int offset = (int) position;
+    int keyLength = segment.getInt(offset);
+    byte[] value = new byte[segment.getInt(offset + 4)];
+    segment.get(offset + RECORD_HEADER_SIZE + keyLength, value);
+    return value;
+  }
+
+  /** Compares the keys of the i-th and the j-th records. */
+  int compareKeys(int i, int j) {
+    long positionI = position(i);
+    long positionJ = position(j);
+    MemorySegment segmentI = segments.get((int) (positionI >>> 32));
+    MemorySegment segmentJ = segments.get((int) (positionJ >>> 32));
+    int offsetI = (int) positionI;
+    int offsetJ = (int) positionJ;
+    int lengthI = segmentI.getInt(offsetI);
+    int lengthJ = segmentJ.getInt(offsetJ);
+    int cmp =
+        segmentI.compare(
+            segmentJ,
+            offsetI + RECORD_HEADER_SIZE,
+            offsetJ + RECORD_HEADER_SIZE,
+            Math.min(lengthI, lengthJ));
+    return cmp != 0 ? cmp : Integer.compare(lengthI, lengthJ);
+  }
+
+  /** Clears the records, the allocated memory is kept for the following records. */
+  void reset() {
+    size = 0;
+    currentSegment = -1;
+    currentOffset = 0;
+  }
+
+  @Override
+  public void close() {
+    segments.forEach(MemorySegment::free);
+    segments.clear();
+    index.free();
+  }
+
+  private long position(int i) {
+    return index.getLong(i * INDEX_ENTRY_SIZE);
+  }
+
+  @Override
+  public int compare(int i, int j) {
+    int cmp = compareKeys(i, j);
+    // positions grow in the adding order
+    return cmp != 0 ? cmp : Long.compare(position(i), position(j));
+  }
+
+  @Override
+  public int compare(
+      int segmentNumberI, int segmentOffsetI, int segmentNumberJ, int segmentOffsetJ) {
+    return compare(segmentOffsetI / INDEX_ENTRY_SIZE, segmentOffsetJ / INDEX_ENTRY_SIZE);
+  }
+
+  @Override
+  public void swap(int i, int j) {
+    long positionI = position(i);
+    index.putLong(i * INDEX_ENTRY_SIZE, position(j));
+    index.putLong(j * INDEX_ENTRY_SIZE, positionI);
+  }
+
+  @Override
+  public void swap(int segmentNumberI, int segmentOffsetI, int segmentNumberJ, int segmentOffsetJ) {
+    swap(segmentOffsetI / INDEX_ENTRY_SIZE, segmentOffsetJ / INDEX_ENTRY_SIZE);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public int recordSize() {
+    return INDEX_ENTRY_SIZE;
+  }
+
+  @Override
+  public int recordsPerSegment() {
+    // the whole index is a single segment
+    return capacity;
+  }
+}
@@ -25,28 +25,40 @@ import org.apache.flink.metrics.Gauge;
 import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.shaded.guava30.com.google.common.cache.Cache;
 import org.apache.flink.shaded.guava30.com.google.common.cache.CacheBuilder;
+import org.apache.flink.shaded.guava30.com.google.common.primitives.UnsignedBytes;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.types.RowKind;
 import org.apache.flink.util.FlinkRuntimeException;
 import org.apache.flink.util.Preconditions;
 import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.IngestExternalFileOptions;
 import org.rocksdb.MutableColumnFamilyOptions;
+import org.rocksdb.Options;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileReader;
+import org.rocksdb.SstFileReaderIterator;
+import org.rocksdb.SstFileWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -59,6 +71,9 @@ import java.util.stream.IntStream;
  */
 public abstract class RocksDBCacheState<V> {
   private static final Logger LOG = LoggerFactory.getLogger(RocksDBCacheState.class);
+  private static final Comparator<byte[]> KEY_COMPARATOR =
+      UnsignedBytes.lexicographicalComparator();
+  private static final long POLL_TIMEOUT_MS = 100;
   protected RocksDBBackend rocksDB;
   protected final boolean secondaryIndexMemoryMapEnabled;
 
@@ -78,13 +93,27 @@ public abstract class RocksDBCacheState<V> {
   private ExecutorService writeRocksDBService;
   private final AtomicBoolean initialized = new AtomicBoolean(false);
   private final AtomicBoolean closed = new AtomicBoolean(false);
-  protected Queue<LookupRecord> lookupRecordsQueue;
+  /** Set when no more records will be put into the queue during the initialization. */
+  private final AtomicBoolean inputFinished = new AtomicBoolean(false);
+
+  protected BlockingQueue<LookupRecord> lookupRecordsQueue;
+  /**
+   * If enabled, the initialization records are sorted and written into sst files, which are
+   * ingested into RocksDB at the end of the initialization, instead of being put one by one.
+   */
+  protected final boolean bulkLoadEnabled;
+
+  /** Sst files with disjoint key ranges, which are ingested into RocksDB together. */
+  private final List<String> sstFiles = Collections.synchronizedList(new ArrayList<>());
+  /** Sst files of the sorted runs written by the writing threads, whose key ranges overlap. */
+  private final List<String> sortedRunFiles = Collections.synchronizedList(new ArrayList<>());
+  private final AtomicInteger sstFileCount = new AtomicInteger();
 
   private final int writeRocksDBThreadNum;
   private List<Future<?>> writeRocksDBThreadFutures;
   private final AtomicReference<Throwable> writingThreadException = new AtomicReference<>();
   protected final MetricGroup metricGroup;
-  private final LookupOptions lookupOptions;
+  protected final LookupOptions lookupOptions;
 
   public RocksDBCacheState(
       RocksDBBackend rocksDB,
@@ -103,6 +132,8 @@ public abstract class RocksDBCacheState<V> {
     this.secondaryIndexMemoryMapEnabled = secondaryIndexMemoryMapEnabled;
     this.metricGroup = metricGroup;
     this.lookupOptions = lookupOptions;
+    // Values in a TTL db are suffixed with the write timestamp, which sst files don't have.
+    this.bulkLoadEnabled = !lookupOptions.isTTLAfterWriteValidated();
   }
 
   public void open() {
@@ -118,7 +149,7 @@ public abstract class RocksDBCacheState<V> {
 
     addGauge(columnFamilyName + "_queue_size", () -> lookupRecordsQueue.size());
 
-    lookupRecordsQueue = new ConcurrentLinkedQueue<>();
+    lookupRecordsQueue = new LinkedBlockingQueue<>(lookupOptions.writeQueueCapacity());
     writeRocksDBThreadFutures =
         IntStream.range(0, writeRocksDBThreadNum)
             .mapToObj(
@@ -159,37 +190,45 @@ public abstract class RocksDBCacheState<V> {
     return new ByteArrayWrapper(bytes, bytes.length);
   }
 
+  /**
+   * Hands the record over to the writing threads, blocks while the queue is full.
+   *
+   * @throws FlinkRuntimeException if any writing thread failed.
+   */
   protected void putIntoQueue(LookupRecord lookupRecord) {
     Preconditions.checkNotNull(lookupRecord);
-    lookupRecordsQueue.add(lookupRecord);
+    try {
+      while (!lookupRecordsQueue.offer(lookupRecord, POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+        checkConcurrentFailed();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new FlinkRuntimeException(e);
+    }
   }
 
-  /** Waiting for the writing threads completed. */
+  /**
+   * Waiting for the writing threads completed, and ingesting the sst files written by them into
+   * RocksDB.
+   */
   public void waitWriteRocksDBDone() {
-    long every5SecondsPrint = Long.MIN_VALUE;
-
-    while (true) {
-      if (lookupRecordsQueue.isEmpty()) {
-        initialized.set(true);
-        break;
-      } else if (every5SecondsPrint < System.currentTimeMillis()) {
-        LOG.info("Currently rocksDB queue size is {}.", lookupRecordsQueue.size());
-        every5SecondsPrint = System.currentTimeMillis() + 5000;
-      }
-    }
-    // Wait for all threads to finish
+    LOG.info("Currently rocksDB queue size is {}.", lookupRecordsQueue.size());
+    inputFinished.set(true);
+    // The writing threads exit after draining the queue
     for (Future<?> future : writeRocksDBThreadFutures) {
       try {
-        // wait for the task to complete, with a timeout of 5 seconds
-        future.get(5, TimeUnit.SECONDS);
-      } catch (TimeoutException e) {
-        // task took too long, interrupt the thread and terminate the task
-        future.cancel(true);
-      } catch (InterruptedException | ExecutionException e) {
-        // handle other exceptions
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new FlinkRuntimeException(e);
+      } catch (ExecutionException e) {
         throw new FlinkRuntimeException(e);
       }
     }
+    checkConcurrentFailed();
+    mergeSortedRuns();
+    ingestSstFiles();
+    initialized.set(true);
   }
 
   public boolean initialized() {
@@ -242,6 +281,134 @@ public abstract class RocksDBCacheState<V> {
     LOG.info("set db options[disable_auto_compactions={}]", false);
   }
 
+  /**
+   * Writes the records sorted by key into sst files of at most {@code bulkLoadBatchSize()} records.
+   * For the same key only the last record is kept.
+   *
+   * <p>The sst files are ingested into RocksDB by {@link #ingestSstFiles()}, so the records must be
+   * sorted across all the calls of this method as well, to keep the files disjoint.
+   */
+  protected void writeSstFiles(List<LookupRecord> records) {
+    try (SstFilesWriter writer = new SstFilesWriter(sstFiles, lookupOptions.bulkLoadBatchSize())) {
+      for (int i = 0; i < records.size(); i++) {
+        LookupRecord record = records.get(i);
+        if (i + 1 < records.size()
+            && KEY_COMPARATOR.compare(record.keyBytes(), records.get(i + 1).keyBytes()) == 0) {
+          continue;
+        }
+        writer.put(record.keyBytes(), record.valueBytes());
+      }
+    } catch (RocksDBException e) {
+      throw new ArcticIOException(e);
+    }
+  }
+
+  /**
+   * Sorts the records in the buffer and writes them into the sst file of a sorted run, then clears
+   * the buffer. For the same key only the last record is kept.
+   */
+  private void writeSortedRun(OffHeapRecordBuffer buffer) {
+    if (buffer.isEmpty()) {
+      return;
+    }
+    buffer.sort();
+    try (SstFilesWriter writer = new SstFilesWriter(sortedRunFiles, Long.MAX_VALUE)) {
+      for (int i = 0; i < buffer.size(); i++) {
+        if (i + 1 < buffer.size() && buffer.compareKeys(i, i + 1) == 0) {
+          continue;
+        }
+        writer.put(buffer.key(i), buffer.value(i));
+      }
+    } catch (RocksDBException e) {
+      throw new ArcticIOException(e);
+    }
+    buffer.reset();
+  }
+
+  /**
+   * Merges the sorted runs written by the writing threads into sst files with disjoint key ranges,
+   * so that RocksDB could ingest them into the bottommost level instead of stacking overlapping
+   * files in L0. For a key in several runs, only one of the records is kept, as the writing
+   * threads take the records in no particular order anyway.
+   */
+  private void mergeSortedRuns() {
+    if (sortedRunFiles.size() <= 1) {
+      sstFiles.addAll(sortedRunFiles);
+      sortedRunFiles.clear();
+      return;
+    }
+    long start = System.currentTimeMillis();
+    List<SstFileReader> readers = new ArrayList<>();
+    List<SstFileReaderIterator> iterators = new ArrayList<>();
+    try (Options options = new Options();
+        ReadOptions readOptions = new ReadOptions();
+        SstFilesWriter writer = new SstFilesWriter(sstFiles, lookupOptions.bulkLoadBatchSize())) {
+      try {
+        PriorityQueue<SortedRunCursor> cursors =
+            new PriorityQueue<>((c1, c2) -> KEY_COMPARATOR.compare(c1.key, c2.key));
+        for (String sortedRunFile : sortedRunFiles) {
+          SstFileReader reader = new SstFileReader(options);
+          readers.add(reader);
+          reader.open(sortedRunFile);
+          SstFileReaderIterator iterator = reader.newIterator(readOptions);
+          iterators.add(iterator);
+          iterator.seekToFirst();
+          if (iterator.isValid()) {
+            cursors.add(new SortedRunCursor(iterator));
+          }
+        }
+        byte[] lastKey = null;
+        while (!cursors.isEmpty()) {
+          SortedRunCursor cursor = cursors.poll();
+          if (lastKey == null || KEY_COMPARATOR.compare(lastKey, cursor.key) != 0) {
+            writer.put(cursor.key, cursor.iterator.value());
+            lastKey = cursor.key;
+          }
+          if (cursor.next()) {
+            cursors.add(cursor);
+          }
+        }
+      } finally {
+        iterators.forEach(SstFileReaderIterator::close);
+        readers.forEach(SstFileReader::close);
+      }
+    } catch (RocksDBException e) {
+      throw new ArcticIOException(e);
+    }
+    for (String sortedRunFile : sortedRunFiles) {
+      if (!new File(sortedRunFile).delete()) {
+        LOG.warn("Failed to delete sorted run file {}.", sortedRunFile);
+      }
+    }
+    LOG.info(
+        "Merged {} sorted runs into {} sst files of column family {}, cost {}ms.",
+        sortedRunFiles.size(),
+        sstFiles.size(),
+        columnFamilyName,
+        System.currentTimeMillis() - start);
+    sortedRunFiles.clear();
+  }
+
+  /** Ingests the sst files written during the initialization into RocksDB. */
+  protected void ingestSstFiles() {
+    if (sstFiles.isEmpty()) {
+      return;
+    }
+    long start = System.currentTimeMillis();
+    try (IngestExternalFileOptions options = new IngestExternalFileOptions()) {
+      options.setMoveFiles(true);
+      rocksDB.getDB().ingestExternalFile(columnFamilyHandle, new ArrayList<>(sstFiles), options);
+    } catch (RocksDBException e) {
+      throw new ArcticIOException(e);
+    }
+    LOG.info(
+        "Ingested {} sst files into column family {}, cost {}ms.",
+        sstFiles.size(),
+        columnFamilyName,
+        System.currentTimeMillis() - start);
+    sstFiles.clear();
+  }
+
   public void addGauge(String metricName, Gauge<Object> gauge) {
     metricGroup.gauge(metricName, gauge);
   }
@@ -259,10 +426,8 @@ public abstract class RocksDBCacheState<V> {
    *
    * <p>During the initialization phase, the Merge-on-Read approach is used to retrieve data, which
    * will only return INSERT data. When there are multiple entries with the same primary key, only
-   * one entry will be returned.
-   *
-   * <p>During the initialization phase, the incremental pull approach is also used to retrieve data
-   * that include four {@link RowKind} rowKinds, -D, +I, -U, and +U.
+   * one entry will be returned. So if bulk load is enabled, the records are collected into sorted
+   * sst files instead of being put into RocksDB one by one.
    */
   class WriteRocksDBTask implements Runnable {
 
@@ -277,26 +442,48 @@ public abstract class RocksDBCacheState<V> {
     @Override
     public void run() {
       LOG.info("{} starting.", name);
+      OffHeapRecordBuffer buffer =
+          bulkLoadEnabled && !secondaryIndexMemoryMapEnabled
+              ? new OffHeapRecordBuffer(lookupOptions.bulkLoadBatchSize())
+              : null;
       try {
-        while (!closed.get() && !initialized.get()) {
-          LookupRecord record = lookupRecordsQueue.poll();
-          if (record != null) {
-            switch (record.opType()) {
-              case PUT_BYTES:
-                put(record);
-                break;
-              case DELETE_BYTES:
-                delete(record);
-                break;
-              default:
-                throw new IllegalArgumentException(
-                    String.format("Not support this OpType %s", record.opType()));
+        while (!closed.get()) {
+          LookupRecord record = lookupRecordsQueue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+          if (record == null) {
+            if (inputFinished.get()) {
+              break;
             }
+            continue;
           }
+          switch (record.opType()) {
+            case PUT_BYTES:
+              if (buffer != null) {
+                buffer.add(record.keyBytes(), record.valueBytes());
+                if (buffer.isFull()) {
+                  writeSortedRun(buffer);
+                }
+              } else {
+                put(record);
+              }
+              break;
+            case DELETE_BYTES:
+              delete(record);
+              break;
+            default:
+              throw new IllegalArgumentException(
+                  String.format("Not support this OpType %s", record.opType()));
+          }
+        }
+        if (buffer != null) {
+          writeSortedRun(buffer);
         }
       } catch (Throwable e) {
         LOG.error("writing failed:", e);
         writingThreadException.set(e);
+      } finally {
+        if (buffer != null) {
+          buffer.close();
+        }
       }
       LOG.info("{} stopping.", name);
     }
@@ -322,6 +509,87 @@ public abstract class RocksDBCacheState<V> {
     }
   }
 
+  /**
+   * Writes sorted records into sst files under the ingest directory, and rolls to a new file after
+   * {@code maxRecordsPerFile} records. The finished files are added to the given list.
+   */
+  private class SstFilesWriter implements AutoCloseable {
+    private final List<String> files;
+    private final long maxRecordsPerFile;
+    private final EnvOptions envOptions = new EnvOptions();
+    private final Options options = new Options();
+    private SstFileWriter writer;
+    private String currentFile;
+    private long currentRecords;
+
+    SstFilesWriter(List<String> files, long maxRecordsPerFile) {
+      this.files = files;
+      this.maxRecordsPerFile = maxRecordsPerFile;
+    }
+
+    void put(byte[] key, byte[] value) throws RocksDBException {
+      if (writer == null) {
+        File sstFile =
+            new File(
+                new File(rocksDB.getRocksDBBasePath(), "ingest"),
+                String.format("%s-%d.sst", columnFamilyName, sstFileCount.incrementAndGet()));
+        if (!sstFile.getParentFile().exists() && !sstFile.getParentFile().mkdirs()) {
+          throw new ArcticIOException("Failed to create directory " + sstFile.getParent());
+        }
+        writer = new SstFileWriter(envOptions, options);
+        writer.open(sstFile.getAbsolutePath());
+        currentFile = sstFile.getAbsolutePath();
+      }
+      writer.put(key, value);
+      if (++currentRecords >= maxRecordsPerFile) {
+        finishFile();
+      }
+    }
+
+    private void finishFile() throws RocksDBException {
+      try {
+        writer.finish();
+      } finally {
+        writer.close();
+        writer = null;
+      }
+      files.add(currentFile);
+      currentRecords = 0;
+    }
+
+    @Override
+    public void close() throws RocksDBException {
+      try {
+        if (writer != null) {
+          finishFile();
+        }
+      } finally {
+        options.close();
+        envOptions.close();
+      }
+    }
+  }
+
+  /** The current record of a sorted run being merged, with its key read out of RocksDB once. */
+  private static class SortedRunCursor {
+    private final SstFileReaderIterator iterator;
+    private byte[] key;
+
+    SortedRunCursor(SstFileReaderIterator iterator) {
+      this.iterator = iterator;
+      this.key = iterator.key();
+    }
+
+    boolean next() {
+      iterator.next();
+      if (!iterator.isValid()) {
+        return false;
+      }
+      key = iterator.key();
+      return true;
+    }
+  }
+
   void putSecondaryCache(byte[] key, byte[] value) {
     ByteArrayWrapper keyWrap = wrap(key);
     ByteArrayWrapper valueWrap = wrap(value);
@@ -27,6 +27,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 /** A class used to store the state of a lookup record. For {@link UniqueIndexTable}. */
@@ -91,6 +93,37 @@ public class RocksDBRecordState extends RocksDBCacheState<byte[]> {
     return Optional.ofNullable(deserializeValue(recordBytes));
   }
 
+  /**
+   * Retrieve a batch of records, the cache misses are fetched from the rocksDB by a single
+   * multiGet.
+   *
+   * @param keysBytes the serialized keys.
+   * @return the records in the same order as the keys, null if the key doesn't exist.
+   */
+  public List<RowData> batchGet(List<byte[]> keysBytes) throws IOException {
+    List<RowData> results = new ArrayList<>(keysBytes.size());
+    List<Integer> missedPositions = new ArrayList<>();
+    List<byte[]> missedKeys = new ArrayList<>();
+    for (byte[] keyBytes : keysBytes) {
+      byte[] recordBytes = guavaCache.getIfPresent(wrap(keyBytes));
+      if (recordBytes == null) {
+        missedPositions.add(results.size());
+        missedKeys.add(keyBytes);
+      }
+      results.add(deserializeValue(recordBytes));
+    }
+
+    List<byte[]> values = rocksDB.multiGet(columnFamilyHandle, missedKeys);
+    for (int i = 0; i < missedKeys.size(); i++) {
+      byte[] recordBytes = values.get(i);
+      if (recordBytes != null) {
+        guavaCache.put(wrap(missedKeys.get(i)), recordBytes);
+        results.set(missedPositions.get(i), deserializeValue(recordBytes));
+      }
+    }
+    return results;
+  }
+
   /**
    * Putting the serialized RowData key and value into the rocksDB and cache.
    *
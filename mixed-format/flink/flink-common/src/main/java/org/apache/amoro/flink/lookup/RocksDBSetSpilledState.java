@@ -22,15 +22,18 @@ import com.netease.arctic.utils.map.RocksDBBackend;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.shaded.guava30.com.google.common.cache.Cache;
+import org.apache.flink.shaded.guava30.com.google.common.primitives.UnsignedBytes;
 import org.apache.flink.table.data.RowData;
 import org.apache.iceberg.relocated.com.google.common.collect.Sets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -135,6 +138,43 @@ public class RocksDBSetSpilledState extends RocksDBCacheState<Set<ByteArrayWrapp
     return result;
   }
 
+  /**
+   * Retrieve the unique keys of a batch of join keys, the cache misses are fetched from the rocksDB
+   * by a single multiGet.
+   *
+   * @return the unique keys in the same order as the join keys.
+   */
+  public List<Collection<ByteArrayWrapper>> batchGet(List<RowData> keys) throws IOException {
+    List<Collection<ByteArrayWrapper>> results = new ArrayList<>(keys.size());
+    List<Integer> missedPositions = new ArrayList<>();
+    List<byte[]> missedKeys = new ArrayList<>();
+    for (RowData key : keys) {
+      byte[] joinKeyBytes = serializeKey(key);
+      Set<ByteArrayWrapper> result = guavaCache.getIfPresent(wrap(joinKeyBytes));
+      if (result == null) {
+        missedPositions.add(results.size());
+        missedKeys.add(joinKeyBytes);
+        results.add(Collections.emptyList());
+      } else {
+        results.add(result);
+      }
+    }
+
+    List<byte[]> values = rocksDB.multiGet(columnFamilyHandle, missedKeys);
+    for (int i = 0; i < missedKeys.size(); i++) {
+      byte[] uniqueKeysDeserialized = values.get(i);
+      if (uniqueKeysDeserialized == null) {
+        continue;
+      }
+      Set<ByteArrayWrapper> result = ByteArraySetSerializer.deserialize(uniqueKeysDeserialized);
+      if (CollectionUtils.isNotEmpty(result)) {
+        guavaCache.put(wrap(missedKeys.get(i)), result);
+        results.set(missedPositions.get(i), result);
+      }
+    }
+    return results;
+  }
+
   @Override
   public void putCacheValue(
       Cache<ByteArrayWrapper, Set<ByteArrayWrapper>> cache,
@@ -210,9 +250,35 @@ public class RocksDBSetSpilledState extends RocksDBCacheState<Set<ByteArrayWrapp
 
   public void bulkIntoRocksDB() {
     LOG.info("Total size={} in the tmp map, try to bulk into rocksdb", tmpInitializationMap.size());
-    int[] count = {0};
     long start = System.currentTimeMillis();
 
+    if (bulkLoadEnabled) {
+      // Sorting all the join keys, so that every sst file covers a disjoint key range.
+      List<ByteArrayWrapper> joinKeys = new ArrayList<>(tmpInitializationMap.keySet());
+      joinKeys.sort(
+          (k1, k2) -> UnsignedBytes.lexicographicalComparator().compare(k1.bytes, k2.bytes));
+      List<LookupRecord> records = new ArrayList<>();
+      for (ByteArrayWrapper joinKey : joinKeys) {
+        records.add(
+            LookupRecord.of(
+                LookupRecord.OpType.PUT_BYTES,
+                joinKey.bytes,
+                ByteArraySetSerializer.serialize(tmpInitializationMap.remove(joinKey))));
+        if (records.size() >= lookupOptions.bulkLoadBatchSize()) {
+          writeSstFiles(records);
+          records = new ArrayList<>();
+        }
+      }
+      writeSstFiles(records);
+      ingestSstFiles();
+      LOG.info(
+          "Ingested {} completely, cost:{} ms.",
+          joinKeys.size(),
+          System.currentTimeMillis() - start);
+      return;
+    }
+
+    int[] count = {0};
     tmpInitializationMap.forEach(
         (byteArrayWrapper, set) -> {
           rocksDB.put(
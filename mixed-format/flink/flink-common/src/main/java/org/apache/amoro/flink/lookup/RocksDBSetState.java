@@ -128,7 +128,7 @@ public class RocksDBSetState extends RocksDBCacheState<List<byte[]>> {
     byte[] joinKeyBytes = serializeKey(joinKey);
     byte[] joinKeyAndPrimaryKeyBytes = Bytes.mergeByte(joinKeyBytes, uniqueKeyBytes);
     LookupRecord.OpType opType = convertToOpType(joinKey.getRowKind());
-    lookupRecordsQueue.add(LookupRecord.of(opType, joinKeyAndPrimaryKeyBytes, EMPTY));
+    putIntoQueue(LookupRecord.of(opType, joinKeyAndPrimaryKeyBytes, EMPTY));
   }
 
   public byte[] serializeKey(RowData key) throws IOException {
@@ -33,11 +33,23 @@ public class RowDataStateFactory {
   private final String dbPath;
   private RocksDBBackend db;
   private final MetricGroup metricGroup;
+  /** Whether the RocksDB instance is used by this factory only, instead of the current thread. */
+  private final boolean dedicatedDB;
 
   public RowDataStateFactory(String dbPath, MetricGroup metricGroup) {
+    this(dbPath, metricGroup, false);
+  }
+
+  /**
+   * @param dedicatedDB if true, the states are kept in a RocksDB instance of this factory, which is
+   *     not bound to the current thread, e.g.: for the states shared by the threads of several
+   *     subtasks.
+   */
+  public RowDataStateFactory(String dbPath, MetricGroup metricGroup, boolean dedicatedDB) {
     Preconditions.checkNotNull(metricGroup);
     this.dbPath = dbPath;
     this.metricGroup = metricGroup;
+    this.dedicatedDB = dedicatedDB;
   }
 
   public RocksDBRecordState createRecordState(
@@ -70,7 +82,16 @@ public class RowDataStateFactory {
   }
 
   RocksDBBackend createDB(final LookupOptions lookupOptions, final String columnFamilyName) {
-    if (lookupOptions.isTTLAfterWriteValidated()) {
+    if (dedicatedDB) {
+      if (db == null) {
+        db =
+            RocksDBBackend.createInstance(
+                dbPath,
+                lookupOptions.isTTLAfterWriteValidated()
+                    ? (int) lookupOptions.ttlAfterWrite().getSeconds()
+                    : null);
+      }
+    } else if (lookupOptions.isTTLAfterWriteValidated()) {
       db =
           RocksDBBackend.getOrCreateInstance(
               dbPath, (int) lookupOptions.ttlAfterWrite().getSeconds());
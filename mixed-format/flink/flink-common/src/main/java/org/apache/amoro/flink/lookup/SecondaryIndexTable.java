@@ -99,6 +99,40 @@ public class SecondaryIndexTable extends UniqueIndexTable {
     return Collections.emptyList();
   }
 
+  /**
+   * Resolve the unique keys of all the join keys first, then fetch the records of all the unique
+   * keys by a single batch.
+   */
+  @Override
+  public List<List<RowData>> batchGet(List<RowData> keys) throws IOException {
+    List<Collection<ByteArrayWrapper>> uniqueKeysList = setState.batchGet(keys);
+    List<byte[]> uniqueKeysBytes = new ArrayList<>();
+    for (Collection<ByteArrayWrapper> uniqueKeys : uniqueKeysList) {
+      for (ByteArrayWrapper uniqueKey : uniqueKeys) {
+        uniqueKeysBytes.add(uniqueKey.bytes);
+      }
+    }
+    List<RowData> records = recordState.batchGet(uniqueKeysBytes);
+
+    List<List<RowData>> results = new ArrayList<>(keys.size());
+    int position = 0;
+    for (Collection<ByteArrayWrapper> uniqueKeys : uniqueKeysList) {
+      if (uniqueKeys.isEmpty()) {
+        results.add(Collections.emptyList());
+        continue;
+      }
+      List<RowData> result = new ArrayList<>(uniqueKeys.size());
+      for (int i = 0; i < uniqueKeys.size(); i++) {
+        RowData record = records.get(position++);
+        if (record != null) {
+          result.add(record);
+        }
+      }
+      results.add(result);
+    }
+    return results;
+  }
+
   @Override
   public void upsert(Iterator<RowData> dataStream) throws IOException {
     while (dataStream.hasNext()) {
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.amoro.flink.lookup;
+
+import org.apache.flink.util.FlinkRuntimeException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A JVM wide registry of the lookup functions which share one {@link KVTable} and one loader with
+ * the other lookup functions of the same table, projection and filters in a TaskManager.
+ *
+ * <p>The first lookup function acquiring a key becomes the owner of the entry and is responsible
+ * for loading, the others wait until the owner opened and then read the owner's {@link KVTable}.
+ * The entry is reference counted, the last release closes the owner's resources.
+ *
+ * <p>The resources of the shared {@link KVTable} belong to the entry rather than to the owner's
+ * subtask: its metrics are registered into the metric groups of all the sharing subtasks by a
+ * {@link SharedMetricGroup}, and its RocksDB instance is not bound to the owner's thread, so they
+ * keep working after the owner's subtask has closed.
+ */
+final class SharedLookupRegistry {
+  private static final Map<String, Entry> ENTRIES = new HashMap<>();
+
+  private SharedLookupRegistry() {}
+
+  /**
+   * Acquire the entry of the key, the candidate becomes the owner if there is no open or opening
+   * entry of the key.
+   */
+  static synchronized Entry acquire(String key, BasicLookupFunction<?> candidate) {
+    Entry entry = ENTRIES.get(key);
+    if (entry == null) {
+      entry = new Entry(key, candidate);
+      ENTRIES.put(key, entry);
+    }
+    entry.refCount++;
+    return entry;
+  }
+
+  /**
+   * Release the entry.
+   *
+   * @return true if it is the last reference, and the caller should close the owner's resources.
+   */
+  static synchronized boolean release(Entry entry) {
+    entry.refCount--;
+    if (entry.refCount > 0) {
+      return false;
+    }
+    ENTRIES.remove(entry.key, entry);
+    return true;
+  }
+
+  /** Remove a failed entry, so that the later acquirers would not share it. */
+  static synchronized void invalidate(Entry entry) {
+    ENTRIES.remove(entry.key, entry);
+  }
+
+  static synchronized int size() {
+    return ENTRIES.size();
+  }
+
+  static class Entry {
+    private final String key;
+    private final BasicLookupFunction<?> owner;
+    private final CompletableFuture<Void> opened = new CompletableFuture<>();
+    private final SharedMetricGroup metricGroup = new SharedMetricGroup();
+    private int refCount;
+
+    private Entry(String key, BasicLookupFunction<?> owner) {
+      this.key = key;
+      this.owner = owner;
+    }
+
+    BasicLookupFunction<?> owner() {
+      return owner;
+    }
+
+    SharedMetricGroup metricGroup() {
+      return metricGroup;
+    }
+
+    void opened() {
+      opened.complete(null);
+    }
+
+    void failed(Throwable throwable) {
+      invalidate(this);
+      opened.completeExceptionally(throwable);
+    }
+
+    /** Wait until the owner has opened, rethrow the failure of the owner if it failed. */
+    void waitOpened() {
+      try {
+        opened.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new FlinkRuntimeException(
+            "Interrupted while waiting for the shared lookup table.", e);
+      } catch (ExecutionException e) {
+        throw new FlinkRuntimeException("The shared lookup table failed to open.", e.getCause());
+      }
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.amoro.flink.lookup;
+
+import org.apache.flink.metrics.CharacterFilter;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.Histogram;
+import org.apache.flink.metrics.Meter;
+import org.apache.flink.metrics.Metric;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.metrics.SimpleCounter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The metric group of a shared lookup table, which lives as long as the {@link
+ * SharedLookupRegistry} entry instead of the subtask that happens to load the table.
+ *
+ * <p>Every lookup function sharing the table adds the metric group of its own subtask as a member,
+ * and the metrics are registered into all the members, including the ones added later. So the
+ * metrics are still reported after the subtask which loaded the table has closed.
+ */
+class SharedMetricGroup implements MetricGroup {
+  private final Map<String, Metric> metrics = new LinkedHashMap<>();
+  private final List<MetricGroup> members = new ArrayList<>();
+
+  synchronized void addMember(MetricGroup member) {
+    members.add(member);
+    metrics.forEach((name, metric) -> register(member, name, metric));
+  }
+
+  synchronized void removeMember(MetricGroup member) {
+    members.remove(member);
+  }
+
+  synchronized Map<String, Metric> metrics() {
+    return Collections.unmodifiableMap(new LinkedHashMap<>(metrics));
+  }
+
+  private synchronized <M extends Metric> M register(String name, M metric) {
+    metrics.put(name, metric);
+    members.forEach(member -> register(member, name, metric));
+    return metric;
+  }
+
+  private static void register(MetricGroup member, String name, Metric metric) {
+    if (metric instanceof Counter) {
+      member.counter(name, (Counter) metric);
+    } else if (metric instanceof Gauge) {
+      member.gauge(name, (Gauge<?>) metric);
+    } else if (metric instanceof Histogram) {
+      member.histogram(name, (Histogram) metric);
+    } else if (metric instanceof Meter) {
+      member.meter(name, (Meter) metric);
+    } else {
+      throw new IllegalArgumentException("Unknown metric type: " + metric.getClass());
+    }
+  }
+
+  @Override
+  public Counter counter(String name) {
+    return counter(name, new SimpleCounter());
+  }
+
+  @Override
+  public <C extends Counter> C counter(String name, C counter) {
+    return register(name, counter);
+  }
+
+  @Override
+  public <T, G extends Gauge<T>> G gauge(String name, G gauge) {
+    return register(name, gauge);
+  }
+
+  @Override
+  public <H extends Histogram> H histogram(String name, H histogram) {
+    return register(name, histogram);
+  }
+
+  @Override
+  public <M extends Meter> M meter(String name, M meter) {
+    return register(name, meter);
+  }
+
+  @Override
+  public MetricGroup addGroup(String name) {
+    throw new UnsupportedOperationException("Sub groups of a shared metric group are unsupported.");
+  }
+
+  @Override
+  public MetricGroup addGroup(String key, String value) {
+    throw new UnsupportedOperationException("Sub groups of a shared metric group are unsupported.");
+  }
+
+  @Override
+  public synchronized String[] getScopeComponents() {
+    return members.isEmpty() ? new String[0] : members.get(0).getScopeComponents();
+  }
+
+  @Override
+  public synchronized Map<String, String> getAllVariables() {
+    return members.isEmpty() ? Collections.emptyMap() : members.get(0).getAllVariables();
+  }
+
+  @Override
+  public synchronized String getMetricIdentifier(String metricName) {
+    return members.isEmpty() ? metricName : members.get(0).getMetricIdentifier(metricName);
+  }
+
+  @Override
+  public synchronized String getMetricIdentifier(String metricName, CharacterFilter filter) {
+    return members.isEmpty()
+        ? filter.filterCharacters(metricName)
+        : members.get(0).getMetricIdentifier(metricName, filter);
+  }
+}
@@ -99,6 +99,12 @@ public class MixedIncrementalLoader<T> implements AutoCloseable {
     return true;
   }
 
+  /** @return true if the split fetched by the next {@link #next()} is a merge-on-read split. */
+  public boolean nextIsMergeOnRead() {
+    ArcticSplit split = splitQueue.peek();
+    return split != null && split.isMergeOnReadSplit();
+  }
+
   public CloseableIterator<T> next() {
     ArcticSplit split = splitQueue.poll();
     if (split == null) {
@@ -100,17 +100,17 @@ public class DataIterator<T> implements CloseableIterator<T> {
       tasks.next();
     }
 
-    updateCurrentIterator();
-    // skip records within the file
-    for (long i = 0; i < startingRecordOffset; ++i) {
-      if (currentFileHasNext() && hasNext()) {
-        next();
-      } else {
-        throw new IllegalStateException(
-            String.format(
-                "Invalid starting record offset %d for file %d from FileScanTask List.",
-                startingRecordOffset, startingFileOffset));
-      }
+    if (startingRecordOffset == 0) {
+      updateCurrentIterator();
+    } else if (tasks.hasNext()) {
+      // let the reader jump to the record by the file layout, instead of decoding every record
+      // before it
+      currentIterator = fileScanTaskReader.open(tasks.next(), startingRecordOffset);
+    } else {
+      throw new IllegalStateException(
+          String.format(
+              "Invalid starting record offset %d for file %d from FileScanTask List.",
+              startingRecordOffset, startingFileOffset));
     }
 
     fileOffset = startingFileOffset;
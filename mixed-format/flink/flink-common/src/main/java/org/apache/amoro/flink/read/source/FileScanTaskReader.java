@@ -22,7 +22,9 @@ import org.apache.flink.annotation.Internal;
 import org.apache.iceberg.FileScanTask;
 import org.apache.iceberg.io.CloseableIterator;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
 
 /**
  * Read a {@link FileScanTask} into a {@link CloseableIterator}
@@ -32,4 +34,29 @@ import java.io.Serializable;
 @Internal
 public interface FileScanTaskReader<T> extends Serializable {
   CloseableIterator<T> open(FileScanTask fileScanTask);
+
+  /**
+   * Open the {@link FileScanTask} and position the returned iterator at its {@code
+   * startingRecordOffset}-th record. Implementations may jump over the leading records without
+   * decoding them, this default one reads and discards them.
+   */
+  default CloseableIterator<T> open(FileScanTask fileScanTask, long startingRecordOffset) {
+    CloseableIterator<T> iterator = open(fileScanTask);
+    for (long i = 0; i < startingRecordOffset; ++i) {
+      if (!iterator.hasNext()) {
+        try {
+          iterator.close();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        throw new IllegalStateException(
+            String.format(
+                "Invalid starting record offset %d for file %s.",
+                startingRecordOffset,
+                fileScanTask.file().path()));
+      }
+      iterator.next();
+    }
+    return iterator;
+  }
 }
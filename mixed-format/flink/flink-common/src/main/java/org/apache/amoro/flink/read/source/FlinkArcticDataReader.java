@@ -125,4 +125,10 @@ public class FlinkArcticDataReader extends AbstractAdaptHiveUnkeyedDataReader<Ro
     CloseableIterable<RowData> rowDataIterable = readData(arcticFileScanTask);
     return fileIO.doAs(rowDataIterable::iterator);
   }
+
+  @Override
+  public CloseableIterator<RowData> open(FileScanTask fileScanTask, long startingRecordOffset) {
+    ArcticFileScanTask arcticFileScanTask = (ArcticFileScanTask) fileScanTask;
+    return fileIO.doAs(() -> readData(arcticFileScanTask, startingRecordOffset));
+  }
 }
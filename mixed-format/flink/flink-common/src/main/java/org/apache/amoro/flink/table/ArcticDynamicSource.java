@@ -18,9 +18,15 @@
 
 package org.apache.amoro.flink.table;
 
+import static org.apache.amoro.flink.table.descriptors.ArcticValidator.LOOKUP_ASYNC;
+import static org.apache.amoro.flink.table.descriptors.ArcticValidator.LOOKUP_ASYNC_BATCH_SIZE;
+import static org.apache.amoro.flink.table.descriptors.ArcticValidator.LOOKUP_ASYNC_THREAD_NUMBER;
+
 import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.utils.SchemaUtil;
+import org.apache.amoro.flink.lookup.ArcticRowDataAsyncLookupFunction;
 import org.apache.amoro.flink.lookup.ArcticRowDataLookupFunction;
+import org.apache.amoro.flink.lookup.BasicLookupFunction;
 import org.apache.amoro.flink.lookup.KVTableFactory;
 import org.apache.amoro.flink.lookup.filter.RowDataPredicate;
 import org.apache.amoro.flink.lookup.filter.RowDataPredicateExpressionVisitor;
@@ -42,10 +48,12 @@ import org.apache.flink.table.connector.source.abilities.SupportsFilterPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsLimitPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsProjectionPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsWatermarkPushDown;
+import org.apache.flink.table.connector.source.lookup.AsyncLookupFunctionProvider;
 import org.apache.flink.table.connector.source.lookup.LookupFunctionProvider;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.expressions.CallExpression;
 import org.apache.flink.table.expressions.ResolvedExpression;
+import org.apache.flink.table.functions.AsyncLookupFunction;
 import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
 import org.apache.flink.table.functions.FunctionIdentifier;
 import org.apache.flink.table.functions.LookupFunction;
@@ -247,10 +255,28 @@ public class ArcticDynamicSource
       joinKeys[i] = context.getKeys()[i][0];
     }
 
+    Configuration config = new Configuration();
+    properties.forEach(config::setString);
+    if (config.get(LOOKUP_ASYNC)) {
+      return AsyncLookupFunctionProvider.of(getAsyncLookupFunction(joinKeys));
+    }
     return LookupFunctionProvider.of(getLookupFunction(joinKeys));
   }
 
   protected LookupFunction getLookupFunction(int[] joinKeys) {
+    return new ArcticRowDataLookupFunction(createBasicLookupFunction(joinKeys));
+  }
+
+  protected AsyncLookupFunction getAsyncLookupFunction(int[] joinKeys) {
+    Configuration config = new Configuration();
+    properties.forEach(config::setString);
+    return new ArcticRowDataAsyncLookupFunction(
+        createBasicLookupFunction(joinKeys),
+        config.get(LOOKUP_ASYNC_THREAD_NUMBER),
+        config.get(LOOKUP_ASYNC_BATCH_SIZE));
+  }
+
+  private BasicLookupFunction<RowData> createBasicLookupFunction(int[] joinKeys) {
     Schema projectedSchema = getProjectedSchema();
 
     List<String> joinKeyNames = getJoinKeyNames(joinKeys, projectedSchema);
@@ -266,7 +292,7 @@ public class ArcticDynamicSource
     DataIteratorReaderFunction<RowData> readerFunction =
         generateReaderFunction(arcticTable, projectedSchema);
 
-    return new ArcticRowDataLookupFunction(
+    return new BasicLookupFunction<>(
         KVTableFactory.INSTANCE,
         arcticTable,
         joinKeyNames,
@@ -233,9 +233,15 @@ public class DynamicTableFactory implements DynamicTableSourceFactory, DynamicTa
     options.add(ArcticValidator.LOOKUP_CACHE_MAX_ROWS);
     options.add(ArcticValidator.LOOKUP_RELOADING_INTERVAL);
     options.add(ArcticValidator.LOOKUP_CACHE_TTL_AFTER_WRITE);
+    options.add(ArcticValidator.LOOKUP_CACHE_SHARED);
+    options.add(ArcticValidator.LOOKUP_ASYNC);
+    options.add(ArcticValidator.LOOKUP_ASYNC_THREAD_NUMBER);
+    options.add(ArcticValidator.LOOKUP_ASYNC_BATCH_SIZE);
 
     options.add(ArcticValidator.ROCKSDB_AUTO_COMPACTIONS);
     options.add(ArcticValidator.ROCKSDB_WRITING_THREADS);
+    options.add(ArcticValidator.ROCKSDB_WRITING_QUEUE_CAPACITY);
+    options.add(ArcticValidator.ROCKSDB_BULK_LOAD_BATCH_SIZE);
     options.add(ArcticValidator.ROCKSDB_BLOCK_CACHE_CAPACITY);
     options.add(ArcticValidator.ROCKSDB_BLOCK_CACHE_NUM_SHARD_BITS);
     return options;
@@ -237,6 +237,15 @@ public class ArcticValidator extends ConnectorDescriptorValidator {
           .defaultValue(Duration.ZERO)
           .withDescription("The TTL after which the row will expire in the lookup cache.");
 
+  public static final ConfigOption<Boolean> LOOKUP_CACHE_SHARED =
+      ConfigOptions.key("lookup.cache.shared")
+          .booleanType()
+          .defaultValue(false)
+          .withDescription(
+              "Whether the lookup functions of the same table, projection and filters in a"
+                  + " TaskManager share one lookup cache and one loader, instead of each subtask"
+                  + " loading a full copy of the table.");
+
   public static final ConfigOption<Duration> LOOKUP_RELOADING_INTERVAL =
       ConfigOptions.key("lookup.reloading.interval")
           .durationType()
@@ -245,6 +254,28 @@ public class ArcticValidator extends ConnectorDescriptorValidator {
               "Configuration option for specifying the interval in seconds to reload lookup data in RocksDB."
                   + "\nThe default value is 10 seconds.");
 
+  public static final ConfigOption<Boolean> LOOKUP_ASYNC =
+      ConfigOptions.key("lookup.async")
+          .booleanType()
+          .defaultValue(false)
+          .withDescription(
+              "Whether to lookup asynchronously, the concurrent lookup keys are batched and fetched"
+                  + " from rocksDB by multiGet.");
+
+  public static final ConfigOption<Integer> LOOKUP_ASYNC_THREAD_NUMBER =
+      ConfigOptions.key("lookup.async.thread-number")
+          .intType()
+          .defaultValue(4)
+          .withDescription("The thread number of the asynchronous lookup.");
+
+  public static final ConfigOption<Integer> LOOKUP_ASYNC_BATCH_SIZE =
+      ConfigOptions.key("lookup.async.batch-size")
+          .intType()
+          .defaultValue(128)
+          .withDescription(
+              "The max number of pending lookup keys fetched by one asynchronous lookup thread in a"
+                  + " single batch.");
+
   public static final ConfigOption<Boolean> ROCKSDB_AUTO_COMPACTIONS =
       ConfigOptions.key("rocksdb.auto-compactions")
           .booleanType()
@@ -259,6 +290,24 @@ public class ArcticValidator extends ConnectorDescriptorValidator {
           .defaultValue(5)
           .withDescription("Writing data into rocksDB thread number.");
 
+  public static final ConfigOption<Integer> ROCKSDB_WRITING_QUEUE_CAPACITY =
+      ConfigOptions.key("rocksdb.writing-queue-capacity")
+          .intType()
+          .defaultValue(100000)
+          .withDescription(
+              "The capacity of the queue handing records over to the rocksDB writing threads during"
+                  + " the initialization, the reading thread blocks when it is full.");
+
+  public static final ConfigOption<Integer> ROCKSDB_BULK_LOAD_BATCH_SIZE =
+      ConfigOptions.key("rocksdb.bulk-load.batch-size")
+          .intType()
+          .defaultValue(200000)
+          .withDescription(
+              "During the initialization, records are buffered off-heap and sorted by each"
+                  + " writing thread, and the sorted runs are merged into sst files with disjoint"
+                  + " key ranges which are ingested into rocksDB at the end. This is the max number"
+                  + " of records of a sorted run, as well as of a merged sst file.");
+
   public static final ConfigOption<Long> ROCKSDB_BLOCK_CACHE_CAPACITY =
       ConfigOptions.key("rocksdb.block-cache.capacity")
           .longType()
@@ -28,6 +28,8 @@ public class LookupUtil {
     return new LookupOptions.Builder()
         .lruMaximumSize(config.get(ArcticValidator.LOOKUP_CACHE_MAX_ROWS))
         .writeRecordThreadNum(config.get(ArcticValidator.ROCKSDB_WRITING_THREADS))
+        .writeQueueCapacity(config.get(ArcticValidator.ROCKSDB_WRITING_QUEUE_CAPACITY))
+        .bulkLoadBatchSize(config.get(ArcticValidator.ROCKSDB_BULK_LOAD_BATCH_SIZE))
         .ttlAfterWrite(config.get(ArcticValidator.LOOKUP_CACHE_TTL_AFTER_WRITE))
         .blockCacheCapacity(config.get(ArcticValidator.ROCKSDB_BLOCK_CACHE_CAPACITY))
         .blockCacheNumShardBits(config.get(ArcticValidator.ROCKSDB_BLOCK_CACHE_NUM_SHARD_BITS))
@@ -19,6 +19,7 @@
 package org.apache.amoro.flink.lookup;
 
 import static org.apache.amoro.flink.table.descriptors.ArcticValidator.LOOKUP_CACHE_TTL_AFTER_WRITE;
+import static org.apache.amoro.flink.table.descriptors.ArcticValidator.ROCKSDB_BULK_LOAD_BATCH_SIZE;
 import static org.apache.amoro.flink.table.descriptors.ArcticValidator.ROCKSDB_WRITING_THREADS;
 import static org.junit.Assert.assertEquals;
 
@@ -58,10 +59,12 @@ import org.junit.rules.TemporaryFolder;
 import org.junit.rules.TestName;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
+import org.rocksdb.LiveFileMetaData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -212,6 +215,90 @@ public class TestKVTable extends TestRowDataPredicateBase {
     }
   }
 
+  @Test
+  public void testBulkLoadIntoMultipleSstFiles() throws IOException {
+    config.setInteger(ROCKSDB_WRITING_THREADS, 2);
+    config.setInteger(ROCKSDB_BULK_LOAD_BATCH_SIZE, 2);
+    List<String> joinKeys = Lists.newArrayList("id", "grade");
+    try (UniqueIndexTable uniqueIndexTable = (UniqueIndexTable) createTable(joinKeys)) {
+      uniqueIndexTable.open();
+
+      List<RowData> rows = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        rows.add(row(RowKind.INSERT, i, String.valueOf(i % 7), i));
+      }
+      initTable(uniqueIndexTable, rows.iterator());
+      uniqueIndexTable.waitInitializationCompleted();
+      Assert.assertTrue(uniqueIndexTable.initialized());
+
+      for (int i = 0; i < 100; i++) {
+        assertTable(
+            uniqueIndexTable, row(i, String.valueOf(i % 7)), row(i, String.valueOf(i % 7), i));
+      }
+
+      // the sorted runs of the writing threads are merged into disjoint files below L0
+      RocksDBRecordState state = uniqueIndexTable.recordState;
+      List<LiveFileMetaData> files =
+          state.rocksDB.getDB().getLiveFilesMetaData().stream()
+              .filter(
+                  file ->
+                      state.columnFamilyName.equals(
+                          new String(file.columnFamilyName(), StandardCharsets.UTF_8)))
+              .collect(Collectors.toList());
+      Assert.assertFalse(files.isEmpty());
+      files.forEach(file -> Assert.assertTrue(file.level() > 0));
+
+      // the bulk loaded records could be updated after initialization
+      upsertTable(
+          uniqueIndexTable,
+          upsertStream(row(RowKind.DELETE, 1, "1", 1), row(RowKind.UPDATE_AFTER, 2, "2", 20)));
+      assertTable(uniqueIndexTable, row(1, "1"), null, row(2, "2"), row(2, "2", 20));
+    }
+  }
+
+  @Test
+  public void testBatchGet() throws IOException {
+    List<RowData> rows =
+        Lists.newArrayList(
+            row(RowKind.INSERT, 1, "1", 1),
+            row(RowKind.INSERT, 2, "2", 2),
+            row(RowKind.INSERT, 2, "3", 3));
+    try (KVTable<RowData> uniqueIndexTable = createTable(Lists.newArrayList("id", "grade"))) {
+      uniqueIndexTable.open();
+      initTable(uniqueIndexTable, rows.iterator());
+      uniqueIndexTable.waitInitializationCompleted();
+
+      List<List<RowData>> results =
+          uniqueIndexTable.batchGet(Lists.newArrayList(row(2, "3"), row(3, "3"), row(1, "1")));
+      Assert.assertEquals(3, results.size());
+      Assert.assertEquals(1, results.get(0).size());
+      assertRecord(row(2, "3", 3), results.get(0).get(0));
+      Assert.assertEquals(0, results.get(1).size());
+      Assert.assertEquals(1, results.get(2).size());
+      assertRecord(row(1, "1", 1), results.get(2).get(0));
+    }
+
+    try (KVTable<RowData> secondaryIndexTable = createTable(Lists.newArrayList("id"))) {
+      secondaryIndexTable.open();
+      initTable(secondaryIndexTable, rows.iterator());
+      secondaryIndexTable.waitInitializationCompleted();
+
+      List<List<RowData>> results =
+          secondaryIndexTable.batchGet(Lists.newArrayList(row(2), row(9), row(1), row(2)));
+      Assert.assertEquals(4, results.size());
+      for (int i : new int[] {0, 3}) {
+        List<RowData> values =
+            results.get(i).stream().sorted(compare()).collect(Collectors.toList());
+        Assert.assertEquals(2, values.size());
+        assertRecord(row(2, "2", 2), values.get(0));
+        assertRecord(row(2, "3", 3), values.get(1));
+      }
+      Assert.assertEquals(0, results.get(1).size());
+      Assert.assertEquals(1, results.get(2).size());
+      assertRecord(row(1, "1", 1), results.get(2).get(0));
+    }
+  }
+
   @Test
   public void testSecondaryKeysMapping() throws IOException {
     // primary keys are id and grade.
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.amoro.flink.lookup;
+
+import static org.apache.amoro.flink.table.descriptors.ArcticValidator.LOOKUP_CACHE_SHARED;
+
+import com.netease.arctic.BasicTableTestHelper;
+import com.netease.arctic.TableFormat;
+import com.netease.arctic.catalog.BasicCatalogTestHelper;
+import com.netease.arctic.table.KeyedTable;
+import com.netease.arctic.utils.map.RocksDBBackend;
+import org.apache.amoro.flink.FlinkTestBase;
+import org.apache.amoro.flink.read.hybrid.reader.RowDataReaderFunction;
+import org.apache.amoro.flink.read.source.FlinkArcticMORDataReader;
+import org.apache.amoro.flink.table.ArcticTableLoader;
+import org.apache.amoro.flink.util.ArcticUtils;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.util.MockStreamingRuntimeContext;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.iceberg.flink.data.RowDataUtil;
+import org.apache.iceberg.io.TaskWriter;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class TestSharedLookupFunction extends FlinkTestBase {
+
+  public TestSharedLookupFunction() {
+    super(
+        new BasicCatalogTestHelper(TableFormat.MIXED_ICEBERG),
+        new BasicTableTestHelper(true, false));
+  }
+
+  @Test
+  public void testTwoSubtasksShareTable() throws Exception {
+    KeyedTable table = getArcticTable().asKeyedTable();
+    try (TaskWriter<RowData> writer = createKeyedTaskWriter(table, FLINK_ROW_TYPE, true)) {
+      writer.write(createRowData(1, "a", "2022-10-11T10:10:11.0"));
+      writer.write(createRowData(2, "b", "2022-10-12T10:10:11.0"));
+      commit(table, writer.complete(), true);
+    }
+
+    BasicLookupFunction<RowData> first = createLookupFunction(table);
+    BasicLookupFunction<RowData> second = createLookupFunction(table);
+    // the first subtask opens and closes the function in a thread of its own
+    ExecutorService firstSubtask = Executors.newSingleThreadExecutor();
+    try {
+      firstSubtask.submit(() -> open(first, 0)).get();
+      open(second, 1);
+      Assert.assertSame(first.getKVTable(), second.getKVTable());
+
+      firstSubtask
+          .submit(
+              () -> {
+                first.close();
+                // another lookup table of the first subtask releases the RocksDB of its thread
+                RocksDBBackend.getOrCreateInstance(temp.newFolder().getPath()).close();
+                return null;
+              })
+          .get();
+    } finally {
+      firstSubtask.shutdownNow();
+    }
+
+    // the second subtask still reads the shared table after the first one has closed
+    List<RowData> rows = second.lookup(GenericRowData.of(2));
+    Assert.assertEquals(1, rows.size());
+    Assert.assertEquals("b", rows.get(0).getString(1).toString());
+    second.close();
+  }
+
+  private void open(BasicLookupFunction<RowData> function, int subtaskIndex) {
+    try {
+      function.open(new FunctionContext(new MockStreamingRuntimeContext(false, 2, subtaskIndex)));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private BasicLookupFunction<RowData> createLookupFunction(KeyedTable table) {
+    ArcticTableLoader tableLoader = ArcticTableLoader.of(table.id(), catalogBuilder);
+    Configuration config = new Configuration();
+    config.set(LOOKUP_CACHE_SHARED, true);
+    return new BasicLookupFunction<>(
+        KVTableFactory.INSTANCE,
+        ArcticUtils.loadArcticTable(tableLoader),
+        Lists.newArrayList("id"),
+        table.schema(),
+        Collections.emptyList(),
+        tableLoader,
+        config,
+        null,
+        new FlinkArcticMORDataReader(
+            table.io(),
+            table.schema(),
+            table.schema(),
+            table.primaryKeySpec(),
+            null,
+            true,
+            RowDataUtil::convertConstant,
+            true),
+        new RowDataReaderFunction(
+            new Configuration(),
+            table.schema(),
+            table.schema(),
+            table.primaryKeySpec(),
+            null,
+            true,
+            table.io(),
+            true));
+  }
+}
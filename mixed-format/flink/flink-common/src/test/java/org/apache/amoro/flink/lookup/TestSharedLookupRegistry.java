@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.amoro.flink.lookup;
+
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+import org.apache.flink.util.FlinkRuntimeException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class TestSharedLookupRegistry {
+
+  @Test
+  public void testReferenceCount() {
+    int size = SharedLookupRegistry.size();
+    SharedLookupRegistry.Entry first = SharedLookupRegistry.acquire("testReferenceCount", null);
+    SharedLookupRegistry.Entry second = SharedLookupRegistry.acquire("testReferenceCount", null);
+    Assert.assertSame(first, second);
+    Assert.assertEquals(size + 1, SharedLookupRegistry.size());
+
+    first.opened();
+    second.waitOpened();
+
+    Assert.assertFalse(SharedLookupRegistry.release(first));
+    Assert.assertEquals(size + 1, SharedLookupRegistry.size());
+    Assert.assertTrue(SharedLookupRegistry.release(second));
+    Assert.assertEquals(size, SharedLookupRegistry.size());
+
+    SharedLookupRegistry.Entry third = SharedLookupRegistry.acquire("testReferenceCount", null);
+    Assert.assertNotSame(first, third);
+    Assert.assertTrue(SharedLookupRegistry.release(third));
+  }
+
+  @Test
+  public void testFailedEntryNotShared() {
+    SharedLookupRegistry.Entry first = SharedLookupRegistry.acquire("testFailedEntry", null);
+    SharedLookupRegistry.Entry second = SharedLookupRegistry.acquire("testFailedEntry", null);
+    first.failed(new IllegalStateException("failed to load"));
+    Assert.assertThrows(FlinkRuntimeException.class, second::waitOpened);
+
+    SharedLookupRegistry.Entry third = SharedLookupRegistry.acquire("testFailedEntry", null);
+    Assert.assertNotSame(first, third);
+
+    Assert.assertFalse(SharedLookupRegistry.release(first));
+    Assert.assertTrue(SharedLookupRegistry.release(second));
+    Assert.assertTrue(SharedLookupRegistry.release(third));
+  }
+
+  @Test
+  public void testSharedMetricsOutliveMember() {
+    SharedMetricGroup metricGroup = new SharedMetricGroup();
+    RecordingMetricGroup first = new RecordingMetricGroup();
+    metricGroup.addMember(first);
+    Gauge<Long> loadingTime = () -> 1L;
+    metricGroup.gauge("loadingTime", loadingTime);
+    Assert.assertSame(loadingTime, first.gauges.get("loadingTime"));
+
+    // a later member reports the metrics registered before it joined
+    metricGroup.removeMember(first);
+    RecordingMetricGroup second = new RecordingMetricGroup();
+    metricGroup.addMember(second);
+    Assert.assertSame(loadingTime, second.gauges.get("loadingTime"));
+
+    Gauge<Long> queueSize = () -> 0L;
+    metricGroup.gauge("queueSize", queueSize);
+    Assert.assertFalse(first.gauges.containsKey("queueSize"));
+    Assert.assertSame(queueSize, second.gauges.get("queueSize"));
+  }
+
+  private static class RecordingMetricGroup extends UnregisteredMetricsGroup {
+    private final Map<String, Gauge<?>> gauges = new HashMap<>();
+
+    @Override
+    public <T, G extends Gauge<T>> G gauge(String name, G gauge) {
+      gauges.put(name, gauge);
+      return gauge;
+    }
+  }
+}
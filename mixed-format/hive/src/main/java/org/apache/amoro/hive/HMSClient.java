@@ -19,9 +19,11 @@
 package org.apache.amoro.hive;
 
 import org.apache.hadoop.hive.metastore.PartitionDropOptions;
+import org.apache.hadoop.hive.metastore.api.CurrentNotificationEventId;
 import org.apache.hadoop.hive.metastore.api.Database;
 import org.apache.hadoop.hive.metastore.api.EnvironmentContext;
 import org.apache.hadoop.hive.metastore.api.MetaException;
+import org.apache.hadoop.hive.metastore.api.NotificationEventResponse;
 import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.Table;
 import org.apache.thrift.TException;
@@ -57,6 +59,9 @@ public interface HMSClient {
 
   List<String> listPartitionNames(String dbName, String tblName, short maxParts) throws TException;
 
+  List<Partition> getPartitionsByNames(String dbName, String tblName, List<String> partNames)
+      throws TException;
+
   void createDatabase(Database db) throws TException;
 
   void dropDatabase(String name, boolean deleteData, boolean ignoreUnknownDb, boolean cascade)
@@ -79,6 +84,10 @@ public interface HMSClient {
 
   List<String> getAllTables(String dbName) throws TException;
 
+  CurrentNotificationEventId getCurrentNotificationEventId() throws TException;
+
+  NotificationEventResponse getNextNotification(long lastEventId, int maxEvents) throws TException;
+
   void alterPartitions(
       String dbName,
       String tblName,
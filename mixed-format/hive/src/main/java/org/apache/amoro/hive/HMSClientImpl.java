@@ -20,9 +20,11 @@ package org.apache.amoro.hive;
 
 import org.apache.hadoop.hive.metastore.HiveMetaStoreClient;
 import org.apache.hadoop.hive.metastore.PartitionDropOptions;
+import org.apache.hadoop.hive.metastore.api.CurrentNotificationEventId;
 import org.apache.hadoop.hive.metastore.api.Database;
 import org.apache.hadoop.hive.metastore.api.EnvironmentContext;
 import org.apache.hadoop.hive.metastore.api.MetaException;
+import org.apache.hadoop.hive.metastore.api.NotificationEventResponse;
 import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.Table;
 import org.apache.iceberg.common.DynMethods;
@@ -97,6 +99,12 @@ public class HMSClientImpl implements HMSClient {
     return getClient().listPartitionNames(dbName, tblName, maxParts);
   }
 
+  @Override
+  public List<Partition> getPartitionsByNames(
+      String dbName, String tblName, List<String> partNames) throws TException {
+    return getClient().getPartitionsByNames(dbName, tblName, partNames);
+  }
+
   @Override
   public void createDatabase(Database db) throws TException {
     getClient().createDatabase(db);
@@ -147,6 +155,17 @@ public class HMSClientImpl implements HMSClient {
     return getClient().getAllTables(dbName);
   }
 
+  @Override
+  public CurrentNotificationEventId getCurrentNotificationEventId() throws TException {
+    return getClient().getCurrentNotificationEventId();
+  }
+
+  @Override
+  public NotificationEventResponse getNextNotification(long lastEventId, int maxEvents)
+      throws TException {
+    return getClient().getNextNotification(lastEventId, maxEvents, null);
+  }
+
   @Override
   public void alterPartitions(
       String dbName,
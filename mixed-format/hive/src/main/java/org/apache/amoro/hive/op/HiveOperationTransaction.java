@@ -52,6 +52,7 @@ import org.apache.iceberg.io.LocationProvider;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.thrift.TException;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -166,7 +167,9 @@ public class HiveOperationTransaction implements Transaction {
   }
 
   private class TransactionalHMSClient implements HMSClientPool {
-    List<Action<?, HMSClient, TException>> pendingActions = Lists.newArrayList();
+    // actions may be added by parallel tasks, e.g.: dropping partitions by batches
+    List<Action<?, HMSClient, TException>> pendingActions =
+        Collections.synchronizedList(Lists.newArrayList());
 
     @Override
     public <R> R run(Action<R, HMSClient, TException> action) {
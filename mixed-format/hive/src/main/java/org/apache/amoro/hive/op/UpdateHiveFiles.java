@@ -35,6 +35,7 @@ import org.apache.amoro.hive.utils.HiveTableUtil;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hive.metastore.PartitionDropOptions;
+import org.apache.hadoop.hive.metastore.Warehouse;
 import org.apache.hadoop.hive.metastore.api.NoSuchObjectException;
 import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.Table;
@@ -50,17 +51,22 @@ import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.io.FileIO;
 import org.apache.iceberg.io.OutputFile;
 import org.apache.iceberg.relocated.com.google.common.base.Joiner;
+import org.apache.iceberg.relocated.com.google.common.collect.Iterables;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.apache.iceberg.relocated.com.google.common.collect.Sets;
 import org.apache.iceberg.types.Types;
+import org.apache.iceberg.util.PropertyUtil;
 import org.apache.iceberg.util.StructLikeMap;
+import org.apache.iceberg.util.Tasks;
+import org.apache.iceberg.util.ThreadPools;
 import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -86,6 +92,7 @@ public abstract class UpdateHiveFiles<T extends SnapshotUpdate<T>> implements Sn
   protected final String tableName;
 
   protected final Table hiveTable;
+  protected final int metastoreBatchSize;
 
   protected Expression expr;
   protected final List<DataFile> addFiles = Lists.newArrayList();
@@ -124,6 +131,11 @@ public abstract class UpdateHiveFiles<T extends SnapshotUpdate<T>> implements Sn
     } catch (TException | InterruptedException e) {
       throw new RuntimeException(e);
     }
+    this.metastoreBatchSize =
+        PropertyUtil.propertyAsInt(
+            table.properties(),
+            HiveTableProperties.HIVE_METASTORE_BATCH_SIZE,
+            HiveTableProperties.HIVE_METASTORE_BATCH_SIZE_DEFAULT);
     this.partitionToAlter = StructLikeMap.create(table.spec().partitionType());
     this.partitionToCreate = StructLikeMap.create(table.spec().partitionType());
     this.partitionToDelete = StructLikeMap.create(table.spec().partitionType());
@@ -286,7 +298,8 @@ public abstract class UpdateHiveFiles<T extends SnapshotUpdate<T>> implements Sn
 
     Types.StructType partitionSchema = table.spec().partitionType();
 
-    Set<String> checkedPartitionValues = Sets.newHashSet();
+    Map<String, StructLike> partitionsToCheck = Maps.newHashMap();
+    Map<String, List<String>> partitionValuesToCheck = Maps.newHashMap();
     Set<String> deleteFileLocations = Sets.newHashSet();
 
     for (DataFile dataFile : deleteFiles) {
@@ -294,20 +307,21 @@ public abstract class UpdateHiveFiles<T extends SnapshotUpdate<T>> implements Sn
           HivePartitionUtil.partitionValuesAsList(dataFile.partition(), partitionSchema);
       String pathValue = Joiner.on("/").join(values);
       deleteFileLocations.add(dataFile.path().toString());
-      if (checkedPartitionValues.contains(pathValue)) {
-        continue;
-      }
-      try {
-        Partition partition = hmsClient.run(c -> c.getPartition(db, tableName, values));
-        deletePartitions.put(dataFile.partition(), partition);
-      } catch (NoSuchObjectException e) {
-        // pass do nothing
-      } catch (TException | InterruptedException e) {
-        throw new RuntimeException(e);
+      if (!partitionsToCheck.containsKey(pathValue)) {
+        partitionsToCheck.put(pathValue, dataFile.partition());
+        partitionValuesToCheck.put(pathValue, values);
       }
-      checkedPartitionValues.add(pathValue);
     }
 
+    Map<String, Partition> partitionsInHive = getHivePartitions(partitionValuesToCheck.values());
+    partitionsToCheck.forEach(
+        (pathValue, partitionData) -> {
+          Partition partition = partitionsInHive.get(pathValue);
+          if (partition != null) {
+            deletePartitions.put(partitionData, partition);
+          }
+        });
+
     if (validateLocation) {
       deletePartitions.values().forEach(p -> checkPartitionDelete(deleteFileLocations, p));
     }
@@ -371,19 +385,51 @@ public abstract class UpdateHiveFiles<T extends SnapshotUpdate<T>> implements Sn
             .map(deleteFile -> deleteFile.path().toString())
             .collect(Collectors.toSet());
 
-    for (String partitionLocation : partitionsToCheck) {
-      try (ArcticHadoopFileIO io = table.io()) {
-        io.listPrefix(partitionLocation)
-            .forEach(
-                f -> {
-                  if (!addFilesPathCollect.contains(f.location())
-                      && !deleteFilesPathCollect.contains(f.location())) {
-                    io.deleteFile(f.location());
-                    LOG.warn("Delete orphan file path: {}", f.location());
-                  }
-                });
+    Tasks.foreach(partitionsToCheck)
+        .executeWith(ThreadPools.getWorkerPool())
+        .stopOnFailure()
+        .throwFailureWhenFinished()
+        .run(
+            partitionLocation -> {
+              try (ArcticHadoopFileIO io = table.io()) {
+                io.listPrefix(partitionLocation)
+                    .forEach(
+                        f -> {
+                          if (!addFilesPathCollect.contains(f.location())
+                              && !deleteFilesPathCollect.contains(f.location())) {
+                            io.deleteFile(f.location());
+                            LOG.warn("Delete orphan file path: {}", f.location());
+                          }
+                        });
+              }
+            });
+  }
+
+  /**
+   * Get the existing hive partitions of the values by batches.
+   *
+   * @param partitionValues the values of the partitions
+   * @return the existing partitions keyed by the values joined with "/"
+   */
+  private Map<String, Partition> getHivePartitions(Collection<List<String>> partitionValues) {
+    Map<String, Partition> partitions = Maps.newHashMap();
+    if (partitionValues.isEmpty()) {
+      return partitions;
+    }
+    try {
+      List<String> partitionNames = Lists.newArrayList();
+      for (List<String> values : partitionValues) {
+        partitionNames.add(Warehouse.makePartName(hiveTable.getPartitionKeys(), values));
+      }
+      for (List<String> names : Iterables.partition(partitionNames, metastoreBatchSize)) {
+        List<Partition> partitionsInHive =
+            hmsClient.run(c -> c.getPartitionsByNames(db, tableName, names));
+        partitionsInHive.forEach(p -> partitions.put(Joiner.on("/").join(p.getValues()), p));
       }
+    } catch (TException | InterruptedException e) {
+      throw new RuntimeException(e);
     }
+    return partitions;
   }
 
   /**
@@ -401,6 +447,7 @@ public abstract class UpdateHiveFiles<T extends SnapshotUpdate<T>> implements Sn
       deletePartitionValueMap.put(partValue, p);
     }
 
+    List<Map.Entry<StructLike, Partition>> partitionsToCheck = Lists.newArrayList();
     for (Map.Entry<StructLike, Partition> entry : partitionToCreate.entrySet()) {
       String partValue = Joiner.on("/").join(entry.getValue().getValues());
       String location = entry.getValue().getSd().getLocation();
@@ -424,50 +471,46 @@ public abstract class UpdateHiveFiles<T extends SnapshotUpdate<T>> implements Sn
           continue;
         }
       }
-
-      try {
-        Partition partitionInHive =
-            hmsClient.run(c -> c.getPartition(db, tableName, entry.getValue().getValues()));
-        String locationInHive = partitionInHive.getSd().getLocation();
-        if (isPathEquals(location, locationInHive)) {
-          partitionToAlter.put(entry.getKey(), entry.getValue());
-          continue;
-        }
-        throw new CannotAlterHiveLocationException(
-            "can't create new partition: "
-                + partitionToString(entry.getValue())
-                + ", this partition exists in hive with different location: "
-                + locationInHive);
-      } catch (NoSuchObjectException e) {
+      partitionsToCheck.add(entry);
+    }
+
+    Map<String, Partition> partitionsInHive =
+        getHivePartitions(
+            partitionsToCheck.stream()
+                .map(entry -> entry.getValue().getValues())
+                .collect(Collectors.toList()));
+    for (Map.Entry<StructLike, Partition> entry : partitionsToCheck) {
+      Partition partitionInHive =
+          partitionsInHive.get(Joiner.on("/").join(entry.getValue().getValues()));
+      if (partitionInHive == null) {
         partitions.put(entry.getKey(), entry.getValue());
-      } catch (TException | InterruptedException e) {
-        throw new RuntimeException(e);
+        continue;
+      }
+      String location = entry.getValue().getSd().getLocation();
+      String locationInHive = partitionInHive.getSd().getLocation();
+      if (isPathEquals(location, locationInHive)) {
+        partitionToAlter.put(entry.getKey(), entry.getValue());
+        continue;
       }
+      throw new CannotAlterHiveLocationException(
+          "can't create new partition: "
+              + partitionToString(entry.getValue())
+              + ", this partition exists in hive with different location: "
+              + locationInHive);
     }
     return partitions;
   }
 
   private void commitPartitionedTable() {
     if (!partitionToDelete.isEmpty()) {
-      for (Partition p : partitionToDelete.values()) {
-        try {
-          transactionClient.run(
-              c -> {
-                PartitionDropOptions options =
-                    PartitionDropOptions.instance()
-                        .deleteData(false)
-                        .ifExists(true)
-                        .purgeData(false)
-                        .returnResults(false);
-                c.dropPartition(db, tableName, p.getValues(), options);
-                return 0;
-              });
-        } catch (NoSuchObjectException e) {
-          LOG.warn("try to delete hive partition {} but partition not exist.", p);
-        } catch (TException | InterruptedException e) {
-          throw new RuntimeException(e);
-        }
-      }
+      // Each batch is dropped by one client, the batches are dropped in parallel
+      Tasks.foreach(
+              Iterables.partition(
+                  Lists.newArrayList(partitionToDelete.values()), metastoreBatchSize))
+          .executeWith(ThreadPools.getWorkerPool())
+          .stopOnFailure()
+          .throwFailureWhenFinished()
+          .run(this::dropPartitions);
     }
 
     if (!partitionToCreate.isEmpty()) {
@@ -500,6 +543,30 @@ public abstract class UpdateHiveFiles<T extends SnapshotUpdate<T>> implements Sn
     }
   }
 
+  private void dropPartitions(List<Partition> partitions) {
+    PartitionDropOptions options =
+        PartitionDropOptions.instance()
+            .deleteData(false)
+            .ifExists(true)
+            .purgeData(false)
+            .returnResults(false);
+    try {
+      transactionClient.run(
+          c -> {
+            for (Partition p : partitions) {
+              try {
+                c.dropPartition(db, tableName, p.getValues(), options);
+              } catch (NoSuchObjectException e) {
+                LOG.warn("try to delete hive partition {} but partition not exist.", p);
+              }
+            }
+            return 0;
+          });
+    } catch (TException | InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   private void generateUnpartitionTableLocation() {
     if (this.addFiles.isEmpty()) {
       unpartitionTableLocation = createUnpartitionEmptyLocationForHive();
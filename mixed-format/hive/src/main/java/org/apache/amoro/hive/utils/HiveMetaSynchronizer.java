@@ -35,6 +35,9 @@ import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.Table;
 import org.apache.iceberg.DataFile;
 import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.HasTableOperations;
+import org.apache.iceberg.MetadataTableType;
+import org.apache.iceberg.MetadataTableUtils;
 import org.apache.iceberg.MetricsConfig;
 import org.apache.iceberg.OverwriteFiles;
 import org.apache.iceberg.PartitionSpec;
@@ -43,14 +46,21 @@ import org.apache.iceberg.StructLike;
 import org.apache.iceberg.TableScan;
 import org.apache.iceberg.UpdateSchema;
 import org.apache.iceberg.data.TableMigrationUtil;
+import org.apache.iceberg.expressions.Expression;
+import org.apache.iceberg.expressions.Expressions;
 import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.mapping.NameMappingParser;
 import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
+import org.apache.iceberg.relocated.com.google.common.collect.Iterables;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.apache.iceberg.types.TypeUtil;
 import org.apache.iceberg.types.Types;
+import org.apache.iceberg.util.PropertyUtil;
 import org.apache.iceberg.util.StructLikeMap;
+import org.apache.iceberg.util.StructLikeSet;
+import org.apache.iceberg.util.Tasks;
+import org.apache.iceberg.util.ThreadPools;
 import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,13 +68,13 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /** Utils for syncing the metadata between the hive table and the arctic table. */
@@ -72,6 +82,9 @@ public class HiveMetaSynchronizer {
 
   private static final Logger LOG = LoggerFactory.getLogger(HiveMetaSynchronizer.class);
 
+  // plan all the files instead if there are too many partitions to filter
+  @VisibleForTesting static final int MAX_FILTERED_PARTITIONS = 500;
+
   /**
    * Synchronize the schema change of the hive table to arctic table
    *
@@ -205,64 +218,218 @@ public class HiveMetaSynchronizer {
           overwriteTable(table, deleteFiles, hiveDataFiles);
         }
       } else {
-        // list all hive partitions.
-        List<Partition> hivePartitions =
-            hiveClient.run(
-                client ->
-                    client.listPartitions(
-                        table.id().getDatabase(), table.id().getTableName(), Short.MAX_VALUE));
-        // group arctic files by partition.
-        StructLikeMap<Collection<DataFile>> filesGroupedByPartition =
-            StructLikeMap.create(table.spec().partitionType());
-        TableScan tableScan = baseStore.newScan();
-        try (CloseableIterable<FileScanTask> fileScanTasks = tableScan.planFiles()) {
-          for (org.apache.iceberg.FileScanTask fileScanTask : fileScanTasks) {
-            filesGroupedByPartition
-                .computeIfAbsent(fileScanTask.file().partition(), k -> Lists.newArrayList())
-                .add(fileScanTask.file());
-          }
-        } catch (IOException e) {
-          throw new UncheckedIOException("Failed to close table scan of " + table.name(), e);
+        syncHivePartitionsToArctic(table, baseStore, hiveClient, force);
+      }
+    } catch (TException | InterruptedException e) {
+      throw new RuntimeException("Failed to get hive table:" + table.id(), e);
+    }
+  }
+
+  /**
+   * Synchronize the changed hive partitions to the arctic table.
+   *
+   * <p>The hive location and transient_lastDdlTime of a partition synced or written last time are
+   * kept in the partition properties of the base store as the watermark of the partition. The hive
+   * partitions are fetched page by page and compared with the watermarks, only the files of the
+   * changed partitions are listed and only the manifests of them are planned. The partitions of the
+   * base store, read from its partitions metadata table, are compared with all the partition names
+   * listed from hive, and the partitions dropped in hive are synced as well. Forcing to sync
+   * compares all the partitions in both sides instead.
+   */
+  private static void syncHivePartitionsToArctic(
+      SupportHive table, UnkeyedTable baseStore, HMSClientPool hiveClient, boolean force)
+      throws TException, InterruptedException {
+    String database = table.id().getDatabase();
+    String tableName = table.id().getTableName();
+    StructLikeMap<Map<String, String>> watermarks = baseStore.partitionProperty();
+    int pageSize =
+        PropertyUtil.propertyAsInt(
+            table.properties(),
+            HiveTableProperties.HIVE_METASTORE_BATCH_SIZE,
+            HiveTableProperties.HIVE_METASTORE_BATCH_SIZE_DEFAULT);
+    List<String> partitionNames =
+        hiveClient.run(client -> client.listPartitionNames(database, tableName, (short) -1));
+
+    StructLikeSet hivePartitions = StructLikeSet.create(table.spec().partitionType());
+    for (String partitionName : partitionNames) {
+      hivePartitions.add(
+          HivePartitionUtil.buildPartitionData(
+              Warehouse.getPartValuesFromPartName(partitionName), table.spec()));
+    }
+    StructLikeMap<Partition> changedPartitions = StructLikeMap.create(table.spec().partitionType());
+    for (List<String> names : Iterables.partition(partitionNames, pageSize)) {
+      List<Partition> partitions =
+          hiveClient.run(client -> client.getPartitionsByNames(database, tableName, names));
+      for (Partition hivePartition : partitions) {
+        StructLike partitionData =
+            HivePartitionUtil.buildPartitionData(hivePartition.getValues(), table.spec());
+        if (force || partitionHasModified(watermarks.get(partitionData), hivePartition)) {
+          changedPartitions.put(partitionData, hivePartition);
         }
-        List<DataFile> filesToDelete = Lists.newArrayList();
-        List<DataFile> filesToAdd = Lists.newArrayList();
-        List<StructLike> icebergPartitions = Lists.newArrayList(filesGroupedByPartition.keySet());
-        for (Partition hivePartition : hivePartitions) {
-          StructLike partitionData =
-              HivePartitionUtil.buildPartitionData(hivePartition.getValues(), table.spec());
-          icebergPartitions.remove(partitionData);
-          if (force || partitionHasModified(baseStore, hivePartition, partitionData)) {
-            List<DataFile> hiveDataFiles =
-                listHivePartitionFiles(
-                    table,
-                    buildPartitionValueMap(hivePartition.getValues(), table.spec()),
-                    hivePartition.getSd().getLocation());
-            if (filesGroupedByPartition.get(partitionData) != null) {
-              filesToDelete.addAll(filesGroupedByPartition.get(partitionData));
-              filesToAdd.addAll(hiveDataFiles);
-              // make sure new partition is not created by arctic
-            } else if (!CompatibleHivePropertyUtil.propertyAsBoolean(
-                hivePartition.getParameters(), HiveTableProperties.ARCTIC_TABLE_FLAG, false)) {
-              filesToAdd.addAll(hiveDataFiles);
+      }
+    }
+
+    StructLikeSet droppedPartitions = StructLikeSet.create(table.spec().partitionType());
+    if (!force) {
+      StructLikeSet basePartitions = listPartitions(baseStore);
+      basePartitions.addAll(watermarks.keySet());
+      basePartitions.stream()
+          .filter(partition -> !hivePartitions.contains(partition))
+          .forEach(droppedPartitions::add);
+    }
+    if (changedPartitions.isEmpty() && droppedPartitions.isEmpty() && !force) {
+      return;
+    }
+
+    // group arctic files of the partitions to sync by partition.
+    StructLikeMap<List<DataFile>> filesGroupedByPartition =
+        StructLikeMap.create(table.spec().partitionType());
+    TableScan tableScan = baseStore.newScan();
+    if (!force) {
+      List<StructLike> partitions = Lists.newArrayList(changedPartitions.keySet());
+      partitions.addAll(droppedPartitions);
+      tableScan = scanPartitions(tableScan, table.spec(), partitions);
+    }
+    try (CloseableIterable<FileScanTask> fileScanTasks = tableScan.planFiles()) {
+      for (FileScanTask fileScanTask : fileScanTasks) {
+        StructLike partition = fileScanTask.file().partition();
+        if (force
+            || changedPartitions.containsKey(partition)
+            || droppedPartitions.contains(partition)) {
+          filesGroupedByPartition
+              .computeIfAbsent(partition, k -> Lists.newArrayList())
+              .add(fileScanTask.file());
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to close table scan of " + table.name(), e);
+    }
+    if (force) {
+      filesGroupedByPartition.keySet().stream()
+          .filter(partition -> !hivePartitions.contains(partition))
+          .forEach(droppedPartitions::add);
+    }
+
+    List<DataFile> filesToDelete = Lists.newArrayList();
+    List<DataFile> filesToAdd = Lists.newArrayList();
+    StructLikeMap<List<DataFile>> hiveFilesGroupedByPartition =
+        listHivePartitionFiles(table, changedPartitions);
+    changedPartitions.forEach(
+        (partitionData, hivePartition) -> {
+          List<DataFile> hiveDataFiles = hiveFilesGroupedByPartition.get(partitionData);
+          if (filesGroupedByPartition.get(partitionData) != null) {
+            filesToDelete.addAll(filesGroupedByPartition.get(partitionData));
+            filesToAdd.addAll(hiveDataFiles);
+            // make sure new partition is not created by arctic
+          } else if (!CompatibleHivePropertyUtil.propertyAsBoolean(
+              hivePartition.getParameters(), HiveTableProperties.ARCTIC_TABLE_FLAG, false)) {
+            filesToAdd.addAll(hiveDataFiles);
+          }
+        });
+
+    droppedPartitions.forEach(
+        partition -> {
+          List<DataFile> dataFiles = filesGroupedByPartition.get(partition);
+          if (dataFiles != null && dataFiles.size() > 0) {
+            // make sure dropped partition with no files
+            if (!table.io().exists(dataFiles.get(0).path().toString())) {
+              filesToDelete.addAll(dataFiles);
             }
           }
+        });
+    overwriteTable(table, filesToDelete, filesToAdd);
+  }
+
+  /**
+   * List the partitions of the base store by its partitions metadata table, which only reads the
+   * partitions of the manifest entries instead of planning all the files.
+   */
+  private static StructLikeSet listPartitions(UnkeyedTable baseStore) {
+    StructLikeSet partitions = StructLikeSet.create(baseStore.spec().partitionType());
+    org.apache.iceberg.Table partitionsTable =
+        MetadataTableUtils.createMetadataTableInstance(
+            ((HasTableOperations) baseStore).operations(),
+            baseStore.name(),
+            baseStore.name() + "#" + MetadataTableType.PARTITIONS.name(),
+            MetadataTableType.PARTITIONS);
+    try (CloseableIterable<FileScanTask> tasks = partitionsTable.newScan().planFiles()) {
+      for (FileScanTask task : tasks) {
+        try (CloseableIterable<StructLike> rows = task.asDataTask().rows()) {
+          // the partition is the first column of the partitions table
+          rows.forEach(row -> partitions.add(row.get(0, StructLike.class)));
         }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to list partitions of " + baseStore.name(), e);
+    }
+    return partitions;
+  }
 
-        icebergPartitions.forEach(
-            partition -> {
-              List<DataFile> dataFiles = Lists.newArrayList(filesGroupedByPartition.get(partition));
-              if (dataFiles.size() > 0) {
-                // make sure dropped partition with no files
-                if (!table.io().exists(dataFiles.get(0).path().toString())) {
-                  filesToDelete.addAll(filesGroupedByPartition.get(partition));
-                }
-              }
+  /** List the files of the hive partitions in parallel. */
+  private static StructLikeMap<List<DataFile>> listHivePartitionFiles(
+      SupportHive table, StructLikeMap<Partition> hivePartitions) {
+    List<Map.Entry<StructLike, Partition>> partitions =
+        Lists.newArrayList(hivePartitions.entrySet());
+    Map<Integer, List<DataFile>> listedFiles = new ConcurrentHashMap<>();
+    Tasks.range(partitions.size())
+        .executeWith(ThreadPools.getWorkerPool())
+        .stopOnFailure()
+        .throwFailureWhenFinished()
+        .run(
+            i -> {
+              Partition hivePartition = partitions.get(i).getValue();
+              listedFiles.put(
+                  i,
+                  listHivePartitionFiles(
+                      table,
+                      buildPartitionValueMap(hivePartition.getValues(), table.spec()),
+                      hivePartition.getSd().getLocation()));
             });
-        overwriteTable(table, filesToDelete, filesToAdd);
+
+    StructLikeMap<List<DataFile>> filesGroupedByPartition =
+        StructLikeMap.create(table.spec().partitionType());
+    for (int i = 0; i < partitions.size(); i++) {
+      filesGroupedByPartition.put(partitions.get(i).getKey(), listedFiles.get(i));
+    }
+    return filesGroupedByPartition;
+  }
+
+  /** Scan only the given partitions, or all the files if there are too many partitions. */
+  @VisibleForTesting
+  static TableScan scanPartitions(
+      TableScan tableScan, PartitionSpec spec, List<StructLike> partitions) {
+    if (partitions.size() > MAX_FILTERED_PARTITIONS) {
+      return tableScan;
+    }
+    return tableScan.filter(partitionsFilter(spec, partitions));
+  }
+
+  /** Build the filter of the identity partitions, as a balanced tree of the partition filters. */
+  private static Expression partitionsFilter(PartitionSpec spec, List<StructLike> partitions) {
+    List<Expression> filters = Lists.newArrayList();
+    for (StructLike partition : partitions) {
+      Expression filter = Expressions.alwaysTrue();
+      for (int i = 0; i < spec.fields().size(); i++) {
+        String column = spec.schema().findColumnName(spec.fields().get(i).sourceId());
+        Object value = partition.get(i, Object.class);
+        filter =
+            Expressions.and(
+                filter,
+                value == null ? Expressions.isNull(column) : Expressions.equal(column, value));
       }
-    } catch (TException | InterruptedException e) {
-      throw new RuntimeException("Failed to get hive table:" + table.id(), e);
+      filters.add(filter);
     }
+    while (filters.size() > 1) {
+      List<Expression> merged = Lists.newArrayList();
+      for (int i = 0; i < filters.size(); i += 2) {
+        merged.add(
+            i + 1 < filters.size()
+                ? Expressions.or(filters.get(i), filters.get(i + 1))
+                : filters.get(i));
+      }
+      filters = merged;
+    }
+    return filters.isEmpty() ? Expressions.alwaysFalse() : filters.get(0);
   }
 
   /**
@@ -523,21 +690,26 @@ public class HiveMetaSynchronizer {
   @VisibleForTesting
   static boolean partitionHasModified(
       UnkeyedTable arcticTable, Partition hivePartition, StructLike partitionData) {
+    return partitionHasModified(arcticTable.partitionProperty().get(partitionData), hivePartition);
+  }
+
+  /**
+   * Check if the hive partition is modified since it was synced or written last time.
+   *
+   * @param watermark the partition properties of the arctic partition, null if absent
+   * @param hivePartition the hive partition
+   */
+  private static boolean partitionHasModified(
+      Map<String, String> watermark, Partition hivePartition) {
     String hiveTransientTime = hivePartition.getParameters().get("transient_lastDdlTime");
     String arcticTransientTime =
-        arcticTable.partitionProperty().containsKey(partitionData)
-            ? arcticTable
-                .partitionProperty()
-                .get(partitionData)
-                .get(HiveTableProperties.PARTITION_PROPERTIES_KEY_TRANSIENT_TIME)
+        watermark != null
+            ? watermark.get(HiveTableProperties.PARTITION_PROPERTIES_KEY_TRANSIENT_TIME)
             : null;
     String hiveLocation = hivePartition.getSd().getLocation();
     String arcticPartitionLocation =
-        arcticTable.partitionProperty().containsKey(partitionData)
-            ? arcticTable
-                .partitionProperty()
-                .get(partitionData)
-                .get(HiveTableProperties.PARTITION_PROPERTIES_KEY_HIVE_LOCATION)
+        watermark != null
+            ? watermark.get(HiveTableProperties.PARTITION_PROPERTIES_KEY_HIVE_LOCATION)
             : null;
 
     // hive partition location is modified only in arctic full optimize, So if the hive partition
@@ -186,6 +186,69 @@ public class TestOverwriteFiles extends MixedHiveTableTestBase {
         TEST_HMS.getHiveClient(), getArcticTable(), dataFiles);
   }
 
+  @Test
+  public void testOverwritePartitionsInBatches() throws TException {
+    Assume.assumeTrue(isPartitionedTable());
+    UnkeyedTable baseStore = ArcticTableUtil.baseStore(getArcticTable());
+    baseStore.updateProperties().set(HiveTableProperties.HIVE_METASTORE_BATCH_SIZE, "1").commit();
+    List<DataFile> dataFiles = writeDays(1L, 1, 4);
+    OverwriteFiles overwriteFiles = baseStore.newOverwrite();
+    dataFiles.forEach(overwriteFiles::addFile);
+    overwriteFiles.commit();
+    dataFiles = HiveDataTestHelpers.lastedAddedFiles(baseStore);
+    UpdateHiveFilesTestHelpers.validateHiveTableValues(
+        TEST_HMS.getHiveClient(), getArcticTable(), dataFiles);
+
+    // ================== drop partitions by batches in parallel
+    dataFiles = writeDays(2L, 4, 5);
+    overwriteFiles = baseStore.newOverwrite();
+    overwriteFiles.overwriteByRowFilter(Expressions.alwaysTrue());
+    dataFiles.forEach(overwriteFiles::addFile);
+    overwriteFiles.commit();
+    dataFiles = HiveDataTestHelpers.lastedAddedFiles(baseStore);
+    UpdateHiveFilesTestHelpers.validateHiveTableValues(
+        TEST_HMS.getHiveClient(), getArcticTable(), dataFiles);
+  }
+
+  @Test
+  public void testOverwritePartitionsInBatchesInTransaction() throws TException {
+    Assume.assumeTrue(isPartitionedTable());
+    UnkeyedTable baseStore = ArcticTableUtil.baseStore(getArcticTable());
+    baseStore.updateProperties().set(HiveTableProperties.HIVE_METASTORE_BATCH_SIZE, "2").commit();
+    List<DataFile> dataFiles = writeDays(1L, 1, 5);
+    OverwriteFiles overwriteFiles = baseStore.newOverwrite();
+    dataFiles.forEach(overwriteFiles::addFile);
+    overwriteFiles.commit();
+    List<DataFile> committedFiles = HiveDataTestHelpers.lastedAddedFiles(baseStore);
+
+    // the partitions dropped by the parallel batches are pending until the transaction commits
+    dataFiles = writeDays(2L, 6, 6);
+    Transaction transaction = baseStore.newTransaction();
+    overwriteFiles = transaction.newOverwrite();
+    overwriteFiles.overwriteByRowFilter(Expressions.alwaysTrue());
+    dataFiles.forEach(overwriteFiles::addFile);
+    overwriteFiles.commit();
+    UpdateHiveFilesTestHelpers.validateHiveTableValues(
+        TEST_HMS.getHiveClient(), getArcticTable(), committedFiles);
+
+    transaction.commitTransaction();
+    dataFiles = HiveDataTestHelpers.lastedAddedFiles(baseStore);
+    UpdateHiveFilesTestHelpers.validateHiveTableValues(
+        TEST_HMS.getHiveClient(), getArcticTable(), dataFiles);
+  }
+
+  /** Write a record to each day from the first day to the last day of 2022-01. */
+  private List<DataFile> writeDays(long txId, int firstDay, int lastDay) {
+    List<Record> insertRecords = Lists.newArrayList();
+    for (int day = firstDay; day <= lastDay; day++) {
+      String opTime = String.format("2022-01-%02dT12:00:00", day);
+      insertRecords.add(tableTestHelper().generateTestRecord(day, "name" + day, 0, opTime));
+    }
+    return HiveDataTestHelpers.writerOf(getArcticTable())
+        .transactionId(txId)
+        .writeHive(insertRecords);
+  }
+
   /** add file to exist partition, overwrite success without create partition */
   @Test
   public void testOverwriteByAddFiles() throws TException {
@@ -26,11 +26,14 @@ import com.netease.arctic.properties.HiveTableProperties;
 import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.table.UnkeyedTable;
 import com.netease.arctic.utils.TableFileUtil;
+import org.apache.amoro.hive.HMSClient;
+import org.apache.amoro.hive.HMSClientPool;
 import org.apache.amoro.hive.TestHMS;
 import org.apache.amoro.hive.catalog.HiveCatalogTestHelper;
 import org.apache.amoro.hive.catalog.HiveTableTestHelper;
 import org.apache.amoro.hive.io.HiveDataTestHelpers;
 import org.apache.amoro.hive.table.SupportHive;
+import org.apache.hadoop.hive.metastore.PartitionDropOptions;
 import org.apache.hadoop.hive.metastore.api.NoSuchObjectException;
 import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.PrincipalPrivilegeSet;
@@ -39,10 +42,19 @@ import org.apache.hadoop.hive.metastore.api.Table;
 import org.apache.iceberg.AppendFiles;
 import org.apache.iceberg.ContentFile;
 import org.apache.iceberg.DataFile;
+import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.StructLike;
+import org.apache.iceberg.TableScan;
 import org.apache.iceberg.data.Record;
+import org.apache.iceberg.expressions.Expression;
+import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.io.OutputFile;
 import org.apache.iceberg.relocated.com.google.common.collect.ImmutableList;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.apache.iceberg.util.StructLikeMap;
+import org.apache.iceberg.util.StructLikeSet;
+import org.apache.thrift.TException;
 import org.junit.Assert;
 import org.junit.Assume;
 import org.junit.ClassRule;
@@ -51,9 +63,14 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 @RunWith(Parameterized.class)
 public class TestHiveMetaSynchronizer extends TableTestBase {
@@ -438,6 +455,229 @@ public class TestHiveMetaSynchronizer extends TableTestBase {
     Assert.assertEquals(newPartitionLocation, hivePartition.getSd().getLocation());
   }
 
+  @Test
+  public void testSyncHivePartitionsByPages() throws Exception {
+    Assume.assumeTrue(isPartitionedTable());
+    SupportHive table = getArcticTable();
+    table.updateProperties().set(HiveTableProperties.HIVE_METASTORE_BATCH_SIZE, "1").commit();
+    List<DataFile> hiveFiles = writeHivePartitions(table, 1);
+    Assert.assertEquals(2, partitionsOf(hiveFiles).size());
+
+    Map<String, AtomicInteger> calls = Maps.newConcurrentMap();
+    HiveMetaSynchronizer.syncHiveDataToArctic(table, countingClient(table, calls), false);
+    // two partitions fetched in pages of one partition
+    Assert.assertEquals(2, calls.get("getPartitionsByNames").get());
+    Assert.assertEquals(filePaths(hiveFiles), filePaths(baseStoreFiles(table)));
+
+    // nothing changed since the last sync
+    UnkeyedTable baseStore = baseStore(table);
+    baseStore.refresh();
+    long snapshotId = baseStore.currentSnapshot().snapshotId();
+    HiveMetaSynchronizer.syncHiveDataToArctic(table, table.getHMSClient(), false);
+    baseStore.refresh();
+    Assert.assertEquals(snapshotId, baseStore.currentSnapshot().snapshotId());
+  }
+
+  @Test
+  public void testSyncDroppedHivePartition() throws Exception {
+    Assume.assumeTrue(isPartitionedTable());
+    SupportHive table = getArcticTable();
+    List<DataFile> hiveFiles = writeHivePartitions(table, 1);
+    HiveMetaSynchronizer.syncHiveDataToArctic(table, table.getHMSClient(), false);
+    Assert.assertEquals(filePaths(hiveFiles), filePaths(baseStoreFiles(table)));
+
+    // drop a partition with its files in hive
+    StructLike dropped = hiveFiles.get(0).partition();
+    List<String> droppedValues =
+        HivePartitionUtil.partitionValuesAsList(dropped, table.spec().partitionType());
+    table
+        .getHMSClient()
+        .run(
+            client ->
+                client.dropPartition(
+                    table.id().getDatabase(),
+                    table.id().getTableName(),
+                    droppedValues,
+                    PartitionDropOptions.instance().deleteData(false)));
+    List<DataFile> remainedFiles = Lists.newArrayList();
+    for (DataFile file : hiveFiles) {
+      if (partitionsOf(Lists.newArrayList(file)).contains(dropped)) {
+        table.io().deleteFile(file.path().toString());
+      } else {
+        remainedFiles.add(file);
+      }
+    }
+
+    HiveMetaSynchronizer.syncHiveDataToArctic(table, table.getHMSClient(), false);
+    Assert.assertEquals(filePaths(remainedFiles), filePaths(baseStoreFiles(table)));
+  }
+
+  @Test
+  public void testSyncDroppedHivePartitionWithoutWatermark() throws Exception {
+    Assume.assumeTrue(isPartitionedTable());
+    SupportHive table = getArcticTable();
+    List<DataFile> hiveFiles = writeHivePartitions(table, 1);
+    // committed to the base store without the watermarks of the partitions
+    UnkeyedTable baseStore = baseStore(table);
+    AppendFiles append = baseStore.newAppend();
+    hiveFiles.forEach(append::appendFile);
+    append.commit();
+    Assert.assertTrue(baseStore.partitionProperty().isEmpty());
+
+    StructLike dropped = hiveFiles.get(0).partition();
+    List<String> droppedValues =
+        HivePartitionUtil.partitionValuesAsList(dropped, table.spec().partitionType());
+    table
+        .getHMSClient()
+        .run(
+            client ->
+                client.dropPartition(
+                    table.id().getDatabase(),
+                    table.id().getTableName(),
+                    droppedValues,
+                    PartitionDropOptions.instance().deleteData(false)));
+    List<DataFile> remainedFiles = Lists.newArrayList();
+    for (DataFile file : hiveFiles) {
+      if (partitionsOf(Lists.newArrayList(file)).contains(dropped)) {
+        table.io().deleteFile(file.path().toString());
+      } else {
+        remainedFiles.add(file);
+      }
+    }
+
+    HiveMetaSynchronizer.syncHiveDataToArctic(table, table.getHMSClient(), false);
+    Assert.assertEquals(filePaths(remainedFiles), filePaths(baseStoreFiles(table)));
+  }
+
+  @Test
+  public void testScanTooManyPartitions() throws Exception {
+    Assume.assumeTrue(isPartitionedTable());
+    SupportHive table = getArcticTable();
+    List<DataFile> dataFiles = writeAndCommitHive(table, 1);
+    StructLike partition = dataFiles.get(0).partition();
+    UnkeyedTable baseStore = baseStore(table);
+
+    TableScan scan =
+        HiveMetaSynchronizer.scanPartitions(
+            baseStore.newScan(), table.spec(), Lists.newArrayList(partition));
+    Assert.assertNotEquals(Expression.Operation.TRUE, scan.filter().op());
+    try (CloseableIterable<FileScanTask> tasks = scan.planFiles()) {
+      for (FileScanTask task : tasks) {
+        Assert.assertTrue(partitionsOf(Lists.newArrayList(task.file())).contains(partition));
+      }
+    }
+
+    List<StructLike> tooManyPartitions = Lists.newArrayList();
+    for (int i = 0; i <= HiveMetaSynchronizer.MAX_FILTERED_PARTITIONS; i++) {
+      tooManyPartitions.add(partition);
+    }
+    scan =
+        HiveMetaSynchronizer.scanPartitions(baseStore.newScan(), table.spec(), tooManyPartitions);
+    Assert.assertEquals(Expression.Operation.TRUE, scan.filter().op());
+    Assert.assertEquals(filePaths(dataFiles), filePaths(baseStoreFiles(table)));
+  }
+
+  /** Write files to new hive partitions without committing them to the base store. */
+  private List<DataFile> writeHivePartitions(SupportHive table, long txId) throws Exception {
+    List<DataFile> dataFiles =
+        HiveDataTestHelpers.writerOf(table)
+            .transactionId(txId)
+            .customHiveLocation(HiveTableUtil.newHiveSubdirectory(txId))
+            .writeHive(createRecords(1, 100));
+    StructLikeMap<List<DataFile>> filesByPartition =
+        StructLikeMap.create(table.spec().partitionType());
+    for (DataFile file : dataFiles) {
+      filesByPartition.computeIfAbsent(file.partition(), p -> Lists.newArrayList()).add(file);
+    }
+    for (Map.Entry<StructLike, List<DataFile>> entry : filesByPartition.entrySet()) {
+      List<String> partitionValues =
+          HivePartitionUtil.partitionValuesAsList(entry.getKey(), table.spec().partitionType());
+      String location = TableFileUtil.getFileDir(entry.getValue().get(0).path().toString());
+      table
+          .getHMSClient()
+          .run(
+              client -> {
+                Table hiveTable =
+                    client.getTable(table.id().getDatabase(), table.id().getTableName());
+                int now = (int) (System.currentTimeMillis() / 1000);
+                Partition partition = new Partition();
+                partition.setValues(partitionValues);
+                partition.setDbName(hiveTable.getDbName());
+                partition.setTableName(hiveTable.getTableName());
+                partition.setCreateTime(now);
+                partition.setLastAccessTime(now);
+                StorageDescriptor sd = hiveTable.getSd().deepCopy();
+                sd.setLocation(location);
+                partition.setSd(sd);
+                partition.putToParameters("transient_lastDdlTime", now + "");
+                return client.addPartition(partition);
+              });
+    }
+    return dataFiles;
+  }
+
+  private StructLikeSet partitionsOf(List<DataFile> files) {
+    StructLikeSet partitions = StructLikeSet.create(getArcticTable().spec().partitionType());
+    files.forEach(file -> partitions.add(file.partition()));
+    return partitions;
+  }
+
+  private static UnkeyedTable baseStore(ArcticTable table) {
+    return table.isKeyedTable() ? table.asKeyedTable().baseTable() : table.asUnkeyedTable();
+  }
+
+  private static List<DataFile> baseStoreFiles(ArcticTable table) throws IOException {
+    UnkeyedTable baseStore = baseStore(table);
+    baseStore.refresh();
+    List<DataFile> files = Lists.newArrayList();
+    try (CloseableIterable<FileScanTask> tasks = baseStore.newScan().planFiles()) {
+      tasks.forEach(task -> files.add(task.file()));
+    }
+    return files;
+  }
+
+  private static Set<String> filePaths(List<DataFile> files) {
+    return files.stream()
+        .map(file -> TableFileUtil.getUriPath(file.path().toString()))
+        .collect(Collectors.toSet());
+  }
+
+  /** A client pool counting the calls to the metastore by the method names. */
+  private static HMSClientPool countingClient(
+      SupportHive table, Map<String, AtomicInteger> calls) {
+    HMSClientPool pool = table.getHMSClient();
+    return new HMSClientPool() {
+      @Override
+      public <R> R run(Action<R, HMSClient, TException> action)
+          throws TException, InterruptedException {
+        return run(action, true);
+      }
+
+      @Override
+      public <R> R run(Action<R, HMSClient, TException> action, boolean retry)
+          throws TException, InterruptedException {
+        return pool.run(client -> action.run(counting(client)), retry);
+      }
+
+      private HMSClient counting(HMSClient client) {
+        return (HMSClient)
+            Proxy.newProxyInstance(
+                HMSClient.class.getClassLoader(),
+                new Class<?>[] {HMSClient.class},
+                (proxy, method, args) -> {
+                  calls
+                      .computeIfAbsent(method.getName(), name -> new AtomicInteger())
+                      .incrementAndGet();
+                  try {
+                    return method.invoke(client, args);
+                  } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                  }
+                });
+      }
+    };
+  }
+
   private String createEmptyLocationForHive(ArcticTable arcticTable) {
     // create a new empty location for hive
     String newLocation =